@@ -10,10 +10,12 @@ import com.project.service.user.UserService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.time.LocalDate;
 
 @SpringBootApplication
+@EnableScheduling
 //!!! Uygulama run edilir edilmez, Rol tablom bos olacagi icin gerekli rollerin eklenmesini saglamak
  // icin bu sinifimizi CommandLineRunner interface inden implement ediyoruz ve icindeki run metodunu
  // override etmemiz gerekiyor.
@@ -3,9 +3,12 @@ package com.project.controller;
 import com.project.entity.concretes.user.User;
 import com.project.payload.messages.SuccessMessages;
 import com.project.payload.request.authentication.LoginRequest;
+import com.project.payload.request.authentication.RefreshTokenRequest;
 import com.project.payload.request.business.UpdatePasswordRequest;
 import com.project.payload.response.abstracts.BaseUserResponse;
 import com.project.payload.response.authentication.AuthResponse;
+import com.project.payload.response.authentication.PasswordHashStatsResponse;
+import com.project.payload.response.authentication.PrincipalCacheStatsResponse;
 import com.project.payload.response.user.UserResponse;
 import com.project.service.AuthenticationService;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +31,18 @@ public class AuthenticationController {
         return authenticationService.authenticateUser(loginRequest);
     }
 
+    @PostMapping("/refresh") // http://localhost:8080/auth/refresh  + POST + JSON
+    public ResponseEntity<AuthResponse> refreshToken(@RequestBody @Valid RefreshTokenRequest refreshTokenRequest) {
+        return ResponseEntity.ok(authenticationService.refreshToken(refreshTokenRequest));
+    }
+
+    @PostMapping("/logout") // http://localhost:8080/auth/logout  + POST
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER','STUDENT')")
+    public ResponseEntity<String> logout(HttpServletRequest request){
+        authenticationService.logout(request);
+        return ResponseEntity.ok(SuccessMessages.LOGOUT_SUCCESS);
+    }
+
     @GetMapping("/user") // http://localhost:8080/auth/user + GET
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER','STUDENT')")
     public ResponseEntity<UserResponse> findByUsername(HttpServletRequest request){
@@ -45,6 +60,18 @@ public class AuthenticationController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/principalCacheStats") // http://localhost:8080/auth/principalCacheStats + GET
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public ResponseEntity<PrincipalCacheStatsResponse> getPrincipalCacheStats(){
+        return ResponseEntity.ok(authenticationService.getPrincipalCacheStats());
+    }
+
+    @GetMapping("/passwordHashStats") // http://localhost:8080/auth/passwordHashStats + GET
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public ResponseEntity<PasswordHashStatsResponse> getPasswordHashStats(){
+        return ResponseEntity.ok(authenticationService.getPasswordHashStats());
+    }
+
 }
 
 
@@ -0,0 +1,43 @@
+package com.project.controller.business;
+
+import com.project.payload.request.business.RollCallRequest;
+import com.project.payload.response.business.AttendanceSummaryResponse;
+import com.project.payload.response.business.ResponseMessage;
+import com.project.service.business.AttendanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+@RequestMapping("/attendance")
+@RequiredArgsConstructor
+public class AttendanceController {
+
+    private final AttendanceService attendanceService;
+
+    @PostMapping("/saveRollCall") // http://localhost:8080/attendance/saveRollCall + POST + JSON
+    @PreAuthorize("hasAnyAuthority('TEACHER')")
+    public ResponseMessage<List<AttendanceSummaryResponse>> saveRollCall(HttpServletRequest httpServletRequest,
+                                                                        @RequestBody @Valid RollCallRequest rollCallRequest) {
+        return attendanceService.saveRollCall(httpServletRequest, rollCallRequest);
+    }
+
+    @GetMapping("/getByLessonProgram/{lessonProgramId}") // http://localhost:8080/attendance/getByLessonProgram/1?alertsOnly=true
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER')")
+    public ResponseMessage<List<AttendanceSummaryResponse>> getByLessonProgram(
+            @PathVariable Long lessonProgramId,
+            @RequestParam(value = "alertsOnly", defaultValue = "false") boolean alertsOnly) {
+        return attendanceService.getByLessonProgram(lessonProgramId, alertsOnly);
+    }
+
+    // !!! -> Ogrenci kendi devamsizliklarini almak isterse :
+    @GetMapping("/getForStudent") // http://localhost:8080/attendance/getForStudent
+    @PreAuthorize("hasAnyAuthority('STUDENT')")
+    public ResponseMessage<List<AttendanceSummaryResponse>> getForStudent(HttpServletRequest httpServletRequest) {
+        return attendanceService.getForStudent(httpServletRequest);
+    }
+}
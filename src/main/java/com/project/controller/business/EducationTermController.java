@@ -1,6 +1,7 @@
 package com.project.controller.business;
 
 import com.project.payload.request.business.EducationTermRequest;
+import com.project.payload.response.business.CursorPage;
 import com.project.payload.response.business.EducationTermResponse;
 import com.project.payload.response.business.ResponseMessage;
 import com.project.service.business.EducationTermService;
@@ -51,6 +52,17 @@ public class EducationTermController {
         return educationTermService.getAllEducationTermsByPage(page,size,sort,type);
     }
 
+    @GetMapping("/getAllEducationTermsByCursor") // http://localhost:8080/educationTerms/getAllEducationTermsByCursor?cursor=...
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER')")
+    public CursorPage<EducationTermResponse> getAllEducationTermsByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "startDate") String sort,
+            @RequestParam(value = "type", defaultValue = "desc") String type
+    ){
+        return educationTermService.getAllEducationTermsByCursor(cursor, size, sort, type);
+    }
+
     @DeleteMapping("/delete/{id}") // http://localhost:8080/educationTerms/delete/1
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER')")
     public ResponseMessage<?> deleteEducationTermById(@PathVariable Long id) {
@@ -0,0 +1,45 @@
+package com.project.controller.business;
+
+import com.project.payload.request.business.GradingPolicyRequest;
+import com.project.payload.response.business.GradingPolicyResponse;
+import com.project.payload.response.business.RegradeJobResponse;
+import com.project.payload.response.business.ResponseMessage;
+import com.project.service.business.GradingPolicyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+
+@RestController
+@RequestMapping("/gradingPolicy")
+@RequiredArgsConstructor
+public class GradingPolicyController {
+
+    private final GradingPolicyService gradingPolicyService;
+
+    @PostMapping("/save") // http://localhost:8080/gradingPolicy/save + POST + JSON
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public ResponseMessage<GradingPolicyResponse> saveGradingPolicy(
+            @RequestBody @Valid GradingPolicyRequest gradingPolicyRequest) {
+        return gradingPolicyService.saveGradingPolicy(gradingPolicyRequest);
+    }
+
+    @GetMapping("/getByEducationTerm/{educationTermId}") // http://localhost:8080/gradingPolicy/getByEducationTerm/1
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER')")
+    public ResponseMessage<GradingPolicyResponse> getGradingPolicyByEducationTerm(@PathVariable Long educationTermId) {
+        return gradingPolicyService.getGradingPolicyByEducationTerm(educationTermId);
+    }
+
+    @PostMapping("/regrade/{educationTermId}") // http://localhost:8080/gradingPolicy/regrade/1 + POST
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public ResponseMessage<RegradeJobResponse> regradeEducationTerm(@PathVariable Long educationTermId) {
+        return gradingPolicyService.regradeEducationTerm(educationTermId);
+    }
+
+    @GetMapping("/regrade/status/{jobId}") // http://localhost:8080/gradingPolicy/regrade/status/{jobId}
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public ResponseMessage<RegradeJobResponse> getRegradeJobStatus(@PathVariable String jobId) {
+        return gradingPolicyService.getRegradeJobStatus(jobId);
+    }
+}
@@ -2,6 +2,7 @@ package com.project.controller.business;
 
 import com.project.entity.concretes.business.Lesson;
 import com.project.payload.request.business.LessonRequest;
+import com.project.payload.response.business.CursorPage;
 import com.project.payload.response.business.LessonResponse;
 import com.project.payload.response.business.ResponseMessage;
 import com.project.service.business.LessonService;
@@ -50,6 +51,17 @@ public class LessonController {
         return lessonService.findLessonByPage(page,size,sort,type);
     }
 
+    @GetMapping("/findLessonByCursor") // http://localhost:8080/lessons/findLessonByCursor?size=10&sort=lessonName&type=desc&cursor=...
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public CursorPage<LessonResponse> findLessonByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "lessonName") String sort,
+            @RequestParam(value = "type", defaultValue = "desc") String type
+    ){
+        return lessonService.findLessonByCursor(cursor, size, sort, type);
+    }
+
     @GetMapping("/getAllLessonByLessonId")// http://localhost:8080/lessons/getAllLessonByLessonId?lessonId=1,2,3
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
     public Set<Lesson> getAllLessonByLessonId(@RequestParam(name = "lessonId") Set<Long> idSet){
@@ -1,12 +1,19 @@
 package com.project.controller.business;
 
+import com.project.entity.enums.Day;
+import com.project.payload.request.business.LessonProgramBatchRequest;
 import com.project.payload.request.business.LessonProgramRequest;
+import com.project.payload.request.business.TimetableGenerationRequest;
+import com.project.payload.response.business.CursorPage;
 import com.project.payload.response.business.LessonProgramResponse;
 import com.project.payload.response.business.LessonResponse;
 import com.project.payload.response.business.ResponseMessage;
+import com.project.payload.response.business.TimetableGenerationResponse;
 import com.project.service.business.LessonProgramService;
+import com.project.service.business.TimetableGeneratorService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.w3c.dom.stylesheets.LinkStyle;
@@ -22,6 +29,7 @@ import java.util.Set;
 public class LessonProgramController {
 
     private final LessonProgramService lessonProgramService;
+    private final TimetableGeneratorService timetableGeneratorService;
 
     @PostMapping("/save") // http://localhost:8080/lessonPrograms/save  + POST  + JSON
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
@@ -30,6 +38,21 @@ public class LessonProgramController {
         return lessonProgramService.saveLessonProgram(lessonProgramRequest);
     }
 
+    @PostMapping("/saveAll") // http://localhost:8080/lessonPrograms/saveAll  + POST  + JSON
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public ResponseMessage<List<LessonProgramResponse>> saveAllLessonPrograms(@RequestBody @Valid
+                                                                             LessonProgramBatchRequest batchRequest){
+        return lessonProgramService.saveAllLessonPrograms(batchRequest);
+    }
+
+    //!!! donemin dersleri, ogretmenleri ve saat dilimlerinden cakismasiz ders programi olusturup kaydeder
+    @PostMapping("/generate") // http://localhost:8080/lessonPrograms/generate  + POST  + JSON
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public ResponseMessage<TimetableGenerationResponse> generateTimetable(@RequestBody @Valid
+                                                                          TimetableGenerationRequest request){
+        return timetableGeneratorService.generateTimetable(request);
+    }
+
     @GetMapping("/getAll") // http://localhost:8080/lessonPrograms/getAll
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER','STUDENT')")
     public List<LessonProgramResponse> getAllLessonProgramByList(){
@@ -73,18 +96,32 @@ public class LessonProgramController {
         return lessonProgramService.getAllLessonProgramByPage(page,size,sort,type);
     }
 
+    @GetMapping("/getAllLessonProgramByCursor") // http://localhost:8080/lessonPrograms/getAllLessonProgramByCursor?size=10&sort=id&type=desc&cursor=...
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER','STUDENT')")
+    public CursorPage<LessonProgramResponse> getAllLessonProgramByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @RequestParam(value = "type", defaultValue = "desc") String type){
+        return lessonProgramService.getAllLessonProgramByCursor(cursor, size, sort, type);
+    }
+
     // bir Ogretmen kendine ait lessonProgramlari getiriyor
-    @GetMapping("/getAllLessonProgramByTeacher") // http://localhost:8080/lessonPrograms/getAllLessonProgramByTeacher
+    @GetMapping("/getAllLessonProgramByTeacher") // http://localhost:8080/lessonPrograms/getAllLessonProgramByTeacher?day=MONDAY
     @PreAuthorize("hasAnyAuthority('TEACHER')")
-    public Set<LessonProgramResponse> getAllLessonProgramByTeacherUsername(HttpServletRequest httpServletRequest){
-        return lessonProgramService.getAllLessonProgramByUser(httpServletRequest);
+    public ResponseEntity<List<LessonProgramResponse>> getAllLessonProgramByTeacherUsername(
+            HttpServletRequest httpServletRequest,
+            @RequestParam(value = "day", required = false) Day day){
+        return lessonProgramService.getAllLessonProgramByUser(httpServletRequest, day);
     }
 
     // bir Ogrenci kendine ait lessonProgramlari getiriyor
-    @GetMapping("/getAllLessonProgramByStudent") // http://localhost:8080/lessonPrograms/getAllLessonProgramByStudent
+    @GetMapping("/getAllLessonProgramByStudent") // http://localhost:8080/lessonPrograms/getAllLessonProgramByStudent?day=MONDAY
     @PreAuthorize("hasAnyAuthority('STUDENT')")
-    public Set<LessonProgramResponse> getAllLessonProgramByStudent(HttpServletRequest httpServletRequest){
-        return lessonProgramService.getAllLessonProgramByUser(httpServletRequest);
+    public ResponseEntity<List<LessonProgramResponse>> getAllLessonProgramByStudent(
+            HttpServletRequest httpServletRequest,
+            @RequestParam(value = "day", required = false) Day day){
+        return lessonProgramService.getAllLessonProgramByUser(httpServletRequest, day);
     }
     @GetMapping("/getAllLessonProgramByTeacherId/{teacherId}") // http://localhost:8080/lessonPrograms/getAllLessonProgramByTeacherId/3
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
@@ -1,6 +1,7 @@
 package com.project.controller.business;
 
 import com.project.payload.request.business.MeetRequest;
+import com.project.payload.response.business.CursorPage;
 import com.project.payload.response.business.MeetResponse;
 import com.project.payload.response.business.ResponseMessage;
 import com.project.service.business.MeetService;
@@ -55,6 +56,15 @@ public class MeetController {
         return meetService.getAllMeetByPage(page,size);
     }
 
+    @PreAuthorize("hasAnyAuthority( 'ADMIN')")
+    @GetMapping("/getAllMeetByCursor") // http://localhost:8080/meet/getAllMeetByCursor?size=10&cursor=...
+    public CursorPage<MeetResponse> getAllMeetByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size
+    ){
+        return meetService.getAllMeetByCursor(cursor, size);
+    }
+
     @PutMapping("/update/{meetId}") // http://localhost:8080/meet/update/1
     @PreAuthorize("hasAnyAuthority('ADMIN','TEACHER')")
     public ResponseMessage<MeetResponse> updateMeetById(@RequestBody @Valid MeetRequest meetRequest,
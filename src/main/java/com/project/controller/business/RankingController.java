@@ -0,0 +1,55 @@
+package com.project.controller.business;
+
+import com.project.payload.response.business.RankedStudentResponse;
+import com.project.payload.response.business.ResponseMessage;
+import com.project.payload.response.business.StudentRankResponse;
+import com.project.service.business.RankingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/ranking")
+@RequiredArgsConstructor
+public class RankingController {
+
+    private final RankingService rankingService;
+
+    @GetMapping("/getTopByLessonAndTerm") // http://localhost:8080/ranking/getTopByLessonAndTerm?lessonId=1&educationTermId=1&size=10
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER')")
+    public ResponseMessage<List<RankedStudentResponse>> getTopByLessonAndTerm(
+            @RequestParam(value = "lessonId") Long lessonId,
+            @RequestParam(value = "educationTermId") Long educationTermId,
+            @RequestParam(value = "size", defaultValue = "10") int size) {
+        return rankingService.getTopByLessonAndTerm(lessonId, educationTermId, size);
+    }
+
+    @GetMapping("/getTopByTerm/{educationTermId}") // http://localhost:8080/ranking/getTopByTerm/1?size=10
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER')")
+    public ResponseMessage<List<RankedStudentResponse>> getTopByTerm(
+            @PathVariable Long educationTermId,
+            @RequestParam(value = "size", defaultValue = "10") int size) {
+        return rankingService.getTopByTerm(educationTermId, size);
+    }
+
+    @GetMapping("/getTopOfSchool") // http://localhost:8080/ranking/getTopOfSchool?size=10
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER')")
+    public ResponseMessage<List<RankedStudentResponse>> getTopOfSchool(
+            @RequestParam(value = "size", defaultValue = "10") int size) {
+        return rankingService.getTopOfSchool(size);
+    }
+
+    @GetMapping("/getHonorRoll/{educationTermId}") // http://localhost:8080/ranking/getHonorRoll/1
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER')")
+    public ResponseMessage<List<RankedStudentResponse>> getHonorRoll(@PathVariable Long educationTermId) {
+        return rankingService.getHonorRoll(educationTermId);
+    }
+
+    @GetMapping("/getByStudentId/{studentId}") // http://localhost:8080/ranking/getByStudentId/3
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER')")
+    public ResponseMessage<StudentRankResponse> getStudentRanks(@PathVariable Long studentId) {
+        return rankingService.getStudentRanks(studentId);
+    }
+}
@@ -1,7 +1,10 @@
 package com.project.controller.business;
 
+import com.project.payload.request.business.StudentInfoBatchRequest;
 import com.project.payload.request.business.StudentInfoRequest;
 import com.project.payload.request.business.UpdateStudentInfoRequest;
+import com.project.payload.response.business.CursorPage;
+import com.project.payload.response.business.GradeStatisticsResponse;
 import com.project.payload.response.business.ResponseMessage;
 import com.project.payload.response.business.StudentInfoResponse;
 import com.project.service.business.StudentInfoService;
@@ -30,6 +33,13 @@ public class StudentInfoController {
         return studentInfoService.saveStudentInfo(httpServletRequest, studentInfoRequest);
     }
 
+    @PostMapping("/saveAll") // http://localhost:8080/studentInfo/saveAll + POST + JSON
+    @PreAuthorize("hasAnyAuthority('TEACHER')")
+    public ResponseMessage<List<StudentInfoResponse>> saveAllStudentInfo(HttpServletRequest httpServletRequest,
+                                                                         @RequestBody @Valid StudentInfoBatchRequest batchRequest) {
+        return studentInfoService.saveAllStudentInfo(httpServletRequest, batchRequest);
+    }
+
     @DeleteMapping("/delete/{studentInfoId}") // http://localhost:8080/studentInfo/delete/1
     @PreAuthorize("hasAnyAuthority('ADMIN','TEACHER')")
     public ResponseMessage delete(@PathVariable Long studentInfoId){
@@ -48,6 +58,17 @@ public class StudentInfoController {
         return  studentInfoService.getAllStudentInfoByPage(page,size,sort,type);
     }
 
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    @GetMapping("/getAllStudentInfoByCursor") // http://localhost:8080/studentInfo/getAllStudentInfoByCursor?size=10&sort=id&type=desc&cursor=...
+    public CursorPage<StudentInfoResponse> getAllStudentInfoByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @RequestParam(value = "type", defaultValue = "desc") String type
+    ) {
+        return studentInfoService.getAllStudentInfoByCursor(cursor, size, sort, type);
+    }
+
     // Not: ODEV ---> getStudentInfoByStudentId() yoneticiler tetikliyecek  /getByStudentId/{studentId}
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
     @GetMapping("/getByStudentId/{studentId}")  // http://localhost:8080/studentInfo/getByStudentId/3
@@ -70,6 +91,20 @@ public class StudentInfoController {
         return studentInfoService.update(studentInfoRequest, studentInfoId);
     }
 
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER')")
+    @GetMapping("/statistics") // http://localhost:8080/studentInfo/statistics?lessonId=1&educationTermId=1
+    public ResponseMessage<GradeStatisticsResponse> getStatisticsByLessonAndTerm(
+            @RequestParam(value = "lessonId") Long lessonId,
+            @RequestParam(value = "educationTermId") Long educationTermId) {
+        return studentInfoService.getStatisticsByLessonAndTerm(lessonId, educationTermId);
+    }
+
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER')")
+    @GetMapping("/statistics/teacher/{teacherId}") // http://localhost:8080/studentInfo/statistics/teacher/2
+    public ResponseMessage<GradeStatisticsResponse> getStatisticsByTeacher(@PathVariable Long teacherId) {
+        return studentInfoService.getStatisticsByTeacher(teacherId);
+    }
+
     // !!! -> Bir ogretmen kendi ogrencilerinin bilgilerini almak isterse :
     @GetMapping("/getAllForTeacher") // http://localhost:8080/studentInfo/getAllForTeacher
     @PreAuthorize("hasAnyAuthority('TEACHER')")
@@ -0,0 +1,39 @@
+package com.project.controller.business;
+
+import com.project.payload.response.business.ResponseMessage;
+import com.project.payload.response.business.StudentGpaResponse;
+import com.project.payload.response.business.TranscriptResponse;
+import com.project.service.business.TranscriptService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+@RestController
+@RequestMapping("/transcript")
+@RequiredArgsConstructor
+public class TranscriptController {
+
+    private final TranscriptService transcriptService;
+
+    @GetMapping("/getByStudentId/{studentId}") // http://localhost:8080/transcript/getByStudentId/3
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER')")
+    public ResponseMessage<TranscriptResponse> getTranscriptByStudentId(@PathVariable Long studentId) {
+        return transcriptService.getTranscriptByStudentId(studentId);
+    }
+
+    // !!! -> Ogrenci kendi transkriptini almak isterse :
+    @GetMapping("/getForStudent") // http://localhost:8080/transcript/getForStudent
+    @PreAuthorize("hasAnyAuthority('STUDENT')")
+    public ResponseMessage<TranscriptResponse> getTranscriptForStudent(HttpServletRequest httpServletRequest) {
+        return transcriptService.getTranscriptForStudent(httpServletRequest);
+    }
+
+    @GetMapping("/getGpasByEducationTerm/{educationTermId}") // http://localhost:8080/transcript/getGpasByEducationTerm/1
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public ResponseMessage<List<StudentGpaResponse>> getGpasByEducationTerm(@PathVariable Long educationTermId) {
+        return transcriptService.getGpasByEducationTerm(educationTermId);
+    }
+}
@@ -5,7 +5,9 @@ import com.project.payload.request.business.LessonProgramRequest;
 import com.project.payload.request.user.StudentRequest;
 import com.project.payload.request.user.StudentRequestWithoutPassword;
 import com.project.payload.response.business.ResponseMessage;
+import com.project.payload.response.user.StudentImportResponse;
 import com.project.payload.response.user.StudentResponse;
+import com.project.service.user.StudentImportService;
 import com.project.service.user.StudentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +23,7 @@ import javax.validation.Valid;
 public class StudentController {
 
     private final StudentService studentService;
+    private final StudentImportService studentImportService;
 
     @PostMapping("/save") // http://localhost:8080/student/save  + JSON + POST
     @PreAuthorize("hasAnyAuthority('ADMIN')")
@@ -30,6 +33,15 @@ public class StudentController {
         return ResponseEntity.ok(studentService.saveStudent(studentRequest));
     }
 
+    //!!! CSV (baslik satiri ile) veya her satiri bir StudentRequest JSON u olan NDJSON dosyasindan toplu kayit
+    @PostMapping(value = "/import", consumes = {StudentImportService.TEXT_CSV_VALUE,
+            StudentImportService.APPLICATION_NDJSON_VALUE}) // http://localhost:8080/student/import  + CSV/NDJSON + POST
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public ResponseEntity<StudentImportResponse> importStudents(HttpServletRequest request){
+
+        return ResponseEntity.ok(studentImportService.importStudents(request));
+    }
+
     //!!! ogrencinin kendi bilgilerini guncellemesi
     @PatchMapping("/update") // http://localhost:8080/student/update + PATCH + JSON
     @PreAuthorize("hasAnyAuthority('STUDENT')")
@@ -1,6 +1,7 @@
 package com.project.controller.user;
 
 import com.project.payload.request.business.ChooseLessonTeacherRequest;
+import com.project.payload.request.user.AdvisorReassignmentRequest;
 import com.project.payload.request.user.TeacherRequest;
 import com.project.payload.response.business.ResponseMessage;
 import com.project.payload.response.user.StudentResponse;
@@ -56,6 +57,12 @@ public class TeacherController {
         return teacherService.deleteAdvisorTeacherById(id);
     }
 
+    @PatchMapping("/reassignAdvisorTeacher") // http://localhost:8080/teacher/reassignAdvisorTeacher + PATCH + JSON
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public ResponseMessage<Integer> reassignAdvisorTeacher(@RequestBody @Valid AdvisorReassignmentRequest request){
+        return teacherService.reassignAdvisorTeacher(request);
+    }
+
     @GetMapping("/getAllAdvisorTeacher") // http://localhost:8080/teacher/getAllAdvisorTeacher
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
     public List<UserResponse> getAllAdvisorTeacher(){
@@ -1,8 +1,10 @@
 package com.project.controller.user;
 
+import com.project.entity.enums.RoleType;
 import com.project.payload.request.user.UserRequest;
 import com.project.payload.request.user.UserRequestWithoutPassword;
 import com.project.payload.response.abstracts.BaseUserResponse;
+import com.project.payload.response.business.CursorPage;
 import com.project.payload.response.business.ResponseMessage;
 import com.project.payload.response.user.UserResponse;
 import com.project.service.user.UserService;
@@ -44,6 +46,18 @@ public class UserController {
         Page<UserResponse> adminsOrDeansOrViceDeans = userService.getUsersByPage(page,size,sort,type,userRole);
         return new ResponseEntity<>(adminsOrDeansOrViceDeans, HttpStatus.OK);
     }
+    //!!! offset yerine cursor ile sayfalama, cevaptaki nextCursor bir sonraki istekte gonderilir
+    @GetMapping("/getAllUserByCursor/{userRole}") // http://localhost:8080/user/getAllUserByCursor/Admin?size=10&cursor=...
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public ResponseEntity<CursorPage<UserResponse>> getUserByCursor(
+            @PathVariable String userRole,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "name") String sort,
+            @RequestParam(value = "type", defaultValue = "desc") String type
+    ){
+        return ResponseEntity.ok(userService.getUsersByCursor(cursor, size, sort, type, userRole));
+    }
     //!!! getUserById
     @GetMapping("/getUserById/{userId}") // http://localhost:8080/user/getUserById/1 + GET
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER')")
@@ -86,6 +100,17 @@ public class UserController {
     public List<UserResponse> getUserByName(@RequestParam (name = "name") String userName){
         return userService.getUserByName(userName);
     }
+
+    //!!! isim, soyisim ve username icinde benzerlik sirasina gore sayfali arama, rol filtresi opsiyonel
+    @GetMapping("/search") // http://localhost:8080/user/search?q=ahmet&role=STUDENT&page=0&size=10  + GET
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public ResponseEntity<Page<UserResponse>> searchUsers(
+            @RequestParam(value = "q") String query,
+            @RequestParam(value = "role", required = false) RoleType role,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size){
+        return ResponseEntity.ok(userService.searchUsers(query, role, page, size));
+    }
 }
 
 
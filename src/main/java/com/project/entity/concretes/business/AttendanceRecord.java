@@ -0,0 +1,44 @@
+package com.project.entity.concretes.business;
+
+import com.project.entity.concretes.user.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+//!!! Bir ogrencinin bir ders programindaki yoklamalari tek satirda bitset olarak tutuluyor. Bit i, donemin
+ // i. haftasindaki oturum (programin gunu). recordedSessions yoklamasi alinan, absentSessions ogrencinin gelmedigi
+ // oturumlar. Sayilar toplu sorgularda bitset acilmadan kullanilabilsin diye ayrica tutuluyor.
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "lesson_program_id"}))
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class AttendanceRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private User student;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private LessonProgram lessonProgram;
+
+    //!!! absentee hesabinda donem filtresi icin program uzerinden join yapilmasin
+    @ManyToOne(fetch = FetchType.LAZY)
+    private EducationTerm educationTerm;
+
+    private byte[] recordedSessions;
+
+    private byte[] absentSessions;
+
+    private Integer recordedCount;
+
+    private Integer absenceCount;
+}
@@ -0,0 +1,47 @@
+package com.project.entity.concretes.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+//!!! Donem bazli not politikasi. Sinav agirliklari ve her harf notu icin alinmasi gereken en dusuk ortalama
+ // tutuluyor, politikasi olmayan donemlerde application.properties deki varsayilan politika kullaniliyor
+@Entity
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class GradingPolicy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne
+    @JoinColumn(name = "education_term_id", unique = true, nullable = false)
+    private EducationTerm educationTerm;
+
+    private Double midtermPercentage;
+
+    private Double finalPercentage;
+
+    //!!! harf notu icin en dusuk ortalama, bu degerin altindaki ortalamalar FF
+    private Double ddMin;
+
+    //!!! null ise DC notu verilmiyor
+    private Double dcMin;
+
+    private Double ccMin;
+
+    private Double cbMin;
+
+    private Double bbMin;
+
+    private Double baMin;
+
+    private Double aaMin;
+}
@@ -4,7 +4,9 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import javax.persistence.*;
 import java.util.Set;
@@ -27,7 +29,11 @@ public class Lesson {
 
     private Boolean isCompulsory;
 
+    //!!! @Data nin urettigi hashCode bu lazy seti de yukluyordu, Lesson lari bir Set e eklemek her ders icin
+     // ayri bir sorgu demekti
     @ManyToMany
     @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<LessonProgram> lessonPrograms;
 }
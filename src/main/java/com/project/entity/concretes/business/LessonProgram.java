@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.project.entity.concretes.user.User;
 import com.project.entity.enums.Day;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.time.LocalTime;
@@ -32,7 +33,9 @@ public class LessonProgram {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm", timezone = "US")
     private LocalTime stopTime;
 
+    //!!! listelemede her programin dersleri tek tek degil, 50 li gruplar halinde yukleniyor
     @ManyToMany
+    @BatchSize(size = 50)
     @JoinTable(
           name = "lesson_program_lesson",
           joinColumns = @JoinColumn(name = "lessonprogram_id"),
@@ -43,10 +46,15 @@ public class LessonProgram {
     @ManyToOne(cascade = CascadeType.PERSIST)
     private EducationTerm educationTerm;
 
+    //!!! response larda kullanici bilgisi gosterilmiyor, EAGER olmasi her listelemede butun kayitli
+     // kullanicilari yukluyordu
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
-    @ManyToMany(mappedBy = "lessonsProgramList", fetch = FetchType.EAGER)
+    @ManyToMany(mappedBy = "lessonsProgramList")
+    @BatchSize(size = 50)
     private Set<User> users;
 
+    //!!! servisler silmeden once user_lessonprogram satirlarini toplu siliyor, burada yuklenen set bos geliyor.
+     // Bu metod toplu silme yapilmayan yollar icin yedek olarak duruyor
     @PreRemove
     private void removeLessonProgramFromUser(){
         users.forEach(user -> user.getLessonsProgramList().remove(this));
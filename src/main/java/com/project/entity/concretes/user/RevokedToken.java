@@ -0,0 +1,34 @@
+package com.project.entity.concretes.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "revoked_token")
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    //!!! iptal edilen access token in jti degeri
+    @Column(unique = true, nullable = false)
+    private String tokenId;
+
+    //!!! bu tarihten sonra token zaten gecersiz oldugu icin kayit silinebilir
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    //!!! DB saati ile kaydin eklendigi an, node lar son birkac dakikadaki kayitlari bu alana gore okuyor
+    private LocalDateTime createdAt;
+}
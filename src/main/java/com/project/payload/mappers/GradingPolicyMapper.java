@@ -0,0 +1,41 @@
+package com.project.payload.mappers;
+
+import com.project.entity.concretes.business.EducationTerm;
+import com.project.entity.concretes.business.GradingPolicy;
+import com.project.payload.request.business.GradingPolicyRequest;
+import com.project.payload.response.business.GradingPolicyResponse;
+import com.project.service.helper.GradingTable;
+import org.springframework.stereotype.Component;
+
+@Component
+public class GradingPolicyMapper {
+
+    //!!! DTO --> POJO
+    public GradingPolicy mapGradingPolicyRequestToGradingPolicy(GradingPolicyRequest gradingPolicyRequest,
+                                                                EducationTerm educationTerm){
+        return GradingPolicy.builder()
+                .educationTerm(educationTerm)
+                .midtermPercentage(gradingPolicyRequest.getMidtermPercentage())
+                .finalPercentage(gradingPolicyRequest.getFinalPercentage())
+                .ddMin(gradingPolicyRequest.getDdMin())
+                .dcMin(gradingPolicyRequest.getDcMin())
+                .ccMin(gradingPolicyRequest.getCcMin())
+                .cbMin(gradingPolicyRequest.getCbMin())
+                .bbMin(gradingPolicyRequest.getBbMin())
+                .baMin(gradingPolicyRequest.getBaMin())
+                .aaMin(gradingPolicyRequest.getAaMin())
+                .build();
+    }
+
+    //!!! cache deki tablo --> DTO, varsayilan politika da ayni sekilde donuluyor
+    public GradingPolicyResponse mapGradingTableToGradingPolicyResponse(Long educationTermId,
+                                                                        GradingTable gradingTable){
+        return GradingPolicyResponse.builder()
+                .educationTermId(educationTermId)
+                .defaultPolicy(gradingTable.isDefaultPolicy())
+                .midtermPercentage(gradingTable.getMidtermPercentage())
+                .finalPercentage(gradingTable.getFinalPercentage())
+                .letterGradeThresholds(gradingTable.getThresholds())
+                .build();
+    }
+}
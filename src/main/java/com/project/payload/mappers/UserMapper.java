@@ -8,6 +8,7 @@ import com.project.payload.request.user.UserRequest;
 import com.project.payload.response.user.StudentResponse;
 import com.project.payload.response.user.TeacherResponse;
 import com.project.payload.response.user.UserResponse;
+import com.project.repository.user.UserRepository;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -46,6 +47,41 @@ public class UserMapper {
                 .build();
     }
 
+    public UserResponse mapUserSummaryToUserResponse(UserRepository.UserSummaryView user){
+        return  UserResponse.builder()
+                .userId(user.getId())
+                .username(user.getUsername())
+                .name(user.getName())
+                .surname(user.getSurname())
+                .phoneNumber(user.getPhoneNumber())
+                .gender(user.getGender())
+                .birthDay(user.getBirthDay())
+                .birthPlace(user.getBirthPlace())
+                .ssn(user.getSsn())
+                .email(user.getEmail())
+                .userRole(user.getRoleType().name())
+                .build();
+    }
+
+    public StudentResponse mapStudentSummaryToStudentResponse(UserRepository.StudentSummaryView student){
+
+        return StudentResponse.builder()
+                .userId(student.getId())
+                .username(student.getUsername())
+                .name(student.getName())
+                .surname(student.getSurname())
+                .birthDay(student.getBirthDay())
+                .birthPlace(student.getBirthPlace())
+                .phoneNumber(student.getPhoneNumber())
+                .gender(student.getGender())
+                .email(student.getEmail())
+                .fatherName(student.getFatherName())
+                .motherName(student.getMotherName())
+                .studentNumber(student.getStudentNumber())
+                .isActive(student.isActive())
+                .build();
+    }
+
     public StudentResponse mapUserToStudentResponse(User student){
 
         return StudentResponse.builder()
@@ -9,6 +9,19 @@ public class ErrorMessages {
 
     public static final String NOT_PERMITTED_METHOD_MESSAGE = "You do not have any permission to do this operation";
     public static final String PASSWORD_NOT_MATCHED = "Your passwords are not matched";
+    public static final String PASSWORD_HASHING_BUSY = "Error: Server is busy, please try again later";
+    public static final String TOO_MANY_REQUESTS = "Error: Too many requests, please try again later";
+    public static final String LOGIN_BODY_TOO_LARGE = "Error: Login request body is too large";
+    public static final String STUDENT_IMPORT_READ_FAILED = "Error: Import file could not be read";
+    public static final String STUDENT_IMPORT_MISSING_COLUMN = "Error: Import file header is missing column %s";
+    public static final String STUDENT_IMPORT_INVALID_ROW = "Error: Row could not be parsed : %s";
+    public static final String STUDENT_IMPORT_DUPLICATE_IN_FILE = "Error: %s is repeated in the import file";
+    public static final String STUDENT_IMPORT_ROW_FAILED = "Error: Row could not be saved";
+    public static final String USER_SEARCH_NOT_READY = "Error: User search is not ready yet, please try again later";
+    public static final String CURSOR_NOT_VALID = "Error: Cursor is not valid for this request";
+    public static final String CURSOR_SORT_NOT_VALID = "Error: Can not sort by %s";
+    public static final String CURSOR_PAGE_SIZE_NOT_VALID = "Error: Page size must be greater than zero";
+    public static final String REFRESH_TOKEN_NOT_VALID = "Error: Refresh token is not valid or expired";
     public static final String ALREADY_REGISTER_MESSAGE_USERNAME = "Error : User with username %s is already registered";
     public static final String ALREADY_REGISTER_MESSAGE_SSN = "Error : User with ssn %s is already registered";
     public static final String ALREADY_REGISTER_MESSAGE_EMAIL = "Error : User with email %s is already registered";
@@ -40,14 +53,26 @@ public class ErrorMessages {
     public static final String NOT_FOUND_LESSON_PROGRAM_MESSAGE = "ERROR : Lesson program with this field %s not found";
     public static final String NOT_FOUND_LESSON_PROGRAM_MESSAGE_WITHOUT_ID_INFO="Error: Lesson program with this field not found";
     public static final String LESSON_PROGRAM_ALREADY_EXIST ="Error: Course schedule can not be selected for the same hour and date";
+    public static final String LESSON_PROGRAM_CONFLICTS_WITH = "Error: Course schedule conflicts with lesson programs %s";
+    public static final String LESSON_PROGRAM_TERM_MISMATCH = "Error: Lesson program at index %s does not belong to education term %s";
+    public static final String LESSON_PROGRAM_LESSON_OVERLAP = "Error: Lesson with id %s is scheduled more than once at the same time";
+    public static final String TIMETABLE_LESSON_REPEATED = "Error: Lesson with id %s is listed more than once";
+    public static final String TIMETABLE_TEACHER_CONFLICT = "Error: Teacher with id %s was assigned conflicting lesson programs %s while the timetable was being generated, please try again";
 
 
     public static final String STUDENT_INFO_NOT_FOUND = "Error: Student Info with id %s not found";
     public static final String STUDENT_INFO_NOT_FOUND_BY_STUDENT_ID= "Error: Student Info with  student id %d not found" ;
+    public static final String ATTENDANCE_STUDENT_NOT_IN_PROGRAM = "Error: Student with id %s is not registered to lesson program %s";
+    public static final String ATTENDANCE_SESSION_DATE_INVALID = "Error: %s is not a session date of lesson program %s";
+    public static final String GRADING_POLICY_WEIGHTS = "Error: Midterm and final percentages must add up to 1";
+    public static final String GRADING_POLICY_THRESHOLDS = "Error: Letter grade thresholds must be increasing from DD to AA with at most two decimals";
+    public static final String REGRADE_JOB_NOT_FOUND = "Error: Regrade job with id %s not found";
+    public static final String STUDENT_INFO_STUDENT_REPEATED = "Error: Student with id %s is listed more than once";
 
 
 
     public static final String MEET_HOURS_CONFLICT = "Error: Meet hours has conflict with existing meets";
+    public static final String MEET_HOURS_CONFLICT_WITH_USERS = "Error: Meet hours has conflict with existing meets of users %s";
     public static final String MEET_NOT_FOUND_MESSAGE = "Error: Meet with id %d not found" ;
 
 }
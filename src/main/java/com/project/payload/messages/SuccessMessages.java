@@ -7,6 +7,7 @@ public class SuccessMessages {
     }
 
     public static final String PASSWORD_CHANGED_RESPONSE_MESSAGE = "Password Successfully Changed";
+    public static final String LOGOUT_SUCCESS = "Logged out successfully";
 
     public static final String USER_CREATED = "User is Saved Successfully";
     public static final String USER_FOUND = "User is Found Successfully";
@@ -19,6 +20,7 @@ public class SuccessMessages {
 
     public static final String ADVISOR_TEACHER_SAVE = "Advisor Teacher is Saved Successfully";
     public static final String ADVISOR_TEACHER_DELETE = "Advisor Teacher is Deleted Successfully";
+    public static final String ADVISOR_TEACHER_REASSIGNED = "Students are Reassigned Successfully";
 
     public static final String STUDENT_SAVED = "Student is Saved Successfully";
     public static final String STUDENT_UPDATE = "Student is updated successfully ";
@@ -32,6 +34,8 @@ public class SuccessMessages {
     public static final String LESSON_FOUND = "Lesson is Found Successfully";
 
     public static final String LESSON_PROGRAM_SAVED = "Lesson Program is Saved Successfully";
+    public static final String LESSON_PROGRAMS_SAVED = "%s Lesson Programs are Saved Successfully";
+    public static final String TIMETABLE_GENERATED = "Timetable is generated, %s of %s sessions are scheduled";
     public static final String LESSON_PROGRAM_DELETE = "Lesson Program is Deleted Successfully";
     public static final String LESSON_PROGRAM_ADD_TO_STUDENT = "Lesson Program added to student";
     public static final String LESSON_PROGRAM_ADD_TO_TEACHER = "Lesson Program added to teacher";
@@ -40,6 +44,16 @@ public class SuccessMessages {
     public static final String STUDENT_INFO_SAVED = "Student Info is Saved Successfully";
     public static final String STUDENT_INFO_DELETE = "Student Info is Deleted Successfully";
     public static final String STUDENT_INFO_UPDATE = "Student Info is Updated Successfully";
+    public static final String GRADE_STATISTICS_FOUND = "Grade Statistics are Found Successfully";
+    public static final String GRADING_POLICY_SAVED = "Grading Policy is Saved Successfully";
+    public static final String GRADING_POLICY_FOUND = "Grading Policy is Found Successfully";
+    public static final String REGRADE_JOB_STARTED = "Regrade Job is Started Successfully";
+    public static final String REGRADE_JOB_FOUND = "Regrade Job is Found Successfully";
+    public static final String ATTENDANCE_SAVED = "Attendance is Saved Successfully";
+    public static final String ATTENDANCE_FOUND = "Attendance is Found Successfully";
+    public static final String RANKING_FOUND = "Ranking is Found Successfully";
+    public static final String TRANSCRIPT_FOUND = "Transcript is Found Successfully";
+    public static final String STUDENT_INFOS_SAVED = "%s Student Infos are Saved and %s are Updated Successfully";
 
 
     public static final String MEET_SAVED = "Meet is Saved Successfully";
@@ -0,0 +1,16 @@
+package com.project.payload.request.authentication;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshTokenRequest {
+
+    @NotNull(message = "Refresh token must not be empty")
+    private String refreshToken;
+}
@@ -0,0 +1,66 @@
+package com.project.payload.request.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class GradingPolicyRequest {
+
+    @NotNull(message = "Please select education term")
+    private Long educationTermId;
+
+    //!!! agirliklarin toplami 1 olmali
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    @NotNull(message = "Please enter midterm percentage")
+    private Double midtermPercentage;
+
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    @NotNull(message = "Please enter final percentage")
+    private Double finalPercentage;
+
+    //!!! esikler DD --> AA yonunde artan sirada olmali
+    @DecimalMin("0.0")
+    @DecimalMax("100.0")
+    @NotNull(message = "Please enter DD threshold")
+    private Double ddMin;
+
+    @DecimalMin("0.0")
+    @DecimalMax("100.0")
+    private Double dcMin;
+
+    @DecimalMin("0.0")
+    @DecimalMax("100.0")
+    @NotNull(message = "Please enter CC threshold")
+    private Double ccMin;
+
+    @DecimalMin("0.0")
+    @DecimalMax("100.0")
+    @NotNull(message = "Please enter CB threshold")
+    private Double cbMin;
+
+    @DecimalMin("0.0")
+    @DecimalMax("100.0")
+    @NotNull(message = "Please enter BB threshold")
+    private Double bbMin;
+
+    @DecimalMin("0.0")
+    @DecimalMax("100.0")
+    @NotNull(message = "Please enter BA threshold")
+    private Double baMin;
+
+    @DecimalMin("0.0")
+    @DecimalMax("100.0")
+    @NotNull(message = "Please enter AA threshold")
+    private Double aaMin;
+}
@@ -0,0 +1,26 @@
+package com.project.payload.request.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class LessonProgramBatchRequest {
+
+    //!!! listedeki butun programlar bu doneme ait olmali
+    @NotNull(message = "Please enter education term")
+    private Long educationTermId;
+
+    @NotNull(message = "Please enter lesson programs")
+    @Size(min = 1, max = 5000, message = "Lesson programs should be between 1 and 5000")
+    private List<@Valid LessonProgramRequest> lessonPrograms;
+}
@@ -0,0 +1,29 @@
+package com.project.payload.request.business;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class RollCallRequest {
+
+    @NotNull(message = "Please select lesson program")
+    private Long lessonProgramId;
+
+    @NotNull(message = "Please enter session date")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate sessionDate;
+
+    //!!! listede olmayan, programa kayitli butun ogrenciler derse gelmis sayiliyor
+    @NotNull(message = "Please enter absent students")
+    private List<Long> absentStudentIds;
+}
@@ -0,0 +1,29 @@
+package com.project.payload.request.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class StudentInfoBatchRequest {
+
+    @NotNull(message = "Please select lesson")
+    private Long lessonId;
+
+    @NotNull(message = "Please select education term")
+    private Long educationTermId;
+
+    //!!! sinif listesi, her ogrenci bir kez yer almali
+    @NotNull(message = "Please enter grades")
+    @Size(min = 1, max = 2000, message = "Grades should be between 1 and 2000")
+    private List<@Valid StudentGradeRequest> grades;
+}
@@ -0,0 +1,41 @@
+package com.project.payload.request.business;
+
+import com.project.entity.enums.Day;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class TimetableGenerationRequest {
+
+    @NotNull(message = "Please enter education term")
+    private Long educationTermId;
+
+    @NotNull(message = "Please enter days")
+    @Size(min = 1, message = "Days must not be empty")
+    private Set<Day> days;
+
+    //!!! her gun icin ayni saat dilimleri kullanilir
+    @NotNull(message = "Please enter time slots")
+    @Size(min = 1, max = 48, message = "Time slots should be between 1 and 48")
+    private List<@Valid TimetableSlotRequest> slots;
+
+    @NotNull(message = "Please enter lessons")
+    @Size(min = 1, message = "Lessons must not be empty")
+    private List<@Valid TimetableLessonRequest> lessons;
+
+    //!!! bos ise varsayilan sure kullanilir
+    @Min(value = 100, message = "Time budget should be at least 100 ms")
+    private Long timeBudgetMs;
+}
@@ -0,0 +1,32 @@
+package com.project.payload.request.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class TimetableLessonRequest {
+
+    @NotNull(message = "Please select lesson")
+    private Long lessonId;
+
+    //!!! dersi verebilecek ogretmenler, her oturum bunlardan birine atanir
+    @NotNull(message = "Please select teachers")
+    @Size(min = 1, message = "Teachers must not be empty")
+    private Set<Long> teacherIds;
+
+    @NotNull(message = "Please enter weekly session count")
+    @Min(value = 1, message = "Weekly session count should be at least 1")
+    @Max(value = 40, message = "Weekly session count should be at most 40")
+    private Integer sessionsPerWeek;
+}
@@ -0,0 +1,25 @@
+package com.project.payload.request.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class AdvisorReassignmentRequest {
+
+    @NotNull(message = "Please select current advisor teacher")
+    private Long fromAdvisorTeacherId;
+
+    //!!! null ise ogrenciler hicbir rehber ogretmene bagli olmaz
+    private Long toAdvisorTeacherId;
+
+    //!!! bos ise rehber ogretmenin tum ogrencileri tasinir
+    private Set<Long> studentIds;
+}
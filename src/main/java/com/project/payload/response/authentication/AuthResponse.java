@@ -17,6 +17,7 @@ public class AuthResponse {
     private String ssn;
     private String role;
     private String token;
+    private String refreshToken;
     private String name;
 
 }
@@ -0,0 +1,23 @@
+package com.project.payload.response.authentication;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PasswordHashStatsResponse {
+
+    private int poolSize;
+    private int activeThreads;
+    private int queueDepth;
+    private int queueCapacity;
+    private long completed;
+    private long rejected;
+    private double averageQueueWaitMs;
+    private double averageHashLatencyMs;
+    private double maxHashLatencyMs;
+}
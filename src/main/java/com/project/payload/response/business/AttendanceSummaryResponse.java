@@ -0,0 +1,29 @@
+package com.project.payload.response.business;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AttendanceSummaryResponse {
+
+    private Long studentId;
+    private Long lessonProgramId;
+    private Integer recordedSessions;
+    private Integer absences;
+    private Integer longestAbsenceStreak;
+    //!!! son yoklamalardan geriye dogru arka arkaya devamsizlik
+    private Integer currentAbsenceStreak;
+    //!!! devamsizlik veya arka arkaya devamsizlik siniri asildi
+    private Boolean alert;
+    private List<LocalDate> absentDates;
+}
@@ -0,0 +1,34 @@
+package com.project.payload.response.business;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<E> {
+
+    private List<E> content;
+    private int size;
+    private boolean hasNext;
+    //!!! bir sonraki sayfa icin ayni parametrelerle birlikte gonderilecek deger
+    private String nextCursor;
+
+    public <R> CursorPage<R> map(Function<? super E, ? extends R> mapper) {
+        return CursorPage.<R>builder()
+                .content(content.stream().map(mapper).collect(Collectors.toList()))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.project.payload.response.business;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.project.entity.enums.Note;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GradeStatisticsResponse {
+
+    private Long count;
+    private Double mean;
+    private Double standardDeviation;
+    private Double min;
+    private Double max;
+    //!!! yuzdelikler 0.1 hassasiyetinde
+    private Double percentile25;
+    private Double median;
+    private Double percentile75;
+    private Double percentile90;
+    private Map<Note, Long> letterGrades;
+}
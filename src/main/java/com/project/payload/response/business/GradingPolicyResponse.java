@@ -0,0 +1,27 @@
+package com.project.payload.response.business;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.project.entity.enums.Note;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GradingPolicyResponse {
+
+    private Long educationTermId;
+    //!!! donemin kendi politikasi yoksa varsayilan politika donuluyor
+    private boolean defaultPolicy;
+    private Double midtermPercentage;
+    private Double finalPercentage;
+    private Map<Note, Double> letterGradeThresholds;
+    //!!! politika kaydedildiginde baslatilan yeniden notlandirma isi
+    private RegradeJobResponse regradeJob;
+}
@@ -0,0 +1,22 @@
+package com.project.payload.response.business;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RankedStudentResponse {
+
+    //!!! esit ortalamali ogrenciler ayni sirayi paylasiyor
+    private Integer rank;
+    private Long studentId;
+    private String name;
+    private String surname;
+    private Double average;
+}
@@ -0,0 +1,28 @@
+package com.project.payload.response.business;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RegradeJobResponse {
+
+    private String jobId;
+    private Long educationTermId;
+    private String status;
+    private Long totalRows;
+    private Long processedRows;
+    private Long updatedRows;
+    private Double progressPercentage;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,21 @@
+package com.project.payload.response.business;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentGpaResponse {
+
+    private Long studentId;
+    private Integer termCredits;
+    private Double termGpa;
+    private Integer totalCredits;
+    private Double cumulativeGpa;
+}
@@ -0,0 +1,36 @@
+package com.project.payload.response.business;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentRankResponse {
+
+    private Long studentId;
+    private RankResponse school;
+    private List<RankResponse> terms;
+    private List<RankResponse> lessons;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder(toBuilder = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RankResponse {
+
+        private Long lessonId;
+        private Long educationTermId;
+        private Integer rank;
+        private Integer total;
+        private Double average;
+    }
+}
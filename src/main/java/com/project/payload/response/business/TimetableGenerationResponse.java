@@ -0,0 +1,43 @@
+package com.project.payload.response.business;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.project.entity.enums.Day;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TimetableGenerationResponse {
+
+    private int requestedSessions;
+    private int scheduledSessions;
+    //!!! ayni gune dusen ayni ders oturumu cifti sayisi, 0 ise dersler gunlere dagitilmis
+    private long sameDayPairs;
+    private long attempts;
+    private long elapsedMs;
+    private List<ScheduledSession> lessonPrograms;
+    //!!! yerlestirilemeyen her oturum icin dersin id si
+    private List<Long> unscheduledLessonIds;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ScheduledSession {
+
+        private Long lessonProgramId;
+        private Long lessonId;
+        private Long teacherId;
+        private Day day;
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+        private LocalTime startTime;
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm")
+        private LocalTime stopTime;
+    }
+}
@@ -0,0 +1,56 @@
+package com.project.payload.response.business;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.project.entity.enums.Note;
+import com.project.entity.enums.Term;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TranscriptResponse {
+
+    private Long studentId;
+    private Integer totalCredits;
+    //!!! notu girilmis dersi olmayan ogrenci icin null
+    private Double cumulativeGpa;
+    private List<TermTranscript> terms;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder(toBuilder = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class TermTranscript {
+
+        private Long educationTermId;
+        private Term term;
+        private LocalDate startDate;
+        private Integer credits;
+        private Double gpa;
+        private List<TranscriptLesson> lessons;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder(toBuilder = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class TranscriptLesson {
+
+        private Long lessonId;
+        private String lessonName;
+        private Integer creditScore;
+        private Double examAverage;
+        private Note letterGrade;
+        private Double gradePoint;
+    }
+}
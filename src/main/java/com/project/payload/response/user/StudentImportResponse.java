@@ -0,0 +1,32 @@
+package com.project.payload.response.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StudentImportResponse {
+
+    private int totalRows;
+    private int importedRows;
+    private int failedRows;
+    private long elapsedMs;
+    private double rowsPerSecond;
+    private List<StudentImportError> errors;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class StudentImportError {
+
+        private int row;
+        private String username;
+        private String message;
+    }
+}
@@ -0,0 +1,55 @@
+package com.project.repository.business;
+
+import com.project.entity.concretes.business.AttendanceRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AttendanceRecordRepository extends JpaRepository<AttendanceRecord, Long> {
+
+    @Query("SELECT a FROM AttendanceRecord a WHERE a.lessonProgram.id = :lessonProgramId")
+    List<AttendanceRecord> findByLessonProgramId(@Param("lessonProgramId") Long lessonProgramId);
+
+    @Query("SELECT a FROM AttendanceRecord a JOIN FETCH a.lessonProgram WHERE a.student.id = :studentId")
+    List<AttendanceRecord> findByStudentId(@Param("studentId") Long studentId);
+
+    //!!! ogrencilerin bir dersteki devamsizlik toplami (dersin butun programlari), yoklamasi olmayan ogrenci donmuyor
+    @Query("SELECT a.student.id AS studentId, SUM(a.absenceCount) AS absences FROM AttendanceRecord a " +
+            "JOIN a.lessonProgram lp JOIN lp.lessons l " +
+            "WHERE a.student.id IN :studentIds AND l.lessonId = :lessonId AND a.educationTerm.id = :educationTermId " +
+            "GROUP BY a.student.id")
+    List<AbsenceTotalView> sumAbsences(@Param("studentIds") Collection<Long> studentIds,
+                                       @Param("lessonId") Long lessonId,
+                                       @Param("educationTermId") Long educationTermId);
+
+    //!!! StudentInfo.absentee yoklama verisinden, tek set-based UPDATE ile turetiliyor
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE student_info si SET absentee = a.absences FROM (" +
+            "SELECT ar.student_id, lpl.lesson_id, ar.education_term_id, SUM(ar.absence_count) AS absences " +
+            "FROM attendance_record ar JOIN lesson_program_lesson lpl ON lpl.lessonprogram_id = ar.lesson_program_id " +
+            "WHERE ar.student_id IN :studentIds AND lpl.lesson_id IN :lessonIds " +
+            "GROUP BY ar.student_id, lpl.lesson_id, ar.education_term_id) a " +
+            "WHERE si.student_id = a.student_id AND si.lesson_lesson_id = a.lesson_id " +
+            "AND si.education_term_id = a.education_term_id", nativeQuery = true)
+    int deriveAbsentee(@Param("studentIds") Collection<Long> studentIds,
+                       @Param("lessonIds") Collection<Long> lessonIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM AttendanceRecord a WHERE a.lessonProgram.id IN :lessonProgramIds")
+    void deleteByLessonProgramIds(@Param("lessonProgramIds") Collection<Long> lessonProgramIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM AttendanceRecord a WHERE a.student.id = :studentId")
+    void deleteByStudentId(@Param("studentId") Long studentId);
+
+    interface AbsenceTotalView {
+
+        Long getStudentId();
+
+        Long getAbsences();
+    }
+}
@@ -0,0 +1,17 @@
+package com.project.repository.business;
+
+import com.project.entity.concretes.business.GradingPolicy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface GradingPolicyRepository extends JpaRepository<GradingPolicy, Long> {
+
+    Optional<GradingPolicy> findByEducationTerm_Id(Long educationTermId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM GradingPolicy g WHERE g.educationTerm.id = ?1")
+    void deleteByEducationTermId(Long educationTermId);
+}
@@ -0,0 +1,91 @@
+package com.project.repository.business;
+
+import com.project.entity.concretes.business.Lesson;
+import com.project.entity.concretes.business.LessonProgram;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.List;
+
+//!!! Bir donemin butun ders programlarini tek seferde kaydetmek icin JDBC batch insert. IDENTITY id ler
+ // Hibernate in insert batching ini kapattigi icin saveAll her program icin ayri insert gonderiyordu.
+ // Uretilen id ler batch sonunda getGeneratedKeys ile okunup entity lere setleniyor.
+@Repository
+@RequiredArgsConstructor
+public class LessonProgramBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_LESSON_PROGRAM_SQL =
+            "INSERT INTO lesson_program (day, start_time, stop_time, education_term_id) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_LESSON_PROGRAM_LESSON_SQL =
+            "INSERT INTO lesson_program_lesson (lessonprogram_id, lesson_id) VALUES (?, ?)";
+
+    private static final String INSERT_USER_LESSON_PROGRAM_SQL =
+            "INSERT INTO user_lessonprogram (user_id, lesson_program_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    //!!! cagiran metodun transaction i icinde calismali
+    public void insertAll(List<LessonProgram> lessonPrograms) {
+        for (int from = 0; from < lessonPrograms.size(); from += BATCH_SIZE) {
+            List<LessonProgram> chunk = lessonPrograms.subList(from, Math.min(from + BATCH_SIZE, lessonPrograms.size()));
+            insertLessonPrograms(chunk);
+        }
+        insertLessons(lessonPrograms);
+    }
+
+    //!!! userIds.get(i), lessonPrograms.get(i) ye atanir. insertAll dan sonra cagrilmali
+    public void insertUserAssignments(List<LessonProgram> lessonPrograms, List<Long> userIds) {
+        List<Object[]> rows = new ArrayList<>(lessonPrograms.size());
+        for (int i = 0; i < lessonPrograms.size(); i++) {
+            rows.add(new Object[]{userIds.get(i), lessonPrograms.get(i).getId()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_LESSON_PROGRAM_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, (Long) row[0]);
+            ps.setLong(2, (Long) row[1]);
+        });
+    }
+
+    private void insertLessonPrograms(List<LessonProgram> lessonPrograms) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_LESSON_PROGRAM_SQL, new String[]{"id"})) {
+                for (LessonProgram lessonProgram : lessonPrograms) {
+                    ps.setString(1, lessonProgram.getDay().name());
+                    ps.setTime(2, Time.valueOf(lessonProgram.getStartTime()));
+                    ps.setTime(3, Time.valueOf(lessonProgram.getStopTime()));
+                    ps.setLong(4, lessonProgram.getEducationTerm().getId());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next()) {
+                        lessonPrograms.get(i++).setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private void insertLessons(List<LessonProgram> lessonPrograms) {
+        List<Object[]> rows = new ArrayList<>();
+        for (LessonProgram lessonProgram : lessonPrograms) {
+            for (Lesson lesson : lessonProgram.getLessons()) {
+                rows.add(new Object[]{lessonProgram.getId(), lesson.getLessonId()});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_LESSON_PROGRAM_LESSON_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, (Long) row[0]);
+            ps.setLong(2, (Long) row[1]);
+        });
+    }
+}
@@ -1,26 +1,81 @@
 package com.project.repository.business;
 
 import com.project.entity.concretes.business.LessonProgram;
+import com.project.entity.enums.Day;
+import com.project.entity.enums.RoleType;
 import com.project.payload.response.business.LessonProgramResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+import java.time.LocalTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public interface LessonProgramRepository extends JpaRepository<LessonProgram, Long> {
-    List<LessonProgram> findByUsers_IdNull();
 
-    List<LessonProgram> findByUsers_IdNotNull();
+    //!!! listeleme sorgulari response da gosterilen dersleri ayni sorguda getiriyor, kullanicilar yuklenmiyor
+    @Query("SELECT DISTINCT l FROM LessonProgram l LEFT JOIN FETCH l.lessons")
+    List<LessonProgram> findAllWithLessons();
 
-    @Query("SELECT l FROM LessonProgram l INNER JOIN l.users users WHERE users.username = ?1")
-    Set<LessonProgram> getLessonProgramByUsersUsername(String userName);
+    @Query("SELECT DISTINCT l FROM LessonProgram l LEFT JOIN FETCH l.lessons WHERE l.users IS EMPTY")
+    List<LessonProgram> findAllUnassigned();
 
-    Set<LessonProgram> findByUsers_IdEquals(Long teacherId);
+    @Query("SELECT DISTINCT l FROM LessonProgram l LEFT JOIN FETCH l.lessons WHERE l.users IS NOT EMPTY")
+    List<LessonProgram> findAllAssigned();
 
-    @Query("SELECT l FROM LessonProgram l WHERE l.id IN :lessonIdSet")
+    //!!! haftalik program cache i icin, dersler ayni sorguda getiriliyor
+    @Query("SELECT DISTINCT l FROM LessonProgram l LEFT JOIN FETCH l.lessons INNER JOIN l.users users WHERE users.id = ?1")
+    Set<LessonProgram> findTimetableByUserId(Long userId);
+
+    //!!! teacher/student a program atamada cakisma kontrolu ve response icin dersler de getiriliyor
+    @Query("SELECT DISTINCT l FROM LessonProgram l LEFT JOIN FETCH l.lessons WHERE l.id IN :lessonIdSet")
     // SQL --> SELECT * FROM lesson_program WHERE lesson_program.id IN (2,3)
     Set<LessonProgram> getLessonProgramByLessonProgramIdList(Set<Long> lessonIdSet);
 
+    @Query("SELECT l.id FROM LessonProgram l WHERE l.educationTerm.id = :educationTermId")
+    List<Long> findIdsByEducationTermId(@Param("educationTermId") Long educationTermId);
+
+    //!!! ayni programin yoklamalari (ilk yoklama dahil) sirayla kaydedilsin diye program satiri kilitleniyor
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM LessonProgram l WHERE l.id = :id")
+    Optional<LessonProgram> findByIdForUpdate(@Param("id") Long id);
+
+    //!!! yoklamada programa kayitli ogrenciler ve programin ogretmeni
+    @Query("SELECT u.id FROM User u INNER JOIN u.lessonsProgramList l " +
+            "WHERE l.id = :lessonProgramId AND u.userRole.roleType = :roleType")
+    List<Long> findUserIdsByLessonProgramIdAndRole(@Param("lessonProgramId") Long lessonProgramId,
+                                                   @Param("roleType") RoleType roleType);
+
+    @Query("SELECT DISTINCT u.id FROM User u INNER JOIN u.lessonsProgramList l WHERE l.id IN :lessonProgramIds")
+    List<Long> findUserIdsByLessonProgramIds(@Param("lessonProgramIds") Collection<Long> lessonProgramIds);
+
+    //!!! @PreRemove da her kullanicinin ders programi setini yuklemek yerine join tablosu tek sorguda temizleniyor
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM user_lessonprogram WHERE lesson_program_id IN :lessonProgramIds", nativeQuery = true)
+    int deleteUserAssignments(@Param("lessonProgramIds") Collection<Long> lessonProgramIds);
+
+    //!!! cakisma kontrolu icin sadece saatler okunuyor, istek boyunca acik persistence context teki eski
+     // program listeleri yerine DB deki guncel atamalar goruluyor
+    @Query("SELECT u.id AS userId, l.id AS id, l.day AS day, l.startTime AS startTime, l.stopTime AS stopTime " +
+            "FROM User u INNER JOIN u.lessonsProgramList l WHERE u.id IN :userIds")
+    List<ProgramTimeView> findProgramTimesByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    interface ProgramTimeView {
+
+        Long getUserId();
+
+        Long getId();
+
+        Day getDay();
+
+        LocalTime getStartTime();
+
+        LocalTime getStopTime();
+    }
 }
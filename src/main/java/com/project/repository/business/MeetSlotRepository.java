@@ -0,0 +1,104 @@
+package com.project.repository.business;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PostConstruct;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+//!!! Meet saatleri danisman ogretmen ve her katilimci icin meet_slot tablosunda tsrange olarak tutuluyor.
+ // Ayni kullanicinin kesisen iki slotu PostgreSQL exclusion constraint (btree_gist ile GiST index) tarafindan
+ // engelleniyor, cakisma kontrolu Java da mevcut meet leri tek tek gezmiyor ve ayni anda gelen kayitlarda da
+ // dogru calisiyor. Tablo Hibernate in bilmedigi bir tip kullandigi icin burada olusturuluyor.
+@Repository
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class MeetSlotRepository {
+
+    private static final String CREATE_EXTENSION_SQL = "CREATE EXTENSION IF NOT EXISTS btree_gist";
+
+    private static final String CREATE_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS meet_slot (" +
+            "meet_id BIGINT NOT NULL REFERENCES meet (id) ON DELETE CASCADE, " +
+            "user_id BIGINT NOT NULL REFERENCES t_user (id) ON DELETE CASCADE, " +
+            "slot TSRANGE NOT NULL, " +
+            "PRIMARY KEY (meet_id, user_id), " +
+            "CONSTRAINT meet_slot_no_overlap EXCLUDE USING gist (user_id WITH =, slot WITH &&))";
+
+    //!!! tablo ilk olusturuldugunda mevcut meet ler aktariliyor, eskiden kalan cakisan slotlar atlaniyor
+    private static final String BACKFILL_SQL =
+            "INSERT INTO meet_slot (meet_id, user_id, slot) " +
+            "SELECT m.id, p.user_id, tsrange(m.date + m.start_time, m.date + m.stop_time, '[)') FROM meet m " +
+            "JOIN (SELECT id AS meet_id, advisory_teacher_id AS user_id FROM meet " +
+            "WHERE advisory_teacher_id IS NOT NULL " +
+            "UNION SELECT meet_id, student_id FROM meet_student_table) p ON p.meet_id = m.id " +
+            "WHERE m.date IS NOT NULL AND m.start_time < m.stop_time " +
+            "ORDER BY m.id ON CONFLICT DO NOTHING";
+
+    //!!! '[)' araligi: biri bitince digeri baslayan meet ler cakismiyor. ON CONFLICT DO NOTHING exclusion
+     // constraint ihlalinde hata firlatmadan satiri atliyor, eklenemeyen kullanicilar cakisan katilimcilar
+    private static final String INSERT_SLOTS_SQL =
+            "INSERT INTO meet_slot (meet_id, user_id, slot) " +
+            "SELECT ?, u.user_id, tsrange(?::timestamp, ?::timestamp, '[)') FROM unnest(?::bigint[]) AS u(user_id) " +
+            "ON CONFLICT DO NOTHING RETURNING user_id";
+
+    private static final String DELETE_SLOTS_SQL = "DELETE FROM meet_slot WHERE meet_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void createTable() {
+        jdbcTemplate.execute(CREATE_EXTENSION_SQL);
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT to_regclass('meet_slot') IS NOT NULL", Boolean.class);
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+        if (!Boolean.TRUE.equals(exists)) {
+            jdbcTemplate.update(BACKFILL_SQL);
+        }
+    }
+
+    //!!! cagiran metodun transaction i icinde calismali. Cakisma olan kullanicilarin id leri donuluyor,
+     // bos degilse cagiran transaction i geri almali
+    public List<Long> reserve(Long meetId, Collection<Long> userIds, LocalDateTime start, LocalDateTime stop) {
+        Set<Long> reserved = new HashSet<>();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            Array ids = connection.createArrayOf("bigint", userIds.toArray());
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SLOTS_SQL)) {
+                ps.setLong(1, meetId);
+                ps.setObject(2, start);
+                ps.setObject(3, stop);
+                ps.setArray(4, ids);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        reserved.add(rs.getLong(1));
+                    }
+                }
+            } finally {
+                ids.free();
+            }
+            return null;
+        });
+        List<Long> conflicting = new ArrayList<>();
+        for (Long userId : userIds) {
+            if (!reserved.contains(userId)) {
+                conflicting.add(userId);
+            }
+        }
+        return conflicting;
+    }
+
+    public void deleteByMeetId(Long meetId) {
+        jdbcTemplate.update(DELETE_SLOTS_SQL, meetId);
+    }
+}
@@ -0,0 +1,100 @@
+package com.project.repository.business;
+
+import com.project.entity.concretes.business.StudentInfo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+//!!! Sinif listesinin notlari icin JDBC batch insert/update. IDENTITY id ler Hibernate in insert batching ini
+ // kapattigi icin her kayit ayri bir insert olarak gidiyordu. Insert de uretilen id ler entity lere setleniyor.
+@Repository
+@RequiredArgsConstructor
+public class StudentInfoBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_STUDENT_INFO_SQL =
+            "INSERT INTO student_info (absentee, midterm_exam, final_exam, exam_average, info_note, letter_grade, " +
+            "education_term_id, teacher_id, student_id, lesson_lesson_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    //!!! guncellemede ogretmen, ogrenci, ders ve donem degismiyor
+    private static final String UPDATE_STUDENT_INFO_SQL =
+            "UPDATE student_info SET absentee = ?, midterm_exam = ?, final_exam = ?, exam_average = ?, " +
+            "info_note = ?, letter_grade = ? WHERE id = ?";
+
+    //!!! notlar okunduktan sonra ogretmen tarafindan degistirildiyse satir eski notlarla ezilmiyor
+    private static final String UPDATE_GRADE_SQL =
+            "UPDATE student_info SET exam_average = ?, letter_grade = ? " +
+            "WHERE id = ? AND midterm_exam = ? AND final_exam = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    //!!! cagiran metodun transaction i icinde calismali
+    public void insertAll(List<StudentInfo> studentInfos) {
+        for (int from = 0; from < studentInfos.size(); from += BATCH_SIZE) {
+            List<StudentInfo> chunk = studentInfos.subList(from, Math.min(from + BATCH_SIZE, studentInfos.size()));
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try (PreparedStatement ps = connection.prepareStatement(INSERT_STUDENT_INFO_SQL, new String[]{"id"})) {
+                    for (StudentInfo studentInfo : chunk) {
+                        setGradeValues(ps, studentInfo);
+                        ps.setLong(7, studentInfo.getEducationTerm().getId());
+                        ps.setLong(8, studentInfo.getTeacher().getId());
+                        ps.setLong(9, studentInfo.getStudent().getId());
+                        ps.setLong(10, studentInfo.getLesson().getLessonId());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        int i = 0;
+                        while (keys.next()) {
+                            chunk.get(i++).setId(keys.getLong(1));
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+    }
+
+    public void updateAll(List<StudentInfo> studentInfos) {
+        jdbcTemplate.batchUpdate(UPDATE_STUDENT_INFO_SQL, studentInfos, BATCH_SIZE, (ps, studentInfo) -> {
+            setGradeValues(ps, studentInfo);
+            ps.setLong(7, studentInfo.getId());
+        });
+    }
+
+    //!!! yeniden notlandirmada sadece ortalama ve harf notu degisiyor. Satir satir guncellenip guncellenmedigi
+     // (sinav notlari hala ayni mi) donuluyor
+    public boolean[] updateGrades(List<StudentInfo> studentInfos) {
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_GRADE_SQL, studentInfos, BATCH_SIZE, (ps, studentInfo) -> {
+            ps.setDouble(1, studentInfo.getExamAverage());
+            ps.setString(2, studentInfo.getLetterGrade().name());
+            ps.setLong(3, studentInfo.getId());
+            ps.setDouble(4, studentInfo.getMidtermExam());
+            ps.setDouble(5, studentInfo.getFinalExam());
+        });
+        boolean[] updated = new boolean[studentInfos.size()];
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                updated[i++] = count != 0;
+            }
+        }
+        return updated;
+    }
+
+    private void setGradeValues(PreparedStatement ps, StudentInfo studentInfo) throws SQLException {
+        ps.setInt(1, studentInfo.getAbsentee());
+        ps.setDouble(2, studentInfo.getMidtermExam());
+        ps.setDouble(3, studentInfo.getFinalExam());
+        ps.setDouble(4, studentInfo.getExamAverage());
+        ps.setString(5, studentInfo.getInfoNote());
+        ps.setString(6, studentInfo.getLetterGrade().name());
+    }
+}
@@ -1,12 +1,17 @@
 package com.project.repository.business;
 
 import com.project.entity.concretes.business.StudentInfo;
+import com.project.entity.enums.Note;
+import com.project.entity.enums.Term;
 import com.project.payload.response.business.StudentInfoResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.DoubleStream;
@@ -27,4 +32,105 @@ public interface StudentInfoRepository extends JpaRepository<StudentInfo, Long>
 
     @Query("SELECT s FROM StudentInfo s WHERE s.student.username= ?1")
     Page<StudentInfo> findByStudentId_UsernameEquals(String userName, Pageable pageable);
+
+    //!!! toplu not girisinde, listedeki ogrencilerin bu ders ve donem icin mevcut kayitlari tek sorguda bulunuyor
+    @Query("SELECT s.id AS id, s.student.id AS studentId, s.lesson.lessonId AS lessonId, " +
+            "s.educationTerm.id AS educationTermId, s.teacher.id AS teacherId, " +
+            "s.examAverage AS examAverage, s.letterGrade AS letterGrade FROM StudentInfo s " +
+            "WHERE s.lesson.lessonId = :lessonId AND s.educationTerm.id = :educationTermId " +
+            "AND s.student.id IN :studentIds")
+    List<StudentInfoGradeView> findGradesByLessonTermAndStudents(@Param("lessonId") Long lessonId,
+                                                                 @Param("educationTermId") Long educationTermId,
+                                                                 @Param("studentIds") Collection<Long> studentIds);
+
+    //!!! kullanici silinirken cascade ile silinecek notlar (ogrenci veya ogretmen olarak) bellekteki index lerden dusuluyor
+    @Query("SELECT s.id AS id, s.student.id AS studentId, s.lesson.lessonId AS lessonId, " +
+            "s.educationTerm.id AS educationTermId, s.teacher.id AS teacherId, " +
+            "s.examAverage AS examAverage, s.letterGrade AS letterGrade FROM StudentInfo s " +
+            "WHERE s.student.id = :userId OR s.teacher.id = :userId")
+    List<StudentInfoGradeView> findGradesByUserId(@Param("userId") Long userId);
+
+    //!!! ogrenci silinirken notlari da siliniyor, student_id icin cascade yok
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM StudentInfo s WHERE s.student.id = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
+
+    //!!! not istatistiklerinin yeniden olusturulmasi icin id sirasina gore sayfa sayfa okuma
+    @Query("SELECT s.id AS id, s.student.id AS studentId, s.lesson.lessonId AS lessonId, " +
+            "s.educationTerm.id AS educationTermId, s.teacher.id AS teacherId, " +
+            "s.examAverage AS examAverage, s.letterGrade AS letterGrade FROM StudentInfo s " +
+            "WHERE s.id > :afterId ORDER BY s.id")
+    List<StudentInfoGradeView> findGradesAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    //!!! transkript icin ders ve donem bilgileri tek sorguda, lazy yukleme olmadan getiriliyor
+    @Query("SELECT s.student.id AS studentId, t.id AS educationTermId, t.term AS term, t.startDate AS startDate, " +
+            "l.lessonId AS lessonId, l.lessonName AS lessonName, l.creditScore AS creditScore, " +
+            "s.examAverage AS examAverage, s.letterGrade AS letterGrade " +
+            "FROM StudentInfo s JOIN s.lesson l JOIN s.educationTerm t WHERE s.student.id = :studentId")
+    List<TranscriptRowView> findTranscriptRowsByStudentId(@Param("studentId") Long studentId);
+
+    //!!! donemde notu olan butun ogrencilerin (diger donemler dahil) transkript satirlari
+    @Query("SELECT s.student.id AS studentId, t.id AS educationTermId, t.term AS term, t.startDate AS startDate, " +
+            "l.lessonId AS lessonId, l.lessonName AS lessonName, l.creditScore AS creditScore, " +
+            "s.examAverage AS examAverage, s.letterGrade AS letterGrade " +
+            "FROM StudentInfo s JOIN s.lesson l JOIN s.educationTerm t WHERE s.student.id IN " +
+            "(SELECT si.student.id FROM StudentInfo si WHERE si.educationTerm.id = :educationTermId)")
+    List<TranscriptRowView> findTranscriptRowsByEducationTermId(@Param("educationTermId") Long educationTermId);
+
+    //!!! yeniden notlandirma isi donemin kayitlarini id sirasina gore parca parca okuyor
+    @Query("SELECT s.id AS id, s.student.id AS studentId, s.lesson.lessonId AS lessonId, " +
+            "s.educationTerm.id AS educationTermId, s.teacher.id AS teacherId, " +
+            "s.midtermExam AS midtermExam, s.finalExam AS finalExam, " +
+            "s.examAverage AS examAverage, s.letterGrade AS letterGrade FROM StudentInfo s " +
+            "WHERE s.educationTerm.id = :educationTermId AND s.id > :afterId ORDER BY s.id")
+    List<RegradeRowView> findRegradeRowsAfterId(@Param("educationTermId") Long educationTermId,
+                                                @Param("afterId") Long afterId, Pageable pageable);
+
+    long countByEducationTerm_Id(Long educationTermId);
+
+    //!!! not degisikligi bellekteki index lere satir satir yansitilabilsin diye ders/donem/ogretmen bilgisi de var
+    interface RegradeRowView extends StudentInfoGradeView {
+
+        Double getMidtermExam();
+
+        Double getFinalExam();
+    }
+
+    interface TranscriptRowView {
+
+        Long getStudentId();
+
+        Long getEducationTermId();
+
+        Term getTerm();
+
+        LocalDate getStartDate();
+
+        Long getLessonId();
+
+        String getLessonName();
+
+        Integer getCreditScore();
+
+        Double getExamAverage();
+
+        Note getLetterGrade();
+    }
+
+    interface StudentInfoGradeView {
+
+        Long getId();
+
+        Long getStudentId();
+
+        Long getLessonId();
+
+        Long getEducationTermId();
+
+        Long getTeacherId();
+
+        Double getExamAverage();
+
+        Note getLetterGrade();
+    }
 }
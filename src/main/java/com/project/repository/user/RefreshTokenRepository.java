@@ -0,0 +1,28 @@
+package com.project.repository.user;
+
+import com.project.entity.concretes.user.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    //!!! kullanim kontrolu ve iptal tek UPDATE: ayni token la gelen eszamanli isteklerden sadece biri 1 satir gunceller
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken r SET r.revoked = true " +
+            "WHERE r.tokenHash = ?1 AND r.revoked = false AND r.expiryDate >= ?2")
+    int revokeIfActive(String tokenHash, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.username = ?1 AND r.revoked = false")
+    int revokeAllByUsername(String username);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiryDate < ?1")
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,33 @@
+package com.project.repository.user;
+
+import com.project.entity.concretes.user.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    boolean existsByTokenId(String tokenId);
+
+    //!!! ayni token icin iki istek ayni anda gelirse ikincisi unique hatasi yerine hicbir sey yapmiyor
+    @Modifying
+    @Query(value = "INSERT INTO revoked_token (token_id, expires_at, created_at) VALUES (:tokenId, :expiresAt, now()) " +
+            "ON CONFLICT (token_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("tokenId") String tokenId, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Query("SELECT r.tokenId FROM RevokedToken r")
+    List<String> findAllTokenIds();
+
+    //!!! kayitlar id sirasina gore commit edilmiyor, bu yuzden id yerine son birkac saniyelik pencere okunuyor
+    @Query(value = "SELECT token_id FROM revoked_token WHERE created_at >= now() - :seconds * INTERVAL '1 second'",
+            nativeQuery = true)
+    List<String> findTokenIdsCreatedWithin(@Param("seconds") long seconds);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < ?1")
+    int deleteExpired(LocalDateTime now);
+}
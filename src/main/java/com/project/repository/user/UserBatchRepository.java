@@ -0,0 +1,82 @@
+package com.project.repository.user;
+
+import com.project.entity.concretes.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+//!!! Toplu kullanici kaydi icin JPA yerine JDBC batch insert kullaniliyor. IDENTITY id ler Hibernate in
+ // insert batching ini kapattigi icin saveAll her satir icin ayri bir insert gonderiyordu.
+@Repository
+@RequiredArgsConstructor
+public class UserBatchRepository {
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO t_user (username, ssn, name, surname, birth_day, birth_place, password, phone_number, " +
+            "email, built_in, mother_name, father_name, student_number, is_active, is_advisor, " +
+            "advisor_teacher_id, gender, user_role_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    //!!! insert de uretilen id ler entity lere setleniyor (arama index i vb. icin)
+    public void insertAll(List<User> users) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_USER_SQL, new String[]{"id"})) {
+                for (User user : users) {
+                    setUserValues(ps, user);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next()) {
+                        users.get(i++).setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    public void insert(User user) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_USER_SQL, new String[]{"id"});
+            setUserValues(ps, user);
+            return ps;
+        }, keyHolder);
+        user.setId(keyHolder.getKey().longValue());
+    }
+
+    private void setUserValues(PreparedStatement ps, User user) throws SQLException {
+        ps.setString(1, user.getUsername());
+        ps.setString(2, user.getSsn());
+        ps.setString(3, user.getName());
+        ps.setString(4, user.getSurname());
+        ps.setDate(5, user.getBirthDay() == null ? null : Date.valueOf(user.getBirthDay()));
+        ps.setString(6, user.getBirthPlace());
+        ps.setString(7, user.getPassword());
+        ps.setString(8, user.getPhoneNumber());
+        ps.setString(9, user.getEmail());
+        ps.setObject(10, user.getBuilt_in(), Types.BOOLEAN);
+        ps.setString(11, user.getMotherName());
+        ps.setString(12, user.getFatherName());
+        ps.setInt(13, user.getStudentNumber());
+        ps.setBoolean(14, user.isActive());
+        ps.setObject(15, user.getIsAdvisor(), Types.BOOLEAN);
+        ps.setObject(16, user.getAdvisorTeacherId(), Types.BIGINT);
+        ps.setString(17, user.getGender() == null ? null : user.getGender().name());
+        ps.setObject(18, user.getUserRole() == null ? null : user.getUserRole().getId(), Types.INTEGER);
+    }
+}
@@ -1,17 +1,27 @@
 package com.project.repository.user;
 
 import com.project.entity.concretes.user.User;
+import com.project.entity.enums.Gender;
 import com.project.entity.enums.RoleType;
 import com.project.payload.response.user.StudentResponse;
 import com.project.payload.response.user.UserResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    String USER_SUMMARY_COLUMNS = "u.id AS id, u.username AS username, u.name AS name, u.surname AS surname, " +
+            "u.ssn AS ssn, u.birthPlace AS birthPlace, u.email AS email, r.roleType AS roleType, " +
+            "u.phoneNumber AS phoneNumber, u.birthDay AS birthDay, u.gender AS gender";
+
     User findByUsernameEquals(String username);
 
     User findByUsername(String userName);
@@ -24,26 +34,112 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
-    @Query("SELECT u FROM User u WHERE u.userRole.roleName = ?1")
-    Page<User> findByUserByRole(String roleName, Pageable pageable);
+    //!!! dort unique alan tek sorguda kontrol ediliyor, null gelen parametreler hicbir satirla eslesmez
+    @Query("SELECT u.id AS id, u.username AS username, u.ssn AS ssn, u.phoneNumber AS phoneNumber, u.email AS email " +
+            "FROM User u WHERE u.username = :username OR u.ssn = :ssn " +
+            "OR u.phoneNumber = :phoneNumber OR u.email = :email")
+    List<UniquePropertyView> findUniquePropertyConflicts(@Param("username") String username,
+                                                         @Param("ssn") String ssn,
+                                                         @Param("phoneNumber") String phoneNumber,
+                                                         @Param("email") String email);
+
+    @Query("SELECT u.id AS id, u.username AS username, u.ssn AS ssn, u.phoneNumber AS phoneNumber, u.email AS email " +
+            "FROM User u WHERE u.username IN :usernames OR u.ssn IN :ssns " +
+            "OR u.phoneNumber IN :phoneNumbers OR u.email IN :emails")
+    List<UniquePropertyView> findUniquePropertyConflictsIn(@Param("usernames") Collection<String> usernames,
+                                                           @Param("ssns") Collection<String> ssns,
+                                                           @Param("phoneNumbers") Collection<String> phoneNumbers,
+                                                           @Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.id AS id, u.username AS username, u.ssn AS ssn, u.phoneNumber AS phoneNumber, u.email AS email FROM User u")
+    List<UniquePropertyView> findAllUniqueProperties();
+
+    //!!! liste endpointleri icin sadece response da kullanilan kolonlar tek sorguda aliniyor
+    @Query(value = "SELECT " + USER_SUMMARY_COLUMNS + " FROM User u JOIN u.userRole r WHERE r.roleName = ?1",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.userRole.roleName = ?1")
+    Page<UserSummaryView> findUserSummariesByRole(String roleName, Pageable pageable);
+
+    @Query("SELECT " + USER_SUMMARY_COLUMNS + " FROM User u JOIN u.userRole r WHERE u.isAdvisor = true")
+    List<UserSummaryView> findAdvisorTeacherSummaries();
+
+    @Query("SELECT " + USER_SUMMARY_COLUMNS + ", u.studentNumber AS studentNumber, u.motherName AS motherName, " +
+            "u.fatherName AS fatherName, u.isActive AS active " +
+            "FROM User u LEFT JOIN u.userRole r WHERE u.advisorTeacherId = ?1")
+    List<StudentSummaryView> findStudentSummariesByAdvisorTeacherId(Long advisorTeacherId);
 
     List<User> getUserByNameContaining(String name);
 
     @Query(value = "SELECT COUNT(u) FROM User u WHERE u.userRole.roleType = ?1")
     long countAdmin(RoleType roleType);
 
-    List<User> findByAdvisorTeacherId(Long id);
+    //!!! ders programi olusturucu icin, ogretmenlerin mevcut programlari tek sorguda getiriliyor
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.lessonsProgramList WHERE u.id IN :ids")
+    List<User> findAllWithLessonProgramsByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT u FROM User u WHERE u.isAdvisor =?1")
-    List<User> findAllByAdvisor(Boolean aTrue);
+    //!!! ayni ogretmene ayni anda cakisan program atanamasin diye ogretmen satirlari kilitleniyor, birden fazla
+     // ogretmen kilitlenirken deadlock olmasin diye id sirasiyla
+    @Query(value = "SELECT id FROM t_user WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT (COUNT (u)>0) FROM User u WHERE u.userRole.roleType = ?1")
-    boolean findStudent(RoleType roleType);
+    //!!! ogrenci sayisindan bagimsiz olarak tek bir UPDATE ile rehber ogretmen degistiriliyor
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.advisorTeacherId = :toAdvisorTeacherId WHERE u.advisorTeacherId = :fromAdvisorTeacherId")
+    int reassignAdvisorTeacher(@Param("fromAdvisorTeacherId") Long fromAdvisorTeacherId,
+                               @Param("toAdvisorTeacherId") Long toAdvisorTeacherId);
 
-    @Query(value = "SELECT MAX (u.studentNumber) FROM User u")
-    int getMaxStudentNumber();
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.advisorTeacherId = :toAdvisorTeacherId " +
+            "WHERE u.advisorTeacherId = :fromAdvisorTeacherId AND u.id IN :studentIds")
+    int reassignAdvisorTeacherForStudents(@Param("fromAdvisorTeacherId") Long fromAdvisorTeacherId,
+                                          @Param("toAdvisorTeacherId") Long toAdvisorTeacherId,
+                                          @Param("studentIds") Collection<Long> studentIds);
 
     @Query("SELECT u FROM User u WHERE u.id IN :studentIds")
     List<User> findByIdsEquals(Long[] studentIds);
 
+    @Query("SELECT u.id AS id, u.name AS name, u.surname AS surname, u.username AS username, " +
+            "r.roleType AS roleType FROM User u LEFT JOIN u.userRole r")
+    List<UserNameView> findAllUserNames();
+
+    @Query("SELECT u.id AS id, u.name AS name, u.surname AS surname, u.username AS username, " +
+            "r.roleType AS roleType FROM User u LEFT JOIN u.userRole r WHERE u.id > ?1 ORDER BY u.id")
+    List<UserNameView> findUserNamesAfterId(Long lastId);
+
+    interface UserNameView {
+        Long getId();
+        String getName();
+        String getSurname();
+        String getUsername();
+        RoleType getRoleType();
+    }
+
+    interface UserSummaryView {
+        Long getId();
+        String getUsername();
+        String getName();
+        String getSurname();
+        String getSsn();
+        String getBirthPlace();
+        String getEmail();
+        RoleType getRoleType();
+        String getPhoneNumber();
+        LocalDate getBirthDay();
+        Gender getGender();
+    }
+
+    interface StudentSummaryView extends UserSummaryView {
+        int getStudentNumber();
+        String getMotherName();
+        String getFatherName();
+        boolean isActive();
+    }
+
+    interface UniquePropertyView {
+        Long getId();
+        String getUsername();
+        String getSsn();
+        String getPhoneNumber();
+        String getEmail();
+    }
+
 }
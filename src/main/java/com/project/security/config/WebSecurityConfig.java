@@ -2,8 +2,11 @@ package com.project.security.config;
 
 import com.project.security.jwt.AuthEntryPointJwt;
 import com.project.security.jwt.AuthTokenFilter;
+import com.project.security.service.BoundedPasswordEncoder;
 import com.project.security.service.UserDetailsServiceImpl;
+import com.project.security.throttle.RequestThrottleFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,7 +18,6 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -30,6 +32,24 @@ public class WebSecurityConfig {
     private final AuthEntryPointJwt unauthorizedHandler;
     private final UserDetailsServiceImpl userDetailsService;
 
+    @Value("${backendapi.app.passwordHashPoolSize}")
+    private int passwordHashPoolSize;
+
+    @Value("${backendapi.app.passwordHashQueueCapacity}")
+    private int passwordHashQueueCapacity;
+
+    @Value("${backendapi.app.loginIpLimit}")
+    private int loginIpLimit;
+
+    @Value("${backendapi.app.loginUsernameLimit}")
+    private int loginUsernameLimit;
+
+    @Value("${backendapi.app.contactMessageIpLimit}")
+    private int contactMessageIpLimit;
+
+    @Value("${backendapi.app.throttleWindowMs}")
+    private long throttleWindowMs;
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
         return  configuration.getAuthenticationManager();
@@ -49,6 +69,8 @@ public class WebSecurityConfig {
         http.headers().frameOptions().sameOrigin();
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        //!!! limit asan istekler token kontrolune bile gelmeden reddediliyor
+        http.addFilterBefore(requestThrottleFilter(), AuthTokenFilter.class);
 
         return http.build();
     }
@@ -58,8 +80,14 @@ public class WebSecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public RequestThrottleFilter requestThrottleFilter(){
+        return new RequestThrottleFilter(loginIpLimit, loginUsernameLimit, contactMessageIpLimit, throttleWindowMs);
+    }
+
+    @Bean
+    public BoundedPasswordEncoder passwordEncoder(){
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(),
+                passwordHashPoolSize, passwordHashQueueCapacity);
     }
 
     @Bean
@@ -103,6 +131,7 @@ public class WebSecurityConfig {
             "/js/**",
             "contactMessages/save",
             "/auth/login",
+            "/auth/refresh",
             "/v3/api-docs/**",
             "swagger-ui.html",
             "/swagger-ui/**"
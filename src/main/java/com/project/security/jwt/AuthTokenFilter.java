@@ -1,10 +1,13 @@
 package com.project.security.jwt;
 
+import com.project.security.service.UserDetailsCache;
+import com.project.security.service.UserDetailsImpl;
 import com.project.security.service.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -32,7 +35,15 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
 
+    @Value("${backendapi.app.statelessAuth}")
+    private boolean statelessAuth;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
@@ -40,11 +51,20 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
         try {
             String jwt = parseJwt(request);
-            if(jwt !=null && jwtUtils.validateJwtToken(jwt) ){
+            //!!! token imzasi tek seferde dogrulanip claim bilgileri aliniyor
+            JwtClaims claims = jwt == null ? null : jwtUtils.parseJwtToken(jwt);
+            //!!! logout ile iptal edilmis tokenlar kabul edilmiyor
+            if(claims != null && !tokenRevocationRegistry.isRevoked(claims.getTokenId())){
 
-                String userName = jwtUtils.getUserNameFromJwtToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userName);
+                String userName = claims.getUsername();
+                UserDetails userDetails = loadUserDetails(claims);
                 request.setAttribute("username", userName);
+                //!!! eski tokenlarda id bilgisi yok
+                if(claims.getUserId() != null){
+                    request.setAttribute("userId", claims.getUserId());
+                }
+                request.setAttribute("tokenId", claims.getTokenId());
+                request.setAttribute("tokenExpiration", claims.getExpiration());
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities()
                 );
@@ -61,6 +81,30 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request,response);
     }
 
+    private UserDetails loadUserDetails(JwtClaims claims){
+        //!!! stateless modda kullanici bilgisi DB ye gidilmeden token icindeki claimlerden olusturuluyor
+        if(statelessAuth && claims.hasPrincipalData()){
+            return new UserDetailsImpl(
+                    claims.getUserId(),
+                    claims.getUsername(),
+                    null,
+                    false,
+                    null,
+                    claims.getRoleType().name(),
+                    (String) null);
+        }
+        //!!! once cache e bakiliyor, yoksa DB den yuklenip token suresi kadar cache e ekleniyor
+        String userName = claims.getUsername();
+        UserDetailsImpl cached = userDetailsCache.get(userName);
+        if(cached != null){
+            return cached;
+        }
+        long stamp = userDetailsCache.stamp();
+        UserDetailsImpl userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername(userName);
+        userDetailsCache.put(userName, userDetails, claims.getExpiration(), stamp);
+        return userDetails;
+    }
+
     private String parseJwt(HttpServletRequest request){
 
         String headerAuth = request.getHeader("Authorization");
@@ -0,0 +1,23 @@
+package com.project.security.jwt;
+
+import com.project.entity.enums.RoleType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+@Getter
+@AllArgsConstructor
+public class JwtClaims {
+
+    private final String username;
+    private final Long userId;
+    private final RoleType roleType;
+    private final String tokenId;
+    private final Date expiration;
+
+    //!!! eski tokenlarda id ve rol bilgisi yok, bu durumda kullanici DB den yuklenmeli
+    public boolean hasPrincipalData(){
+        return userId != null && roleType != null;
+    }
+}
@@ -1,14 +1,17 @@
 package com.project.security.jwt;
 
+import com.project.entity.enums.RoleType;
 import com.project.security.service.UserDetailsImpl;
 import io.jsonwebtoken.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtils {
@@ -21,26 +24,57 @@ public class JwtUtils {
     @Value("${backendapi.app.jwtSecret}")
     private String jwtSecret;
 
+    private static final String USER_ID_CLAIM = "id";
+    private static final String ROLE_CLAIM = "role";
+
     public String generateJwtToken(Authentication authentication){
 
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        return generateTokenFromUsername(userDetails.getUsername());
+        //!!! kullanicinin tek bir rolu oldugu icin ilk authority aliniyor
+        RoleType roleType = userDetails.getAuthorities()
+                .stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(RoleType::valueOf)
+                .findFirst()
+                .orElse(null);
+        return generateTokenFromUsername(userDetails.getUsername(), userDetails.getId(), roleType);
     }
 
     public String generateTokenFromUsername(String username){
-        return Jwts.builder()
+        return generateTokenFromUsername(username, null, null);
+    }
+
+    public String generateTokenFromUsername(String username, Long userId, RoleType roleType){
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(username)
+                //!!! her tokena tekil bir id veriliyor, logout sonrasi bu id ile iptal ediliyor
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(new Date().getTime() + jwtExpirationMs))
+                .setExpiration(new Date(new Date().getTime() + jwtExpirationMs));
+        if(userId != null){
+            builder.claim(USER_ID_CLAIM, userId);
+        }
+        if(roleType != null){
+            builder.claim(ROLE_CLAIM, roleType.name());
+        }
+        return builder
                 .signWith(SignatureAlgorithm.HS512, jwtSecret)
                 .compact();
     }
 
-    public boolean validateJwtToken(String jwtToken){
+    //!!! token tek seferde parse edilip dogrulaniyor, gecersiz ise null donuyor
+    public JwtClaims parseJwtToken(String jwtToken){
 
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(jwtToken);
-            return true;
+            Claims claims = Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(jwtToken).getBody();
+            Number userId = claims.get(USER_ID_CLAIM, Number.class);
+            String role = claims.get(ROLE_CLAIM, String.class);
+            return new JwtClaims(
+                    claims.getSubject(),
+                    userId == null ? null : userId.longValue(),
+                    role == null ? null : RoleType.valueOf(role),
+                    claims.getId(),
+                    claims.getExpiration());
         } catch (ExpiredJwtException e) {
            LOGGER.error("Jwt token is expired : {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
@@ -52,7 +86,11 @@ public class JwtUtils {
         } catch (IllegalArgumentException e) {
             LOGGER.error("Jwt is empty : {}", e.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    public boolean validateJwtToken(String jwtToken){
+        return parseJwtToken(jwtToken) != null;
     }
 
     public String getUserNameFromJwtToken(String token){
@@ -0,0 +1,126 @@
+package com.project.security.jwt;
+
+import com.project.entity.concretes.user.RevokedToken;
+import com.project.repository.user.RevokedTokenRepository;
+import com.project.service.helper.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//!!! Iptal edilen access tokenlar revoked_token tablosunda tutuluyor. Her istekte DB ye gitmemek icin
+ // bellekte bir Bloom filter var: filter "yok" diyorsa token kesinlikle iptal edilmemistir ve DB ye
+ // hic gidilmez, sadece "olabilir" dediginde DB den dogrulama yapilir.
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${backendapi.app.revocationExpectedTokens}")
+    private long expectedTokens;
+
+    //!!! her senkronizasyonda son bu kadar sure icinde eklenen kayitlar tekrar okunuyor. Gec commit edilen
+     // kayitlar ve node lar arasi gecikme icin senkronizasyon araligindan belirgin bicimde buyuk olmali
+    @Value("${backendapi.app.revocationSyncWindowMs}")
+    private long syncWindowMs;
+
+    private volatile BloomFilter bloomFilter;
+    //!!! yeniden olusturma sirasinda iptal edilen tokenlar yeni filter a da yaziliyor
+    private BloomFilter rebuilding;
+    //!!! filter degisimi ile revoke icindeki put lar arasinda kayip olmamasi icin, sadece kisa islemlerde tutuluyor
+    private final Object filterLock = new Object();
+    //!!! filter DB den yuklenene kadar tum kontroller DB uzerinden yapiliyor
+    private volatile boolean ready;
+    private long lastSyncMs;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        if (ready && !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        return revokedTokenRepository.existsByTokenId(tokenId);
+    }
+
+    @Transactional
+    public void revoke(String tokenId, Date expiration) {
+        if (tokenId == null || expiration == null) {
+            return;
+        }
+        revokedTokenRepository.insertIfAbsent(tokenId,
+                LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()));
+        synchronized (filterLock) {
+            if (bloomFilter != null) {
+                bloomFilter.put(tokenId);
+            }
+            if (rebuilding != null) {
+                rebuilding.put(tokenId);
+            }
+        }
+    }
+
+    //!!! diger node larda iptal edilen tokenlar periyodik olarak filter a ekleniyor. Son senkronizasyondan bu
+     // yana pencereyi dolduracak kadar uzun sure gectiyse (DB kesintisi vb.) filter sifirdan olusturuluyor
+    @Scheduled(fixedDelayString = "${backendapi.app.revocationSyncMs}")
+    public synchronized void syncFromDatabase() {
+        if (!ready) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        if (startedAt - lastSyncMs > syncWindowMs / 2) {
+            rebuild();
+            return;
+        }
+        List<String> tokenIds = revokedTokenRepository.findTokenIdsCreatedWithin(
+                TimeUnit.MILLISECONDS.toSeconds(syncWindowMs));
+        BloomFilter current = bloomFilter;
+        tokenIds.forEach(current::put);
+        lastSyncMs = startedAt;
+    }
+
+    //!!! suresi dolmus kayitlar silinip filter sifirdan olusturuluyor, boylece false positive orani dusuk kaliyor
+    @Scheduled(cron = "${backendapi.app.revocationPurgeCron}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        LOGGER.info("Purged {} expired revoked tokens", deleted);
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        long size = revokedTokenRepository.count();
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, size * 2), FALSE_POSITIVE_PROBABILITY);
+        synchronized (filterLock) {
+            rebuilding = rebuilt;
+        }
+        revokedTokenRepository.findAllTokenIds().forEach(rebuilt::put);
+        synchronized (filterLock) {
+            bloomFilter = rebuilt;
+            rebuilding = null;
+        }
+        lastSyncMs = startedAt;
+        ready = true;
+    }
+}
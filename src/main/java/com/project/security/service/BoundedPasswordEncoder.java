@@ -0,0 +1,172 @@
+package com.project.security.service;
+
+import com.project.exception.ServiceUnavailableException;
+import com.project.payload.messages.ErrorMessages;
+import com.project.payload.response.authentication.PasswordHashStatsResponse;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+//!!! BCrypt islemleri CPU yogun oldugu icin Tomcat threadlerinde degil, boyutu ve kuyrugu sinirli
+ // ayri bir havuzda calistiriliyor. Kuyruk doluysa istek beklemeden 503 ile reddediliyor.
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalQueueWaitNanos = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity) {
+        this.delegate = delegate;
+        this.queueCapacity = queueCapacity;
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new PasswordHashThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    //!!! toplu kayitlarda sifreler havuzda paralel hashleniyor, ayni anda en fazla havuz boyutu kadar is
+     // gonderiliyor. Kuyruk doluysa BCrypt Tomcat thread inde calistirilmiyor, diger cagiranlar gibi toplu islem
+     // de 503 ile reddediliyor ve bu gruptan kuyrukta bekleyen isler iptal ediliyor.
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        List<String> encoded = new ArrayList<>(Collections.nCopies(rawPasswords.size(), (String) null));
+        int inFlightLimit = executor.getMaximumPoolSize();
+        int next = 0;
+        while (next < rawPasswords.size()) {
+            futures.clear();
+            int start = next;
+            for (; next < rawPasswords.size() && next - start < inFlightLimit; next++) {
+                CharSequence rawPassword = rawPasswords.get(next);
+                try {
+                    futures.add(submit(() -> delegate.encode(rawPassword)));
+                } catch (RejectedExecutionException e) {
+                    rejected.increment();
+                    futures.forEach(future -> future.cancel(false));
+                    throw new ServiceUnavailableException(ErrorMessages.PASSWORD_HASHING_BUSY);
+                }
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                encoded.set(start + i, await(futures.get(i)));
+            }
+        }
+        return encoded;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException(ErrorMessages.PASSWORD_HASHING_BUSY);
+        }
+        return await(future);
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        return executor.submit(() -> {
+            long startedAt = System.nanoTime();
+            totalQueueWaitNanos.add(startedAt - submittedAt);
+            try {
+                return task.call();
+            } finally {
+                recordHashLatency(System.nanoTime() - startedAt);
+            }
+        });
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ServiceUnavailableException(ErrorMessages.PASSWORD_HASHING_BUSY);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if(cause instanceof RuntimeException){
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void recordHashLatency(long nanos) {
+        completed.increment();
+        totalHashNanos.add(nanos);
+        maxHashNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public PasswordHashStatsResponse getStats() {
+        long completedCount = completed.sum();
+
+        return PasswordHashStatsResponse.builder()
+                .poolSize(executor.getMaximumPoolSize())
+                .activeThreads(executor.getActiveCount())
+                .queueDepth(executor.getQueue().size())
+                .queueCapacity(queueCapacity)
+                .completed(completedCount)
+                .rejected(rejected.sum())
+                .averageQueueWaitMs(completedCount == 0 ? 0.0 : totalQueueWaitNanos.sum() / 1_000_000.0 / completedCount)
+                .averageHashLatencyMs(completedCount == 0 ? 0.0 : totalHashNanos.sum() / 1_000_000.0 / completedCount)
+                .maxHashLatencyMs(maxHashNanos.get() / 1_000_000.0)
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private static final class PasswordHashThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.project.security.service;
+
+import com.project.payload.response.authentication.PrincipalCacheStatsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class UserDetailsCache {
+
+    private final Map<String, CachedPrincipal> cache = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    //!!! her invalidate isleminde artar, DB den yuklenirken araya giren bir guncellemenin
+     // eski veriyi cache e yazmasini engellemek icin kullaniliyor
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Value("${backendapi.app.principalCacheMaxSize}")
+    private int maxSize;
+
+    @Value("${backendapi.app.jwtExpirationMs}")
+    private long maxTimeToLiveMs;
+
+    public UserDetailsImpl get(String username){
+        CachedPrincipal cached = cache.get(username);
+        if(cached == null){
+            misses.increment();
+            return null;
+        }
+        if(cached.expiresAt <= System.currentTimeMillis()){
+            if(cache.remove(username, cached)){
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached.userDetails;
+    }
+
+    public long stamp(){
+        return invalidations.get();
+    }
+
+    //!!! stamp degeri, kullanici DB den yuklenmeden once alinmali
+    public void put(String username, UserDetailsImpl userDetails, Date tokenExpiration, long stamp){
+        long now = System.currentTimeMillis();
+        long expiresAt = now + maxTimeToLiveMs;
+        if(tokenExpiration != null){
+            expiresAt = Math.min(expiresAt, tokenExpiration.getTime());
+        }
+        if(expiresAt <= now){
+            return;
+        }
+        if(cache.size() >= maxSize){
+            evict(now);
+        }
+        //!!! password bilgisi cache de tutulmuyor, token ile gelen isteklerde ihtiyac yok
+        UserDetailsImpl principal = new UserDetailsImpl(
+                userDetails.getId(),
+                userDetails.getUsername(),
+                userDetails.getName(),
+                userDetails.getIsAdvisor(),
+                null,
+                userDetails.getSsn(),
+                userDetails.getAuthorities());
+        cache.put(username, new CachedPrincipal(principal, expiresAt));
+        //!!! yukleme sirasinda invalidate edildiyse yazdigimiz kaydi geri aliyoruz
+        if(invalidations.get() != stamp){
+            cache.remove(username);
+        }
+    }
+
+    public void invalidate(String username){
+        invalidations.incrementAndGet();
+        if(username != null && cache.remove(username) != null){
+            evictions.increment();
+        }
+    }
+
+    public void invalidateAll(){
+        invalidations.incrementAndGet();
+        cache.clear();
+    }
+
+    private void evict(long now){
+        //!!! ayni anda tek bir thread temizlik yapsin, digerleri beklemeden devam etsin
+        if(!evictionLock.tryLock()){
+            return;
+        }
+        try {
+            cache.entrySet().removeIf(entry -> {
+                boolean expired = entry.getValue().expiresAt <= now;
+                if(expired){
+                    evictions.increment();
+                }
+                return expired;
+            });
+            if(cache.size() < maxSize){
+                return;
+            }
+            //!!! hala dolu ise suresi en erken dolacak kayitlardan baslayarak %10 yer aciyoruz
+            List<Map.Entry<String, CachedPrincipal>> entries = new ArrayList<>(cache.entrySet());
+            entries.sort(Comparator.comparingLong(entry -> entry.getValue().expiresAt));
+            int toRemove = cache.size() - (int) (maxSize * 0.9);
+            for(int i = 0; i < toRemove && i < entries.size(); i++){
+                Map.Entry<String, CachedPrincipal> entry = entries.get(i);
+                if(cache.remove(entry.getKey(), entry.getValue())){
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public PrincipalCacheStatsResponse getStats(){
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+
+        return PrincipalCacheStatsResponse.builder()
+                .size(cache.size())
+                .maxSize(maxSize)
+                .hits(hitCount)
+                .misses(missCount)
+                .evictions(evictions.sum())
+                .hitRatio(total == 0 ? 0.0 : (double) hitCount / total)
+                .build();
+    }
+
+    private static final class CachedPrincipal {
+
+        private final UserDetailsImpl userDetails;
+        private final long expiresAt;
+
+        private CachedPrincipal(UserDetailsImpl userDetails, long expiresAt) {
+            this.userDetails = userDetails;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.project.security.throttle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//!!! Anahtar basina (IP, kullanici adi) bir TokenBucket tutuyor. ConcurrentHashMap bin bazinda kilitledigi
+ // icin farkli anahtarlar icin gelen istekler birbirini engellemiyor.
+public class RateLimiter {
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final long windowNanos;
+
+    public RateLimiter(int capacity, long windowMs) {
+        if (capacity <= 0 || windowMs <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity and window must be positive");
+        }
+        this.capacity = capacity;
+        this.windowNanos = windowMs * 1_000_000L;
+    }
+
+    //!!! izin verildiyse 0, verilmediyse kac ms sonra tekrar denenebilecegi doner
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, windowNanos, now));
+        long waitNanos = bucket.tryConsume(now);
+        return waitNanos == 0 ? 0 : Math.max(1L, (waitNanos + 999_999L) / 1_000_000L);
+    }
+
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.entrySet().removeIf(entry -> entry.getValue().isIdle(now));
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,131 @@
+package com.project.security.throttle;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.payload.messages.ErrorMessages;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+//!!! /auth/login ve contactMessages/save herkese acik oldugu icin istek sayisi sinirlaniyor. Limit asilirsa
+ // istek DB ye ve password encoder a hic ulasmadan 429 ile donuluyor.
+public class RequestThrottleFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestThrottleFilter.class);
+
+    private static final String LOGIN_PATH = "/auth/login";
+    private static final String CONTACT_MESSAGE_PATH = "/contactMessages/save";
+    //!!! login body si kucuk, bundan buyuk body ler kullanici limitini atlatmak icin kullanilmasin diye reddediliyor
+    private static final int MAX_LOGIN_BODY_BYTES = 8192;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final RateLimiter loginIpLimiter;
+    private final RateLimiter loginUsernameLimiter;
+    private final RateLimiter contactMessageIpLimiter;
+
+    public RequestThrottleFilter(int loginIpLimit, int loginUsernameLimit,
+                                 int contactMessageIpLimit, long throttleWindowMs) {
+        this.loginIpLimiter = new RateLimiter(loginIpLimit, throttleWindowMs);
+        this.loginUsernameLimiter = new RateLimiter(loginUsernameLimit, throttleWindowMs);
+        this.contactMessageIpLimiter = new RateLimiter(contactMessageIpLimit, throttleWindowMs);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equalsIgnoreCase(request.getMethod())) {
+            return true;
+        }
+        String path = request.getServletPath();
+        return !LOGIN_PATH.equals(path) && !CONTACT_MESSAGE_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String clientIp = request.getRemoteAddr();
+
+        if (CONTACT_MESSAGE_PATH.equals(request.getServletPath())) {
+            long retryAfterMs = contactMessageIpLimiter.tryAcquire(clientIp);
+            if (retryAfterMs > 0) {
+                reject(request, response, retryAfterMs);
+                return;
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        //!!! once IP limiti kontrol ediliyor, body sadece gecen istekler icin okunuyor
+        long retryAfterMs = loginIpLimiter.tryAcquire(clientIp);
+        if (retryAfterMs > 0) {
+            reject(request, response, retryAfterMs);
+            return;
+        }
+
+        //!!! Content-Length ne olursa olsun (chunked: -1) body en fazla MAX_LOGIN_BODY_BYTES okunuyor
+        CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request, MAX_LOGIN_BODY_BYTES);
+        if (cachedRequest.isTruncated()) {
+            writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE, ErrorMessages.LOGIN_BODY_TOO_LARGE);
+            return;
+        }
+        String username = readUsername(cachedRequest.getBody());
+        if (username != null) {
+            retryAfterMs = loginUsernameLimiter.tryAcquire(username);
+            if (retryAfterMs > 0) {
+                reject(request, response, retryAfterMs);
+                return;
+            }
+        }
+        filterChain.doFilter(cachedRequest, response);
+    }
+
+    private String readUsername(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).get("username");
+            return username != null && username.isTextual() ? username.asText() : null;
+        } catch (IOException | RuntimeException e) {
+            //!!! gecersiz body controller daki validasyona birakiliyor
+            return null;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterMs) throws IOException {
+        LOGGER.warn("Too many requests from {} to {}", request.getRemoteAddr(), request.getServletPath());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMs + 999) / 1000));
+        writeError(request, response, HttpStatus.TOO_MANY_REQUESTS, ErrorMessages.TOO_MANY_REQUESTS);
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String message) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(status.value());
+
+        final Map<String, Object> body = new HashMap<>();
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        body.put("path", request.getServletPath());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    //!!! dolmus (bir sure istek gelmemis) bucketlar bellekten atiliyor
+    @Scheduled(fixedDelayString = "${backendapi.app.throttleWindowMs}")
+    public void evictIdleBuckets() {
+        loginIpLimiter.evictIdle();
+        loginUsernameLimiter.evictIdle();
+        contactMessageIpLimiter.evictIdle();
+    }
+}
@@ -0,0 +1,40 @@
+package com.project.security.throttle;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+//!!! Kilit kullanmayan token bucket. Bucket durumu tek bir long degerde tutuluyor: bucket in tamamen
+ // dolacagi an (nano saniye). Her istek bu degeri bir token suresi kadar ileri atiyor, deger "simdi + kapasite"
+ // sinirini gecerse istek reddediliyor. Guncelleme CAS ile yapildigi icin ayni anahtara gelen istekler
+ // birbirini beklemiyor.
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, long windowNanos, long now) {
+        this.nanosPerToken = Math.max(1L, windowNanos / capacity);
+        this.burstNanos = nanosPerToken * capacity;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    //!!! token alinabilirse 0, alinamazsa bir sonraki tokena kadar beklenmesi gereken sure (nano saniye) doner
+    public long tryConsume(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            long overflow = next - now - burstNanos;
+            if (overflow > 0) {
+                return overflow;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    //!!! bucket tekrar dolduysa kaldirilmasinda sakinca yok, yeni istekte ayni durumla olusturulur
+    public boolean isIdle(long now) {
+        return fullAt.get() <= now;
+    }
+}
@@ -5,11 +5,17 @@ import com.project.exception.BadRequestException;
 import com.project.payload.mappers.UserMapper;
 import com.project.payload.messages.ErrorMessages;
 import com.project.payload.request.authentication.LoginRequest;
+import com.project.payload.request.authentication.RefreshTokenRequest;
 import com.project.payload.request.business.UpdatePasswordRequest;
 import com.project.payload.response.authentication.AuthResponse;
+import com.project.payload.response.authentication.PasswordHashStatsResponse;
+import com.project.payload.response.authentication.PrincipalCacheStatsResponse;
 import com.project.payload.response.user.UserResponse;
 import com.project.repository.user.UserRepository;
 import com.project.security.jwt.JwtUtils;
+import com.project.security.jwt.TokenRevocationRegistry;
+import com.project.security.service.BoundedPasswordEncoder;
+import com.project.security.service.UserDetailsCache;
 import com.project.security.service.UserDetailsImpl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -18,10 +24,10 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.Date;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -34,7 +40,10 @@ public class AuthenticationService {
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
 
     public ResponseEntity<AuthResponse> authenticateUser(LoginRequest loginRequest) {
         //!!! Gelen requestin icinden kullanici adi ve parola bilgisi aliniyor
@@ -63,6 +72,7 @@ public class AuthenticationService {
          AuthResponse.AuthResponseBuilder authResponse = AuthResponse.builder();
          authResponse.username(userDetails.getUsername());
          authResponse.token(token.substring(7));
+         authResponse.refreshToken(refreshTokenService.createRefreshToken(userDetails.getUsername()));
          authResponse.name(userDetails.getName());
          authResponse.ssn(userDetails.getSsn());
          role.ifPresent(authResponse::role);
@@ -70,6 +80,35 @@ public class AuthenticationService {
          return  ResponseEntity.ok(authResponse.build());
     }
 
+    //!!! kisa omurlu access token, refresh token ile yenileniyor. Kullanilan refresh token iptal edilip yenisi veriliyor
+    public AuthResponse refreshToken(RefreshTokenRequest refreshTokenRequest) {
+        String username = refreshTokenService.consume(refreshTokenRequest.getRefreshToken());
+        User user = userRepository.findByUsernameEquals(username);
+        if(user == null){
+            throw new BadRequestException(ErrorMessages.REFRESH_TOKEN_NOT_VALID);
+        }
+        String token = jwtUtils.generateTokenFromUsername(
+                user.getUsername(), user.getId(), user.getUserRole().getRoleType());
+
+        return AuthResponse.builder()
+                .username(user.getUsername())
+                .name(user.getName())
+                .ssn(user.getSsn())
+                .role(user.getUserRole().getRoleType().name())
+                .token(token)
+                .refreshToken(refreshTokenService.createRefreshToken(user.getUsername()))
+                .build();
+    }
+
+    public void logout(HttpServletRequest request) {
+        String userName = (String) request.getAttribute("username");
+        //!!! mevcut access token iptal listesine ekleniyor, kullanicinin tum refresh tokenlari iptal ediliyor
+        tokenRevocationRegistry.revoke((String) request.getAttribute("tokenId"),
+                (Date) request.getAttribute("tokenExpiration"));
+        refreshTokenService.revokeAllByUsername(userName);
+        userDetailsCache.invalidate(userName);
+    }
+
     public UserResponse findByUsername(String username) {
 /*       User user = userRepository.findByUsernameEquals(username);
        return userMapper.mapUserToUserResponse(user);*/
@@ -93,5 +132,16 @@ public class AuthenticationService {
         String hashedPassword = passwordEncoder.encode(updatePasswordRequest.getNewPassword());
         user.setPassword(hashedPassword);
         userRepository.save(user);
+        userDetailsCache.invalidate(userName);
+        //!!! sifre degisince diger oturumlarin refresh tokenlari gecersiz olmali
+        refreshTokenService.revokeAllByUsername(userName);
+    }
+
+    public PrincipalCacheStatsResponse getPrincipalCacheStats() {
+        return userDetailsCache.getStats();
+    }
+
+    public PasswordHashStatsResponse getPasswordHashStats() {
+        return passwordEncoder.getStats();
     }
 }
@@ -0,0 +1,85 @@
+package com.project.service;
+
+import com.project.entity.concretes.user.RefreshToken;
+import com.project.exception.BadRequestException;
+import com.project.payload.messages.ErrorMessages;
+import com.project.repository.user.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HexFormat;
+
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${backendapi.app.jwtRefreshExpirationMs}")
+    private long jwtRefreshExpirationMs;
+
+    public String createRefreshToken(String username) {
+        byte[] randomBytes = new byte[32];
+        secureRandom.nextBytes(randomBytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .username(username)
+                .expiryDate(LocalDateTime.now().plus(jwtRefreshExpirationMs, ChronoUnit.MILLIS))
+                .revoked(false)
+                .build());
+        return token;
+    }
+
+    //!!! refresh token tek kullanimlik: kullanilan token iptal ediliyor, yerine yenisi uretilmeli.
+     // Iptal kosullu UPDATE ile yapiliyor, ayni token la gelen iki istekten ikincisi tekrar kullanim sayiliyor
+    @Transactional(noRollbackFor = BadRequestException.class)
+    public String consume(String token) {
+        String tokenHash = hash(token);
+        boolean consumed = refreshTokenRepository.revokeIfActive(tokenHash, LocalDateTime.now()) == 1;
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(tokenHash).orElseThrow(() ->
+                new BadRequestException(ErrorMessages.REFRESH_TOKEN_NOT_VALID));
+        if (consumed) {
+            return refreshToken.getUsername();
+        }
+
+        //!!! iptal edilmis bir token tekrar kullaniliyorsa calinmis olabilir, kullanicinin tum tokenlari iptal
+        if (refreshToken.isRevoked()) {
+            refreshTokenRepository.revokeAllByUsername(refreshToken.getUsername());
+        }
+        //!!! suresi dolmus token
+        throw new BadRequestException(ErrorMessages.REFRESH_TOKEN_NOT_VALID);
+    }
+
+    @Transactional
+    public void revokeAllByUsername(String username) {
+        refreshTokenRepository.revokeAllByUsername(username);
+    }
+
+    @Scheduled(cron = "${backendapi.app.revocationPurgeCron}")
+    @Transactional
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.project.service.business;
+
+import com.project.entity.concretes.business.AttendanceRecord;
+import com.project.entity.concretes.business.EducationTerm;
+import com.project.entity.concretes.business.Lesson;
+import com.project.entity.concretes.business.LessonProgram;
+import com.project.entity.concretes.user.User;
+import com.project.entity.enums.RoleType;
+import com.project.exception.BadRequestException;
+import com.project.exception.ResourceNotFoundException;
+import com.project.payload.messages.ErrorMessages;
+import com.project.payload.messages.SuccessMessages;
+import com.project.payload.request.business.RollCallRequest;
+import com.project.payload.response.business.AttendanceSummaryResponse;
+import com.project.payload.response.business.ResponseMessage;
+import com.project.repository.business.AttendanceRecordRepository;
+import com.project.repository.business.LessonProgramRepository;
+import com.project.repository.user.UserRepository;
+import com.project.service.helper.MethodHelper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class AttendanceService {
+
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final LessonProgramRepository lessonProgramRepository;
+    private final LessonProgramService lessonProgramService;
+    private final UserRepository userRepository;
+    private final MethodHelper methodHelper;
+
+    @Value("${backendapi.app.attendanceAbsenceLimit}")
+    private int absenceLimit;
+
+    @Value("${backendapi.app.attendanceStreakLimit}")
+    private int streakLimit;
+
+    //!!! Bir ders oturumunun yoklamasi tek istekte aliniyor. Programa kayitli her ogrencinin bitset satirinda
+     // oturumun biti isaretleniyor, sonra StudentInfo.absentee tek UPDATE ile yoklama verisinden turetiliyor.
+     // Program satiri kilitlendigi icin ayni programin yoklamalari (yeni kayit acanlar dahil) sirayla isleniyor
+    @Transactional
+    public ResponseMessage<List<AttendanceSummaryResponse>> saveRollCall(HttpServletRequest httpServletRequest,
+                                                                        RollCallRequest rollCallRequest) {
+        Long lessonProgramId = rollCallRequest.getLessonProgramId();
+        LessonProgram lessonProgram = lessonProgramRepository.findByIdForUpdate(lessonProgramId).orElseThrow(() ->
+                new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_LESSON_PROGRAM_MESSAGE,
+                        lessonProgramId)));
+        checkTeacherOfLessonProgram(httpServletRequest, lessonProgram);
+        int session = sessionIndex(lessonProgram, rollCallRequest.getSessionDate());
+
+        List<Long> studentIds = lessonProgramRepository
+                .findUserIdsByLessonProgramIdAndRole(lessonProgram.getId(), RoleType.STUDENT);
+        Set<Long> absentStudentIds = new HashSet<>(rollCallRequest.getAbsentStudentIds());
+        for (Long absentStudentId : absentStudentIds) {
+            if (!studentIds.contains(absentStudentId)) {
+                throw new BadRequestException(String.format(ErrorMessages.ATTENDANCE_STUDENT_NOT_IN_PROGRAM,
+                        absentStudentId, lessonProgram.getId()));
+            }
+        }
+
+        Map<Long, AttendanceRecord> records = new HashMap<>();
+        for (AttendanceRecord record : attendanceRecordRepository.findByLessonProgramId(lessonProgram.getId())) {
+            records.put(record.getStudent().getId(), record);
+        }
+        List<AttendanceRecord> created = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            AttendanceRecord record = records.get(studentId);
+            if (record == null) {
+                record = AttendanceRecord.builder()
+                        .student(userRepository.getReferenceById(studentId))
+                        .lessonProgram(lessonProgram)
+                        .educationTerm(lessonProgram.getEducationTerm())
+                        .build();
+                records.put(studentId, record);
+                created.add(record);
+            }
+            BitSet recorded = bits(record.getRecordedSessions());
+            BitSet absent = bits(record.getAbsentSessions());
+            recorded.set(session);
+            absent.set(session, absentStudentIds.contains(studentId));
+            record.setRecordedSessions(recorded.toByteArray());
+            record.setAbsentSessions(absent.toByteArray());
+            record.setRecordedCount(recorded.cardinality());
+            record.setAbsenceCount(absent.cardinality());
+        }
+        attendanceRecordRepository.saveAll(created);
+
+        List<AttendanceSummaryResponse> summaries = studentIds.stream()
+                .sorted()
+                .map(studentId -> summarize(records.get(studentId), studentId, lessonProgram))
+                .collect(Collectors.toList());
+
+        if (!studentIds.isEmpty() && !lessonProgram.getLessons().isEmpty()) {
+            List<Long> lessonIds = lessonProgram.getLessons().stream()
+                    .map(Lesson::getLessonId)
+                    .collect(Collectors.toList());
+            attendanceRecordRepository.deriveAbsentee(studentIds, lessonIds);
+        }
+
+        return ResponseMessage.<List<AttendanceSummaryResponse>>builder()
+                .message(SuccessMessages.ATTENDANCE_SAVED)
+                .object(summaries)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseMessage<List<AttendanceSummaryResponse>> getByLessonProgram(Long lessonProgramId,
+                                                                              boolean alertsOnly) {
+        LessonProgram lessonProgram = lessonProgramService.isLessonProgramExistById(lessonProgramId);
+        List<AttendanceSummaryResponse> summaries = attendanceRecordRepository.findByLessonProgramId(lessonProgramId)
+                .stream()
+                .map(record -> summarize(record, record.getStudent().getId(), lessonProgram))
+                .filter(summary -> !alertsOnly || summary.getAlert())
+                .sorted(Comparator.comparing(AttendanceSummaryResponse::getStudentId))
+                .collect(Collectors.toList());
+        return ResponseMessage.<List<AttendanceSummaryResponse>>builder()
+                .message(SuccessMessages.ATTENDANCE_FOUND)
+                .object(summaries)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    //!!! ogrenci kendi devamsizliklarini goruyor
+    @Transactional(readOnly = true)
+    public ResponseMessage<List<AttendanceSummaryResponse>> getForStudent(HttpServletRequest httpServletRequest) {
+        Long userId = (Long) httpServletRequest.getAttribute("userId");
+        if(userId == null){
+            String userName = (String) httpServletRequest.getAttribute("username");
+            userId = methodHelper.isUserExistByUsername(userName).getId();
+        }
+        Long studentId = userId;
+        List<AttendanceSummaryResponse> summaries = attendanceRecordRepository.findByStudentId(studentId)
+                .stream()
+                .map(record -> summarize(record, studentId, record.getLessonProgram()))
+                .sorted(Comparator.comparing(AttendanceSummaryResponse::getLessonProgramId))
+                .collect(Collectors.toList());
+        return ResponseMessage.<List<AttendanceSummaryResponse>>builder()
+                .message(SuccessMessages.ATTENDANCE_FOUND)
+                .object(summaries)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    //!!! StudentInfo kaydedilirken yoklamasi olan ogrencilerin absentee degeri yoklama verisinden aliniyor
+    public Map<Long, Integer> getAbsences(Collection<Long> studentIds, Long lessonId, Long educationTermId) {
+        return attendanceRecordRepository.sumAbsences(studentIds, lessonId, educationTermId)
+                .stream()
+                .collect(Collectors.toMap(AttendanceRecordRepository.AbsenceTotalView::getStudentId,
+                        total -> total.getAbsences().intValue()));
+    }
+
+    private void checkTeacherOfLessonProgram(HttpServletRequest httpServletRequest, LessonProgram lessonProgram) {
+        String teacherUsername = (String) httpServletRequest.getAttribute("username");
+        User teacher = methodHelper.isUserExistByUsername(teacherUsername);
+        List<Long> teacherIds = lessonProgramRepository
+                .findUserIdsByLessonProgramIdAndRole(lessonProgram.getId(), RoleType.TEACHER);
+        if (!teacherIds.contains(teacher.getId())) {
+            throw new BadRequestException(ErrorMessages.NOT_PERMITTED_METHOD_MESSAGE);
+        }
+    }
+
+    //!!! oturum numarasi: donem basindan sonra programin gunune denk gelen ilk tarihten itibaren hafta sayisi
+    private int sessionIndex(LessonProgram lessonProgram, LocalDate sessionDate) {
+        EducationTerm educationTerm = lessonProgram.getEducationTerm();
+        DayOfWeek dayOfWeek = DayOfWeek.valueOf(lessonProgram.getDay().name());
+        if (educationTerm == null || sessionDate.getDayOfWeek() != dayOfWeek
+                || sessionDate.isBefore(educationTerm.getStartDate())
+                || sessionDate.isAfter(educationTerm.getEndDate())) {
+            throw new BadRequestException(String.format(ErrorMessages.ATTENDANCE_SESSION_DATE_INVALID,
+                    sessionDate, lessonProgram.getId()));
+        }
+        return (int) ChronoUnit.WEEKS.between(firstSessionDate(lessonProgram), sessionDate);
+    }
+
+    private LocalDate firstSessionDate(LessonProgram lessonProgram) {
+        return lessonProgram.getEducationTerm().getStartDate()
+                .with(TemporalAdjusters.nextOrSame(DayOfWeek.valueOf(lessonProgram.getDay().name())));
+    }
+
+    //!!! toplamlar ve seriler bitset uzerinden, satir acmadan hesaplaniyor
+    private AttendanceSummaryResponse summarize(AttendanceRecord record, Long studentId, LessonProgram lessonProgram) {
+        BitSet recorded = bits(record.getRecordedSessions());
+        BitSet absent = bits(record.getAbsentSessions());
+        int longestStreak = 0;
+        int currentStreak = 0;
+        for (int session = recorded.nextSetBit(0); session >= 0; session = recorded.nextSetBit(session + 1)) {
+            currentStreak = absent.get(session) ? currentStreak + 1 : 0;
+            longestStreak = Math.max(longestStreak, currentStreak);
+        }
+        LocalDate firstSessionDate = firstSessionDate(lessonProgram);
+        List<LocalDate> absentDates = absent.stream()
+                .mapToObj(firstSessionDate::plusWeeks)
+                .collect(Collectors.toList());
+        int absences = absent.cardinality();
+        return AttendanceSummaryResponse.builder()
+                .studentId(studentId)
+                .lessonProgramId(lessonProgram.getId())
+                .recordedSessions(recorded.cardinality())
+                .absences(absences)
+                .longestAbsenceStreak(longestStreak)
+                .currentAbsenceStreak(currentStreak)
+                .alert(absences >= absenceLimit || currentStreak >= streakLimit)
+                .absentDates(absentDates)
+                .build();
+    }
+
+    private static BitSet bits(byte[] bytes) {
+        return bytes == null ? new BitSet() : BitSet.valueOf(bytes);
+    }
+}
@@ -3,20 +3,30 @@ package com.project.service.business;
 import com.project.entity.concretes.business.EducationTerm;
 import com.project.exception.BadRequestException;
 import com.project.exception.ConflictException;
-import com.project.exception.ResourceNotFoundException;
 import com.project.payload.mappers.EducationTermMapper;
 import com.project.payload.messages.ErrorMessages;
 import com.project.payload.messages.SuccessMessages;
 import com.project.payload.request.business.EducationTermRequest;
+import com.project.payload.response.business.CursorPage;
 import com.project.payload.response.business.EducationTermResponse;
 import com.project.payload.response.business.ResponseMessage;
+import com.project.repository.business.AttendanceRecordRepository;
 import com.project.repository.business.EducationTermRepository;
+import com.project.repository.business.GradingPolicyRepository;
+import com.project.repository.business.LessonProgramRepository;
+import com.project.service.helper.AfterCommitExecutor;
+import com.project.service.helper.EntityBatchLoader;
+import com.project.service.helper.GradingPolicyCache;
+import com.project.service.helper.KeysetPaginationHelper;
+import com.project.service.helper.LessonProgramTimetableCache;
 import com.project.service.helper.PageableHelper;
+import com.project.service.helper.StudentTranscriptCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,6 +38,15 @@ public class EducationTermService {
     private final EducationTermRepository educationTermRepository;
     private final EducationTermMapper educationTermMapper;
     private final PageableHelper pageableHelper;
+    private final KeysetPaginationHelper keysetPaginationHelper;
+    private final EntityBatchLoader entityBatchLoader;
+    private final LessonProgramRepository lessonProgramRepository;
+    private final LessonProgramTimetableCache lessonProgramTimetableCache;
+    private final StudentTranscriptCache studentTranscriptCache;
+    private final GradingPolicyRepository gradingPolicyRepository;
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final GradingPolicyCache gradingPolicyCache;
+    private final AfterCommitExecutor afterCommitExecutor;
 
     public ResponseMessage<EducationTermResponse> saveEducationTerm(EducationTermRequest educationTermRequest) {
 
@@ -92,8 +111,7 @@ public class EducationTermService {
     }
     private EducationTerm isEducationTermExist(Long id){
 
-        return educationTermRepository.findById(id).orElseThrow(()->
-                new ResourceNotFoundException(String.format(ErrorMessages.EDUCATION_TERM_NOT_FOUND_MESSAGE, id)));
+        return entityBatchLoader.load(EducationTerm.class, id);
     }
 
     public List<EducationTermResponse> getAllEducationTerms() {
@@ -114,13 +132,34 @@ public class EducationTermService {
                 .map(educationTermMapper::mapEducationTermToEducationTermResponse);
     }
 
+    public CursorPage<EducationTermResponse> getAllEducationTermsByCursor(String cursor, int size, String sort, String type) {
+        return keysetPaginationHelper.findPage(EducationTerm.class, null, cursor, size, sort, type)
+                .map(educationTermMapper::mapEducationTermToEducationTermResponse);
+    }
+
+    @Transactional
     public ResponseMessage deleteEducationTermById(Long id) {
 
         isEducationTermExist(id);
         //!!! SORU : EducationTerm silinince LessonProgramlar ne olacak, buraya onuda sileecek
          // kodlar eklememiz gerekecek mi?? Hayir, EducationTerm entityde Cascade kullanildigi icin
          // gerek yok..
+        //!!! Cascade ile silinen her LessonProgram icin @PreRemove kullanicilari tek tek yuklememesi icin
+         // join tablosu once toplu temizleniyor
+        List<Long> lessonProgramIds = lessonProgramRepository.findIdsByEducationTermId(id);
+        if(!lessonProgramIds.isEmpty()){
+            List<Long> userIds = lessonProgramRepository.findUserIdsByLessonProgramIds(lessonProgramIds);
+            lessonProgramRepository.deleteUserAssignments(lessonProgramIds);
+            attendanceRecordRepository.deleteByLessonProgramIds(lessonProgramIds);
+            //!!! commit oncesi silinirse baska bir istek eski programi tekrar cache e koyabilir
+            afterCommitExecutor.execute(() -> userIds.forEach(lessonProgramTimetableCache::evict));
+        }
+        gradingPolicyRepository.deleteByEducationTermId(id);
         educationTermRepository.deleteById(id);
+        afterCommitExecutor.execute(() -> {
+            gradingPolicyCache.evict(id);
+            studentTranscriptCache.evictAll();
+        });
 
         return ResponseMessage.builder()
                 .message(SuccessMessages.EDUCATION_TERM_DELETE)
@@ -137,6 +176,8 @@ public class EducationTermService {
 
         EducationTerm educationTermUpdated =
            educationTermRepository.save(educationTermMapper.mapEducationTermRequestToUpdatedEducationTerm(id, educationTermRequest));
+        //!!! transkriptlerde donem ve baslama tarihi gosteriliyor
+        studentTranscriptCache.evictAll();
 
         return ResponseMessage.<EducationTermResponse>builder()
                 .message(SuccessMessages.EDUCATION_TERM_UPDATE)
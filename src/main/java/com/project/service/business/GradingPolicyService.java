@@ -0,0 +1,115 @@
+package com.project.service.business;
+
+import com.project.entity.concretes.business.EducationTerm;
+import com.project.entity.concretes.business.GradingPolicy;
+import com.project.exception.BadRequestException;
+import com.project.exception.ResourceNotFoundException;
+import com.project.payload.mappers.GradingPolicyMapper;
+import com.project.payload.messages.ErrorMessages;
+import com.project.payload.messages.SuccessMessages;
+import com.project.payload.request.business.GradingPolicyRequest;
+import com.project.payload.response.business.GradingPolicyResponse;
+import com.project.payload.response.business.RegradeJobResponse;
+import com.project.payload.response.business.ResponseMessage;
+import com.project.repository.business.GradingPolicyRepository;
+import com.project.service.helper.GradingPolicyCache;
+import com.project.service.helper.GradingTable;
+import com.project.service.helper.RegradeJobRunner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class GradingPolicyService {
+
+    private final GradingPolicyRepository gradingPolicyRepository;
+    private final EducationTermService educationTermService;
+    private final GradingPolicyMapper gradingPolicyMapper;
+    private final GradingPolicyCache gradingPolicyCache;
+    private final RegradeJobRunner regradeJobRunner;
+
+    //!!! Donemin politikasi yoksa olusturuluyor, varsa degistiriliyor. Kayittan sonra donemin butun notlari
+     // arka planda yeni politika ile yeniden hesaplaniyor
+    public ResponseMessage<GradingPolicyResponse> saveGradingPolicy(GradingPolicyRequest gradingPolicyRequest) {
+        EducationTerm educationTerm =
+                educationTermService.findEducationTermById(gradingPolicyRequest.getEducationTermId());
+        validateGradingPolicy(gradingPolicyRequest);
+
+        GradingPolicy gradingPolicy =
+                gradingPolicyMapper.mapGradingPolicyRequestToGradingPolicy(gradingPolicyRequest, educationTerm);
+        gradingPolicyRepository.findByEducationTerm_Id(educationTerm.getId())
+                .ifPresent(existing -> gradingPolicy.setId(existing.getId()));
+        GradingPolicy savedGradingPolicy = gradingPolicyRepository.save(gradingPolicy);
+        gradingPolicyCache.evict(educationTerm.getId());
+
+        GradingPolicyResponse response = gradingPolicyMapper.mapGradingTableToGradingPolicyResponse(
+                educationTerm.getId(), GradingTable.of(savedGradingPolicy));
+        response.setRegradeJob(regradeJobRunner.start(educationTerm.getId()));
+
+        return ResponseMessage.<GradingPolicyResponse>builder()
+                .message(SuccessMessages.GRADING_POLICY_SAVED)
+                .object(response)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    public ResponseMessage<GradingPolicyResponse> getGradingPolicyByEducationTerm(Long educationTermId) {
+        educationTermService.findEducationTermById(educationTermId);
+        return ResponseMessage.<GradingPolicyResponse>builder()
+                .message(SuccessMessages.GRADING_POLICY_FOUND)
+                .object(gradingPolicyMapper.mapGradingTableToGradingPolicyResponse(educationTermId,
+                        gradingPolicyCache.getTable(educationTermId)))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    public ResponseMessage<RegradeJobResponse> regradeEducationTerm(Long educationTermId) {
+        educationTermService.findEducationTermById(educationTermId);
+        return ResponseMessage.<RegradeJobResponse>builder()
+                .message(SuccessMessages.REGRADE_JOB_STARTED)
+                .object(regradeJobRunner.start(educationTermId))
+                .httpStatus(HttpStatus.ACCEPTED)
+                .build();
+    }
+
+    public ResponseMessage<RegradeJobResponse> getRegradeJobStatus(String jobId) {
+        RegradeJobResponse job = regradeJobRunner.getStatus(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException(String.format(ErrorMessages.REGRADE_JOB_NOT_FOUND, jobId));
+        }
+        return ResponseMessage.<RegradeJobResponse>builder()
+                .message(SuccessMessages.REGRADE_JOB_FOUND)
+                .object(job)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    private void validateGradingPolicy(GradingPolicyRequest gradingPolicyRequest) {
+        double weights = gradingPolicyRequest.getMidtermPercentage() + gradingPolicyRequest.getFinalPercentage();
+        if (Math.abs(weights - 1.0) > 1e-6) {
+            throw new BadRequestException(ErrorMessages.GRADING_POLICY_WEIGHTS);
+        }
+        List<Double> thresholds = new ArrayList<>();
+        thresholds.add(gradingPolicyRequest.getDdMin());
+        if (gradingPolicyRequest.getDcMin() != null) {
+            thresholds.add(gradingPolicyRequest.getDcMin());
+        }
+        thresholds.add(gradingPolicyRequest.getCcMin());
+        thresholds.add(gradingPolicyRequest.getCbMin());
+        thresholds.add(gradingPolicyRequest.getBbMin());
+        thresholds.add(gradingPolicyRequest.getBaMin());
+        thresholds.add(gradingPolicyRequest.getAaMin());
+        for (int i = 0; i < thresholds.size(); i++) {
+            double threshold = thresholds.get(i);
+            //!!! lookup tablosu 0.01 cozunurlukte
+            if (Math.abs(threshold * 100 - Math.round(threshold * 100)) > 1e-6
+                    || (i > 0 && threshold <= thresholds.get(i - 1))) {
+                throw new BadRequestException(ErrorMessages.GRADING_POLICY_THRESHOLDS);
+            }
+        }
+    }
+}
@@ -4,27 +4,44 @@ import com.project.entity.concretes.business.EducationTerm;
 import com.project.entity.concretes.business.Lesson;
 import com.project.entity.concretes.business.LessonProgram;
 import com.project.entity.concretes.user.User;
+import com.project.entity.enums.Day;
 import com.project.entity.enums.RoleType;
 import com.project.exception.BadRequestException;
 import com.project.exception.ResourceNotFoundException;
 import com.project.payload.mappers.LessonProgramMapper;
 import com.project.payload.messages.ErrorMessages;
 import com.project.payload.messages.SuccessMessages;
+import com.project.payload.request.business.LessonProgramBatchRequest;
 import com.project.payload.request.business.LessonProgramRequest;
+import com.project.payload.response.business.CursorPage;
 import com.project.payload.response.business.LessonProgramResponse;
 import com.project.payload.response.business.ResponseMessage;
+import com.project.repository.business.LessonProgramBatchRepository;
+import com.project.repository.business.AttendanceRecordRepository;
 import com.project.repository.business.LessonProgramRepository;
+import com.project.service.helper.AfterCommitExecutor;
+import com.project.service.helper.KeysetPaginationHelper;
+import com.project.service.helper.LessonProgramIntervalIndex;
+import com.project.service.helper.LessonProgramTimetableCache;
 import com.project.service.helper.MethodHelper;
 import com.project.service.helper.PageableHelper;
 import com.project.service.validator.DateTimeValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -33,12 +50,17 @@ import java.util.stream.Collectors;
 public class LessonProgramService {
 
     private final LessonProgramRepository lessonProgramRepository;
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final LessonProgramBatchRepository lessonProgramBatchRepository;
     private final LessonService lessonService;
     private final EducationTermService educationTermService;
     private final DateTimeValidator dateTimeValidator;
     private final LessonProgramMapper lessonProgramMapper;
     private final PageableHelper pageableHelper;
+    private final KeysetPaginationHelper keysetPaginationHelper;
     private final MethodHelper methodHelper;
+    private final LessonProgramTimetableCache lessonProgramTimetableCache;
+    private final AfterCommitExecutor afterCommitExecutor;
 
     public ResponseMessage<LessonProgramResponse> saveLessonProgram(LessonProgramRequest lessonProgramRequest) {
         //!!! LessonProgramda olacak dersleri LessonService den getiriyorum
@@ -65,9 +87,59 @@ public class LessonProgramService {
                 .build();
     }
 
+    //!!! Bir donemin butun ders programlari tek istekte kaydediliyor. Dersler ve donem birer sorguda getiriliyor,
+     // zaman ve cakisma kontrolleri bellekte yapiliyor, kayit JDBC batch ile tek transaction da yapiliyor
+    @Transactional
+    public ResponseMessage<List<LessonProgramResponse>> saveAllLessonPrograms(LessonProgramBatchRequest batchRequest) {
+        List<LessonProgramRequest> requests = batchRequest.getLessonPrograms();
+        EducationTerm educationTerm = educationTermService.findEducationTermById(batchRequest.getEducationTermId());
+
+        Set<Long> lessonIds = new HashSet<>();
+        for(int i = 0; i < requests.size(); i++){
+            LessonProgramRequest request = requests.get(i);
+            if(!educationTerm.getId().equals(request.getEducationTermId())){
+                throw new BadRequestException(
+                        String.format(ErrorMessages.LESSON_PROGRAM_TERM_MISMATCH, i, educationTerm.getId()));
+            }
+            dateTimeValidator.checkTimeWithException(request.getStartTime(), request.getStopTime());
+            lessonIds.addAll(request.getLessonIdList());
+        }
+        Map<Long, Lesson> lessons = lessonService.getLessonsByLessonId(lessonIds);
+
+        //!!! DTO--> POJO, ayni ders icin cakisan programlar ders bazli interval index ile kontrol ediliyor
+        List<LessonProgram> lessonPrograms = new ArrayList<>(requests.size());
+        Map<Long, List<LessonProgram>> programsByLesson = new HashMap<>();
+        for(LessonProgramRequest request : requests){
+            Set<Lesson> programLessons = request.getLessonIdList()
+                    .stream()
+                    .map(lessons::get)
+                    .collect(Collectors.toSet());
+            LessonProgram lessonProgram =
+                    lessonProgramMapper.mapLessonProgramRequestToLessonProgram(request, programLessons, educationTerm);
+            lessonPrograms.add(lessonProgram);
+            request.getLessonIdList().forEach(lessonId ->
+                    programsByLesson.computeIfAbsent(lessonId, id -> new ArrayList<>()).add(lessonProgram));
+        }
+        programsByLesson.forEach((lessonId, programs) -> {
+            if(LessonProgramIntervalIndex.of(programs).hasInternalOverlap()){
+                throw new BadRequestException(String.format(ErrorMessages.LESSON_PROGRAM_LESSON_OVERLAP, lessonId));
+            }
+        });
+
+        lessonProgramBatchRepository.insertAll(lessonPrograms);
+
+        return ResponseMessage.<List<LessonProgramResponse>>builder()
+                .message(String.format(SuccessMessages.LESSON_PROGRAMS_SAVED, lessonPrograms.size()))
+                .httpStatus(HttpStatus.CREATED)
+                .object(lessonPrograms.stream()
+                        .map(lessonProgramMapper::mapLessonProgramToLessonProgramResponse)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
     public List<LessonProgramResponse> getAllLessonProgramByList() {
 
-        return lessonProgramRepository.findAll()
+        return lessonProgramRepository.findAllWithLessons()
                 .stream()
                 .map(lessonProgramMapper::mapLessonProgramToLessonProgramResponse)
                 .collect(Collectors.toList());
@@ -77,37 +149,52 @@ public class LessonProgramService {
         return lessonProgramMapper.mapLessonProgramToLessonProgramResponse(isLessonProgramExistById(id));
     }
 
-    private LessonProgram isLessonProgramExistById(Long id){
+    public LessonProgram isLessonProgramExistById(Long id){
         return lessonProgramRepository.findById(id).orElseThrow(()->
                 new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_LESSON_PROGRAM_MESSAGE, id)));
     }
 
     public List<LessonProgramResponse> getAllUnassigned() {
-        return lessonProgramRepository.findByUsers_IdNull()
+        return lessonProgramRepository.findAllUnassigned()
                 .stream()
                 .map(lessonProgramMapper::mapLessonProgramToLessonProgramResponse)
                 .collect(Collectors.toList());
     }
 
     public List<LessonProgramResponse> getAllAssigned() {
-        return lessonProgramRepository.findByUsers_IdNotNull()
+        return lessonProgramRepository.findAllAssigned()
                 .stream()
                 .map(lessonProgramMapper::mapLessonProgramToLessonProgramResponse)
                 .collect(Collectors.toList());
     }
 
-    public Set<LessonProgramResponse> getAllLessonProgramByUser(HttpServletRequest httpServletRequest) {
-        String userName = (String) httpServletRequest.getAttribute("username");
-
-        return lessonProgramRepository.getLessonProgramByUsersUsername(userName)
-                .stream()
-                .map(lessonProgramMapper::mapLessonProgramToLessonProgramResponse)
-                .collect(Collectors.toSet());
+    public ResponseEntity<List<LessonProgramResponse>> getAllLessonProgramByUser(HttpServletRequest httpServletRequest,
+                                                                                Day day) {
+        Long userId = (Long) httpServletRequest.getAttribute("userId");
+        if(userId == null){
+            String userName = (String) httpServletRequest.getAttribute("username");
+            userId = methodHelper.isUserExistByUsername(userName).getId();
+        }
+        Long timetableOwnerId = userId;
+        LessonProgramTimetableCache.Timetable timetable = lessonProgramTimetableCache.get(timetableOwnerId,
+                () -> lessonProgramRepository.findTimetableByUserId(timetableOwnerId));
+        //!!! If-None-Match ile gelen ETag ayni ise Spring body gondermeden 304 donuyor
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(timetable.getEtag())
+                .body(day == null ? timetable.getWeek() : timetable.getDay(day));
     }
 
+    @Transactional
     public ResponseMessage deleteLessonProgramById(Long id) {
-        isLessonProgramExistById(id);
+        LessonProgram lessonProgram = isLessonProgramExistById(id);
+        //!!! programin atandigi kullanicilar, join tablosu temizlenmeden once aliniyor
+        List<Long> userIds = lessonProgramRepository.findUserIdsByLessonProgramIds(List.of(id));
+        lessonProgramRepository.deleteUserAssignments(List.of(id));
+        attendanceRecordRepository.deleteByLessonProgramIds(List.of(id));
         lessonProgramRepository.deleteById(id);
+        //!!! commit oncesi guncellenirse baska bir istek eski programi tekrar cache e koyabilir
+        afterCommitExecutor.execute(() -> lessonProgramTimetableCache.removeLessonProgram(lessonProgram, userIds));
         return ResponseMessage.builder()
                 .message(SuccessMessages.LESSON_PROGRAM_DELETE)
                 .httpStatus(HttpStatus.OK)
@@ -120,24 +207,25 @@ public class LessonProgramService {
                 .map(lessonProgramMapper::mapLessonProgramToLessonProgramResponse);
     }
 
+    public CursorPage<LessonProgramResponse> getAllLessonProgramByCursor(String cursor, int size, String sort, String type) {
+        return keysetPaginationHelper.findPage(LessonProgram.class, null, cursor, size, sort, type)
+                .map(lessonProgramMapper::mapLessonProgramToLessonProgramResponse);
+    }
+
     public Set<LessonProgramResponse> getByTeacherId(Long teacherId) {
         User teacher = methodHelper.isUserExist(teacherId);
         methodHelper.checkRole(teacher, RoleType.TEACHER);
 
-        return lessonProgramRepository.findByUsers_IdEquals(teacherId)
-                .stream()
-                .map(lessonProgramMapper::mapLessonProgramToLessonProgramResponse)
-                .collect(Collectors.toSet());
+        return new LinkedHashSet<>(lessonProgramTimetableCache.get(teacherId,
+                () -> lessonProgramRepository.findTimetableByUserId(teacherId)).getWeek());
     }
 
     public Set<LessonProgramResponse> getByStudentId(Long studentId) {
         User student = methodHelper.isUserExist(studentId);
         methodHelper.checkRole(student, RoleType.STUDENT);
 
-        return lessonProgramRepository.findByUsers_IdEquals(studentId)
-                .stream()
-                .map(lessonProgramMapper::mapLessonProgramToLessonProgramResponse)
-                .collect(Collectors.toSet());
+        return new LinkedHashSet<>(lessonProgramTimetableCache.get(studentId,
+                () -> lessonProgramRepository.findTimetableByUserId(studentId)).getWeek());
     }
 
     // !!! Teacher service icin yazildi
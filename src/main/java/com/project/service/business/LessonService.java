@@ -2,23 +2,28 @@ package com.project.service.business;
 
 import com.project.entity.concretes.business.Lesson;
 import com.project.exception.ConflictException;
-import com.project.exception.ResourceNotFoundException;
 import com.project.payload.mappers.LessonMapper;
 import com.project.payload.messages.ErrorMessages;
 import com.project.payload.messages.SuccessMessages;
 import com.project.payload.request.business.LessonRequest;
+import com.project.payload.response.business.CursorPage;
 import com.project.payload.response.business.LessonResponse;
 import com.project.payload.response.business.ResponseMessage;
 import com.project.repository.business.LessonRepository;
+import com.project.service.helper.EntityBatchLoader;
+import com.project.service.helper.KeysetPaginationHelper;
+import com.project.service.helper.LessonProgramTimetableCache;
 import com.project.service.helper.PageableHelper;
+import com.project.service.helper.StudentTranscriptCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,6 +32,10 @@ public class LessonService {
     private final LessonRepository lessonRepository;
     private final LessonMapper lessonMapper;
     private final PageableHelper pageableHelper;
+    private final KeysetPaginationHelper keysetPaginationHelper;
+    private final EntityBatchLoader entityBatchLoader;
+    private final LessonProgramTimetableCache lessonProgramTimetableCache;
+    private final StudentTranscriptCache studentTranscriptCache;
 
     public ResponseMessage<LessonResponse> saveLesson(LessonRequest lessonRequest) {
 
@@ -57,6 +66,8 @@ public class LessonService {
 
         isLessonExistById(id);
         lessonRepository.deleteById(id);
+        lessonProgramTimetableCache.evictAll();
+        studentTranscriptCache.evictAll();
 
         return ResponseMessage.builder()
                 .message(SuccessMessages.LESSON_DELETE)
@@ -66,8 +77,7 @@ public class LessonService {
 
     public Lesson isLessonExistById(Long id){
 
-        return lessonRepository.findById(id).orElseThrow(()->
-                new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_LESSON_MESSAGE,id)));
+        return entityBatchLoader.load(Lesson.class, id);
     }
 
     public ResponseMessage<LessonResponse> getLessonByLessonName(String lessonName) {
@@ -90,11 +100,20 @@ public class LessonService {
         return lessonRepository.findAll(pageable).map(lessonMapper::mapLessonToLessonResponse);
     }
 
+    public CursorPage<LessonResponse> findLessonByCursor(String cursor, int size, String sort, String type) {
+        return keysetPaginationHelper.findPage(Lesson.class, null, cursor, size, sort, type)
+                .map(lessonMapper::mapLessonToLessonResponse);
+    }
+
     public Set<Lesson> getAllLessonByLessonId(Set<Long> idSet) {
 
-        return idSet.stream()  // Stream<id>
-                .map(this::isLessonExistById) // stream<lesson>
-                .collect(Collectors.toSet()); // Set<Lesson>
+        //!!! butun id ler tek sorguda getiriliyor, bulunamayanlar tek hatada donuluyor
+        return new HashSet<>(entityBatchLoader.loadAll(Lesson.class, idSet).values());
+    }
+
+    //!!! toplu islemler icin, butun dersler tek sorguda getiriliyor
+    public Map<Long, Lesson> getLessonsByLessonId(Set<Long> idSet) {
+        return entityBatchLoader.loadAll(Lesson.class, idSet);
     }
 
     public LessonResponse updateLessonById(Long lessonId, LessonRequest lessonRequest) {
@@ -116,6 +135,10 @@ public class LessonService {
          // NULL olarak atanir
         updatedLesson.setLessonPrograms(lesson.getLessonPrograms());
         Lesson savedLesson = lessonRepository.save(updatedLesson);
+        //!!! ders adi haftalik programlarda da gosteriliyor
+        lessonProgramTimetableCache.evictAll();
+        //!!! kredi degisikligi butun GPA lari etkiliyor
+        studentTranscriptCache.evictAll();
 
         return lessonMapper.mapLessonToLessonResponse(savedLesson);
     }
@@ -10,9 +10,12 @@ import com.project.payload.mappers.MeetMapper;
 import com.project.payload.messages.ErrorMessages;
 import com.project.payload.messages.SuccessMessages;
 import com.project.payload.request.business.MeetRequest;
+import com.project.payload.response.business.CursorPage;
 import com.project.payload.response.business.MeetResponse;
 import com.project.payload.response.business.ResponseMessage;
 import com.project.repository.business.MeetRepository;
+import com.project.repository.business.MeetSlotRepository;
+import com.project.service.helper.KeysetPaginationHelper;
 import com.project.service.helper.MethodHelper;
 import com.project.service.helper.PageableHelper;
 import com.project.service.user.UserService;
@@ -22,11 +25,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
-import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,12 +39,15 @@ import java.util.stream.Collectors;
 public class MeetService {
 
     private final MeetRepository meetRepository;
+    private final MeetSlotRepository meetSlotRepository;
     private final MethodHelper methodHelper;
     private final DateTimeValidator dateTimeValidator;
     private final UserService userService;
     private final MeetMapper meetMapper;
     private final PageableHelper pageableHelper;
+    private final KeysetPaginationHelper keysetPaginationHelper;
 
+    @Transactional
     public ResponseMessage<MeetResponse> saveMeet(HttpServletRequest httpServletRequest,
                                                   MeetRequest meetRequest) {
         String username = (String) httpServletRequest.getAttribute("username");
@@ -49,10 +57,6 @@ public class MeetService {
         // !!! Yeni Meet saatlerınde cakısma var mı kontrolu
         dateTimeValidator.checkTimeWithException(meetRequest.getStartTime(), meetRequest.getStopTime());
 
-        //!!! AdvTeacher'in mevcut meetleri ile cakisma var mi
-        checkMeetConflict(advisorTeacher.getId(), meetRequest.getDate(),
-                meetRequest.getStartTime(), meetRequest.getStopTime());
-
         //!!! Meete e katilacak ogrenciler getiriliyor
         List<User> students = userService.getStudentById(meetRequest.getStudentIds());
         //!!! DTO --> POJO
@@ -61,6 +65,8 @@ public class MeetService {
         meet.setAdvisoryTeacher(advisorTeacher);
 
         Meet savedMeet =  meetRepository.save(meet);
+        //!!! AdvTeacher ve ogrencilerin mevcut meetleri ile cakisma var mi
+        reserveMeetSlots(savedMeet);
 
         return ResponseMessage.<MeetResponse>builder()
                 .message(SuccessMessages.MEET_SAVED)
@@ -69,34 +75,21 @@ public class MeetService {
                 .build();
     }
 
-    private void checkMeetConflict(Long userId, LocalDate date, LocalTime startTime, LocalTime stoptime) {
-
-        List<Meet> meets ;
-
-        //!!! Student veya Teachera ait olan mevcut meet ler getiriliyor
-        if(Boolean.TRUE.equals(userService.getUserByUserId(userId).getIsAdvisor())){
-            meets = meetRepository.getByAdvisoryTeacher_IdEquals(userId);
-        } else meets = meetRepository.findByStudentList_IdEquals(userId);
-
-        //!!! cakisma kontrolu
-        for(Meet meet: meets){
-            LocalTime existingStartTime =  meet.getStartTime();
-            LocalTime existingStopTime =  meet.getStopTime();
-
-            if(meet.getDate().equals(date) &&
-                    (
-                          (startTime.isAfter(existingStartTime) && startTime.isBefore(existingStopTime)) ||
-                          (stoptime.isAfter(existingStartTime) && stoptime.isBefore(existingStopTime)) ||
-                          (startTime.isBefore(existingStartTime) && stoptime.isAfter(existingStopTime)) ||
-                          (startTime.equals(existingStartTime) || stoptime.equals(existingStopTime))
-
-                    )
-
-            ){
-                throw new ConflictException(ErrorMessages.MEET_HOURS_CONFLICT);
-            }
+    //!!! danisman ogretmen ve ogrenciler icin slotlar tek insert ile ayriliyor, cakisma varsa hangi
+     // kullanicilarin cakistigi donuluyor ve transaction geri aliniyor
+    private void reserveMeetSlots(Meet meet) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        userIds.add(meet.getAdvisoryTeacher().getId());
+        for (User student : meet.getStudentList()) {
+            userIds.add(student.getId());
+        }
+        List<Long> conflictingUserIds = meetSlotRepository.reserve(meet.getId(), userIds,
+                LocalDateTime.of(meet.getDate(), meet.getStartTime()),
+                LocalDateTime.of(meet.getDate(), meet.getStopTime()));
+        if (!conflictingUserIds.isEmpty()) {
+            throw new ConflictException(String.format(ErrorMessages.MEET_HOURS_CONFLICT_WITH_USERS,
+                    conflictingUserIds));
         }
-
     }
 
     public List<MeetResponse> getAll() {
@@ -148,28 +141,18 @@ public class MeetService {
         return meetRepository.findAll(pageable).map(meetMapper::mapMeetToMeetResponse);
     }
 
+    public CursorPage<MeetResponse> getAllMeetByCursor(String cursor, int size) {
+        return keysetPaginationHelper.findPage(Meet.class, null, cursor, size, "id", "desc")
+                .map(meetMapper::mapMeetToMeetResponse);
+    }
+
+    @Transactional
     public ResponseMessage<MeetResponse> updateMeetById(MeetRequest meetRequest, Long meetId,
                                                         HttpServletRequest httpServletRequest) {
 
         Meet meet = isMeetExistById(meetId);
         isTeacherControl(meet, httpServletRequest);
         dateTimeValidator.checkTimeWithException(meetRequest.getStartTime(), meetRequest.getStopTime());
-        //!!! uodate de unigue olmasi gerken bilgiler, DB deki meet degerleri ile ayni degilse Unique olma kontrolune giriyoruz
-        if( !(
-                meet.getDate().equals(meetRequest.getDate()) &&
-                meet.getStartTime().equals(meetRequest.getStartTime()) &&
-                meet.getStopTime().equals(meetRequest.getStopTime())
-             )
-        ){
-            // student icin cakisma var mi kontrolu
-                for(Long studentId :meetRequest.getStudentIds()) {
-                    checkMeetConflict(studentId, meetRequest.getDate(), meetRequest.getStartTime(),
-                            meetRequest.getStopTime());
-                }
-            // teacher icin cakisma var mi kontrolu
-            checkMeetConflict(meet.getAdvisoryTeacher().getId(),  meetRequest.getDate(), meetRequest.getStartTime(),
-                    meetRequest.getStopTime() );
-        }
 
         List<User> students = userService.getStudentById(meetRequest.getStudentIds());
         //!!! DTO --> POJO
@@ -178,6 +161,9 @@ public class MeetService {
         updatedMeet.setAdvisoryTeacher(meet.getAdvisoryTeacher());
 
         Meet savedMeet =  meetRepository.save(updatedMeet);
+        //!!! meetin eski slotlari birakilip yeni saat ve katilimcilar icin tekrar ayriliyor
+        meetSlotRepository.deleteByMeetId(meetId);
+        reserveMeetSlots(savedMeet);
 
         return ResponseMessage.<MeetResponse>builder()
                 .message(SuccessMessages.MEET_UPDATE)
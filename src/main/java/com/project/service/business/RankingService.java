@@ -0,0 +1,138 @@
+package com.project.service.business;
+
+import com.project.entity.concretes.user.User;
+import com.project.entity.enums.RoleType;
+import com.project.payload.messages.SuccessMessages;
+import com.project.payload.response.business.RankedStudentResponse;
+import com.project.payload.response.business.ResponseMessage;
+import com.project.payload.response.business.StudentRankResponse;
+import com.project.payload.response.business.StudentRankResponse.RankResponse;
+import com.project.service.helper.EntityBatchLoader;
+import com.project.service.helper.MethodHelper;
+import com.project.service.helper.OrderStatisticTreap;
+import com.project.service.helper.StudentRankingIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class RankingService {
+
+    private static final int MAX_SIZE = 100;
+
+    private final StudentRankingIndex studentRankingIndex;
+    private final EducationTermService educationTermService;
+    private final LessonService lessonService;
+    private final MethodHelper methodHelper;
+    private final EntityBatchLoader entityBatchLoader;
+
+    @Value("${backendapi.app.honorRollMinAverage}")
+    private double honorRollMinAverage;
+
+    public ResponseMessage<List<RankedStudentResponse>> getTopByLessonAndTerm(Long lessonId, Long educationTermId,
+                                                                              int size) {
+        lessonService.isLessonExistById(lessonId);
+        educationTermService.findEducationTermById(educationTermId);
+        return rankedStudents(studentRankingIndex.topByLessonAndTerm(lessonId, educationTermId, clamp(size)));
+    }
+
+    public ResponseMessage<List<RankedStudentResponse>> getTopByTerm(Long educationTermId, int size) {
+        educationTermService.findEducationTermById(educationTermId);
+        return rankedStudents(studentRankingIndex.topByTerm(educationTermId, clamp(size)));
+    }
+
+    public ResponseMessage<List<RankedStudentResponse>> getTopOfSchool(int size) {
+        return rankedStudents(studentRankingIndex.topOfSchool(clamp(size)));
+    }
+
+    //!!! donem ortalamasi honorRollMinAverage ve uzerinde olan ogrenciler
+    public ResponseMessage<List<RankedStudentResponse>> getHonorRoll(Long educationTermId) {
+        educationTermService.findEducationTermById(educationTermId);
+        return rankedStudents(studentRankingIndex.atLeastByTerm(educationTermId, honorRollMinAverage));
+    }
+
+    public ResponseMessage<StudentRankResponse> getStudentRanks(Long studentId) {
+        User student = methodHelper.isUserExist(studentId);
+        methodHelper.checkRole(student, RoleType.STUDENT);
+        StudentRankingIndex.StudentRanks ranks = studentRankingIndex.getStudentRanks(studentId);
+
+        return ResponseMessage.<StudentRankResponse>builder()
+                .message(SuccessMessages.RANKING_FOUND)
+                .object(StudentRankResponse.builder()
+                        .studentId(studentId)
+                        .school(toRankResponse(ranks.getSchool()))
+                        .terms(ranks.getTerms().stream()
+                                .map(this::toRankResponse)
+                                .sorted(Comparator.comparing(RankResponse::getEducationTermId))
+                                .collect(Collectors.toList()))
+                        .lessons(ranks.getLessons().stream()
+                                .map(this::toRankResponse)
+                                .sorted(Comparator.comparing(RankResponse::getEducationTermId)
+                                        .thenComparing(RankResponse::getLessonId))
+                                .collect(Collectors.toList()))
+                        .build())
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    //!!! isimler tek sorguda yukleniyor. Index henuz guncellenmemisken silinmis bir ogrenci gelirse atlaniyor
+    private ResponseMessage<List<RankedStudentResponse>> rankedStudents(List<OrderStatisticTreap.Entry> entries) {
+        Map<Long, User> students = entityBatchLoader.loadExisting(User.class, entries.stream()
+                .map(OrderStatisticTreap.Entry::getStudentId)
+                .collect(Collectors.toList()));
+        List<RankedStudentResponse> responses = new ArrayList<>(entries.size());
+        int rank = 0;
+        double previousScore = Double.NaN;
+        for (OrderStatisticTreap.Entry entry : entries) {
+            User student = students.get(entry.getStudentId());
+            if (student == null) {
+                continue;
+            }
+            if (responses.isEmpty() || entry.getScore() != previousScore) {
+                rank = responses.size() + 1;
+            }
+            previousScore = entry.getScore();
+            responses.add(RankedStudentResponse.builder()
+                    .rank(rank)
+                    .studentId(entry.getStudentId())
+                    .name(student.getName())
+                    .surname(student.getSurname())
+                    .average(round(entry.getScore()))
+                    .build());
+        }
+        return ResponseMessage.<List<RankedStudentResponse>>builder()
+                .message(SuccessMessages.RANKING_FOUND)
+                .object(responses)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    private RankResponse toRankResponse(StudentRankingIndex.Rank rank) {
+        if (rank == null) {
+            return null;
+        }
+        return RankResponse.builder()
+                .lessonId(rank.getLessonId())
+                .educationTermId(rank.getEducationTermId())
+                .rank(rank.getRank())
+                .total(rank.getTotal())
+                .average(round(rank.getScore()))
+                .build();
+    }
+
+    private static int clamp(int size) {
+        return Math.max(1, Math.min(MAX_SIZE, size));
+    }
+
+    private static double round(double average) {
+        return Math.round(average * 100) / 100.0;
+    }
+}
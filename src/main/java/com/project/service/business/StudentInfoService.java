@@ -6,28 +6,47 @@ import com.project.entity.concretes.business.StudentInfo;
 import com.project.entity.concretes.user.User;
 import com.project.entity.enums.Note;
 import com.project.entity.enums.RoleType;
+import com.project.exception.BadRequestException;
 import com.project.exception.ConflictException;
 import com.project.exception.ResourceNotFoundException;
 import com.project.payload.mappers.StudentInfoMapper;
 import com.project.payload.messages.ErrorMessages;
 import com.project.payload.messages.SuccessMessages;
+import com.project.payload.request.business.StudentGradeRequest;
+import com.project.payload.request.business.StudentInfoBatchRequest;
 import com.project.payload.request.business.StudentInfoRequest;
 import com.project.payload.request.business.UpdateStudentInfoRequest;
+import com.project.payload.response.business.CursorPage;
+import com.project.payload.response.business.GradeStatisticsResponse;
 import com.project.payload.response.business.ResponseMessage;
 import com.project.payload.response.business.StudentInfoResponse;
+import com.project.repository.business.StudentInfoBatchRepository;
 import com.project.repository.business.StudentInfoRepository;
+import com.project.service.helper.AfterCommitExecutor;
+import com.project.service.helper.EntityBatchLoader;
+import com.project.service.helper.GradeStatisticsIndex;
+import com.project.service.helper.GradingPolicyCache;
+import com.project.service.helper.GradingTable;
+import com.project.service.helper.KeysetPaginationHelper;
 import com.project.service.helper.MethodHelper;
 import com.project.service.helper.PageableHelper;
+import com.project.service.helper.StudentRankingIndex;
+import com.project.service.helper.StudentTranscriptCache;
 import com.project.service.user.UserService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,12 +60,15 @@ public class StudentInfoService {
     private final EducationTermService educationTermService;
     private final StudentInfoMapper studentInfoMapper;
     private final PageableHelper pageableHelper;
-
-    @Value("${midterm.exam.impact.percentage}")
-    private Double midtermExamPercentage;
-
-    @Value("${final.exam.impact.percentage}")
-    private Double finalExamPercentage;
+    private final KeysetPaginationHelper keysetPaginationHelper;
+    private final StudentInfoBatchRepository studentInfoBatchRepository;
+    private final EntityBatchLoader entityBatchLoader;
+    private final GradeStatisticsIndex gradeStatisticsIndex;
+    private final StudentTranscriptCache studentTranscriptCache;
+    private final GradingPolicyCache gradingPolicyCache;
+    private final StudentRankingIndex studentRankingIndex;
+    private final AttendanceService attendanceService;
+    private final AfterCommitExecutor afterCommitExecutor;
 
     public ResponseMessage<StudentInfoResponse> saveStudentInfo(HttpServletRequest httpServletRequest,
                                                                 StudentInfoRequest studentInfoRequest) {
@@ -64,10 +86,11 @@ public class StudentInfoService {
         EducationTerm educationTerm = educationTermService.findEducationTermById(studentInfoRequest.getEducationTermId());
         // !!! ayni ders icin dublicate kontrolu
         checkSameLesson(studentInfoRequest.getStudentId(), lesson.getLessonName());
-        // !!! Derslere notlari alfabetik olarak puan veren metod
-        Double average = calculateExamAverage(studentInfoRequest.getMidtermExam(),
+        // !!! Donemin not politikasina gore ortalama ve harf notu
+        GradingTable gradingTable = gradingPolicyCache.getTable(educationTerm.getId());
+        Double average = gradingTable.average(studentInfoRequest.getMidtermExam(),
                 studentInfoRequest.getFinalExam());
-        Note note = checkLetterGrade(average);
+        Note note = gradingTable.letterGrade(average);
 
         // !!! DTO --> POJO
         StudentInfo studentInfo = studentInfoMapper.mapStudentInfoRequestToStudentInfo(studentInfoRequest,note,average);
@@ -75,8 +98,13 @@ public class StudentInfoService {
         studentInfo.setEducationTerm(educationTerm);
         studentInfo.setTeacher(teacher);
         studentInfo.setLesson(lesson);
+        //!!! yoklamasi alinan ogrencinin devamsizligi yoklama verisinden turetiliyor
+        setAbsenteeFromAttendance(studentInfo);
 
         StudentInfo savedStudentInfo = studentInfoRepository.save(studentInfo);
+        gradeStatisticsIndex.add(savedStudentInfo);
+        studentRankingIndex.add(savedStudentInfo);
+        studentTranscriptCache.evict(student.getId());
 
         return ResponseMessage.<StudentInfoResponse>builder()
                 .message(SuccessMessages.STUDENT_INFO_SAVED)
@@ -85,6 +113,100 @@ public class StudentInfoService {
                 .build();
     }
 
+    //!!! Sinif listesinin notlari tek istekte giriliyor. Ogrenciler tek sorguda yukleniyor, bu ders ve donem icin
+     // mevcut kayitlar tek set-based sorgu ile bulunuyor, ortalama ve harf notu bellekte hesaplaniyor. Mevcut kaydi
+     // olan ogrencilerin notlari guncelleniyor (kaydin ogretmeni degismiyor), digerleri icin yeni kayit aciliyor
+     // (JDBC batch, tek transaction). Baska donemlerdeki kayitlara dokunulmuyor.
+    @Transactional
+    public ResponseMessage<List<StudentInfoResponse>> saveAllStudentInfo(HttpServletRequest httpServletRequest,
+                                                                         StudentInfoBatchRequest batchRequest) {
+        String teacherUsername = (String) httpServletRequest.getAttribute("username");
+        User teacher = userService.getTeacherByUsername(teacherUsername);
+        Lesson lesson = lessonService.isLessonExistById(batchRequest.getLessonId());
+        EducationTerm educationTerm = educationTermService.findEducationTermById(batchRequest.getEducationTermId());
+
+        // !!! ayni ogrenci listede bir kez yer almali
+        List<Long> studentIds = new ArrayList<>(batchRequest.getGrades().size());
+        Set<Long> uniqueStudentIds = new HashSet<>();
+        for (StudentGradeRequest grade : batchRequest.getGrades()) {
+            if (!uniqueStudentIds.add(grade.getStudentId())) {
+                throw new BadRequestException(
+                        String.format(ErrorMessages.STUDENT_INFO_STUDENT_REPEATED, grade.getStudentId()));
+            }
+            studentIds.add(grade.getStudentId());
+        }
+        Map<Long, User> students = entityBatchLoader.loadAll(User.class, studentIds);
+        students.values().forEach(student -> methodHelper.checkRole(student, RoleType.STUDENT));
+
+        // !!! studentId --> mevcut studentInfo. Ayni ders/donem icin birden fazla kayit varsa en yenisi guncelleniyor
+        Map<Long, StudentInfoRepository.StudentInfoGradeView> existingGrades = studentInfoRepository
+                .findGradesByLessonTermAndStudents(lesson.getLessonId(), educationTerm.getId(), studentIds)
+                .stream()
+                .collect(Collectors.toMap(StudentInfoRepository.StudentInfoGradeView::getStudentId,
+                        grade -> grade,
+                        (first, second) -> first.getId() > second.getId() ? first : second));
+        // !!! guncellenen kayitlar DB de kendi ogretmenlerini koruyor, response ve istatistikler de ayni olmali
+        Map<Long, User> storedTeachers = entityBatchLoader.loadAll(User.class, existingGrades.values().stream()
+                .map(StudentInfoRepository.StudentInfoGradeView::getTeacherId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList()));
+
+        GradingTable gradingTable = gradingPolicyCache.getTable(educationTerm.getId());
+        //!!! yoklamasi olan ogrencilerin devamsizliklari tek sorguda
+        Map<Long, Integer> absences =
+                attendanceService.getAbsences(studentIds, lesson.getLessonId(), educationTerm.getId());
+        List<StudentInfo> studentInfos = new ArrayList<>(studentIds.size());
+        List<StudentInfo> toInsert = new ArrayList<>();
+        List<StudentInfo> toUpdate = new ArrayList<>();
+        for (StudentGradeRequest grade : batchRequest.getGrades()) {
+            Double average = gradingTable.average(grade.getMidtermExam(), grade.getFinalExam());
+            StudentInfoRepository.StudentInfoGradeView existing = existingGrades.get(grade.getStudentId());
+            StudentInfo studentInfo = StudentInfo.builder()
+                    .id(existing == null ? null : existing.getId())
+                    .infoNote(grade.getInfoNote())
+                    .absentee(absences.getOrDefault(grade.getStudentId(), grade.getAbsentee()))
+                    .midtermExam(grade.getMidtermExam())
+                    .finalExam(grade.getFinalExam())
+                    .examAverage(average)
+                    .letterGrade(gradingTable.letterGrade(average))
+                    .teacher(existing == null ? teacher : storedTeachers.get(existing.getTeacherId()))
+                    .student(students.get(grade.getStudentId()))
+                    .lesson(lesson)
+                    .educationTerm(educationTerm)
+                    .build();
+            studentInfos.add(studentInfo);
+            (studentInfo.getId() == null ? toInsert : toUpdate).add(studentInfo);
+        }
+        studentInfoBatchRepository.insertAll(toInsert);
+        studentInfoBatchRepository.updateAll(toUpdate);
+        //!!! index ve cache ler commit sonrasi guncelleniyor, rollback olursa dokunulmuyor
+        afterCommitExecutor.execute(() -> {
+            existingGrades.values().forEach(gradeStatisticsIndex::remove);
+            studentInfos.forEach(gradeStatisticsIndex::add);
+            existingGrades.values().forEach(studentRankingIndex::remove);
+            studentInfos.forEach(studentRankingIndex::add);
+            studentIds.forEach(studentTranscriptCache::evict);
+        });
+
+        return ResponseMessage.<List<StudentInfoResponse>>builder()
+                .message(String.format(SuccessMessages.STUDENT_INFOS_SAVED, toInsert.size(), toUpdate.size()))
+                .object(studentInfos.stream()
+                        .map(studentInfoMapper::mapStudentInfoToStudentInfoResponse)
+                        .collect(Collectors.toList()))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    private void setAbsenteeFromAttendance(StudentInfo studentInfo) {
+        Long studentId = studentInfo.getStudent().getId();
+        Integer absences = attendanceService.getAbsences(List.of(studentId), studentInfo.getLesson().getLessonId(),
+                studentInfo.getEducationTerm().getId()).get(studentId);
+        if (absences != null) {
+            studentInfo.setAbsentee(absences);
+        }
+    }
+
     private void checkSameLesson(Long studentId, String lessonName){
         boolean isLessonDuplicateExist =
                 studentInfoRepository.getAllByStudentId_Id(studentId)
@@ -96,34 +218,14 @@ public class StudentInfoService {
         }
     }
 
-    private Double calculateExamAverage(Double midtermExam, Double finalExam){
-
-        return (midtermExam * midtermExamPercentage ) + ( finalExam * finalExamPercentage );
-    }
-
-    private Note checkLetterGrade(Double average){
-        if(average<50.0) {
-            return Note.FF;
-        } else if (average<60) {
-            return Note.DD;
-        } else if (average<65) {
-            return Note.CC;
-        } else if (average<70) {
-            return  Note.CB;
-        } else if (average<75) {
-            return  Note.BB;
-        } else if (average<80) {
-            return Note.BA;
-        } else {
-            return Note.AA;
-        }
-    }
-
     public ResponseMessage deleteStudentInfo(Long studentInfoId) {
 
         StudentInfo studentInfo = isStudentInfoExistById(studentInfoId);
         //studentInfoRepository.delete(studentInfo);
         studentInfoRepository.deleteById(studentInfoId);
+        gradeStatisticsIndex.remove(studentInfo);
+        studentRankingIndex.remove(studentInfo);
+        studentTranscriptCache.evict(studentInfo.getStudent().getId());
 
         return ResponseMessage.builder()
                 .message(SuccessMessages.STUDENT_INFO_DELETE)
@@ -145,18 +247,26 @@ public class StudentInfoService {
     public ResponseMessage<StudentInfoResponse> update(UpdateStudentInfoRequest studentInfoRequest, Long studentInfoId) {
 
         Lesson lesson = lessonService.isLessonExistById(studentInfoRequest.getLessonId());
-        StudentInfo studentInfo = isStudentInfoExistById(studentInfoId);
+        //!!! save (merge) ayni session daki entity nin uzerine yazdigi icin eski notlar kopyalaniyor
+        StudentInfo studentInfo = isStudentInfoExistById(studentInfoId).toBuilder().build();
         EducationTerm educationTerm =educationTermService.findEducationTermById(studentInfoRequest.getEducationTermId());
-        Double noteAverage = calculateExamAverage(studentInfoRequest.getMidtermExam(), studentInfoRequest.getFinalExam());
-        Note note = checkLetterGrade(noteAverage);
+        GradingTable gradingTable = gradingPolicyCache.getTable(educationTerm.getId());
+        Double noteAverage = gradingTable.average(studentInfoRequest.getMidtermExam(), studentInfoRequest.getFinalExam());
+        Note note = gradingTable.letterGrade(noteAverage);
         //!!! DTO --> POJO
         StudentInfo studentInfoUpdate =
                 studentInfoMapper.mapStudentInfoUpdateToStudentInfo(studentInfoRequest,studentInfoId,lesson,
                                                                      educationTerm,note,noteAverage);
         studentInfoUpdate.setTeacher(studentInfo.getTeacher());
         studentInfoUpdate.setStudent(studentInfo.getStudent());
+        setAbsenteeFromAttendance(studentInfoUpdate);
 
         StudentInfo updatedStudentInfo =  studentInfoRepository.save(studentInfoUpdate);
+        gradeStatisticsIndex.remove(studentInfo);
+        gradeStatisticsIndex.add(updatedStudentInfo);
+        studentRankingIndex.remove(studentInfo);
+        studentRankingIndex.add(updatedStudentInfo);
+        studentTranscriptCache.evict(studentInfo.getStudent().getId());
 
         return ResponseMessage.<StudentInfoResponse>builder()
                 .message(SuccessMessages.STUDENT_INFO_UPDATE)
@@ -171,6 +281,11 @@ public class StudentInfoService {
                 .map(studentInfoMapper::mapStudentInfoToStudentInfoResponse);
     }
 
+    public CursorPage<StudentInfoResponse> getAllStudentInfoByCursor(String cursor, int size, String sort, String type) {
+        return keysetPaginationHelper.findPage(StudentInfo.class, null, cursor, size, sort, type)
+                .map(studentInfoMapper::mapStudentInfoToStudentInfoResponse);
+    }
+
     public List<StudentInfoResponse> getStudentInfoByStudentId(Long studentId) {
         User student = methodHelper.isUserExist(studentId);
         // gelen user Student rolune sahip mi ??
@@ -192,6 +307,23 @@ public class StudentInfoService {
         return studentInfoMapper.mapStudentInfoToStudentInfoResponse(isStudentInfoExistById(studentInfoId));
     }
 
+    //!!! istatistikler bellekteki toplamlardan donuyor, StudentInfo tablosu taranmiyor
+    public ResponseMessage<GradeStatisticsResponse> getStatisticsByLessonAndTerm(Long lessonId, Long educationTermId) {
+        return ResponseMessage.<GradeStatisticsResponse>builder()
+                .message(SuccessMessages.GRADE_STATISTICS_FOUND)
+                .object(gradeStatisticsIndex.getByLessonAndTerm(lessonId, educationTermId))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    public ResponseMessage<GradeStatisticsResponse> getStatisticsByTeacher(Long teacherId) {
+        return ResponseMessage.<GradeStatisticsResponse>builder()
+                .message(SuccessMessages.GRADE_STATISTICS_FOUND)
+                .object(gradeStatisticsIndex.getByTeacher(teacherId))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
     public Page<StudentInfoResponse> getAllForTeacher(HttpServletRequest httpServletRequest, int page, int size) {
 
         Pageable pageable = pageableHelper.getPageableWithProperties(page,size);
@@ -0,0 +1,219 @@
+package com.project.service.business;
+
+import com.project.entity.concretes.business.EducationTerm;
+import com.project.entity.concretes.business.Lesson;
+import com.project.entity.concretes.business.LessonProgram;
+import com.project.entity.concretes.user.User;
+import com.project.entity.enums.Day;
+import com.project.entity.enums.RoleType;
+import com.project.exception.BadRequestException;
+import com.project.exception.ConflictException;
+import com.project.exception.ResourceNotFoundException;
+import com.project.payload.messages.ErrorMessages;
+import com.project.payload.messages.SuccessMessages;
+import com.project.payload.request.business.TimetableGenerationRequest;
+import com.project.payload.request.business.TimetableLessonRequest;
+import com.project.payload.request.business.TimetableSlotRequest;
+import com.project.payload.response.business.ResponseMessage;
+import com.project.payload.response.business.TimetableGenerationResponse;
+import com.project.payload.response.business.TimetableGenerationResponse.ScheduledSession;
+import com.project.repository.business.LessonProgramBatchRepository;
+import com.project.repository.business.LessonProgramRepository;
+import com.project.repository.business.LessonProgramRepository.ProgramTimeView;
+import com.project.repository.user.UserRepository;
+import com.project.service.helper.LessonProgramIntervalIndex;
+import com.project.service.helper.LessonProgramTimetableCache;
+import com.project.service.helper.MethodHelper;
+import com.project.service.helper.TimetableSolver;
+import com.project.service.validator.DateTimeValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TimetableGeneratorService {
+
+    private final EducationTermService educationTermService;
+    private final LessonService lessonService;
+    private final UserRepository userRepository;
+    private final MethodHelper methodHelper;
+    private final DateTimeValidator dateTimeValidator;
+    private final TimetableSolver timetableSolver;
+    private final LessonProgramBatchRepository lessonProgramBatchRepository;
+    private final LessonProgramRepository lessonProgramRepository;
+    private final LessonProgramTimetableCache lessonProgramTimetableCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${backendapi.app.timetableSolverBudgetMs}")
+    private long defaultBudgetMs;
+
+    @Value("${backendapi.app.timetableSolverMaxBudgetMs}")
+    private long maxBudgetMs;
+
+    //!!! Cozum arama suresince DB baglantisi/transaction tutulmuyor, sadece bulunan en iyi cozum tek
+     // transaction da JDBC batch ile kaydediliyor
+    public ResponseMessage<TimetableGenerationResponse> generateTimetable(TimetableGenerationRequest request) {
+        long started = System.nanoTime();
+        EducationTerm educationTerm = educationTermService.findEducationTermById(request.getEducationTermId());
+
+        //!!! gunler haftanin sirasina gore
+        List<Day> days = request.getDays().stream().sorted().collect(Collectors.toList());
+        for (TimetableSlotRequest slot : request.getSlots()) {
+            dateTimeValidator.checkTimeWithException(slot.getStartTime(), slot.getStopTime());
+        }
+
+        List<TimetableLessonRequest> lessonRequests = request.getLessons();
+        Set<Long> lessonIds = new HashSet<>();
+        Set<Long> teacherIds = new LinkedHashSet<>();
+        for (TimetableLessonRequest lessonRequest : lessonRequests) {
+            if (!lessonIds.add(lessonRequest.getLessonId())) {
+                throw new BadRequestException(
+                        String.format(ErrorMessages.TIMETABLE_LESSON_REPEATED, lessonRequest.getLessonId()));
+            }
+            teacherIds.addAll(lessonRequest.getTeacherIds());
+        }
+        Map<Long, Lesson> lessons = lessonService.getLessonsByLessonId(lessonIds);
+        List<User> teachers = getTeachers(teacherIds);
+
+        //!!! cozucu ogretmen ve dersleri liste sirasindaki index leri ile kullaniyor
+        Map<Long, Integer> teacherIndex = new HashMap<>();
+        List<Set<LessonProgram>> existingPrograms = new ArrayList<>(teachers.size());
+        for (User teacher : teachers) {
+            teacherIndex.put(teacher.getId(), teacherIndex.size());
+            existingPrograms.add(teacher.getLessonsProgramList() == null ?
+                    Collections.emptySet() : teacher.getLessonsProgramList());
+        }
+        int[] sessionsPerLesson = new int[lessonRequests.size()];
+        int[][] teachersPerLesson = new int[lessonRequests.size()][];
+        for (int i = 0; i < lessonRequests.size(); i++) {
+            sessionsPerLesson[i] = lessonRequests.get(i).getSessionsPerWeek();
+            teachersPerLesson[i] = lessonRequests.get(i).getTeacherIds().stream()
+                    .mapToInt(teacherIndex::get)
+                    .toArray();
+        }
+        TimetableSolver.Problem problem = new TimetableSolver.Problem(
+                days,
+                request.getSlots().stream().map(TimetableSlotRequest::getStartTime).collect(Collectors.toList()),
+                request.getSlots().stream().map(TimetableSlotRequest::getStopTime).collect(Collectors.toList()),
+                sessionsPerLesson,
+                teachersPerLesson,
+                existingPrograms);
+
+        long budgetMs = request.getTimeBudgetMs() == null ? defaultBudgetMs :
+                Math.min(request.getTimeBudgetMs(), maxBudgetMs);
+        TimetableSolver.Solution solution = timetableSolver.solve(problem, budgetMs);
+
+        //!!! Solution --> LessonProgram
+        List<LessonProgram> lessonPrograms = new ArrayList<>();
+        List<Long> assignedTeacherIds = new ArrayList<>();
+        List<Long> scheduledLessonIds = new ArrayList<>();
+        List<Long> unscheduledLessonIds = new ArrayList<>();
+        for (int session = 0; session < problem.getSessionCount(); session++) {
+            Long lessonId = lessonRequests.get(problem.lessonOf(session)).getLessonId();
+            if (!solution.isScheduled(session)) {
+                unscheduledLessonIds.add(lessonId);
+                continue;
+            }
+            TimetableSlotRequest slot = request.getSlots().get(solution.getSlot(session));
+            lessonPrograms.add(LessonProgram.builder()
+                    .day(solution.getDay(session))
+                    .startTime(slot.getStartTime())
+                    .stopTime(slot.getStopTime())
+                    .lessons(Set.of(lessons.get(lessonId)))
+                    .educationTerm(educationTerm)
+                    .build());
+            assignedTeacherIds.add(teachers.get(solution.getTeacher(session)).getId());
+            scheduledLessonIds.add(lessonId);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            checkTeachersStillFree(lessonPrograms, assignedTeacherIds);
+            lessonProgramBatchRepository.insertAll(lessonPrograms);
+            lessonProgramBatchRepository.insertUserAssignments(lessonPrograms, assignedTeacherIds);
+        });
+        new HashSet<>(assignedTeacherIds).forEach(lessonProgramTimetableCache::evict);
+
+        List<ScheduledSession> scheduledSessions = new ArrayList<>(lessonPrograms.size());
+        for (int i = 0; i < lessonPrograms.size(); i++) {
+            LessonProgram lessonProgram = lessonPrograms.get(i);
+            scheduledSessions.add(new ScheduledSession(lessonProgram.getId(), scheduledLessonIds.get(i),
+                    assignedTeacherIds.get(i), lessonProgram.getDay(), lessonProgram.getStartTime(),
+                    lessonProgram.getStopTime()));
+        }
+
+        return ResponseMessage.<TimetableGenerationResponse>builder()
+                .message(String.format(SuccessMessages.TIMETABLE_GENERATED,
+                        lessonPrograms.size(), problem.getSessionCount()))
+                .httpStatus(HttpStatus.CREATED)
+                .object(TimetableGenerationResponse.builder()
+                        .requestedSessions(problem.getSessionCount())
+                        .scheduledSessions(lessonPrograms.size())
+                        .sameDayPairs(solution.getSameDayPairs())
+                        .attempts(solution.getAttempts())
+                        .elapsedMs((System.nanoTime() - started) / 1_000_000)
+                        .lessonPrograms(scheduledSessions)
+                        .unscheduledLessonIds(unscheduledLessonIds)
+                        .build())
+                .build();
+    }
+
+    //!!! Cozum transaction disinda arandigi icin bu surede ogretmenlere baska program atanmis olabilir. Ogretmen
+     // satirlari kilitlenip guncel programlari tekrar okunuyor, secilen saatlerden biri artik doluysa hicbir sey
+     // kaydedilmeden 409 donuluyor. Kilit commit e kadar tutuldugu icin addLessonProgram da araya giremiyor.
+    private void checkTeachersStillFree(List<LessonProgram> lessonPrograms, List<Long> assignedTeacherIds) {
+        if (lessonPrograms.isEmpty()) {
+            return;
+        }
+        Set<Long> lockedIds = new HashSet<>(assignedTeacherIds);
+        userRepository.lockByIdIn(lockedIds);
+        Map<Long, List<LessonProgram>> currentPrograms = new HashMap<>();
+        for (ProgramTimeView view : lessonProgramRepository.findProgramTimesByUserIds(lockedIds)) {
+            currentPrograms.computeIfAbsent(view.getUserId(), id -> new ArrayList<>()).add(LessonProgram.builder()
+                    .id(view.getId())
+                    .day(view.getDay())
+                    .startTime(view.getStartTime())
+                    .stopTime(view.getStopTime())
+                    .build());
+        }
+        Map<Long, LessonProgramIntervalIndex> indexes = new HashMap<>();
+        for (int i = 0; i < lessonPrograms.size(); i++) {
+            Long teacherId = assignedTeacherIds.get(i);
+            List<LessonProgram> overlapping = indexes.computeIfAbsent(teacherId, id -> LessonProgramIntervalIndex.of(
+                            currentPrograms.getOrDefault(id, Collections.emptyList())))
+                    .findOverlapping(lessonPrograms.get(i));
+            if (!overlapping.isEmpty()) {
+                throw new ConflictException(String.format(ErrorMessages.TIMETABLE_TEACHER_CONFLICT, teacherId,
+                        overlapping.stream().map(LessonProgram::getId).collect(Collectors.toList())));
+            }
+        }
+    }
+
+    private List<User> getTeachers(Set<Long> teacherIds) {
+        Map<Long, User> teachers = userRepository.findAllWithLessonProgramsByIdIn(teacherIds)
+                .stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        List<User> ordered = new ArrayList<>(teacherIds.size());
+        for (Long teacherId : teacherIds) {
+            User teacher = teachers.get(teacherId);
+            if (teacher == null) {
+                throw new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_USER_MESSAGE, teacherId));
+            }
+            methodHelper.checkRole(teacher, RoleType.TEACHER);
+            ordered.add(teacher);
+        }
+        return ordered;
+    }
+}
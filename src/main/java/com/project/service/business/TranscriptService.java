@@ -0,0 +1,173 @@
+package com.project.service.business;
+
+import com.project.entity.concretes.user.User;
+import com.project.entity.enums.RoleType;
+import com.project.payload.messages.SuccessMessages;
+import com.project.payload.response.business.ResponseMessage;
+import com.project.payload.response.business.StudentGpaResponse;
+import com.project.payload.response.business.TranscriptResponse;
+import com.project.payload.response.business.TranscriptResponse.TermTranscript;
+import com.project.payload.response.business.TranscriptResponse.TranscriptLesson;
+import com.project.repository.business.StudentInfoRepository;
+import com.project.repository.business.StudentInfoRepository.TranscriptRowView;
+import com.project.service.helper.MethodHelper;
+import com.project.service.helper.StudentTranscriptCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class TranscriptService {
+
+    private static final Comparator<TermTranscript> BY_TERM_START =
+            Comparator.comparing(TermTranscript::getStartDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(TermTranscript::getEducationTermId);
+
+    private final StudentInfoRepository studentInfoRepository;
+    private final EducationTermService educationTermService;
+    private final MethodHelper methodHelper;
+    private final StudentTranscriptCache studentTranscriptCache;
+
+    public ResponseMessage<TranscriptResponse> getTranscriptByStudentId(Long studentId) {
+        User student = methodHelper.isUserExist(studentId);
+        methodHelper.checkRole(student, RoleType.STUDENT);
+        return ResponseMessage.<TranscriptResponse>builder()
+                .message(SuccessMessages.TRANSCRIPT_FOUND)
+                .object(getTranscript(studentId))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    //!!! ogrenci kendi transkriptini goruyor
+    public ResponseMessage<TranscriptResponse> getTranscriptForStudent(HttpServletRequest httpServletRequest) {
+        Long userId = (Long) httpServletRequest.getAttribute("userId");
+        if(userId == null){
+            String userName = (String) httpServletRequest.getAttribute("username");
+            userId = methodHelper.isUserExistByUsername(userName).getId();
+        }
+        return ResponseMessage.<TranscriptResponse>builder()
+                .message(SuccessMessages.TRANSCRIPT_FOUND)
+                .object(getTranscript(userId))
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    //!!! Donemde notu olan butun ogrencilerin satirlari tek sorguda getiriliyor, ogrenci bazinda GPA hesabi
+     // paralel yapiliyor. Hesaplanan transkriptler cache e de yaziliyor.
+    public ResponseMessage<List<StudentGpaResponse>> getGpasByEducationTerm(Long educationTermId) {
+        educationTermService.findEducationTermById(educationTermId);
+        long stamp = studentTranscriptCache.stamp();
+        Map<Long, List<TranscriptRowView>> rowsByStudent = studentInfoRepository
+                .findTranscriptRowsByEducationTermId(educationTermId)
+                .stream()
+                .collect(Collectors.groupingBy(TranscriptRowView::getStudentId));
+
+        List<StudentGpaResponse> gpas = rowsByStudent.entrySet()
+                .parallelStream()
+                .map(entry -> {
+                    TranscriptResponse transcript = buildTranscript(entry.getKey(), entry.getValue());
+                    studentTranscriptCache.put(entry.getKey(), transcript, stamp);
+                    return toStudentGpa(transcript, educationTermId);
+                })
+                .sorted(Comparator.comparing(StudentGpaResponse::getStudentId))
+                .collect(Collectors.toList());
+
+        return ResponseMessage.<List<StudentGpaResponse>>builder()
+                .message(SuccessMessages.TRANSCRIPT_FOUND)
+                .object(gpas)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    private TranscriptResponse getTranscript(Long studentId) {
+        return studentTranscriptCache.get(studentId,
+                () -> buildTranscript(studentId, studentInfoRepository.findTranscriptRowsByStudentId(studentId)));
+    }
+
+    private TranscriptResponse buildTranscript(Long studentId, List<TranscriptRowView> rows) {
+        Map<Long, List<TranscriptRowView>> rowsByTerm = new LinkedHashMap<>();
+        for (TranscriptRowView row : rows) {
+            rowsByTerm.computeIfAbsent(row.getEducationTermId(), id -> new ArrayList<>()).add(row);
+        }
+
+        List<TermTranscript> terms = new ArrayList<>(rowsByTerm.size());
+        GpaAccumulator cumulative = new GpaAccumulator();
+        for (List<TranscriptRowView> termRows : rowsByTerm.values()) {
+            GpaAccumulator term = new GpaAccumulator();
+            List<TranscriptLesson> lessons = new ArrayList<>(termRows.size());
+            for (TranscriptRowView row : termRows) {
+                term.add(row);
+                cumulative.add(row);
+                lessons.add(TranscriptLesson.builder()
+                        .lessonId(row.getLessonId())
+                        .lessonName(row.getLessonName())
+                        .creditScore(row.getCreditScore())
+                        .examAverage(row.getExamAverage())
+                        .letterGrade(row.getLetterGrade())
+                        .gradePoint(row.getLetterGrade() == null ? null : row.getLetterGrade().getGradePoint())
+                        .build());
+            }
+            lessons.sort(Comparator.comparing(TranscriptLesson::getLessonName,
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+            TranscriptRowView first = termRows.get(0);
+            terms.add(TermTranscript.builder()
+                    .educationTermId(first.getEducationTermId())
+                    .term(first.getTerm())
+                    .startDate(first.getStartDate())
+                    .credits(term.credits)
+                    .gpa(term.gpa())
+                    .lessons(lessons)
+                    .build());
+        }
+        terms.sort(BY_TERM_START);
+
+        return TranscriptResponse.builder()
+                .studentId(studentId)
+                .totalCredits(cumulative.credits)
+                .cumulativeGpa(cumulative.gpa())
+                .terms(terms)
+                .build();
+    }
+
+    private StudentGpaResponse toStudentGpa(TranscriptResponse transcript, Long educationTermId) {
+        TermTranscript term = transcript.getTerms().stream()
+                .filter(t -> t.getEducationTermId().equals(educationTermId))
+                .findFirst()
+                .orElse(null);
+        return StudentGpaResponse.builder()
+                .studentId(transcript.getStudentId())
+                .termCredits(term == null ? 0 : term.getCredits())
+                .termGpa(term == null ? null : term.getGpa())
+                .totalCredits(transcript.getTotalCredits())
+                .cumulativeGpa(transcript.getCumulativeGpa())
+                .build();
+    }
+
+    //!!! kredi agirlikli ortalama, harf notu olmayan veya kredisi olmayan dersler hesaba katilmiyor
+    private static final class GpaAccumulator {
+
+        private int credits;
+        private double weightedPoints;
+
+        private void add(TranscriptRowView row) {
+            if (row.getLetterGrade() == null || row.getCreditScore() == null || row.getCreditScore() <= 0) {
+                return;
+            }
+            credits += row.getCreditScore();
+            weightedPoints += row.getCreditScore() * row.getLetterGrade().getGradePoint();
+        }
+
+        private Double gpa() {
+            return credits == 0 ? null : Math.round(weightedPoints / credits * 100) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.service.helper;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+//!!! Cache ve bellek index guncellemeleri transaction commit edildikten sonra calistiriliyor. Commit oncesi
+ // silinen bir kaydi baska bir istek eski veriyle tekrar cache e koyamasin, rollback olursa da cache ve
+ // index ler DB den farkli kalmasin. Aktif transaction yoksa is hemen calistiriliyor.
+@Component
+public class AfterCommitExecutor {
+
+    public void execute(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,170 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.business.EducationTerm;
+import com.project.entity.concretes.business.Lesson;
+import com.project.entity.concretes.user.User;
+import com.project.exception.ResourceNotFoundException;
+import com.project.payload.messages.ErrorMessages;
+import com.project.repository.business.EducationTermRepository;
+import com.project.repository.business.LessonRepository;
+import com.project.repository.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//!!! DataLoader tarzi toplu yukleyici. Id ler entity tipine gore kuyruga ekleniyor, ilk yukleme isteginde
+ // kuyruktaki butun id ler tek findAllById ile getiriliyor. Yuklenen entity ler istek (request attribute)
+ // boyunca tutuldugu icin ayni id ikinci kez sorgulanmiyor. Bulunamayan id ler tek hata mesajinda donuluyor.
+ // HTTP istegi disinda (scheduled job vb.) her cagri kendi kuyrugunu kullaniyor.
+@Component
+@RequiredArgsConstructor
+public class EntityBatchLoader {
+
+    private static final String REQUEST_ATTRIBUTE = EntityBatchLoader.class.getName();
+
+    private final UserRepository userRepository;
+    private final LessonRepository lessonRepository;
+    private final EducationTermRepository educationTermRepository;
+
+    private Map<Class<?>, EntityType<?>> entityTypes;
+
+    @PostConstruct
+    public void registerEntityTypes() {
+        entityTypes = Map.of(
+                User.class, new EntityType<>(userRepository, User::getId,
+                        ErrorMessages.NOT_FOUND_USER_MESSAGE),
+                Lesson.class, new EntityType<>(lessonRepository, Lesson::getLessonId,
+                        ErrorMessages.NOT_FOUND_LESSON_MESSAGE),
+                EducationTerm.class, new EntityType<>(educationTermRepository, EducationTerm::getId,
+                        ErrorMessages.EDUCATION_TERM_NOT_FOUND_MESSAGE));
+    }
+
+    //!!! id ler hemen sorgulanmiyor, ayni tipteki bir sonraki load/loadAll cagrisiyla birlikte getiriliyor
+    public <T> void enqueue(Class<T> type, Collection<Long> ids) {
+        Batch<T> batch = batch(type);
+        for (Long id : ids) {
+            if (id != null && !batch.loaded.containsKey(id) && !batch.missing.contains(id)) {
+                batch.pending.add(id);
+            }
+        }
+    }
+
+    public <T> T load(Class<T> type, Long id) {
+        return loadAll(type, List.of(id)).get(id);
+    }
+
+    //!!! id sirasina gore entity ler, tekrar eden id ler tek kayit
+    public <T> Map<Long, T> loadAll(Class<T> type, Collection<Long> ids) {
+        Map<Long, T> result = loadExisting(type, ids);
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null || !result.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException(String.format(batch(type).entityType.notFoundMessage,
+                    missing.stream().map(String::valueOf).collect(Collectors.joining(", "))));
+        }
+        return result;
+    }
+
+    //!!! loadAll gibi, bulunamayan id ler hata yerine sonuctan cikariliyor
+    public <T> Map<Long, T> loadExisting(Class<T> type, Collection<Long> ids) {
+        Batch<T> batch = batch(type);
+        for (Long id : ids) {
+            if (id != null && !batch.loaded.containsKey(id) && !batch.missing.contains(id)) {
+                batch.pending.add(id);
+            }
+        }
+        dispatch(batch);
+
+        Map<Long, T> result = new LinkedHashMap<>();
+        for (Long id : ids) {
+            T entity = id == null ? null : batch.loaded.get(id);
+            if (entity != null) {
+                result.put(id, entity);
+            }
+        }
+        return result;
+    }
+
+    //!!! silinen veya disaridan degistirilen entity nin bu istekte tekrar yuklenmesi icin
+    public void evict(Class<?> type, Long id) {
+        Batch<?> batch = batch(type);
+        batch.loaded.remove(id);
+        batch.missing.remove(id);
+    }
+
+    private <T> void dispatch(Batch<T> batch) {
+        if (batch.pending.isEmpty()) {
+            return;
+        }
+        for (T entity : batch.entityType.repository.findAllById(batch.pending)) {
+            batch.loaded.put(batch.entityType.idGetter.apply(entity), entity);
+        }
+        for (Long id : batch.pending) {
+            if (!batch.loaded.containsKey(id)) {
+                batch.missing.add(id);
+            }
+        }
+        batch.pending.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Batch<T> batch(Class<T> type) {
+        EntityType<T> entityType = (EntityType<T>) entityTypes.get(type);
+        if (entityType == null) {
+            throw new IllegalArgumentException("No batch loader registered for " + type.getSimpleName());
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new Batch<>(entityType);
+        }
+        Map<Class<?>, Batch<?>> batches =
+                (Map<Class<?>, Batch<?>>) attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (batches == null) {
+            batches = new HashMap<>();
+            attributes.setAttribute(REQUEST_ATTRIBUTE, batches, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Batch<T>) batches.computeIfAbsent(type, key -> new Batch<>(entityType));
+    }
+
+    private static final class EntityType<T> {
+
+        private final JpaRepository<T, Long> repository;
+        private final Function<T, Long> idGetter;
+        private final String notFoundMessage;
+
+        private EntityType(JpaRepository<T, Long> repository, Function<T, Long> idGetter, String notFoundMessage) {
+            this.repository = repository;
+            this.idGetter = idGetter;
+            this.notFoundMessage = notFoundMessage;
+        }
+    }
+
+    private static final class Batch<T> {
+
+        private final EntityType<T> entityType;
+        private final Set<Long> pending = new LinkedHashSet<>();
+        private final Map<Long, T> loaded = new HashMap<>();
+        private final Set<Long> missing = new LinkedHashSet<>();
+
+        private Batch(EntityType<T> entityType) {
+            this.entityType = entityType;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.business.StudentInfo;
+import com.project.entity.enums.Note;
+import com.project.payload.response.business.GradeStatisticsResponse;
+import com.project.repository.business.StudentInfoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//!!! Ders/donem ve ogretmen bazinda examAverage istatistikleri bellekte artimli olarak tutuluyor. Her grup icin
+ // kayit sayisi, toplam, kareler toplami, harf notu sayilari ve 0.1 cozunurluklu histogram saklaniyor. Ortalama
+ // ve standart sapma toplamlardan, min/max ve yuzdelikler histogramdan hesaplaniyor; histogram kayit silmeyi de
+ // destekliyor ve gruplar arasinda toplanabiliyor. Istatistik istekleri StudentInfo tablosunu hic taramiyor,
+ // tablo sadece acilista ve periyodik mutabakatta (cascade ile silinen kayitlar vb. icin) okunuyor.
+@Component
+@RequiredArgsConstructor
+public class GradeStatisticsIndex {
+
+    //!!! examAverage 0-100 araliginda, 0.1 lik 1001 kova
+    private static final int BUCKETS = 1001;
+    private static final int REBUILD_PAGE_SIZE = 5000;
+
+    private final StudentInfoRepository studentInfoRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<LessonTermKey, RunningStatistics> byLessonTerm = new HashMap<>();
+    private Map<Long, RunningStatistics> byTeacher = new HashMap<>();
+    //!!! Yeniden olusturma sirasinda taramanin gectigi (id <= scannedUpToId) kayitlara yapilan degisiklikler
+     // kaydediliyor ve tablo okunduktan sonra yeni istatistiklere uygulaniyor. Henuz taranmamis kayitlarin son
+     // hali zaten taramada okunuyor.
+    private List<GradeChange> changesDuringRebuild;
+    private long scannedUpToId;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${backendapi.app.gradeStatisticsRebuildMs}",
+            initialDelayString = "${backendapi.app.gradeStatisticsRebuildMs}")
+    public synchronized void rebuild() {
+        Map<LessonTermKey, RunningStatistics> lessonTerms = new HashMap<>();
+        Map<Long, RunningStatistics> teachers = new HashMap<>();
+        List<GradeChange> changes = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = changes;
+            scannedUpToId = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            long afterId = 0;
+            List<StudentInfoRepository.StudentInfoGradeView> grades;
+            do {
+                grades = studentInfoRepository.findGradesAfterId(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                //!!! son sayfadan sonra eklenen kayitlar da taramada okunmayacagi icin kaydediliyor
+                markScanned(grades.size() < REBUILD_PAGE_SIZE ? Long.MAX_VALUE : grades.get(grades.size() - 1).getId());
+                for (StudentInfoRepository.StudentInfoGradeView grade : grades) {
+                    apply(lessonTerms, teachers, grade.getLessonId(), grade.getEducationTermId(), grade.getTeacherId(),
+                            grade.getExamAverage(), grade.getLetterGrade(), 1);
+                    afterId = grade.getId();
+                }
+            } while (grades.size() == REBUILD_PAGE_SIZE);
+
+            lock.writeLock().lock();
+            try {
+                for (GradeChange change : changes) {
+                    apply(lessonTerms, teachers, change.lessonId, change.educationTermId, change.teacherId,
+                            change.examAverage, change.letterGrade, change.sign);
+                }
+                byLessonTerm = lessonTerms;
+                byTeacher = teachers;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void add(StudentInfo studentInfo) {
+        update(studentInfo.getId(), lessonIdOf(studentInfo), educationTermIdOf(studentInfo), teacherIdOf(studentInfo),
+                studentInfo.getExamAverage(), studentInfo.getLetterGrade(), 1);
+    }
+
+    public void remove(StudentInfo studentInfo) {
+        update(studentInfo.getId(), lessonIdOf(studentInfo), educationTermIdOf(studentInfo), teacherIdOf(studentInfo),
+                studentInfo.getExamAverage(), studentInfo.getLetterGrade(), -1);
+    }
+
+    public void remove(StudentInfoRepository.StudentInfoGradeView grade) {
+        update(grade.getId(), grade.getLessonId(), grade.getEducationTermId(), grade.getTeacherId(),
+                grade.getExamAverage(), grade.getLetterGrade(), -1);
+    }
+
+    //!!! yeniden notlandirilan kaydin eski notu cikarilip yenisi ekleniyor
+    public void regrade(StudentInfoRepository.StudentInfoGradeView grade, Double examAverage, Note letterGrade) {
+        lock.writeLock().lock();
+        try {
+            applyAndRecord(grade.getId(), grade.getLessonId(), grade.getEducationTermId(), grade.getTeacherId(),
+                    grade.getExamAverage(), grade.getLetterGrade(), -1);
+            applyAndRecord(grade.getId(), grade.getLessonId(), grade.getEducationTermId(), grade.getTeacherId(),
+                    examAverage, letterGrade, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public GradeStatisticsResponse getByLessonAndTerm(Long lessonId, Long educationTermId) {
+        lock.readLock().lock();
+        try {
+            return toResponse(byLessonTerm.get(new LessonTermKey(lessonId, educationTermId)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public GradeStatisticsResponse getByTeacher(Long teacherId) {
+        lock.readLock().lock();
+        try {
+            return toResponse(byTeacher.get(teacherId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void update(Long id, Long lessonId, Long educationTermId, Long teacherId, Double examAverage,
+                        Note letterGrade, int sign) {
+        lock.writeLock().lock();
+        try {
+            applyAndRecord(id, lessonId, educationTermId, teacherId, examAverage, letterGrade, sign);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //!!! write lock altinda cagrilmali
+    private void applyAndRecord(Long id, Long lessonId, Long educationTermId, Long teacherId, Double examAverage,
+                                Note letterGrade, int sign) {
+        apply(byLessonTerm, byTeacher, lessonId, educationTermId, teacherId, examAverage, letterGrade, sign);
+        if (changesDuringRebuild != null && id != null && id <= scannedUpToId) {
+            changesDuringRebuild.add(
+                    new GradeChange(lessonId, educationTermId, teacherId, examAverage, letterGrade, sign));
+        }
+    }
+
+    private void markScanned(long id) {
+        lock.writeLock().lock();
+        try {
+            scannedUpToId = id;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(Map<LessonTermKey, RunningStatistics> lessonTerms,
+                              Map<Long, RunningStatistics> teachers,
+                              Long lessonId, Long educationTermId, Long teacherId,
+                              Double examAverage, Note letterGrade, int sign) {
+        if (examAverage == null) {
+            return;
+        }
+        if (lessonId != null && educationTermId != null) {
+            LessonTermKey key = new LessonTermKey(lessonId, educationTermId);
+            RunningStatistics statistics = lessonTerms.computeIfAbsent(key, k -> new RunningStatistics());
+            statistics.apply(examAverage, letterGrade, sign);
+            if (statistics.count <= 0) {
+                lessonTerms.remove(key);
+            }
+        }
+        if (teacherId != null) {
+            RunningStatistics statistics = teachers.computeIfAbsent(teacherId, k -> new RunningStatistics());
+            statistics.apply(examAverage, letterGrade, sign);
+            if (statistics.count <= 0) {
+                teachers.remove(teacherId);
+            }
+        }
+    }
+
+    private GradeStatisticsResponse toResponse(RunningStatistics statistics) {
+        if (statistics == null) {
+            return GradeStatisticsResponse.builder()
+                    .count(0L)
+                    .letterGrades(new EnumMap<>(Note.class))
+                    .build();
+        }
+        double mean = statistics.sum / statistics.count;
+        //!!! kayit silindiginde toplamlarda kalan kucuk yuvarlama hatalari negatif varyans uretmesin
+        double variance = Math.max(0.0, statistics.sumOfSquares / statistics.count - mean * mean);
+        return GradeStatisticsResponse.builder()
+                .count(statistics.count)
+                .mean(mean)
+                .standardDeviation(Math.sqrt(variance))
+                .min(statistics.percentile(0.0))
+                .max(statistics.percentile(1.0))
+                .percentile25(statistics.percentile(0.25))
+                .median(statistics.percentile(0.5))
+                .percentile75(statistics.percentile(0.75))
+                .percentile90(statistics.percentile(0.9))
+                .letterGrades(new EnumMap<>(statistics.letterGrades))
+                .build();
+    }
+
+    private static Long lessonIdOf(StudentInfo studentInfo) {
+        return studentInfo.getLesson() == null ? null : studentInfo.getLesson().getLessonId();
+    }
+
+    private static Long educationTermIdOf(StudentInfo studentInfo) {
+        return studentInfo.getEducationTerm() == null ? null : studentInfo.getEducationTerm().getId();
+    }
+
+    private static Long teacherIdOf(StudentInfo studentInfo) {
+        return studentInfo.getTeacher() == null ? null : studentInfo.getTeacher().getId();
+    }
+
+    private static final class RunningStatistics {
+
+        private long count;
+        private double sum;
+        private double sumOfSquares;
+        private final int[] histogram = new int[BUCKETS];
+        private final Map<Note, Long> letterGrades = new EnumMap<>(Note.class);
+
+        private void apply(double examAverage, Note letterGrade, int sign) {
+            count += sign;
+            sum += sign * examAverage;
+            sumOfSquares += sign * examAverage * examAverage;
+            histogram[bucketOf(examAverage)] += sign;
+            if (letterGrade != null) {
+                long letterCount = letterGrades.getOrDefault(letterGrade, 0L) + sign;
+                if (letterCount <= 0) {
+                    letterGrades.remove(letterGrade);
+                } else {
+                    letterGrades.put(letterGrade, letterCount);
+                }
+            }
+        }
+
+        //!!! nearest-rank yuzdelik, sonuc 0.1 hassasiyetinde
+        private double percentile(double fraction) {
+            long rank = Math.max(1, (long) Math.ceil(fraction * count));
+            long seen = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                seen += histogram[bucket];
+                if (seen >= rank) {
+                    return bucket / 10.0;
+                }
+            }
+            return (BUCKETS - 1) / 10.0;
+        }
+
+        private static int bucketOf(double examAverage) {
+            return (int) Math.max(0, Math.min(BUCKETS - 1, Math.round(examAverage * 10)));
+        }
+    }
+
+    private static final class GradeChange {
+
+        private final Long lessonId;
+        private final Long educationTermId;
+        private final Long teacherId;
+        private final Double examAverage;
+        private final Note letterGrade;
+        private final int sign;
+
+        private GradeChange(Long lessonId, Long educationTermId, Long teacherId, Double examAverage,
+                            Note letterGrade, int sign) {
+            this.lessonId = lessonId;
+            this.educationTermId = educationTermId;
+            this.teacherId = teacherId;
+            this.examAverage = examAverage;
+            this.letterGrade = letterGrade;
+            this.sign = sign;
+        }
+    }
+
+    private static final class LessonTermKey {
+
+        private final Long lessonId;
+        private final Long educationTermId;
+
+        private LessonTermKey(Long lessonId, Long educationTermId) {
+            this.lessonId = lessonId;
+            this.educationTermId = educationTermId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LessonTermKey)) {
+                return false;
+            }
+            LessonTermKey other = (LessonTermKey) o;
+            return Objects.equals(lessonId, other.lessonId) && Objects.equals(educationTermId, other.educationTermId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lessonId, educationTermId);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.business.GradingPolicy;
+import com.project.repository.business.GradingPolicyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//!!! Donem id si ile GradingTable cache i. Politikasi olmayan donemler icin varsayilan tablo kullaniliyor,
+ // politika kaydedildiginde veya silindiginde ilgili donemin kaydi siliniyor
+@Component
+@RequiredArgsConstructor
+public class GradingPolicyCache {
+
+    private final GradingPolicyRepository gradingPolicyRepository;
+
+    private final Map<Long, GradingTable> tables = new ConcurrentHashMap<>();
+    private GradingTable defaultTable;
+
+    @Value("${midterm.exam.impact.percentage}")
+    private Double midtermExamPercentage;
+
+    @Value("${final.exam.impact.percentage}")
+    private Double finalExamPercentage;
+
+    //!!! eski if zincirindeki esikler
+    @PostConstruct
+    public void buildDefaultTable() {
+        defaultTable = GradingTable.of(GradingPolicy.builder()
+                .midtermPercentage(midtermExamPercentage)
+                .finalPercentage(finalExamPercentage)
+                .ddMin(50.0)
+                .ccMin(60.0)
+                .cbMin(65.0)
+                .bbMin(70.0)
+                .baMin(75.0)
+                .aaMin(80.0)
+                .build());
+    }
+
+    public GradingTable getTable(Long educationTermId) {
+        if (educationTermId == null) {
+            return defaultTable;
+        }
+        return tables.computeIfAbsent(educationTermId, id -> gradingPolicyRepository.findByEducationTerm_Id(id)
+                .map(GradingTable::of)
+                .orElse(defaultTable));
+    }
+
+    public void evict(Long educationTermId) {
+        tables.remove(educationTermId);
+    }
+}
@@ -0,0 +1,90 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.business.GradingPolicy;
+import com.project.entity.enums.Note;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+//!!! Bir not politikasinin onceden hesaplanmis hali. 0.00 - 100.00 araligindaki her 0.01 lik ortalama icin harf
+ // notu bir dizide tutuluyor, harf notu if zinciri yerine tek dizi erisimi ile bulunuyor. Esikler virgulden
+ // sonra en fazla iki basamakli olmali.
+public final class GradingTable {
+
+    private static final int SCALE = 100;
+    private static final int SIZE = 100 * SCALE + 1;
+    //!!! ortalama hesabindaki kayan nokta hatalari (69.99999999999999 gibi) bir alt nota dusmesin
+    private static final double EPSILON = 1e-9;
+
+    private final double midtermPercentage;
+    private final double finalPercentage;
+    private final Map<Note, Double> thresholds;
+    private final boolean defaultPolicy;
+    private final Note[] letterGrades = new Note[SIZE];
+
+    private GradingTable(double midtermPercentage, double finalPercentage, Map<Note, Double> thresholds,
+                         boolean defaultPolicy) {
+        this.midtermPercentage = midtermPercentage;
+        this.finalPercentage = finalPercentage;
+        this.thresholds = Collections.unmodifiableMap(thresholds);
+        this.defaultPolicy = defaultPolicy;
+        for (int i = 0; i < SIZE; i++) {
+            double average = (double) i / SCALE;
+            Note letterGrade = Note.FF;
+            //!!! EnumMap AA --> FF sirasinda, saglanan ilk esik en yuksek not
+            for (Map.Entry<Note, Double> threshold : thresholds.entrySet()) {
+                if (average >= threshold.getValue()) {
+                    letterGrade = threshold.getKey();
+                    break;
+                }
+            }
+            letterGrades[i] = letterGrade;
+        }
+    }
+
+    public static GradingTable of(GradingPolicy policy) {
+        return new GradingTable(policy.getMidtermPercentage(), policy.getFinalPercentage(), thresholdsOf(policy),
+                policy.getId() == null);
+    }
+
+    //!!! DD --> AA yonunde esikler, DC opsiyonel
+    public static Map<Note, Double> thresholdsOf(GradingPolicy policy) {
+        Map<Note, Double> thresholds = new EnumMap<>(Note.class);
+        thresholds.put(Note.AA, policy.getAaMin());
+        thresholds.put(Note.BA, policy.getBaMin());
+        thresholds.put(Note.BB, policy.getBbMin());
+        thresholds.put(Note.CB, policy.getCbMin());
+        thresholds.put(Note.CC, policy.getCcMin());
+        if (policy.getDcMin() != null) {
+            thresholds.put(Note.DC, policy.getDcMin());
+        }
+        thresholds.put(Note.DD, policy.getDdMin());
+        return thresholds;
+    }
+
+    public double average(double midtermExam, double finalExam) {
+        return midtermExam * midtermPercentage + finalExam * finalPercentage;
+    }
+
+    public Note letterGrade(double average) {
+        int index = (int) Math.floor(average * SCALE + EPSILON);
+        return letterGrades[Math.max(0, Math.min(SIZE - 1, index))];
+    }
+
+    public double getMidtermPercentage() {
+        return midtermPercentage;
+    }
+
+    public double getFinalPercentage() {
+        return finalPercentage;
+    }
+
+    public Map<Note, Double> getThresholds() {
+        return thresholds;
+    }
+
+    public boolean isDefaultPolicy() {
+        return defaultPolicy;
+    }
+}
@@ -0,0 +1,208 @@
+package com.project.service.helper;
+
+import com.project.exception.BadRequestException;
+import com.project.payload.messages.ErrorMessages;
+import com.project.payload.response.business.CursorPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+//!!! Offset yerine "sort alani + id" uzerinden seek eden sayfalama. Her sayfa son satirin degerinden sonrasini
+ // okudugu icin derin sayfalar da ilk sayfa kadar hizli, COUNT sorgusu da yok. size+1 satir okunup bir sonraki
+ // sayfa olup olmadigi anlasiliyor. Sort alaninda null degerler her zaman sona aliniyor.
+@Component
+@RequiredArgsConstructor
+public class KeysetPaginationHelper {
+
+    private static final String SEPARATOR = "|";
+
+    private final EntityManager entityManager;
+    private final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+    public <T> CursorPage<T> findPage(Class<T> entityClass, Specification<T> specification,
+                                      String cursor, int size, String sort, String type) {
+
+        if (size <= 0) {
+            throw new BadRequestException(ErrorMessages.CURSOR_PAGE_SIZE_NOT_VALID);
+        }
+        EntityType<T> entityType = entityManager.getMetamodel().entity(entityClass);
+        String idName = entityType.getId(entityType.getIdType().getJavaType()).getName();
+        SingularAttribute<? super T, ?> sortAttribute = sortAttribute(entityType, sort);
+        boolean descending = Objects.equals(type, "desc");
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        @SuppressWarnings({"rawtypes"})
+        Path<Comparable> sortPath = root.get(sort);
+        Path<Long> idPath = root.get(idName);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            Cursor decoded = decode(cursor, sort, descending, sortAttribute.getJavaType());
+            predicates.add(afterCursor(cb, sortPath, idPath, decoded, descending));
+        }
+        query.select(root).where(predicates.toArray(new Predicate[0]));
+
+        Expression<Integer> nullsLast = cb.<Integer>selectCase().when(cb.isNull(sortPath), 1).otherwise(0);
+        List<Order> orders = List.of(
+                cb.asc(nullsLast),
+                descending ? cb.desc(sortPath) : cb.asc(sortPath),
+                descending ? cb.desc(idPath) : cb.asc(idPath));
+        query.orderBy(orders);
+
+        List<T> rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            //!!! degerler bean property yerine JPA attribute u uzerinden okunuyor (isActive --> active sorunu yok)
+            T last = content.get(content.size() - 1);
+            Long id = (Long) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(last);
+            nextCursor = encode(sort, descending, id, attributeValue(sortAttribute, last));
+        }
+        return CursorPage.<T>builder()
+                .content(new ArrayList<>(content))
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate afterCursor(CriteriaBuilder cb, Path<Comparable> sortPath, Path<Long> idPath,
+                                  Cursor cursor, boolean descending) {
+        Predicate idAfter = descending ? cb.lessThan(idPath, cursor.id) : cb.greaterThan(idPath, cursor.id);
+        if (cursor.value == null) {
+            //!!! null degerler en sonda, sadece kalan null satirlar id sirasiyla devam ediyor
+            return cb.and(cb.isNull(sortPath), idAfter);
+        }
+        Predicate valueAfter = descending
+                ? cb.lessThan(sortPath, (Comparable) cursor.value)
+                : cb.greaterThan(sortPath, (Comparable) cursor.value);
+        return cb.or(
+                valueAfter,
+                cb.and(cb.equal(sortPath, cursor.value), idAfter),
+                cb.isNull(sortPath));
+    }
+
+    private <T> SingularAttribute<? super T, ?> sortAttribute(EntityType<T> entityType, String sort) {
+        try {
+            SingularAttribute<? super T, ?> attribute = entityType.getSingularAttribute(sort);
+            if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC
+                    && (Comparable.class.isAssignableFrom(attribute.getJavaType()) || attribute.getJavaType().isPrimitive())) {
+                return attribute;
+            }
+        } catch (IllegalArgumentException e) {
+            //!!! asagida ayni hata donuluyor
+        }
+        throw new BadRequestException(String.format(ErrorMessages.CURSOR_SORT_NOT_VALID, sort));
+    }
+
+    private static Object attributeValue(SingularAttribute<?, ?> attribute, Object entity) {
+        Member member = attribute.getJavaMember();
+        if (member instanceof Field) {
+            ReflectionUtils.makeAccessible((Field) member);
+            return ReflectionUtils.getField((Field) member, entity);
+        }
+        ReflectionUtils.makeAccessible((Method) member);
+        return ReflectionUtils.invokeMethod((Method) member, entity);
+    }
+
+    //!!! cursor: sort|yon|id|deger -> Base64, deger en sonda oldugu icin | icerebilir
+    String encode(String sort, boolean descending, Long id, Object value) {
+        String raw = sort + SEPARATOR + (descending ? "desc" : "asc") + SEPARATOR + id + SEPARATOR
+                + (value == null ? "" : "v" + valueToString(value));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    //!!! java.time tipleri icin ConversionService de String donusturucu yok, ISO formati kullaniliyor
+    private String valueToString(Object value) {
+        if (value instanceof LocalDate || value instanceof LocalTime || value instanceof LocalDateTime) {
+            return value.toString();
+        }
+        return conversionService.convert(value, String.class);
+    }
+
+    private Object valueFromString(String value, Class<?> valueType) {
+        if (valueType == LocalDate.class) {
+            return LocalDate.parse(value);
+        }
+        if (valueType == LocalTime.class) {
+            return LocalTime.parse(value);
+        }
+        if (valueType == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        }
+        return conversionService.convert(value, valueType);
+    }
+
+    Cursor decode(String cursor, String sort, boolean descending, Class<?> valueType) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            //!!! cursor baska bir siralama icin uretildiyse kabul edilmiyor
+            if (parts.length != 4 || !parts[0].equals(sort) || !parts[1].equals(descending ? "desc" : "asc")) {
+                throw new BadRequestException(ErrorMessages.CURSOR_NOT_VALID);
+            }
+            Object value = parts[3].isEmpty() ? null : valueFromString(parts[3].substring(1), valueType);
+            return new Cursor(Long.valueOf(parts[2]), value);
+        } catch (IllegalArgumentException | ConversionException | DateTimeException e) {
+            throw new BadRequestException(ErrorMessages.CURSOR_NOT_VALID);
+        }
+    }
+
+    static final class Cursor {
+
+        private final Long id;
+        private final Object value;
+
+        private Cursor(Long id, Object value) {
+            this.id = id;
+            this.value = value;
+        }
+
+        Long getId() {
+            return id;
+        }
+
+        Object getValue() {
+            return value;
+        }
+    }
+}
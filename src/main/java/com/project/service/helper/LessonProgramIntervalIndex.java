@@ -0,0 +1,122 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.business.LessonProgram;
+import com.project.entity.enums.Day;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+//!!! Bir kullanicinin ders programlari icin gun bazli interval index. Her gunun programlari baslama saatine gore
+ // siralaniyor ve her pozisyon icin o ana kadarki en gec bitis saati (prefix max) tutuluyor. [start, stop)
+ // araligi ile cakisan bir program var mi sorusu tek binary search ile cevaplaniyor. Bitis ve baslama saati
+ // ayni olan programlar (10:00-11:00 ve 11:00-12:00) cakisma sayilmiyor.
+public final class LessonProgramIntervalIndex {
+
+    private static final Comparator<LessonProgram> BY_START =
+            Comparator.comparing(LessonProgram::getStartTime).thenComparing(LessonProgram::getStopTime);
+
+    private final Map<Day, DayIntervals> days = new EnumMap<>(Day.class);
+
+    private LessonProgramIntervalIndex(Collection<LessonProgram> lessonPrograms) {
+        Map<Day, List<LessonProgram>> grouped = new EnumMap<>(Day.class);
+        for (LessonProgram lessonProgram : lessonPrograms) {
+            grouped.computeIfAbsent(lessonProgram.getDay(), day -> new ArrayList<>()).add(lessonProgram);
+        }
+        grouped.forEach((day, programs) -> days.put(day, new DayIntervals(programs)));
+    }
+
+    public static LessonProgramIntervalIndex of(Collection<LessonProgram> lessonPrograms) {
+        return new LessonProgramIntervalIndex(lessonPrograms);
+    }
+
+    public boolean overlapsAny(LessonProgram lessonProgram) {
+        DayIntervals intervals = days.get(lessonProgram.getDay());
+        return intervals != null
+                && intervals.overlapsAny(lessonProgram.getStartTime(), lessonProgram.getStopTime());
+    }
+
+    public List<LessonProgram> findOverlapping(LessonProgram lessonProgram) {
+        DayIntervals intervals = days.get(lessonProgram.getDay());
+        if (intervals == null) {
+            return new ArrayList<>();
+        }
+        return intervals.findOverlapping(lessonProgram.getStartTime(), lessonProgram.getStopTime());
+    }
+
+    //!!! index e eklenen programlarin kendi aralarinda cakisma olup olmadigi, siralama sirasinda hesaplaniyor
+    public boolean hasInternalOverlap() {
+        return days.values().stream().anyMatch(intervals -> intervals.internalOverlap);
+    }
+
+    private static final class DayIntervals {
+
+        private final LessonProgram[] programs;
+        private final LocalTime[] starts;
+        private final LocalTime[] stops;
+        //!!! maxStops[i] = stops[0..i] araligindaki en gec bitis saati
+        private final LocalTime[] maxStops;
+        private final boolean internalOverlap;
+
+        private DayIntervals(List<LessonProgram> dayPrograms) {
+            dayPrograms.sort(BY_START);
+            int size = dayPrograms.size();
+            programs = dayPrograms.toArray(new LessonProgram[0]);
+            starts = new LocalTime[size];
+            stops = new LocalTime[size];
+            maxStops = new LocalTime[size];
+
+            boolean overlap = false;
+            for (int i = 0; i < size; i++) {
+                starts[i] = programs[i].getStartTime();
+                stops[i] = programs[i].getStopTime();
+                if (i == 0) {
+                    maxStops[i] = stops[i];
+                    continue;
+                }
+                //!!! sirali listede kendinden once baslayan herhangi bir program bu program basladiktan sonra
+                 // bitiyorsa cakisma var, ayni saatte baslayan iki program da cakisma sayiliyor
+                if (maxStops[i - 1].isAfter(starts[i]) || starts[i - 1].equals(starts[i])) {
+                    overlap = true;
+                }
+                maxStops[i] = maxStops[i - 1].isAfter(stops[i]) ? maxStops[i - 1] : stops[i];
+            }
+            internalOverlap = overlap;
+        }
+
+        private boolean overlapsAny(LocalTime start, LocalTime stop) {
+            int candidates = countStartingBefore(stop);
+            return candidates > 0 && maxStops[candidates - 1].isAfter(start);
+        }
+
+        //!!! prefix max start saatinin altina dustugu anda daha geriye bakmaya gerek kalmiyor
+        private List<LessonProgram> findOverlapping(LocalTime start, LocalTime stop) {
+            List<LessonProgram> overlapping = new ArrayList<>();
+            for (int i = countStartingBefore(stop) - 1; i >= 0 && maxStops[i].isAfter(start); i--) {
+                if (stops[i].isAfter(start)) {
+                    overlapping.add(programs[i]);
+                }
+            }
+            return overlapping;
+        }
+
+        //!!! stop saatinden once baslayan programlarin sayisi (binary search)
+        private int countStartingBefore(LocalTime stop) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid].isBefore(stop)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.business.Lesson;
+import com.project.entity.concretes.business.LessonProgram;
+import com.project.entity.enums.Day;
+import com.project.payload.response.business.LessonProgramResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+//!!! Ogretmen ve ogrencilerin haftalik ders programi, kullanici id si ile cache de tutuluyor. Her gun icin
+ // baslama saatine gore sirali, response a donusturulmus liste saklaniyor. Programa ekleme ve silme
+ // islemlerinde sadece ilgili kullanicinin ilgili gunu yeniden olusturuluyor. Her degisiklikte yeni bir
+ // ETag uretiliyor, istemci ayni ETag ile gelirse 304 donuluyor.
+@Component
+public class LessonProgramTimetableCache {
+
+    private static final Comparator<LessonProgramResponse> BY_START =
+            Comparator.comparing(LessonProgramResponse::getStartTime)
+                    .thenComparing(LessonProgramResponse::getStopTime)
+                    .thenComparing(LessonProgramResponse::getLessonProgramId);
+
+    //!!! uygulama yeniden baslatildiginda eski ETag lerin yeni versiyonlarla karismamasi icin
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong versions = new AtomicLong();
+    //!!! her degisiklikte artar, DB den yuklenirken araya giren bir degisikligin eski programi
+     // cache e yazmasini engellemek icin kullaniliyor
+    private final AtomicLong modifications = new AtomicLong();
+    private final Map<Long, Timetable> cache = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    @Value("${backendapi.app.timetableCacheMaxSize}")
+    private int maxSize;
+
+    public Timetable get(Long userId, Supplier<Collection<LessonProgram>> loader) {
+        Timetable cached = cache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = modifications.get();
+        Timetable timetable = build(userId, groupByDay(loader.get()));
+        if (cache.size() >= maxSize) {
+            evict();
+        }
+        cache.put(userId, timetable);
+        if (modifications.get() != stamp) {
+            cache.remove(userId, timetable);
+        }
+        return timetable;
+    }
+
+    //!!! kullaniciya yeni programlar eklendiginde sadece eklenen programlarin gunleri yeniden siralaniyor
+    public void addLessonPrograms(Long userId, Collection<LessonProgram> lessonPrograms) {
+        modifications.incrementAndGet();
+        Map<Day, List<LessonProgramResponse>> added = groupByDay(lessonPrograms);
+        cache.computeIfPresent(userId, (id, timetable) -> {
+            Map<Day, List<LessonProgramResponse>> days = copyDays(timetable);
+            added.forEach((day, responses) -> {
+                Set<Long> addedIds = responses.stream()
+                        .map(LessonProgramResponse::getLessonProgramId)
+                        .collect(Collectors.toSet());
+                List<LessonProgramResponse> merged = new ArrayList<>(responses);
+                days.getOrDefault(day, Collections.emptyList()).stream()
+                        .filter(response -> !addedIds.contains(response.getLessonProgramId()))
+                        .forEach(merged::add);
+                merged.sort(BY_START);
+                days.put(day, Collections.unmodifiableList(merged));
+            });
+            return build(id, days);
+        });
+    }
+
+    //!!! silinen program, programin atandigi kullanicilarin sadece ilgili gununden cikariliyor
+    public void removeLessonProgram(LessonProgram lessonProgram, Collection<Long> userIds) {
+        modifications.incrementAndGet();
+        for (Long userId : userIds) {
+            cache.computeIfPresent(userId, (id, timetable) -> {
+                Map<Day, List<LessonProgramResponse>> days = copyDays(timetable);
+                List<LessonProgramResponse> dayPrograms = days.get(lessonProgram.getDay());
+                if (dayPrograms == null) {
+                    return timetable;
+                }
+                days.put(lessonProgram.getDay(), dayPrograms.stream()
+                        .filter(response -> !response.getLessonProgramId().equals(lessonProgram.getId()))
+                        .collect(Collectors.toUnmodifiableList()));
+                return build(id, days);
+            });
+        }
+    }
+
+    //!!! programlarin tamami degistiginde (teacher update, user silme) kayit tamamen siliniyor
+    public void evict(Long userId) {
+        modifications.incrementAndGet();
+        cache.remove(userId);
+    }
+
+    //!!! ders bilgisi degistiginde hangi programlari etkiledigini takip etmiyoruz, hepsi siliniyor
+    public void evictAll() {
+        modifications.incrementAndGet();
+        cache.clear();
+    }
+
+    //!!! EnumMap(Map) constructor u bos map icin hata firlattigi icin putAll kullaniliyor
+    private Map<Day, List<LessonProgramResponse>> copyDays(Timetable timetable) {
+        Map<Day, List<LessonProgramResponse>> days = new EnumMap<>(Day.class);
+        days.putAll(timetable.days);
+        return days;
+    }
+
+    private Timetable build(Long userId, Map<Day, List<LessonProgramResponse>> days) {
+        String etag = "\"" + Long.toString(userId, 36) + "-" + epoch + "-"
+                + Long.toString(versions.incrementAndGet(), 36) + "\"";
+        return new Timetable(days, etag);
+    }
+
+    private Map<Day, List<LessonProgramResponse>> groupByDay(Collection<LessonProgram> lessonPrograms) {
+        Map<Day, List<LessonProgramResponse>> days = new EnumMap<>(Day.class);
+        for (LessonProgram lessonProgram : lessonPrograms) {
+            days.computeIfAbsent(lessonProgram.getDay(), day -> new ArrayList<>()).add(render(lessonProgram));
+        }
+        days.replaceAll((day, responses) -> {
+            responses.sort(BY_START);
+            return Collections.unmodifiableList(responses);
+        });
+        return days;
+    }
+
+    //!!! Lesson entity leri kopyalaniyor, cache de Hibernate session ina bagli lazy koleksiyon kalmiyor
+    private LessonProgramResponse render(LessonProgram lessonProgram) {
+        Set<Lesson> lessons = lessonProgram.getLessons() == null ? Collections.emptySet() :
+                lessonProgram.getLessons().stream()
+                        .map(lesson -> Lesson.builder()
+                                .lessonId(lesson.getLessonId())
+                                .lessonName(lesson.getLessonName())
+                                .creditScore(lesson.getCreditScore())
+                                .isCompulsory(lesson.getIsCompulsory())
+                                .build())
+                        .collect(Collectors.toUnmodifiableSet());
+        return LessonProgramResponse.builder()
+                .lessonProgramId(lessonProgram.getId())
+                .day(lessonProgram.getDay())
+                .startTime(lessonProgram.getStartTime())
+                .stopTime(lessonProgram.getStopTime())
+                .lessonName(lessons)
+                .build();
+    }
+
+    private void evict() {
+        //!!! ayni anda tek bir thread temizlik yapsin, digerleri beklemeden devam etsin
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            //!!! en eski versiyonlardan baslayarak %10 yer aciyoruz
+            List<Map.Entry<Long, Timetable>> entries = new ArrayList<>(cache.entrySet());
+            entries.sort(Comparator.comparingLong(entry -> entry.getValue().builtAt));
+            int toRemove = cache.size() - (int) (maxSize * 0.9);
+            for (int i = 0; i < toRemove && i < entries.size(); i++) {
+                cache.remove(entries.get(i).getKey(), entries.get(i).getValue());
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public static final class Timetable {
+
+        private final Map<Day, List<LessonProgramResponse>> days;
+        private final List<LessonProgramResponse> week;
+        private final String etag;
+        private final long builtAt = System.nanoTime();
+
+        private Timetable(Map<Day, List<LessonProgramResponse>> days, String etag) {
+            this.days = Collections.unmodifiableMap(days);
+            this.week = days.values().stream()
+                    .flatMap(List::stream)
+                    .collect(Collectors.toUnmodifiableList());
+            this.etag = etag;
+        }
+
+        public List<LessonProgramResponse> getDay(Day day) {
+            return days.getOrDefault(day, Collections.emptyList());
+        }
+
+        //!!! gun sirasina (EnumMap) ve baslama saatine gore sirali haftalik program
+        public List<LessonProgramResponse> getWeek() {
+            return week;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
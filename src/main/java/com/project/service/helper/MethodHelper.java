@@ -9,16 +9,23 @@ import com.project.repository.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+
 @Component
 @RequiredArgsConstructor
 public class MethodHelper {
 
     private final UserRepository userRepository;
+    private final EntityBatchLoader entityBatchLoader;
 
-    //!!! isUserExist
+    //!!! isUserExist, ayni istekte daha once yuklenen kullanici tekrar sorgulanmiyor
     public User isUserExist(Long userId){
-        return userRepository.findById(userId).orElseThrow(()->
-                new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_USER_MESSAGE, userId)));
+        return entityBatchLoader.load(User.class, userId);
+    }
+
+    //!!! ayni istekte kontrol edilecek kullanicilar, ilk isUserExist cagrisinda tek sorguda getiriliyor
+    public void prefetchUsers(Long... userIds){
+        entityBatchLoader.enqueue(User.class, Arrays.asList(userIds));
     }
 
     //!!! builtIn kontrolu
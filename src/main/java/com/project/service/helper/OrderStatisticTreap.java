@@ -0,0 +1,176 @@
+package com.project.service.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+//!!! Puana gore azalan (esit puanda ogrenci id sine gore artan) sirada tutulan treap. Her dugum alt agacindaki
+ // dugum sayisini tuttugu icin ekleme, silme, sira (rank) ve ilk K sorgulari O(log n). Thread-safe degil,
+ // senkronizasyon kullanan sinifin sorumlulugunda.
+public final class OrderStatisticTreap {
+
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    public int size() {
+        return size(root);
+    }
+
+    public void insert(long studentId, double score) {
+        Node[] parts = split(root, score, studentId);
+        root = merge(merge(parts[0], new Node(studentId, score, random.nextInt())), parts[1]);
+    }
+
+    public void remove(long studentId, double score) {
+        root = remove(root, studentId, score);
+    }
+
+    //!!! esit puanli ogrenciler ayni sirayi paylasiyor (1, 2, 2, 4)
+    public int rank(double score) {
+        return countScoreGreaterThan(score) + 1;
+    }
+
+    public int countScoreGreaterThan(double score) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.score > score) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    public int countScoreAtLeast(double score) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.score >= score) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    //!!! en yuksek puanli ilk k kayit, sirali
+    public List<Entry> top(int k) {
+        List<Entry> entries = new ArrayList<>(Math.min(k, size()));
+        collect(root, k, entries);
+        return entries;
+    }
+
+    private static void collect(Node node, int k, List<Entry> entries) {
+        if (node == null || entries.size() >= k) {
+            return;
+        }
+        collect(node.left, k, entries);
+        if (entries.size() < k) {
+            entries.add(new Entry(node.studentId, node.score));
+            collect(node.right, k, entries);
+        }
+    }
+
+    private static boolean before(double score, long studentId, Node node) {
+        int byScore = Double.compare(node.score, score);
+        return byScore != 0 ? byScore < 0 : studentId < node.studentId;
+    }
+
+    //!!! [ (score, studentId) dan once gelenler , geri kalanlar ]
+    private static Node[] split(Node node, double score, long studentId) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (before(score, studentId, node)) {
+            Node[] parts = split(node.left, score, studentId);
+            node.left = parts[1];
+            node.update();
+            return new Node[]{parts[0], node};
+        }
+        Node[] parts = split(node.right, score, studentId);
+        node.right = parts[0];
+        node.update();
+        return new Node[]{node, parts[1]};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node remove(Node node, long studentId, double score) {
+        if (node == null) {
+            return null;
+        }
+        if (node.studentId == studentId && Double.compare(node.score, score) == 0) {
+            return merge(node.left, node.right);
+        }
+        if (before(score, studentId, node)) {
+            node.left = remove(node.left, studentId, score);
+        } else {
+            node.right = remove(node.right, studentId, score);
+        }
+        node.update();
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    public static final class Entry {
+
+        private final long studentId;
+        private final double score;
+
+        private Entry(long studentId, double score) {
+            this.studentId = studentId;
+            this.score = score;
+        }
+
+        public long getStudentId() {
+            return studentId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    private static final class Node {
+
+        private final long studentId;
+        private final double score;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long studentId, double score, int priority) {
+            this.studentId = studentId;
+            this.score = score;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = 1 + OrderStatisticTreap.size(left) + OrderStatisticTreap.size(right);
+        }
+    }
+}
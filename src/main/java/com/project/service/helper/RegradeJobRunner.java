@@ -0,0 +1,267 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.business.StudentInfo;
+import com.project.entity.enums.Note;
+import com.project.payload.response.business.RegradeJobResponse;
+import com.project.repository.business.StudentInfoBatchRepository;
+import com.project.repository.business.StudentInfoRepository;
+import com.project.repository.business.StudentInfoRepository.RegradeRowView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+//!!! Bir donemin butun StudentInfo kayitlarini donemin guncel not politikasi ile yeniden notlandiran arka plan isi.
+ // Koordinator thread kayitlari id sirasina gore parca parca okuyor, her parca worker havuzunda hesaplaniyor ve
+ // degisen satirlar kendi transaction inda JDBC batch ile guncelleniyor. Ayni anda en fazla 2 x worker sayisi
+ // kadar parca bellekte bekliyor. Ilerleme job id si ile sorgulanabiliyor.
+@Component
+public class RegradeJobRunner implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegradeJobRunner.class);
+    //!!! bitmis isler bu sayinin uzerinde oldugunda en eskileri siliniyor
+    private static final int MAX_FINISHED_JOBS = 100;
+
+    private final StudentInfoRepository studentInfoRepository;
+    private final StudentInfoBatchRepository studentInfoBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final GradingPolicyCache gradingPolicyCache;
+    private final GradeStatisticsIndex gradeStatisticsIndex;
+    private final StudentTranscriptCache studentTranscriptCache;
+    private final StudentRankingIndex studentRankingIndex;
+
+    private final ExecutorService coordinator;
+    private final ExecutorService workers;
+    private final int workerCount;
+    private final int chunkSize;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, Job> runningByTerm = new ConcurrentHashMap<>();
+
+    public RegradeJobRunner(StudentInfoRepository studentInfoRepository,
+                            StudentInfoBatchRepository studentInfoBatchRepository,
+                            TransactionTemplate transactionTemplate,
+                            GradingPolicyCache gradingPolicyCache,
+                            GradeStatisticsIndex gradeStatisticsIndex,
+                            StudentTranscriptCache studentTranscriptCache,
+                            StudentRankingIndex studentRankingIndex,
+                            @Value("${backendapi.app.regradeThreads}") int threads,
+                            @Value("${backendapi.app.regradeChunkSize}") int chunkSize) {
+        this.studentInfoRepository = studentInfoRepository;
+        this.studentInfoBatchRepository = studentInfoBatchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.gradingPolicyCache = gradingPolicyCache;
+        this.gradeStatisticsIndex = gradeStatisticsIndex;
+        this.studentTranscriptCache = studentTranscriptCache;
+        this.studentRankingIndex = studentRankingIndex;
+        this.workerCount = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = chunkSize;
+        this.coordinator = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "regrade-coordinator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "regrade-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    //!!! ayni donem icin calisan bir is varsa yenisi baslatilmiyor, calisan is donuluyor. Calisan is eski
+     // politikayi kullaniyor olabilecegi icin is bittiginde donem bir kez daha notlandiriliyor. Isin bitisi ile
+     // ayni kilidi kullaniyor, bitmek uzere olan ise verilen tekrar istegi kaybolmuyor
+    public synchronized RegradeJobResponse start(Long educationTermId) {
+        Job job = runningByTerm.computeIfAbsent(educationTermId, id -> {
+            Job created = new Job(UUID.randomUUID().toString(), id);
+            jobs.put(created.jobId, created);
+            return created;
+        });
+        if (job.started.compareAndSet(0, 1)) {
+            purgeFinishedJobs();
+            coordinator.submit(() -> run(job));
+        } else {
+            job.rerunRequested = true;
+        }
+        return job.toResponse();
+    }
+
+    public RegradeJobResponse getStatus(String jobId) {
+        Job job = jobs.get(jobId);
+        return job == null ? null : job.toResponse();
+    }
+
+    @Override
+    public void destroy() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void run(Job job) {
+        try {
+            GradingTable table = gradingPolicyCache.getTable(job.educationTermId);
+            job.totalRows = studentInfoRepository.countByEducationTerm_Id(job.educationTermId);
+            Deque<Future<?>> inFlight = new ArrayDeque<>();
+            long afterId = 0;
+            List<RegradeRowView> rows;
+            do {
+                rows = studentInfoRepository.findRegradeRowsAfterId(job.educationTermId, afterId,
+                        PageRequest.of(0, chunkSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                afterId = rows.get(rows.size() - 1).getId();
+                List<RegradeRowView> chunk = rows;
+                if (inFlight.size() >= workerCount * 2) {
+                    inFlight.removeFirst().get();
+                }
+                inFlight.addLast(workers.submit(() -> regradeChunk(job, table, chunk)));
+            } while (rows.size() == chunkSize);
+            while (!inFlight.isEmpty()) {
+                inFlight.removeFirst().get();
+            }
+            job.status = Status.COMPLETED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Interrupted");
+        } catch (ExecutionException e) {
+            LOGGER.error("Regrade job {} failed", job.jobId, e.getCause());
+            job.fail(e.getCause().getMessage());
+        } catch (RuntimeException e) {
+            LOGGER.error("Regrade job {} failed", job.jobId, e);
+            job.fail(e.getMessage());
+        } finally {
+            //!!! istatistik ve siralamalar parca parca guncellendi, transkriptler toplu bosaltiliyor
+            if (job.updatedRows.get() > 0) {
+                studentTranscriptCache.evictAll();
+            }
+            boolean rerun;
+            synchronized (this) {
+                job.finishedAt = LocalDateTime.now();
+                runningByTerm.remove(job.educationTermId, job);
+                rerun = job.rerunRequested;
+            }
+            if (rerun) {
+                start(job.educationTermId);
+            }
+        }
+    }
+
+    private void regradeChunk(Job job, GradingTable table, List<RegradeRowView> rows) {
+        List<RegradeRowView> changedRows = new ArrayList<>();
+        List<StudentInfo> changed = new ArrayList<>();
+        for (RegradeRowView row : rows) {
+            if (row.getMidtermExam() == null || row.getFinalExam() == null) {
+                continue;
+            }
+            double average = table.average(row.getMidtermExam(), row.getFinalExam());
+            Note letterGrade = table.letterGrade(average);
+            if (!Objects.equals(row.getExamAverage(), average) || row.getLetterGrade() != letterGrade) {
+                changedRows.add(row);
+                changed.add(StudentInfo.builder()
+                        .id(row.getId())
+                        .midtermExam(row.getMidtermExam())
+                        .finalExam(row.getFinalExam())
+                        .examAverage(average)
+                        .letterGrade(letterGrade)
+                        .build());
+            }
+        }
+        int updatedRows = 0;
+        if (!changed.isEmpty()) {
+            boolean[] updated = transactionTemplate.execute(status -> studentInfoBatchRepository.updateGrades(changed));
+            //!!! commit edilen satirlar istatistik ve siralamalara tek tek yansitiliyor; arada ogretmen tarafindan
+             // degistirilen satirlar guncellenmedigi icin atlaniyor
+            for (int i = 0; i < changed.size(); i++) {
+                if (updated != null && updated[i]) {
+                    StudentInfo studentInfo = changed.get(i);
+                    gradeStatisticsIndex.regrade(changedRows.get(i), studentInfo.getExamAverage(),
+                            studentInfo.getLetterGrade());
+                    studentRankingIndex.regrade(changedRows.get(i), studentInfo.getExamAverage());
+                    updatedRows++;
+                }
+            }
+        }
+        job.processedRows.addAndGet(rows.size());
+        job.updatedRows.addAndGet(updatedRows);
+    }
+
+    private void purgeFinishedJobs() {
+        List<Job> finished = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            if (job.finishedAt != null) {
+                finished.add(job);
+            }
+        }
+        finished.sort((a, b) -> a.finishedAt.compareTo(b.finishedAt));
+        for (int i = 0; i < finished.size() - MAX_FINISHED_JOBS; i++) {
+            jobs.remove(finished.get(i).jobId);
+        }
+    }
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private static final class Job {
+
+        private final String jobId;
+        private final Long educationTermId;
+        private final AtomicInteger started = new AtomicInteger();
+        private final AtomicLong processedRows = new AtomicLong();
+        private final AtomicLong updatedRows = new AtomicLong();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile long totalRows = -1;
+        private volatile Status status = Status.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+        private volatile boolean rerunRequested;
+
+        private Job(String jobId, Long educationTermId) {
+            this.jobId = jobId;
+            this.educationTermId = educationTermId;
+        }
+
+        private void fail(String message) {
+            error = message;
+            status = Status.FAILED;
+        }
+
+        private RegradeJobResponse toResponse() {
+            long processed = processedRows.get();
+            Double progress = totalRows < 0 ? null :
+                    totalRows == 0 ? 100.0 : Math.min(100.0, Math.round(processed * 1000.0 / totalRows) / 10.0);
+            return RegradeJobResponse.builder()
+                    .jobId(jobId)
+                    .educationTermId(educationTermId)
+                    .status(status.name())
+                    .totalRows(totalRows < 0 ? null : totalRows)
+                    .processedRows(processed)
+                    .updatedRows(updatedRows.get())
+                    .progressPercentage(progress)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.project.service.helper;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//!!! Ogrenci numaralari MAX(studentNumber)+1 yerine DB sequence den blok blok aliniyor. Sequence blockSize kadar
+ // artiyor, her nextval cagrisi bu node a ait bir blogun ilk numarasini veriyor. Blok icindeki numaralar bellekte
+ // atomik olarak dagitiliyor, blok bitince yeni blok aliniyor. Farkli node lar farkli bloklar aldigi icin ayni
+ // numara iki kez verilmez. Uygulama yeniden basladiginda kullanilmamis numaralar bosta kalir.
+@Component
+@RequiredArgsConstructor
+public class StudentNumberAllocator {
+
+    private static final String SEQUENCE_NAME = "student_number_seq";
+    private static final int FIRST_STUDENT_NUMBER = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${backendapi.app.studentNumberBlockSize}")
+    private int blockSize;
+
+    //!!! sequence cagiranin transaction i disinda olusturuluyor: cagiran rollback olursa DDL geri alinmasin,
+     // basarisiz CREATE de cagiranin PostgreSQL transaction ini abort etmesin
+    private TransactionTemplate sequenceTransaction;
+    private volatile Block currentBlock;
+    private int sequenceIncrement;
+
+    @PostConstruct
+    public void initTransactionTemplate() {
+        sequenceTransaction = new TransactionTemplate(transactionManager);
+        sequenceTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    //!!! DDL istek sirasinda degil acilista calisiyor, refill sadece acilista basarisiz olursa tekrar deniyor
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void onApplicationReady() {
+        if (sequenceIncrement == 0) {
+            sequenceIncrement = initSequence();
+        }
+    }
+
+    public int nextStudentNumber() {
+        while (true) {
+            Block block = currentBlock;
+            if (block != null) {
+                int number = block.next.getAndIncrement();
+                if (number <= block.last) {
+                    return number;
+                }
+            }
+            refill(block);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        //!!! baska bir thread bu arada yeni blok aldiysa tekrar almiyoruz
+        if (currentBlock != exhausted) {
+            return;
+        }
+        if (sequenceIncrement == 0) {
+            sequenceIncrement = initSequence();
+        }
+        Integer first = jdbcTemplate.queryForObject("SELECT nextval('" + SEQUENCE_NAME + "')", Integer.class);
+        currentBlock = new Block(first, first + sequenceIncrement - 1);
+    }
+
+    //!!! sequence yoksa mevcut en buyuk numaradan (en az 1000) baslayacak sekilde olusturuluyor. Blok boyutu
+     // her zaman sequence in kendi artis degerinden okunuyor, boylece farkli ayarla calisan node lar cakismaz.
+    private int initSequence() {
+        try {
+            sequenceTransaction.executeWithoutResult(status -> {
+                Integer maxStudentNumber = jdbcTemplate.queryForObject(
+                        "SELECT MAX(student_number) FROM t_user", Integer.class);
+                int start = Math.max(FIRST_STUDENT_NUMBER, maxStudentNumber == null ? 0 : maxStudentNumber + 1);
+                jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE_NAME +
+                        " START WITH " + start + " INCREMENT BY " + blockSize);
+            });
+        } catch (DataAccessException e) {
+            //!!! baska bir node ayni anda olusturduysa sequence zaten var demektir. Kontrol, abort olan
+             // transaction yerine yeni bir transaction da yapiliyor
+            Boolean exists = sequenceTransaction.execute(status -> jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_sequences WHERE sequencename = ?)", Boolean.class, SEQUENCE_NAME));
+            if (!Boolean.TRUE.equals(exists)) {
+                throw e;
+            }
+        }
+        return sequenceTransaction.execute(status -> jdbcTemplate.queryForObject(
+                "SELECT increment_by FROM pg_sequences WHERE sequencename = ?", Integer.class, SEQUENCE_NAME));
+    }
+
+    private static final class Block {
+
+        private final AtomicInteger next;
+        private final int last;
+
+        private Block(int first, int last) {
+            this.next = new AtomicInteger(first);
+            this.last = last;
+        }
+    }
+}
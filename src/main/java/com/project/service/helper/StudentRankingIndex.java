@@ -0,0 +1,405 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.business.StudentInfo;
+import com.project.repository.business.StudentInfoRepository;
+import com.project.repository.business.StudentInfoRepository.StudentInfoGradeView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//!!! Ogrenci siralamalari bellekte OrderStatisticTreap lerde tutuluyor:
+ // - ders/donem bazinda examAverage e gore
+ // - donem bazinda ogrencinin o donemdeki derslerinin ortalamasina gore
+ // - okul genelinde ogrencinin butun derslerinin ortalamasina gore
+ // StudentInfo yazimlarinda sadece ilgili ogrencinin kayitlari yeniden konumlaniyor, siralama istekleri tabloyu
+ // taramiyor. Acilista ve periyodik mutabakatta DB den yeniden olusturuluyor.
+@Component
+@RequiredArgsConstructor
+public class StudentRankingIndex {
+
+    private static final int REBUILD_PAGE_SIZE = 5000;
+
+    private final StudentInfoRepository studentInfoRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Rankings rankings = new Rankings();
+    //!!! yeniden olusturma sirasinda taramanin gectigi kayitlara yapilan degisiklikler, GradeStatisticsIndex teki
+     // gibi tablo okunduktan sonra yeni siralamalara uygulaniyor
+    private List<GradeChange> changesDuringRebuild;
+    private long scannedUpToId;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${backendapi.app.rankingRebuildMs}",
+            initialDelayString = "${backendapi.app.rankingRebuildMs}")
+    public synchronized void rebuild() {
+        Rankings rebuilt = new Rankings();
+        List<GradeChange> changes = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = changes;
+            scannedUpToId = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            long afterId = 0;
+            List<StudentInfoGradeView> grades;
+            do {
+                grades = studentInfoRepository.findGradesAfterId(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                //!!! son sayfadan sonra eklenen kayitlar da taramada okunmayacagi icin kaydediliyor
+                markScanned(grades.size() < REBUILD_PAGE_SIZE ? Long.MAX_VALUE : grades.get(grades.size() - 1).getId());
+                for (StudentInfoGradeView grade : grades) {
+                    rebuilt.apply(grade.getLessonId(), grade.getEducationTermId(), grade.getStudentId(),
+                            grade.getExamAverage(), 1);
+                    afterId = grade.getId();
+                }
+            } while (grades.size() == REBUILD_PAGE_SIZE);
+
+            lock.writeLock().lock();
+            try {
+                for (GradeChange change : changes) {
+                    rebuilt.apply(change.lessonId, change.educationTermId, change.studentId, change.examAverage,
+                            change.sign);
+                }
+                rankings = rebuilt;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void add(StudentInfo studentInfo) {
+        update(studentInfo, 1);
+    }
+
+    public void remove(StudentInfo studentInfo) {
+        update(studentInfo, -1);
+    }
+
+    public void remove(StudentInfoGradeView grade) {
+        lock.writeLock().lock();
+        try {
+            applyAndRecord(grade.getId(), grade.getLessonId(), grade.getEducationTermId(), grade.getStudentId(),
+                    grade.getExamAverage(), -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void regrade(StudentInfoGradeView grade, Double examAverage) {
+        lock.writeLock().lock();
+        try {
+            applyAndRecord(grade.getId(), grade.getLessonId(), grade.getEducationTermId(), grade.getStudentId(),
+                    grade.getExamAverage(), -1);
+            applyAndRecord(grade.getId(), grade.getLessonId(), grade.getEducationTermId(), grade.getStudentId(),
+                    examAverage, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<OrderStatisticTreap.Entry> topByLessonAndTerm(Long lessonId, Long educationTermId, int k) {
+        lock.readLock().lock();
+        try {
+            Ranking ranking = rankings.byLessonTerm.get(new LessonTermKey(lessonId, educationTermId));
+            return ranking == null ? Collections.emptyList() : ranking.treap.top(k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<OrderStatisticTreap.Entry> topByTerm(Long educationTermId, int k) {
+        lock.readLock().lock();
+        try {
+            Ranking ranking = rankings.byTerm.get(educationTermId);
+            return ranking == null ? Collections.emptyList() : ranking.treap.top(k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<OrderStatisticTreap.Entry> topOfSchool(int k) {
+        lock.readLock().lock();
+        try {
+            return rankings.school.treap.top(k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //!!! donem ortalamasi esigin uzerinde olan butun ogrenciler, sirali
+    public List<OrderStatisticTreap.Entry> atLeastByTerm(Long educationTermId, double minAverage) {
+        lock.readLock().lock();
+        try {
+            Ranking ranking = rankings.byTerm.get(educationTermId);
+            return ranking == null ? Collections.emptyList() :
+                    ranking.treap.top(ranking.treap.countScoreAtLeast(minAverage));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //!!! ogrencinin okul, donem ve ders siralamalari
+    public StudentRanks getStudentRanks(Long studentId) {
+        lock.readLock().lock();
+        try {
+            StudentRanks ranks = new StudentRanks();
+            ranks.school = rankings.school.rankOf(studentId, null, null);
+            Set<LessonTermKey> keys = rankings.keysByStudent.getOrDefault(studentId, Collections.emptySet());
+            Set<Long> termIds = new HashSet<>();
+            for (LessonTermKey key : keys) {
+                ranks.lessons.add(rankings.byLessonTerm.get(key).rankOf(studentId, key.lessonId, key.educationTermId));
+                termIds.add(key.educationTermId);
+            }
+            for (Long termId : termIds) {
+                ranks.terms.add(rankings.byTerm.get(termId).rankOf(studentId, null, termId));
+            }
+            return ranks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void update(StudentInfo studentInfo, int sign) {
+        Long lessonId = studentInfo.getLesson() == null ? null : studentInfo.getLesson().getLessonId();
+        Long educationTermId = studentInfo.getEducationTerm() == null ? null : studentInfo.getEducationTerm().getId();
+        Long studentId = studentInfo.getStudent() == null ? null : studentInfo.getStudent().getId();
+        lock.writeLock().lock();
+        try {
+            applyAndRecord(studentInfo.getId(), lessonId, educationTermId, studentId, studentInfo.getExamAverage(),
+                    sign);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //!!! write lock altinda cagrilmali
+    private void applyAndRecord(Long id, Long lessonId, Long educationTermId, Long studentId, Double examAverage,
+                                int sign) {
+        rankings.apply(lessonId, educationTermId, studentId, examAverage, sign);
+        if (changesDuringRebuild != null && id != null && id <= scannedUpToId) {
+            changesDuringRebuild.add(new GradeChange(lessonId, educationTermId, studentId, examAverage, sign));
+        }
+    }
+
+    private void markScanned(long id) {
+        lock.writeLock().lock();
+        try {
+            scannedUpToId = id;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public static final class StudentRanks {
+
+        private Rank school;
+        private final List<Rank> terms = new ArrayList<>();
+        private final List<Rank> lessons = new ArrayList<>();
+
+        public Rank getSchool() {
+            return school;
+        }
+
+        public List<Rank> getTerms() {
+            return terms;
+        }
+
+        public List<Rank> getLessons() {
+            return lessons;
+        }
+    }
+
+    public static final class Rank {
+
+        private final Long lessonId;
+        private final Long educationTermId;
+        private final int rank;
+        private final int total;
+        private final double score;
+
+        private Rank(Long lessonId, Long educationTermId, int rank, int total, double score) {
+            this.lessonId = lessonId;
+            this.educationTermId = educationTermId;
+            this.rank = rank;
+            this.total = total;
+            this.score = score;
+        }
+
+        public Long getLessonId() {
+            return lessonId;
+        }
+
+        public Long getEducationTermId() {
+            return educationTermId;
+        }
+
+        public int getRank() {
+            return rank;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    private static final class Rankings {
+
+        private final Map<LessonTermKey, Ranking> byLessonTerm = new HashMap<>();
+        private final Map<Long, Ranking> byTerm = new HashMap<>();
+        private final Ranking school = new Ranking();
+        private final Map<Long, Set<LessonTermKey>> keysByStudent = new HashMap<>();
+
+        private void apply(Long lessonId, Long educationTermId, Long studentId, Double examAverage, int sign) {
+            if (lessonId == null || educationTermId == null || studentId == null || examAverage == null) {
+                return;
+            }
+            LessonTermKey key = new LessonTermKey(lessonId, educationTermId);
+            Ranking lessonTerm = byLessonTerm.computeIfAbsent(key, k -> new Ranking());
+            Ranking term = byTerm.computeIfAbsent(educationTermId, k -> new Ranking());
+            lessonTerm.apply(studentId, examAverage, sign);
+            term.apply(studentId, examAverage, sign);
+            school.apply(studentId, examAverage, sign);
+
+            if (lessonTerm.isEmpty()) {
+                byLessonTerm.remove(key);
+            }
+            if (term.isEmpty()) {
+                byTerm.remove(educationTermId);
+            }
+            if (lessonTerm.contains(studentId)) {
+                keysByStudent.computeIfAbsent(studentId, k -> new HashSet<>()).add(key);
+            } else {
+                Set<LessonTermKey> keys = keysByStudent.get(studentId);
+                if (keys != null) {
+                    keys.remove(key);
+                    if (keys.isEmpty()) {
+                        keysByStudent.remove(studentId);
+                    }
+                }
+            }
+        }
+    }
+
+    //!!! ogrencinin puani, gruptaki notlarinin ortalamasi; ders/donem grubunda tek not var
+    private static final class Ranking {
+
+        private final OrderStatisticTreap treap = new OrderStatisticTreap();
+        private final Map<Long, double[]> totals = new HashMap<>();
+
+        private void apply(Long studentId, double examAverage, int sign) {
+            double[] total = totals.get(studentId);
+            if (total != null) {
+                treap.remove(studentId, total[0] / total[1]);
+            } else if (sign < 0) {
+                return;
+            } else {
+                total = new double[2];
+                totals.put(studentId, total);
+            }
+            total[0] += sign * examAverage;
+            total[1] += sign;
+            if (total[1] <= 0) {
+                totals.remove(studentId);
+            } else {
+                treap.insert(studentId, total[0] / total[1]);
+            }
+        }
+
+        private boolean contains(Long studentId) {
+            return totals.containsKey(studentId);
+        }
+
+        private boolean isEmpty() {
+            return totals.isEmpty();
+        }
+
+        private Rank rankOf(Long studentId, Long lessonId, Long educationTermId) {
+            double[] total = totals.get(studentId);
+            if (total == null) {
+                return null;
+            }
+            double score = total[0] / total[1];
+            return new Rank(lessonId, educationTermId, treap.rank(score), treap.size(), score);
+        }
+    }
+
+    private static final class GradeChange {
+
+        private final Long lessonId;
+        private final Long educationTermId;
+        private final Long studentId;
+        private final Double examAverage;
+        private final int sign;
+
+        private GradeChange(Long lessonId, Long educationTermId, Long studentId, Double examAverage, int sign) {
+            this.lessonId = lessonId;
+            this.educationTermId = educationTermId;
+            this.studentId = studentId;
+            this.examAverage = examAverage;
+            this.sign = sign;
+        }
+    }
+
+    private static final class LessonTermKey {
+
+        private final Long lessonId;
+        private final Long educationTermId;
+
+        private LessonTermKey(Long lessonId, Long educationTermId) {
+            this.lessonId = lessonId;
+            this.educationTermId = educationTermId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LessonTermKey)) {
+                return false;
+            }
+            LessonTermKey other = (LessonTermKey) o;
+            return Objects.equals(lessonId, other.lessonId) && Objects.equals(educationTermId, other.educationTermId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lessonId, educationTermId);
+        }
+    }
+}
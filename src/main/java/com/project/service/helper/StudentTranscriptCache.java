@@ -0,0 +1,103 @@
+package com.project.service.helper;
+
+import com.project.payload.response.business.TranscriptResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+//!!! Ogrenci id si ile hesaplanmis transkript (donem ve genel GPA) cache de tutuluyor. StudentInfo kayitlarinda
+ // ilgili ogrencinin, ders kredisi/ismi veya donem bilgisi degistiginde butun kayitlar siliniyor. Cache dolunca
+ // en uzun suredir okunmayan kayitlar siliniyor (LRU).
+@Component
+public class StudentTranscriptCache {
+
+    //!!! her silmede artar, DB den hesaplanirken araya giren bir degisikligin eski transkripti cache e
+     // yazmasini engellemek icin kullaniliyor
+    private final AtomicLong modifications = new AtomicLong();
+    //!!! her okuma ve yazmada artar, kayitlarin son erisim sirasi
+    private final AtomicLong accessClock = new AtomicLong();
+    private final Map<Long, CachedTranscript> cache = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    @Value("${backendapi.app.transcriptCacheMaxSize}")
+    private int maxSize;
+
+    public TranscriptResponse get(Long studentId, Supplier<TranscriptResponse> loader) {
+        CachedTranscript cached = cache.get(studentId);
+        if (cached != null) {
+            cached.lastAccess = accessClock.incrementAndGet();
+            return cached.transcript;
+        }
+        long stamp = modifications.get();
+        TranscriptResponse transcript = loader.get();
+        put(studentId, transcript, stamp);
+        return transcript;
+    }
+
+    //!!! toplu hesaplamada okuma oncesi alinan stamp ile
+    public long stamp() {
+        return modifications.get();
+    }
+
+    public void put(Long studentId, TranscriptResponse transcript, long stamp) {
+        if (cache.size() >= maxSize) {
+            evict();
+        }
+        CachedTranscript cached = new CachedTranscript(transcript, accessClock.incrementAndGet());
+        cache.put(studentId, cached);
+        if (modifications.get() != stamp) {
+            cache.remove(studentId, cached);
+        }
+    }
+
+    public void evict(Long studentId) {
+        modifications.incrementAndGet();
+        cache.remove(studentId);
+    }
+
+    public void evictAll() {
+        modifications.incrementAndGet();
+        cache.clear();
+    }
+
+    private void evict() {
+        //!!! ayni anda tek bir thread temizlik yapsin, digerleri beklemeden devam etsin
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            if (cache.size() < maxSize) {
+                return;
+            }
+            //!!! en uzun suredir okunmayan kayitlardan baslayarak %10 yer aciyoruz
+            List<Map.Entry<Long, CachedTranscript>> entries = new ArrayList<>(cache.entrySet());
+            entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+            int toRemove = cache.size() - (int) (maxSize * 0.9);
+            for (int i = 0; i < toRemove && i < entries.size(); i++) {
+                Map.Entry<Long, CachedTranscript> entry = entries.get(i);
+                cache.remove(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class CachedTranscript {
+
+        private final TranscriptResponse transcript;
+        private volatile long lastAccess;
+
+        private CachedTranscript(TranscriptResponse transcript, long lastAccess) {
+            this.transcript = transcript;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
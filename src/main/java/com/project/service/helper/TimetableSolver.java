@@ -0,0 +1,434 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.business.LessonProgram;
+import com.project.entity.enums.Day;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//!!! Bir donemin ders programini otomatik olusturan cozucu. Her dersin haftalik oturumlari (gun, saat dilimi,
+ // ogretmen) uclusune yerlestiriliyor. Sert kurallar: ogretmen ayni anda iki yerde olamaz (mevcut ders
+ // programlari dahil), ayni dersin iki oturumu cakisamaz. Yumusak kural: ayni dersin oturumlari farkli gunlere
+ // dagitilmali. Her thread rastgele sirali greedy yerlestirme + tek adimli yer degistirme (ejection) ile
+ // sure doluncaya kadar yeni denemeler yapiyor, en iyi sonuc donuluyor.
+@Component
+public class TimetableSolver implements DisposableBean {
+
+    private static final long UNSCHEDULED_PENALTY = 1_000_000L;
+    private static final long SAME_DAY_PENALTY = 100L;
+    //!!! esit maliyetli secenekler arasinda denemeden denemeye farkli cozumler uretmek icin
+    private static final int NOISE = 50;
+    //!!! siralama anahtari: 22 bit zorluk | 20 bit rastgele | 20 bit oturum no
+    private static final int MAX_SESSIONS = 1 << 20;
+    private static final int MAX_DIFFICULTY = (1 << 22) - 1;
+
+    private final ExecutorService executor;
+    private final int workers;
+
+    public TimetableSolver(@Value("${backendapi.app.timetableSolverThreads}") int threads) {
+        this.workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "timetable-solver-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Solution solve(Problem problem, long budgetMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+        AtomicBoolean optimal = new AtomicBoolean();
+        long seed = System.nanoTime();
+        List<Future<Solution>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            SplittableRandom random = new SplittableRandom(seed + i * 0x9E3779B97F4A7C15L);
+            futures.add(executor.submit(() -> search(problem, random, deadline, optimal)));
+        }
+        Solution best = null;
+        long attempts = 0;
+        for (Future<Solution> future : futures) {
+            Solution solution = await(future);
+            attempts += solution.attempts;
+            if (best == null || solution.score < best.score) {
+                best = solution;
+            }
+        }
+        best.attempts = attempts;
+        return best;
+    }
+
+    private Solution search(Problem problem, SplittableRandom random, long deadline, AtomicBoolean optimal) {
+        Attempt attempt = new Attempt(problem);
+        Solution best = null;
+        long attempts = 0;
+        do {
+            attempt.construct(random);
+            attempt.repair(random);
+            attempts++;
+            if (best == null || attempt.score() < best.score) {
+                best = attempt.toSolution();
+                //!!! alt sinira ulasildiysa diger threadler de duruyor
+                if (best.score <= problem.lowerBound) {
+                    optimal.set(true);
+                }
+            }
+        } while (!optimal.get() && System.nanoTime() < deadline);
+        best.attempts = attempts;
+        return best;
+    }
+
+    private Solution await(Future<Solution> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    //!!! Cozucu girdisi. Gunler x saat dilimleri "pozisyon" olarak numaralaniyor (p = gun * dilimSayisi + dilim),
+     // ogretmenler ve dersler de listedeki sirasiyla indexleniyor
+    public static final class Problem {
+
+        private final List<Day> days;
+        private final int slotCount;
+        private final int positionCount;
+        //!!! conflicts[p] = p ile ayni gunde zamani cakisan butun pozisyonlar (p dahil)
+        private final int[][] conflicts;
+        private final int[][] candidates;
+        private final int[] lessonOfSession;
+        private final int[] sessionDifficulty;
+        //!!! ogretmenin mevcut ders programlari ile cakisan pozisyonlar
+        private final int[][] initialBusy;
+        private final long lowerBound;
+
+        public Problem(List<Day> days, List<LocalTime> slotStarts, List<LocalTime> slotStops,
+                       int[] sessionsPerLesson, int[][] teachersPerLesson,
+                       List<? extends Collection<LessonProgram>> existingProgramsPerTeacher) {
+            this.days = List.copyOf(days);
+            this.slotCount = slotStarts.size();
+            this.positionCount = days.size() * slotCount;
+            this.candidates = teachersPerLesson;
+
+            conflicts = new int[positionCount][];
+            for (int p = 0; p < positionCount; p++) {
+                int day = p / slotCount;
+                int slot = p % slotCount;
+                List<Integer> overlapping = new ArrayList<>();
+                for (int other = 0; other < slotCount; other++) {
+                    if (slotStarts.get(slot).isBefore(slotStops.get(other))
+                            && slotStarts.get(other).isBefore(slotStops.get(slot))) {
+                        overlapping.add(day * slotCount + other);
+                    }
+                }
+                conflicts[p] = overlapping.stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            int sessionCount = Arrays.stream(sessionsPerLesson).sum();
+            if (sessionCount >= MAX_SESSIONS) {
+                throw new IllegalArgumentException("Too many sessions: " + sessionCount);
+            }
+            lessonOfSession = new int[sessionCount];
+            sessionDifficulty = new int[sessionCount];
+            long bound = 0;
+            for (int lesson = 0, session = 0; lesson < sessionsPerLesson.length; lesson++) {
+                for (int i = 0; i < sessionsPerLesson[lesson]; i++, session++) {
+                    lessonOfSession[session] = lesson;
+                    //!!! az aday ogretmeni ve cok oturumu olan dersler once yerlestiriliyor
+                    sessionDifficulty[session] = Math.max(0, Math.min(MAX_DIFFICULTY,
+                            teachersPerLesson[lesson].length * positionCount - sessionsPerLesson[lesson]));
+                }
+                //!!! oturumlar gunlere esit dagitilsa bile olusacak minimum ayni gun cifti sayisi
+                int perDay = sessionsPerLesson[lesson] / days.size();
+                int remainder = sessionsPerLesson[lesson] % days.size();
+                bound += remainder * pairs(perDay + 1) + (long) (days.size() - remainder) * pairs(perDay);
+            }
+            lowerBound = bound * SAME_DAY_PENALTY;
+
+            initialBusy = new int[existingProgramsPerTeacher.size()][positionCount];
+            for (int teacher = 0; teacher < existingProgramsPerTeacher.size(); teacher++) {
+                LessonProgramIntervalIndex existing = LessonProgramIntervalIndex.of(existingProgramsPerTeacher.get(teacher));
+                for (int p = 0; p < positionCount; p++) {
+                    LessonProgram position = LessonProgram.builder()
+                            .day(days.get(p / slotCount))
+                            .startTime(slotStarts.get(p % slotCount))
+                            .stopTime(slotStops.get(p % slotCount))
+                            .build();
+                    if (existing.overlapsAny(position)) {
+                        initialBusy[teacher][p] = 1;
+                    }
+                }
+            }
+        }
+
+        private static long pairs(long count) {
+            return count * (count - 1) / 2;
+        }
+
+        public int getSessionCount() {
+            return lessonOfSession.length;
+        }
+
+        public int lessonOf(int session) {
+            return lessonOfSession[session];
+        }
+    }
+
+    public static final class Solution {
+
+        private final Problem problem;
+        private final int[] positions;
+        private final int[] teachers;
+        private final long score;
+        private final int unscheduled;
+        private long attempts;
+
+        private Solution(Problem problem, int[] positions, int[] teachers, long score, int unscheduled) {
+            this.problem = problem;
+            this.positions = positions;
+            this.teachers = teachers;
+            this.score = score;
+            this.unscheduled = unscheduled;
+        }
+
+        public boolean isScheduled(int session) {
+            return positions[session] >= 0;
+        }
+
+        public Day getDay(int session) {
+            return problem.days.get(positions[session] / problem.slotCount);
+        }
+
+        public int getSlot(int session) {
+            return positions[session] % problem.slotCount;
+        }
+
+        public int getTeacher(int session) {
+            return teachers[session];
+        }
+
+        public int getUnscheduled() {
+            return unscheduled;
+        }
+
+        //!!! ayni gune dusen ayni ders oturumu cifti sayisi
+        public long getSameDayPairs() {
+            return (score - unscheduled * UNSCHEDULED_PENALTY) / SAME_DAY_PENALTY;
+        }
+
+        public long getAttempts() {
+            return attempts;
+        }
+    }
+
+    //!!! Her thread kendi Attempt nesnesini kullaniyor, diziler denemeler arasinda yeniden kullaniliyor
+    private static final class Attempt {
+
+        private final Problem problem;
+        private final int[] positions;
+        private final int[] teachers;
+        private final int[][] teacherBusy;
+        private final int[][] lessonBusy;
+        private final int[][] lessonDays;
+        //!!! owner[t][p] = ogretmenin p pozisyonuna yerlestirilmis oturumu
+        private final int[][] owner;
+        private final int[] teacherLoad;
+        private final long[] order;
+        private int unscheduled;
+        private long sameDayPairs;
+
+        private Attempt(Problem problem) {
+            this.problem = problem;
+            int sessions = problem.getSessionCount();
+            int teacherCount = problem.initialBusy.length;
+            positions = new int[sessions];
+            teachers = new int[sessions];
+            teacherBusy = new int[teacherCount][problem.positionCount];
+            owner = new int[teacherCount][problem.positionCount];
+            lessonBusy = new int[problem.candidates.length][problem.positionCount];
+            lessonDays = new int[problem.candidates.length][problem.days.size()];
+            teacherLoad = new int[teacherCount];
+            order = new long[sessions];
+        }
+
+        private void construct(SplittableRandom random) {
+            Arrays.fill(positions, -1);
+            Arrays.fill(teachers, -1);
+            for (int t = 0; t < teacherBusy.length; t++) {
+                System.arraycopy(problem.initialBusy[t], 0, teacherBusy[t], 0, problem.positionCount);
+                Arrays.fill(owner[t], -1);
+            }
+            for (int[] busy : lessonBusy) {
+                Arrays.fill(busy, 0);
+            }
+            for (int[] count : lessonDays) {
+                Arrays.fill(count, 0);
+            }
+            Arrays.fill(teacherLoad, 0);
+            unscheduled = 0;
+            sameDayPairs = 0;
+
+            //!!! zorluga gore sirala, esit zorluktakileri rastgele karistir
+            for (int s = 0; s < order.length; s++) {
+                order[s] = ((long) problem.sessionDifficulty[s] << 40)
+                        | ((long) random.nextInt(MAX_SESSIONS) << 20) | s;
+            }
+            Arrays.sort(order);
+            for (long key : order) {
+                int session = (int) (key & (MAX_SESSIONS - 1));
+                if (!place(session, random)) {
+                    unscheduled++;
+                }
+            }
+        }
+
+        private boolean place(int session, SplittableRandom random) {
+            int lesson = problem.lessonOfSession[session];
+            int bestPosition = -1;
+            int bestTeacher = -1;
+            long bestCost = Long.MAX_VALUE;
+            int offset = random.nextInt(problem.positionCount);
+            for (int i = 0; i < problem.positionCount; i++) {
+                int p = (i + offset) % problem.positionCount;
+                if (lessonBusy[lesson][p] > 0) {
+                    continue;
+                }
+                long dayCost = lessonDays[lesson][p / problem.slotCount] * SAME_DAY_PENALTY;
+                for (int teacher : problem.candidates[lesson]) {
+                    if (teacherBusy[teacher][p] > 0) {
+                        continue;
+                    }
+                    long cost = dayCost + teacherLoad[teacher] + random.nextInt(NOISE);
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        bestPosition = p;
+                        bestTeacher = teacher;
+                    }
+                }
+            }
+            if (bestPosition < 0) {
+                return false;
+            }
+            assign(session, bestPosition, bestTeacher);
+            return true;
+        }
+
+        //!!! yerlestirilemeyen oturum icin, yolunu tikayan tek bir oturum baska bir yere tasinabiliyorsa yer degistir
+        private void repair(SplittableRandom random) {
+            for (int session = 0; session < positions.length && unscheduled > 0; session++) {
+                if (positions[session] < 0 && ejectOne(session, random)) {
+                    unscheduled--;
+                }
+            }
+        }
+
+        private boolean ejectOne(int session, SplittableRandom random) {
+            int lesson = problem.lessonOfSession[session];
+            int offset = random.nextInt(problem.positionCount);
+            for (int i = 0; i < problem.positionCount; i++) {
+                int p = (i + offset) % problem.positionCount;
+                if (lessonBusy[lesson][p] > 0) {
+                    continue;
+                }
+                for (int teacher : problem.candidates[lesson]) {
+                    if (problem.initialBusy[teacher][p] > 0) {
+                        continue;
+                    }
+                    int blocker = singleBlocker(teacher, p);
+                    if (blocker < 0) {
+                        continue;
+                    }
+                    int blockerPosition = positions[blocker];
+                    int blockerTeacher = teachers[blocker];
+                    unassign(blocker);
+                    if (teacherBusy[teacher][p] == 0) {
+                        assign(session, p, teacher);
+                        if (place(blocker, random)) {
+                            return true;
+                        }
+                        unassign(session);
+                    }
+                    assign(blocker, blockerPosition, blockerTeacher);
+                }
+            }
+            return false;
+        }
+
+        //!!! ogretmenin p ile cakisan pozisyonlarinda tam olarak bir oturum varsa onu, yoksa -1 doner
+        private int singleBlocker(int teacher, int p) {
+            int blocker = -1;
+            for (int q : problem.conflicts[p]) {
+                int occupant = owner[teacher][q];
+                if (occupant >= 0) {
+                    if (blocker >= 0 && blocker != occupant) {
+                        return -1;
+                    }
+                    blocker = occupant;
+                }
+            }
+            return blocker;
+        }
+
+        private void assign(int session, int p, int teacher) {
+            int lesson = problem.lessonOfSession[session];
+            int day = p / problem.slotCount;
+            positions[session] = p;
+            teachers[session] = teacher;
+            owner[teacher][p] = session;
+            for (int q : problem.conflicts[p]) {
+                teacherBusy[teacher][q]++;
+                lessonBusy[lesson][q]++;
+            }
+            sameDayPairs += lessonDays[lesson][day];
+            lessonDays[lesson][day]++;
+            teacherLoad[teacher]++;
+        }
+
+        private void unassign(int session) {
+            int lesson = problem.lessonOfSession[session];
+            int p = positions[session];
+            int teacher = teachers[session];
+            int day = p / problem.slotCount;
+            for (int q : problem.conflicts[p]) {
+                teacherBusy[teacher][q]--;
+                lessonBusy[lesson][q]--;
+            }
+            owner[teacher][p] = -1;
+            lessonDays[lesson][day]--;
+            sameDayPairs -= lessonDays[lesson][day];
+            teacherLoad[teacher]--;
+            positions[session] = -1;
+            teachers[session] = -1;
+        }
+
+        private long score() {
+            return unscheduled * UNSCHEDULED_PENALTY + sameDayPairs * SAME_DAY_PENALTY;
+        }
+
+        private Solution toSolution() {
+            return new Solution(problem, positions.clone(), teachers.clone(), score(), unscheduled);
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.user.User;
+import com.project.entity.enums.RoleType;
+import com.project.repository.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//!!! name, surname ve username alanlari uzerinde bellekte tutulan trigram index. Her kullaniciya sirali bir
+ // doc id veriliyor, her trigram icin o trigrami iceren doc id lerin sirali listesi tutuluyor. Arama sadece
+ // sorgudaki trigramlarin listelerini geziyor, tabloyu taramiyor. Guncellenen veya silinen kullanicinin eski
+ // kaydi silinmis olarak isaretleniyor, silinenler cogalinca index yeniden olusturuluyor.
+@Component
+@RequiredArgsConstructor
+public class UserNameSearchIndex {
+
+    //!!! sorgudaki trigramlarin en az bu orani eslesmeli
+    private static final double MIN_COVERAGE = 0.5;
+    private static final double COMPACTION_RATIO = 0.25;
+
+    private final UserRepository userRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private final List<IndexedUser> documents = new ArrayList<>();
+    private final Map<Long, Integer> documentByUserId = new HashMap<>();
+    private int removedDocuments;
+    //!!! sadece DB den okunan kayitlarla ilerliyor; index() ile eklenen daha buyuk id ler, ayni anda JDBC ile
+     // eklenen daha kucuk id li kayitlarin senkronizasyonda atlanmasina yol acmasin
+    private long syncedUserId;
+    //!!! yeniden olusturma sirasinda gelen degisiklikler (userId --> son hali, silindiyse null) sonradan uygulaniyor
+    private Map<Long, IndexedUser> changesDuringRebuild;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    //!!! JDBC ile toplu eklenen veya baska node larda kaydedilen yeni kullanicilar periyodik olarak ekleniyor
+    @Scheduled(fixedDelayString = "${backendapi.app.userSearchSyncMs}")
+    public void syncNewUsers() {
+        if (!ready) {
+            return;
+        }
+        long afterId;
+        lock.readLock().lock();
+        try {
+            afterId = syncedUserId;
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<UserRepository.UserNameView> users = userRepository.findUserNamesAfterId(afterId);
+        if (users.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (UserRepository.UserNameView user : users) {
+                if (!documentByUserId.containsKey(user.getId())) {
+                    addDocument(user.getId(), user.getName(), user.getSurname(), user.getUsername(), user.getRoleType());
+                }
+                syncedUserId = Math.max(syncedUserId, user.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //!!! baska node larda yapilan guncelleme ve silmeler periyodik yeniden olusturma ile yansiyor
+    //!!! tablo kilit disinda okunuyor; okuma sirasinda index()/remove() ile gelen degisiklikler kaybolmasin diye
+     // kaydediliyor ve yeni index e uygulaniyor
+    @Scheduled(fixedDelayString = "${backendapi.app.userSearchRebuildMs}",
+            initialDelayString = "${backendapi.app.userSearchRebuildMs}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<UserRepository.UserNameView> users = userRepository.findAllUserNames();
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (UserRepository.UserNameView user : users) {
+                addDocument(user.getId(), user.getName(), user.getSurname(), user.getUsername(), user.getRoleType());
+                syncedUserId = Math.max(syncedUserId, user.getId());
+            }
+            for (Map.Entry<Long, IndexedUser> change : changesDuringRebuild.entrySet()) {
+                removeDocument(change.getKey());
+                if (change.getValue() != null) {
+                    addDocument(change.getValue());
+                }
+            }
+            changesDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(User user) {
+        RoleType roleType = user.getUserRole() == null ? null : user.getUserRole().getRoleType();
+        IndexedUser document = indexedUser(user.getId(), user.getName(), user.getSurname(), user.getUsername(),
+                roleType);
+        lock.writeLock().lock();
+        try {
+            removeDocument(user.getId());
+            addDocument(document);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(user.getId(), document);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(userId);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(userId, null);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    //!!! donen sayfa kullanici id lerini benzerlik sirasina gore iceriyor
+    public Page<Long> search(String query, RoleType roleType, Pageable pageable) {
+
+        long[] queryTrigrams = trigrams(query).stream().mapToLong(Long::longValue).toArray();
+        if (queryTrigrams.length == 0) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+        String normalizedQuery = normalize(query);
+        int minShared = (int) Math.ceil(queryTrigrams.length * MIN_COVERAGE);
+
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            //!!! her doc un sorgu ile kac ortak trigrami oldugu sayiliyor
+            int[] shared = new int[documents.size()];
+            IntList touched = new IntList();
+            for (long trigram : queryTrigrams) {
+                IntList documentIds = postings.get(trigram);
+                if (documentIds == null) {
+                    continue;
+                }
+                for (int i = 0; i < documentIds.size; i++) {
+                    int documentId = documentIds.values[i];
+                    if (shared[documentId]++ == 0) {
+                        touched.add(documentId);
+                    }
+                }
+            }
+            for (int i = 0; i < touched.size; i++) {
+                int sharedCount = shared[touched.values[i]];
+                IndexedUser user = documents.get(touched.values[i]);
+                if (sharedCount < minShared || user == null || (roleType != null && roleType != user.roleType)) {
+                    continue;
+                }
+                double coverage = (double) sharedCount / queryTrigrams.length;
+                double similarity = (double) sharedCount / (queryTrigrams.length + user.trigramCount - sharedCount);
+                //!!! sorguyu aynen iceren kayitlar one aliniyor
+                double score = coverage + similarity + (user.text.contains(normalizedQuery) ? 1.0 : 0.0);
+                matches.add(new Match(user.userId, score));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort((a, b) -> a.score != b.score ? Double.compare(b.score, a.score) : Long.compare(a.userId, b.userId));
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<Long> userIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            userIds.add(matches.get(i).userId);
+        }
+        return new PageImpl<>(userIds, pageable, matches.size());
+    }
+
+    private void addDocument(Long userId, String name, String surname, String username, RoleType roleType) {
+        addDocument(indexedUser(userId, name, surname, username, roleType));
+    }
+
+    private void addDocument(IndexedUser document) {
+        int documentId = documents.size();
+        documents.add(document);
+        documentByUserId.put(document.userId, documentId);
+        for (Long trigram : trigrams(document.text)) {
+            postings.computeIfAbsent(trigram, t -> new IntList()).add(documentId);
+        }
+    }
+
+    private static IndexedUser indexedUser(Long userId, String name, String surname, String username,
+                                           RoleType roleType) {
+        String text = normalize(name) + " " + normalize(surname) + " " + normalize(username);
+        return new IndexedUser(userId, roleType, text, trigrams(text).size());
+    }
+
+    private void removeDocument(Long userId) {
+        Integer documentId = documentByUserId.remove(userId);
+        if (documentId != null) {
+            documents.set(documentId, null);
+            removedDocuments++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (removedDocuments > documents.size() * COMPACTION_RATIO) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        List<IndexedUser> liveDocuments = new ArrayList<>(documents.size() - removedDocuments);
+        for (IndexedUser document : documents) {
+            if (document != null) {
+                liveDocuments.add(document);
+            }
+        }
+        clear();
+        liveDocuments.forEach(this::addDocument);
+    }
+
+    private void clear() {
+        postings.clear();
+        documents.clear();
+        documentByUserId.clear();
+        removedDocuments = 0;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    //!!! pg_trgm gibi her kelimenin basina iki, sonuna bir bosluk eklenerek trigramlar cikariliyor
+    private static Set<Long> trigrams(String value) {
+        Set<Long> trigrams = new HashSet<>();
+        for (String word : normalize(value).split("\\s+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+            }
+        }
+        return trigrams;
+    }
+
+    private static final class IndexedUser {
+
+        private final Long userId;
+        private final RoleType roleType;
+        private final String text;
+        private final int trigramCount;
+
+        private IndexedUser(Long userId, RoleType roleType, String text, int trigramCount) {
+            this.userId = userId;
+            this.roleType = roleType;
+            this.text = text;
+            this.trigramCount = trigramCount;
+        }
+    }
+
+    private static final class Match {
+
+        private final Long userId;
+        private final double score;
+
+        private Match(Long userId, double score) {
+            this.userId = userId;
+            this.score = score;
+        }
+    }
+
+    //!!! Integer kutulamadan kacinmak icin buyuyebilen int dizisi
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.project.service.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.entity.concretes.user.User;
+import com.project.entity.concretes.user.UserRole;
+import com.project.entity.enums.Gender;
+import com.project.entity.enums.RoleType;
+import com.project.exception.BadRequestException;
+import com.project.payload.mappers.UserMapper;
+import com.project.payload.messages.ErrorMessages;
+import com.project.payload.request.user.StudentRequest;
+import com.project.payload.response.user.StudentImportResponse;
+import com.project.payload.response.user.StudentImportResponse.StudentImportError;
+import com.project.repository.user.UserBatchRepository;
+import com.project.repository.user.UserRepository;
+import com.project.security.service.BoundedPasswordEncoder;
+import com.project.service.helper.StudentNumberAllocator;
+import com.project.service.helper.UserNameSearchIndex;
+import com.project.service.validator.UniquePropertyValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+//!!! CSV veya NDJSON dosyasindan toplu ogrenci kaydi. Dosya satir satir okunuyor ve batchSize lik gruplar
+ // halinde isleniyor: unique kontrolu grup basina tek sorgu, sifreler paralel hashleniyor, kayit JDBC batch insert.
+ // Hatali satirlar atlanip raporlaniyor, digerleri kaydediliyor.
+@Service
+@RequiredArgsConstructor
+public class StudentImportService {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private static final List<String> CSV_COLUMNS = List.of(
+            "username", "name", "surname", "birthDay", "ssn", "birthPlace", "phoneNumber",
+            "gender", "email", "password", "motherName", "fatherName", "advisorTeacherId");
+
+    private final UserRepository userRepository;
+    private final UserBatchRepository userBatchRepository;
+    private final UniquePropertyValidator uniquePropertyValidator;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final UserRoleService userRoleService;
+    private final StudentNumberAllocator studentNumberAllocator;
+    private final UserMapper userMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final UserNameSearchIndex userNameSearchIndex;
+
+    @Value("${backendapi.app.studentImportBatchSize}")
+    private int batchSize;
+
+    public StudentImportResponse importStudents(HttpServletRequest request) {
+
+        long startedAt = System.nanoTime();
+        boolean csv = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE));
+        ImportContext context = new ImportContext(userRoleService.getUserRole(RoleType.STUDENT));
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+
+            Map<String, Integer> header = csv ? readCsvHeader(reader.readLine()) : null;
+            int lineNumber = csv ? 1 : 0;
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!StringUtils.hasText(line)) {
+                    continue;
+                }
+                context.totalRows++;
+                try {
+                    StudentRequest studentRequest = csv ? parseCsvRow(line, header) : parseJsonRow(line);
+                    batch.add(new ImportRow(lineNumber, studentRequest));
+                } catch (IllegalArgumentException | DateTimeException | IOException | IndexOutOfBoundsException e) {
+                    context.reject(lineNumber, null, String.format(ErrorMessages.STUDENT_IMPORT_INVALID_ROW, e.getMessage()));
+                }
+                if (batch.size() == batchSize) {
+                    processBatch(batch, context);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                processBatch(batch, context);
+            }
+        } catch (IOException e) {
+            throw new BadRequestException(ErrorMessages.STUDENT_IMPORT_READ_FAILED);
+        }
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        return StudentImportResponse.builder()
+                .totalRows(context.totalRows)
+                .importedRows(context.importedRows)
+                .failedRows(context.errors.size())
+                .elapsedMs(elapsedNanos / 1_000_000)
+                .rowsPerSecond(elapsedNanos == 0 ? 0.0 : context.importedRows * 1_000_000_000.0 / elapsedNanos)
+                .errors(context.errors)
+                .build();
+    }
+
+    private void processBatch(List<ImportRow> batch, ImportContext context) {
+
+        //!!! bean validation, advisor ve dosya icindeki tekrar kontrolleri DB ye gitmeden yapiliyor
+        List<ImportRow> candidates = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            String error = validateRow(row.request, context);
+            if (error != null) {
+                context.reject(row.lineNumber, row.request.getUsername(), error);
+            } else {
+                candidates.add(row);
+            }
+        }
+
+        //!!! grubun tamami icin tek unique sorgusu
+        List<String> duplicates = uniquePropertyValidator.findDuplicates(
+                candidates.stream().map(row -> row.request).collect(Collectors.toList()));
+        List<ImportRow> accepted = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            ImportRow row = candidates.get(i);
+            if (duplicates.get(i) != null) {
+                context.reject(row.lineNumber, row.request.getUsername(), duplicates.get(i));
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<String> hashedPasswords = passwordEncoder.encodeAll(
+                accepted.stream().map(row -> row.request.getPassword()).collect(Collectors.toList()));
+
+        List<User> students = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            StudentRequest studentRequest = accepted.get(i).request;
+            User student = userMapper.mapStudentRequestToUser(studentRequest);
+            student.setAdvisorTeacherId(studentRequest.getAdvisorTeacherId());
+            student.setPassword(hashedPasswords.get(i));
+            student.setUserRole(context.studentRole);
+            student.setActive(true);
+            student.setIsAdvisor(Boolean.FALSE);
+            student.setStudentNumber(studentNumberAllocator.nextStudentNumber());
+            students.add(student);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> userBatchRepository.insertAll(students));
+            context.importedRows += students.size();
+            students.forEach(uniquePropertyValidator::registerUniqueProperties);
+            students.forEach(userNameSearchIndex::index);
+        } catch (DataAccessException e) {
+            //!!! ayni anda yapilan baska bir kayit ile cakisma olursa grup satir satir tekrar deneniyor
+            for (int i = 0; i < students.size(); i++) {
+                User student = students.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> userBatchRepository.insert(student));
+                    context.importedRows++;
+                    uniquePropertyValidator.registerUniqueProperties(student);
+                    userNameSearchIndex.index(student);
+                } catch (DataAccessException rowException) {
+                    context.reject(accepted.get(i).lineNumber, student.getUsername(), ErrorMessages.STUDENT_IMPORT_ROW_FAILED);
+                }
+            }
+        }
+    }
+
+    private String validateRow(StudentRequest studentRequest, ImportContext context) {
+
+        Set<ConstraintViolation<StudentRequest>> violations = validator.validate(studentRequest);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " : " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+
+        Long advisorTeacherId = studentRequest.getAdvisorTeacherId();
+        boolean isAdvisor = context.advisors.computeIfAbsent(advisorTeacherId, id ->
+                userRepository.findById(id).map(user -> !Boolean.FALSE.equals(user.getIsAdvisor())).orElse(false));
+        if (!isAdvisor) {
+            return String.format(ErrorMessages.NOT_FOUND_ADVISOR_MESSAGE, advisorTeacherId);
+        }
+
+        List<String> repeated = new ArrayList<>();
+        if (context.usernames.contains(studentRequest.getUsername())) {
+            repeated.add(studentRequest.getUsername());
+        }
+        if (context.ssns.contains(studentRequest.getSsn())) {
+            repeated.add(studentRequest.getSsn());
+        }
+        if (context.phones.contains(studentRequest.getPhoneNumber())) {
+            repeated.add(studentRequest.getPhoneNumber());
+        }
+        if (context.emails.contains(studentRequest.getEmail())) {
+            repeated.add(studentRequest.getEmail());
+        }
+        if (!repeated.isEmpty()) {
+            return String.format(ErrorMessages.STUDENT_IMPORT_DUPLICATE_IN_FILE, String.join(", ", repeated));
+        }
+        context.usernames.add(studentRequest.getUsername());
+        context.ssns.add(studentRequest.getSsn());
+        context.phones.add(studentRequest.getPhoneNumber());
+        context.emails.add(studentRequest.getEmail());
+        return null;
+    }
+
+    private StudentRequest parseJsonRow(String line) throws IOException {
+        return objectMapper.readValue(line, StudentRequest.class);
+    }
+
+    private Map<String, Integer> readCsvHeader(String headerLine) {
+        if (headerLine == null) {
+            throw new BadRequestException(ErrorMessages.STUDENT_IMPORT_READ_FAILED);
+        }
+        List<String> columns = parseCsvLine(headerLine);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim(), i);
+        }
+        for (String column : CSV_COLUMNS) {
+            if (!header.containsKey(column)) {
+                throw new BadRequestException(String.format(ErrorMessages.STUDENT_IMPORT_MISSING_COLUMN, column));
+            }
+        }
+        return header;
+    }
+
+    private StudentRequest parseCsvRow(String line, Map<String, Integer> header) {
+        List<String> values = parseCsvLine(line);
+        StudentRequest studentRequest = new StudentRequest();
+        studentRequest.setUsername(value(values, header, "username"));
+        studentRequest.setName(value(values, header, "name"));
+        studentRequest.setSurname(value(values, header, "surname"));
+        studentRequest.setSsn(value(values, header, "ssn"));
+        studentRequest.setBirthPlace(value(values, header, "birthPlace"));
+        studentRequest.setPhoneNumber(value(values, header, "phoneNumber"));
+        studentRequest.setEmail(value(values, header, "email"));
+        studentRequest.setPassword(value(values, header, "password"));
+        studentRequest.setMotherName(value(values, header, "motherName"));
+        studentRequest.setFatherName(value(values, header, "fatherName"));
+
+        String birthDay = value(values, header, "birthDay");
+        studentRequest.setBirthDay(birthDay == null ? null : LocalDate.parse(birthDay));
+        String gender = value(values, header, "gender");
+        studentRequest.setGender(gender == null ? null : Gender.valueOf(gender.toUpperCase(Locale.ROOT)));
+        String advisorTeacherId = value(values, header, "advisorTeacherId");
+        studentRequest.setAdvisorTeacherId(advisorTeacherId == null ? null : Long.valueOf(advisorTeacherId));
+        return studentRequest;
+    }
+
+    private String value(List<String> values, Map<String, Integer> header, String column) {
+        String value = values.get(header.get(column));
+        return StringUtils.hasText(value) ? value : null;
+    }
+
+    //!!! tirnak icindeki virgul ve "" kacisi destekleniyor, satir icinde yeni satir desteklenmiyor
+    private List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static final class ImportRow {
+
+        private final int lineNumber;
+        private final StudentRequest request;
+
+        private ImportRow(int lineNumber, StudentRequest request) {
+            this.lineNumber = lineNumber;
+            this.request = request;
+        }
+    }
+
+    private static final class ImportContext {
+
+        private final UserRole studentRole;
+        private int totalRows;
+        private int importedRows;
+        private final List<StudentImportError> errors = new ArrayList<>();
+        private final Map<Long, Boolean> advisors = new HashMap<>();
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<String> ssns = new HashSet<>();
+        private final Set<String> phones = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+
+        private ImportContext(UserRole studentRole) {
+            this.studentRole = studentRole;
+        }
+
+        private void reject(int lineNumber, String username, String message) {
+            errors.add(new StudentImportError(lineNumber, username, message));
+        }
+    }
+}
@@ -11,8 +11,12 @@ import com.project.payload.request.user.StudentRequestWithoutPassword;
 import com.project.payload.response.business.ResponseMessage;
 import com.project.payload.response.user.StudentResponse;
 import com.project.repository.user.UserRepository;
+import com.project.security.service.UserDetailsCache;
 import com.project.service.business.LessonProgramService;
+import com.project.service.helper.LessonProgramTimetableCache;
 import com.project.service.helper.MethodHelper;
+import com.project.service.helper.StudentNumberAllocator;
+import com.project.service.helper.UserNameSearchIndex;
 import com.project.service.validator.DateTimeValidator;
 import com.project.service.validator.UniquePropertyValidator;
 import lombok.RequiredArgsConstructor;
@@ -31,11 +35,15 @@ public class StudentService {
     private final UserRepository userRepository;
     private final MethodHelper methodHelper;
     private final UniquePropertyValidator uniquePropertyValidator;
+    private final UserNameSearchIndex userNameSearchIndex;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final UserRoleService userRoleService;
     private final LessonProgramService lessonProgramService;
     private final DateTimeValidator dateTimeValidator;
+    private final UserDetailsCache userDetailsCache;
+    private final LessonProgramTimetableCache lessonProgramTimetableCache;
+    private final StudentNumberAllocator studentNumberAllocator;
 
     public ResponseMessage<StudentResponse> saveStudent(StudentRequest studentRequest) {
 
@@ -52,24 +60,16 @@ public class StudentService {
         student.setUserRole(userRoleService.getUserRole(RoleType.STUDENT));
         student.setActive(true);
         student.setIsAdvisor(Boolean.FALSE);
-        student.setStudentNumber(getLastNumber());
+        student.setStudentNumber(studentNumberAllocator.nextStudentNumber());
+        User savedStudent = uniquePropertyValidator.saveUnique(student);
+        userNameSearchIndex.index(savedStudent);
 
         return ResponseMessage.<StudentResponse>builder()
-                .object(userMapper.mapUserToStudentResponse(userRepository.save(student)))
+                .object(userMapper.mapUserToStudentResponse(savedStudent))
                 .message(SuccessMessages.STUDENT_SAVED)
                 .build();
     }
 
-    private int getLastNumber(){
-        //DB de hıc ogrencı yoksa  ogrencı numarası olarak 1000 gonderıyoruz
-        if( ! userRepository.findStudent(RoleType.STUDENT)){
-            //ilk ogrenci ise 1000 sayisini geri gonderiyoruz
-            return 1000;
-        }
-        // DB de ogrencı varsa son kullanılan numarayı 1 artırıp donduren method
-        return userRepository.getMaxStudentNumber() + 1 ;
-    }
-
     public ResponseEntity<String> updateStudent(StudentRequestWithoutPassword studentRequest,
                                                 HttpServletRequest request) {
 
@@ -89,7 +89,9 @@ public class StudentService {
         student.setSurname(studentRequest.getSurname());
         student.setSsn(student.getSsn());
 
-        userRepository.save(student);
+        uniquePropertyValidator.saveUnique(student);
+        userNameSearchIndex.index(student);
+        userDetailsCache.invalidate(userName);
         String message = SuccessMessages.USER_UPDATE;
 
         return ResponseEntity.ok(message);
@@ -119,10 +121,14 @@ public class StudentService {
         //user.setUserRole(userRoleService.getUserRole(RoleType.STUDENT));
         //user.setActive(true);
         //user.setStudentNumber(user.getStudentNumber());
+        String oldUsername = user.getUsername();
+        User savedUser = uniquePropertyValidator.saveUnique(user);
+        userNameSearchIndex.index(savedUser);
+        userDetailsCache.invalidate(oldUsername);
 
         return ResponseMessage.<StudentResponse>builder()
                 .message(SuccessMessages.STUDENT_UPDATE)
-                .object(userMapper.mapUserToStudentResponse(userRepository.save(user)))
+                .object(userMapper.mapUserToStudentResponse(savedUser))
                 .httpStatus(HttpStatus.OK)
                 .build();
     }
@@ -134,6 +140,7 @@ public class StudentService {
 
         student.setActive(status);
         userRepository.save(student);
+        userDetailsCache.invalidate(student.getUsername());
 
         return ResponseMessage.builder()
                 .message("Student is " + (status ? "active" : "passive"))
@@ -157,6 +164,7 @@ public class StudentService {
         student.setLessonsProgramList(studentCurrentLessonProgram);
 
         User savedStudent = userRepository.save(student);
+        lessonProgramTimetableCache.addLessonPrograms(savedStudent.getId(), lessonProgramSet);
 
         return ResponseMessage.<StudentResponse>builder()
                 .message(SuccessMessages.LESSON_PROGRAM_ADD_TO_STUDENT)
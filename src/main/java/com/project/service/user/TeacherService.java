@@ -9,6 +9,7 @@ import com.project.payload.mappers.UserMapper;
 import com.project.payload.messages.ErrorMessages;
 import com.project.payload.messages.SuccessMessages;
 import com.project.payload.request.business.ChooseLessonTeacherRequest;
+import com.project.payload.request.user.AdvisorReassignmentRequest;
 import com.project.payload.request.user.TeacherRequest;
 import com.project.payload.response.business.ResponseMessage;
 import com.project.payload.response.user.StudentResponse;
@@ -16,14 +17,19 @@ import com.project.payload.response.user.TeacherResponse;
 import com.project.payload.response.user.UserResponse;
 import com.project.repository.user.UserRepository;
 import com.project.repository.user.UserRoleRepository;
+import com.project.security.service.UserDetailsCache;
 import com.project.service.business.LessonProgramService;
+import com.project.service.helper.AfterCommitExecutor;
+import com.project.service.helper.LessonProgramTimetableCache;
 import com.project.service.helper.MethodHelper;
+import com.project.service.helper.UserNameSearchIndex;
 import com.project.service.validator.DateTimeValidator;
 import com.project.service.validator.UniquePropertyValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Set;
@@ -35,6 +41,7 @@ public class TeacherService {
 
     private final UserRoleRepository userRoleRepository;
     private final UniquePropertyValidator uniquePropertyValidator;
+    private final UserNameSearchIndex userNameSearchIndex;
     private final UserMapper userMapper;
     private final UserRoleService userRoleService;
     private final PasswordEncoder passwordEncoder;
@@ -43,6 +50,9 @@ public class TeacherService {
     private final ContactMessageRepository contactMessageRepository;
     private final LessonProgramService lessonProgramService;
     private final DateTimeValidator dateTimeValidator;
+    private final UserDetailsCache userDetailsCache;
+    private final LessonProgramTimetableCache lessonProgramTimetableCache;
+    private final AfterCommitExecutor afterCommitExecutor;
 
     public ResponseMessage<TeacherResponse> saveTeacher(TeacherRequest teacherRequest) {
 
@@ -62,7 +72,8 @@ public class TeacherService {
             teacher.setIsAdvisor(Boolean.TRUE);
         } else teacher.setIsAdvisor(Boolean.FALSE);
 
-        User savedTeacher = userRepository.save(teacher);
+        User savedTeacher = uniquePropertyValidator.saveUnique(teacher);
+        userNameSearchIndex.index(savedTeacher);
 
         return ResponseMessage.<TeacherResponse>builder()
                 .message(SuccessMessages.TEACHER_SAVED)
@@ -88,7 +99,11 @@ public class TeacherService {
         updatedTeacher.setLessonsProgramList(lessonPrograms);
         updatedTeacher.setUserRole(userRoleService.getUserRole(RoleType.TEACHER));
 
-        User savedTeacher = userRepository.save(updatedTeacher);
+        User savedTeacher = uniquePropertyValidator.saveUnique(updatedTeacher);
+        userNameSearchIndex.index(savedTeacher);
+        userDetailsCache.invalidate(user.getUsername());
+        //!!! ders programi listesi tamamen degisti
+        lessonProgramTimetableCache.evict(userId);
 
         return ResponseMessage.<TeacherResponse>builder()
                 .object(userMapper.mapUserToTeacherResponse(savedTeacher))
@@ -103,9 +118,9 @@ public class TeacherService {
         //!!! isAdvisor ??
         methodHelper.checkAdvisor(teacher);
 
-        return userRepository.findByAdvisorTeacherId(teacher.getId())
+        return userRepository.findStudentSummariesByAdvisorTeacherId(teacher.getId())
                 .stream()
-                .map(userMapper::mapUserToStudentResponse)
+                .map(userMapper::mapStudentSummaryToStudentResponse)
                 .collect(Collectors.toList());
     }
 
@@ -120,6 +135,7 @@ public class TeacherService {
 
         teacher.setIsAdvisor(Boolean.TRUE);
         userRepository.save(teacher);
+        userDetailsCache.invalidate(teacher.getUsername());
 
         return ResponseMessage.<UserResponse>builder()
                 .message(SuccessMessages.ADVISOR_TEACHER_SAVE)
@@ -128,6 +144,7 @@ public class TeacherService {
                 .build();
     }
 
+    @Transactional
     public ResponseMessage<UserResponse> deleteAdvisorTeacherById(Long id) {
 
         User teacher = methodHelper.isUserExist(id);
@@ -136,12 +153,10 @@ public class TeacherService {
 
         teacher.setIsAdvisor(Boolean.FALSE);
         userRepository.save(teacher);
+        afterCommitExecutor.execute(() -> userDetailsCache.invalidate(teacher.getUsername()));
 
         //!!! silinen rehber ogretmenin ogrencileri carsa bu ilsikiyi koparmamiz gerekiyor
-        List<User> allStudents = userRepository.findByAdvisorTeacherId(id);
-        if(!allStudents.isEmpty()){
-            allStudents.forEach(student -> student.setAdvisorTeacherId(null));
-        }
+        userRepository.reassignAdvisorTeacher(id, null);
 
         return ResponseMessage.<UserResponse>builder()
                 .message(SuccessMessages.ADVISOR_TEACHER_DELETE)
@@ -150,16 +165,50 @@ public class TeacherService {
                 .build();
     }
 
+    //!!! ogrencilerin tamami veya bir kismi baska bir rehber ogretmene (ya da hicbirine) tek UPDATE ile tasiniyor
+    @Transactional
+    public ResponseMessage<Integer> reassignAdvisorTeacher(AdvisorReassignmentRequest request) {
+
+        methodHelper.prefetchUsers(request.getFromAdvisorTeacherId(), request.getToAdvisorTeacherId());
+        User fromTeacher = methodHelper.isUserExist(request.getFromAdvisorTeacherId());
+        methodHelper.checkRole(fromTeacher, RoleType.TEACHER);
+
+        Long toAdvisorTeacherId = request.getToAdvisorTeacherId();
+        if(toAdvisorTeacherId != null){
+            User toTeacher = methodHelper.isUserExist(toAdvisorTeacherId);
+            methodHelper.checkRole(toTeacher, RoleType.TEACHER);
+            methodHelper.checkAdvisor(toTeacher);
+        }
+
+        int updated;
+        if(request.getStudentIds() == null || request.getStudentIds().isEmpty()){
+            updated = userRepository.reassignAdvisorTeacher(fromTeacher.getId(), toAdvisorTeacherId);
+        } else {
+            updated = userRepository.reassignAdvisorTeacherForStudents(
+                    fromTeacher.getId(), toAdvisorTeacherId, request.getStudentIds());
+        }
+
+        return ResponseMessage.<Integer>builder()
+                .message(SuccessMessages.ADVISOR_TEACHER_REASSIGNED)
+                .object(updated)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
     public List<UserResponse> getAllAdvisorTeacher() {
 
-        return userRepository.findAllByAdvisor(Boolean.TRUE)
+        return userRepository.findAdvisorTeacherSummaries()
                 .stream()
-                .map(userMapper::mapUserToUserResponse)
+                .map(userMapper::mapUserSummaryToUserResponse)
                 .collect(Collectors.toList());
     }
 
+    //!!! ogretmen satiri kilitleniyor, ayni ogretmene ayni anda yapilan atamalar ve ders programi olusturucu
+     // birbirinin cakisma kontrolunu gormeden kaydedemiyor
+    @Transactional
     public ResponseMessage<TeacherResponse> addLessonProgram(ChooseLessonTeacherRequest chooseLessonTeacherRequest) {
 
+        userRepository.lockByIdIn(List.of(chooseLessonTeacherRequest.getTeacherId()));
         // !!! ya yoksa kontrolu
         User teacher = methodHelper.isUserExist(chooseLessonTeacherRequest.getTeacherId());
 
@@ -177,6 +226,8 @@ public class TeacherService {
         //!!! Son olarak, öğretmenin ders programları güncellenir
         teacher.setLessonsProgramList(teachersLessonProgram);
         User updatedTeacher = userRepository.save(teacher);
+        afterCommitExecutor.execute(() ->
+                lessonProgramTimetableCache.addLessonPrograms(updatedTeacher.getId(), lessonPrograms));
 
         return ResponseMessage.<TeacherResponse>builder()
                 .message(SuccessMessages.LESSON_PROGRAM_ADD_TO_TEACHER)
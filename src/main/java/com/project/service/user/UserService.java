@@ -4,30 +4,49 @@ import com.project.entity.concretes.user.User;
 import com.project.entity.enums.RoleType;
 import com.project.exception.BadRequestException;
 import com.project.exception.ResourceNotFoundException;
+import com.project.exception.ServiceUnavailableException;
 import com.project.payload.mappers.UserMapper;
 import com.project.payload.messages.ErrorMessages;
 import com.project.payload.messages.SuccessMessages;
 import com.project.payload.request.user.UserRequest;
 import com.project.payload.request.user.UserRequestWithoutPassword;
 import com.project.payload.response.abstracts.BaseUserResponse;
+import com.project.payload.response.business.CursorPage;
 import com.project.payload.response.business.ResponseMessage;
 import com.project.payload.response.user.TeacherResponse;
 import com.project.payload.response.user.UserResponse;
+import com.project.repository.business.AttendanceRecordRepository;
+import com.project.repository.business.StudentInfoRepository;
+import com.project.repository.business.StudentInfoRepository.StudentInfoGradeView;
 import com.project.repository.user.UserRepository;
+import com.project.security.service.UserDetailsCache;
+import com.project.service.helper.AfterCommitExecutor;
+import com.project.service.helper.GradeStatisticsIndex;
+import com.project.service.helper.KeysetPaginationHelper;
+import com.project.service.helper.LessonProgramTimetableCache;
 import com.project.service.helper.MethodHelper;
 import com.project.service.helper.PageableHelper;
+import com.project.service.helper.StudentRankingIndex;
+import com.project.service.helper.StudentTranscriptCache;
+import com.project.service.helper.UserNameSearchIndex;
 import com.project.service.validator.UniquePropertyValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,11 +55,21 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UniquePropertyValidator uniquePropertyValidator;
+    private final UserNameSearchIndex userNameSearchIndex;
     private final UserMapper userMapper;
     private final UserRoleService userRoleService;
     private final PasswordEncoder passwordEncoder;
     private final PageableHelper pageableHelper;
+    private final KeysetPaginationHelper keysetPaginationHelper;
     private final MethodHelper methodHelper;
+    private final UserDetailsCache userDetailsCache;
+    private final LessonProgramTimetableCache lessonProgramTimetableCache;
+    private final StudentTranscriptCache studentTranscriptCache;
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final StudentInfoRepository studentInfoRepository;
+    private final GradeStatisticsIndex gradeStatisticsIndex;
+    private final StudentRankingIndex studentRankingIndex;
+    private final AfterCommitExecutor afterCommitExecutor;
 
     public ResponseMessage<UserResponse> saveUser(UserRequest userRequest, String userRole) {
 
@@ -68,7 +97,8 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         //!!! isAdvisor degerini False yapiyoruz
         user.setIsAdvisor(Boolean.FALSE);
-        User savedUser = userRepository.save(user);
+        User savedUser = uniquePropertyValidator.saveUnique(user);
+        userNameSearchIndex.index(savedUser);
 
         return ResponseMessage.<UserResponse>builder()
                 .message(SuccessMessages.USER_CREATED)
@@ -79,7 +109,13 @@ public class UserService {
     public Page<UserResponse> getUsersByPage(int page, int size, String sort, String type, String userRole) {
         Pageable pageable=  pageableHelper.getPageableWithProperties(page, size, sort, type);
 
-        return userRepository.findByUserByRole(userRole, pageable)
+        return userRepository.findUserSummariesByRole(userRole, pageable)
+                .map(userMapper::mapUserSummaryToUserResponse);
+    }
+
+    public CursorPage<UserResponse> getUsersByCursor(String cursor, int size, String sort, String type, String userRole) {
+        Specification<User> byRole = (root, query, cb) -> cb.equal(root.get("userRole").get("roleName"), userRole);
+        return keysetPaginationHelper.findPage(User.class, byRole, cursor, size, sort, type)
                 .map(userMapper::mapUserToUserResponse);
     }
 
@@ -105,6 +141,8 @@ public class UserService {
                 .build();
     }
 
+    //!!! yoklama, not ve kullanici silme tek transaction da; index ve cache ler commit sonrasi guncelleniyor
+    @Transactional
     public String deleteUserById(Long id, HttpServletRequest request) {
 
         //!!! silinecek olan user var mi ? kontrolu
@@ -129,7 +167,28 @@ public class UserService {
                throw new BadRequestException(ErrorMessages.NOT_PERMITTED_METHOD_MESSAGE);
            }
         }
+        List<StudentInfoGradeView> grades = studentInfoRepository.findGradesByUserId(id);
+        attendanceRecordRepository.deleteByStudentId(id);
+        studentInfoRepository.deleteByStudentId(id);
         userRepository.deleteById(id);
+        boolean teacher = user.getUserRole().getRoleType() == RoleType.TEACHER;
+        String username = user.getUsername();
+        afterCommitExecutor.execute(() -> {
+            //!!! silinen notlar istatistik ve siralama index lerinden de dusuluyor
+            for (StudentInfoGradeView grade : grades) {
+                gradeStatisticsIndex.remove(grade);
+                studentRankingIndex.remove(grade);
+            }
+            userNameSearchIndex.remove(id);
+            userDetailsCache.invalidate(username);
+            lessonProgramTimetableCache.evict(id);
+            //!!! ogretmen silinince verdigi notlar (cascade) bircok ogrencinin transkriptinden dusuyor
+            if(teacher){
+                studentTranscriptCache.evictAll();
+            } else {
+                studentTranscriptCache.evict(id);
+            }
+        });
         return SuccessMessages.USER_DELETE;
     }
 
@@ -145,7 +204,11 @@ public class UserService {
         //!!! password Hashlenecek
         updatedUser.setPassword(passwordEncoder.encode(userRequest.getPassword()));
         updatedUser.setUserRole(user.getUserRole());
-        User savedUser = userRepository.save(updatedUser);
+        User savedUser = uniquePropertyValidator.saveUnique(updatedUser);
+        userNameSearchIndex.index(savedUser);
+        userDetailsCache.invalidate(user.getUsername());
+        //!!! mapper ders programi listesini tasimiyor, kayit yeniden yuklenmeli
+        lessonProgramTimetableCache.evict(userId);
 
         return ResponseMessage.<BaseUserResponse>builder()
                 .message(SuccessMessages.USER_UPDATE_MESSAGE)
@@ -165,6 +228,7 @@ public class UserService {
         // unique kontrolu
         uniquePropertyValidator.checkUniqueProperties(user, userRequest);
         //!!! DTO --> POJO
+        String oldUsername = user.getUsername();
         user.setUsername(userRequest.getUsername());
         user.setBirthDay(userRequest.getBirthDay());
         user.setEmail(userRequest.getEmail());
@@ -175,7 +239,9 @@ public class UserService {
         user.setSurname(userRequest.getSurname());
         user.setSsn(userRequest.getSsn());
 
-       userRepository.save(user);
+       uniquePropertyValidator.saveUnique(user);
+       userNameSearchIndex.index(user);
+       userDetailsCache.invalidate(oldUsername);
 
        String message = SuccessMessages.USER_UPDATE;
        return ResponseEntity.ok(message);
@@ -189,6 +255,26 @@ public class UserService {
                 .collect(Collectors.toList()); // List<UserResponse>
     }
 
+    //!!! trigram index uzerinden benzerlik sirasina gore sayfali arama, DB ye sadece sayfadaki kullanicilar icin gidiliyor
+    public Page<UserResponse> searchUsers(String query, RoleType roleType, int page, int size) {
+        if(!userNameSearchIndex.isReady()){
+            throw new ServiceUnavailableException(ErrorMessages.USER_SEARCH_NOT_READY);
+        }
+        Page<Long> userIds = userNameSearchIndex.search(query, roleType, PageRequest.of(page, size));
+        Map<Long, User> users = userRepository.findAllById(userIds.getContent())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        //!!! baska node da silinmis ama index de henuz duran kullanicilar atlaniyor
+        List<UserResponse> content = userIds.getContent()
+                .stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(userMapper::mapUserToUserResponse)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, userIds.getPageable(), userIds.getTotalElements());
+    }
+
     //!!! Runner tarafi icin yazildi
     public long countAllAdmins(){
         return userRepository.countAdmin(RoleType.ADMIN);
@@ -3,11 +3,12 @@ package com.project.service.validator;
 import com.project.entity.concretes.business.LessonProgram;
 import com.project.exception.BadRequestException;
 import com.project.payload.messages.ErrorMessages;
+import com.project.service.helper.LessonProgramIntervalIndex;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalTime;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 public class DateTimeValidator {
@@ -23,84 +24,39 @@ public class DateTimeValidator {
     }
 
 
-    //!!! Talep edilem , yeni Lesson Programlar arasinda cakisma var mi kontrolu
+    //!!! Talep edilen yeni Lesson Programlar arasinda cakisma var mi kontrolu. Programlar gun bazli
+     // siralanip ayni gun icindeki komsu araliklar karsilastiriliyor
     private void checkDuplicateLessonPrograms(Set<LessonProgram> lessonPrograms){
-        Set<String> uniqueLessonProgramDays = new HashSet<>();
-        Set<LocalTime> existingLessonProgramStartTimes = new HashSet<>();
-        Set<LocalTime> existingLessonProgramStopTimes = new HashSet<>();
-
-        for(LessonProgram lessonProgram : lessonPrograms) {
-             String lessonProgramDay = lessonProgram.getDay().name();
-
-            // !!! Karsilastirilan LessonProgramlar Ayni Gunde ise
-            if(uniqueLessonProgramDays.contains(lessonProgramDay)){
-                //!!! Baslama saatine gore kontrol
-                for(LocalTime startTime: existingLessonProgramStartTimes){
-                    //!!! Baslama saatleri esit ise
-                    if(lessonProgram.getStartTime().equals(startTime)){
-                        throw new BadRequestException(ErrorMessages.LESSON_PROGRAM_ALREADY_EXIST);
-                    }
-                    // !!! mevcut ders programının başlangıç saati ile diğer bir ders programının başlangıç ve bitiş
-                     //  saatleri arasında çakışma olduğunda hata fırlatır.
-                    if(lessonProgram.getStartTime().isBefore(startTime) && lessonProgram.getStopTime().isAfter(startTime)){
-                        throw new BadRequestException(ErrorMessages.LESSON_PROGRAM_ALREADY_EXIST);
-                    }
-
-                }
-                //!!! Bitis saatine gore kontrol
-                for(LocalTime stopTime : existingLessonProgramStopTimes){
-                    if(lessonProgram.getStartTime().isBefore(stopTime) && lessonProgram.getStopTime().isAfter(stopTime)) {
-                        throw new BadRequestException(ErrorMessages.LESSON_PROGRAM_ALREADY_EXIST);
-                    }
-                }
-            }
-            //!!! yukardaki Baslangic ve Biris saatine gore kontrollerden gecen LessonProgram, metodun en basinda olusturulan
-             // unique degiskenlere ataniyor
-            uniqueLessonProgramDays.add(lessonProgramDay);
-            existingLessonProgramStartTimes.add(lessonProgram.getStartTime());
-            existingLessonProgramStopTimes.add(lessonProgram.getStopTime());
+        if(LessonProgramIntervalIndex.of(lessonPrograms).hasInternalOverlap()){
+            throw new BadRequestException(ErrorMessages.LESSON_PROGRAM_ALREADY_EXIST);
         }
     }
 
-    //!!!  mevcut ders programları ile talep edilen ders programları arasında karşılaştırma
+    //!!!  mevcut ders programları ile talep edilen ders programları arasında karşılaştırma. Mevcut programlar
+     // bir kere index leniyor, talep edilen her program icin O(log n) sorgu yapiliyor
     private void checkDuplicateLessonPrograms(Set<LessonProgram> existLessonProgram,
                                               Set<LessonProgram> lessonProgramRequest) {
-        for(LessonProgram requestLessonProgram : lessonProgramRequest ){
-
-            String requestLessonProgramDay = requestLessonProgram.getDay().name();
-            LocalTime requestStart = requestLessonProgram.getStartTime();
-            LocalTime requestStop = requestLessonProgram.getStopTime();
-
-            if(existLessonProgram.stream()
-                    .anyMatch(lessonProgram ->
-                                  lessonProgram.getDay().name().equals(requestLessonProgramDay)
-                    && (lessonProgram.getStartTime().equals(requestStart)
-                    || (lessonProgram.getStartTime().isBefore(requestStart) && lessonProgram.getStopTime().isAfter(requestStart))
-                    || (lessonProgram.getStartTime().isBefore(requestStop) && lessonProgram.getStopTime().isAfter(requestStop))
-                    || (lessonProgram.getStartTime().isAfter(requestStart) && lessonProgram.getStopTime().isBefore(requestStop))))
-
-            ) {
-                throw new BadRequestException(ErrorMessages.LESSON_PROGRAM_ALREADY_EXIST);
+        LessonProgramIntervalIndex existingIndex = LessonProgramIntervalIndex.of(existLessonProgram);
+        for(LessonProgram requestLessonProgram : lessonProgramRequest){
+            if(existingIndex.overlapsAny(requestLessonProgram)){
+                //!!! kullaniciya hangi mevcut programlarla cakistigini donuyoruz
+                String conflictingIds = existingIndex.findOverlapping(requestLessonProgram).stream()
+                        .map(lessonProgram -> String.valueOf(lessonProgram.getId()))
+                        .collect(Collectors.joining(", "));
+                throw new BadRequestException(String.format(ErrorMessages.LESSON_PROGRAM_CONFLICTS_WITH, conflictingIds));
             }
         }
     }
 
     public void checkLessonPrograms(Set<LessonProgram> existLessonProgram,
                                     Set<LessonProgram> lessonProgramRequest) {
-        // !!! mevcut ders programi bos ise ve requestten gelen ders programi doluysa
-        if(existLessonProgram.isEmpty() && lessonProgramRequest.size()>1){
-            checkDuplicateLessonPrograms(lessonProgramRequest);
-        } else {
-            // !!! talep edilen icinde cakisma var mi
+        // !!! talep edilen icinde cakisma var mi
+        if(lessonProgramRequest.size()>1){
             checkDuplicateLessonPrograms(lessonProgramRequest);
-
-            // !!! talep edilen ile mevcutta cakisma var mi
+        }
+        // !!! talep edilen ile mevcutta cakisma var mi
+        if(!existLessonProgram.isEmpty()){
             checkDuplicateLessonPrograms(existLessonProgram, lessonProgramRequest);
         }
     }
-
-
-
-
-
 }
@@ -0,0 +1,115 @@
+package com.project.service.validator;
+
+import com.project.entity.concretes.user.User;
+import com.project.repository.user.UserRepository;
+import com.project.service.helper.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+//!!! username, ssn, phoneNumber ve email degerlerinin bellekteki Bloom filter i. Filter "yok" diyorsa deger
+ // kesinlikle DB de yoktur ve unique kontrolu icin DB ye gitmeye gerek kalmaz. Silinen kullanicilar filter dan
+ // cikarilamadigi icin "olabilir" cevabi her zaman DB den dogrulaniyor.
+@Component
+@RequiredArgsConstructor
+public class UniquePropertyBloomFilter {
+
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private static final String USERNAME_PREFIX = "u:";
+    private static final String SSN_PREFIX = "s:";
+    private static final String PHONE_PREFIX = "p:";
+    private static final String EMAIL_PREFIX = "e:";
+
+    private final UserRepository userRepository;
+
+    @Value("${backendapi.app.uniquePropertyExpectedUsers}")
+    private long expectedUsers;
+
+    private volatile BloomFilter bloomFilter;
+    //!!! yeniden olusturma sirasinda yapilan kayitlar yeni filter a da yaziliyor
+    private BloomFilter rebuilding;
+    //!!! register, filter degisiminden once eski filter i okuyup degisimden sonra rebuilding i null gorurse kayit
+     // kaybolur. Ikisi de bu kilitle yapiliyor; kilit DB okunurken tutulmuyor
+    private final Object filterLock = new Object();
+    //!!! filter yuklenene kadar tum kontroller DB ye gidiyor
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    //!!! baska node larda yapilan kayitlar periyodik yeniden olusturma ile filter a ekleniyor
+    @Scheduled(fixedDelayString = "${backendapi.app.uniquePropertyRebuildMs}",
+            initialDelayString = "${backendapi.app.uniquePropertyRebuildMs}")
+    public synchronized void rebuild() {
+        long userCount = userRepository.count();
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedUsers, userCount * 2) * 4, FALSE_POSITIVE_PROBABILITY);
+        synchronized (filterLock) {
+            rebuilding = rebuilt;
+        }
+        List<UserRepository.UniquePropertyView> properties = userRepository.findAllUniqueProperties();
+        for (UserRepository.UniquePropertyView property : properties) {
+            put(rebuilt, property.getUsername(), property.getSsn(), property.getPhoneNumber(), property.getEmail());
+        }
+        synchronized (filterLock) {
+            bloomFilter = rebuilt;
+            rebuilding = null;
+        }
+        ready = true;
+    }
+
+    public void register(User user) {
+        register(user.getUsername(), user.getSsn(), user.getPhoneNumber(), user.getEmail());
+    }
+
+    public void register(String username, String ssn, String phone, String email) {
+        synchronized (filterLock) {
+            if (bloomFilter != null) {
+                put(bloomFilter, username, ssn, phone, email);
+            }
+            if (rebuilding != null) {
+                put(rebuilding, username, ssn, phone, email);
+            }
+        }
+    }
+
+    public boolean mightContainUsername(String username) {
+        return mightContain(USERNAME_PREFIX, username);
+    }
+
+    public boolean mightContainSsn(String ssn) {
+        return mightContain(SSN_PREFIX, ssn);
+    }
+
+    public boolean mightContainPhone(String phone) {
+        return mightContain(PHONE_PREFIX, phone);
+    }
+
+    public boolean mightContainEmail(String email) {
+        return mightContain(EMAIL_PREFIX, email);
+    }
+
+    private boolean mightContain(String prefix, String value) {
+        return !ready || bloomFilter.mightContain(prefix + value);
+    }
+
+    private void put(BloomFilter target, String username, String ssn, String phone, String email) {
+        putIfPresent(target, USERNAME_PREFIX, username);
+        putIfPresent(target, SSN_PREFIX, ssn);
+        putIfPresent(target, PHONE_PREFIX, phone);
+        putIfPresent(target, EMAIL_PREFIX, email);
+    }
+
+    private void putIfPresent(BloomFilter target, String prefix, String value) {
+        if (value != null) {
+            target.put(prefix + value);
+        }
+    }
+}
@@ -8,13 +8,24 @@ import com.project.payload.request.abstracts.BaseUserRequest;
 import com.project.payload.request.user.UserRequest;
 import com.project.repository.user.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class UniquePropertyValidator {
 
     private final UserRepository userRepository;
+    private final UniquePropertyBloomFilter uniquePropertyBloomFilter;
 
     public void checkUniqueProperties(User user, AbstractUserRequest abstractUserRequest){
         String updatedUsername="";
@@ -50,19 +61,138 @@ public class UniquePropertyValidator {
 
     public void checkDuplicate(String username, String ssn, String phone, String email){
 
-        if(userRepository.existsByUsername(username)){
-            throw new ConflictException(String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_USERNAME, username));
+        //!!! Bloom filter da olmayan degerler kesinlikle yeni, bunlar icin DB ye gitmiyoruz
+        String usernameToCheck = candidate(username, uniquePropertyBloomFilter::mightContainUsername);
+        String ssnToCheck = candidate(ssn, uniquePropertyBloomFilter::mightContainSsn);
+        String phoneToCheck = candidate(phone, uniquePropertyBloomFilter::mightContainPhone);
+        String emailToCheck = candidate(email, uniquePropertyBloomFilter::mightContainEmail);
+
+        if(usernameToCheck == null && ssnToCheck == null && phoneToCheck == null && emailToCheck == null){
+            return;
+        }
+
+        //!!! tek sorgu ile cakisan tum alanlar bulunup hepsi birlikte raporlaniyor
+        List<UserRepository.UniquePropertyView> conflicts =
+                userRepository.findUniquePropertyConflicts(usernameToCheck, ssnToCheck, phoneToCheck, emailToCheck);
+        if(conflicts.isEmpty()){
+            return;
+        }
+
+        String message = conflictMessage(username, ssn, phone, email, new ExistingProperties(conflicts));
+        if(message != null){
+            throw new ConflictException(message);
+        }
+    }
+
+    //!!! toplu kayit icin: tum isteklerin unique alanlari tek sorguda kontrol ediliyor. Donen listede her istek
+     // icin cakisma mesaji (cakisma yoksa null) ayni sirada yer aliyor.
+    public List<String> findDuplicates(List<? extends AbstractUserRequest> requests){
+
+        List<String> usernames = new ArrayList<>();
+        List<String> ssns = new ArrayList<>();
+        List<String> phones = new ArrayList<>();
+        List<String> emails = new ArrayList<>();
+        for (AbstractUserRequest request : requests) {
+            addIfPresent(usernames, candidate(request.getUsername(), uniquePropertyBloomFilter::mightContainUsername));
+            addIfPresent(ssns, candidate(request.getSsn(), uniquePropertyBloomFilter::mightContainSsn));
+            addIfPresent(phones, candidate(request.getPhoneNumber(), uniquePropertyBloomFilter::mightContainPhone));
+            addIfPresent(emails, candidate(request.getEmail(), uniquePropertyBloomFilter::mightContainEmail));
+        }
+
+        ExistingProperties existing = new ExistingProperties(List.of());
+        if(!usernames.isEmpty() || !ssns.isEmpty() || !phones.isEmpty() || !emails.isEmpty()){
+            existing = new ExistingProperties(userRepository.findUniquePropertyConflictsIn(
+                    nullIfEmpty(usernames), nullIfEmpty(ssns), nullIfEmpty(phones), nullIfEmpty(emails)));
+        }
+
+        List<String> messages = new ArrayList<>(requests.size());
+        for (AbstractUserRequest request : requests) {
+            messages.add(conflictMessage(request.getUsername(), request.getSsn(),
+                    request.getPhoneNumber(), request.getEmail(), existing));
+        }
+        return messages;
+    }
+
+    private String conflictMessage(String username, String ssn, String phone, String email,
+                                   ExistingProperties existing){
+        List<String> messages = new ArrayList<>();
+        if(StringUtils.hasText(username) && existing.usernames.contains(username)){
+            messages.add(String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_USERNAME, username));
         }
-        if(userRepository.existsBySsn(ssn)){
-            throw new ConflictException(String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_SSN, ssn));
+        if(StringUtils.hasText(ssn) && existing.ssns.contains(ssn)){
+            messages.add(String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_SSN, ssn));
         }
-        if(userRepository.existsByPhoneNumber(phone)){
-            throw new ConflictException(String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_PHONE, phone));
+        if(StringUtils.hasText(phone) && existing.phones.contains(phone)){
+            messages.add(String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_PHONE, phone));
         }
-        if(userRepository.existsByEmail(email)){
-            throw new ConflictException(String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_EMAIL, email));
+        if(StringUtils.hasText(email) && existing.emails.contains(email)){
+            messages.add(String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_EMAIL, email));
         }
+        return messages.isEmpty() ? null : String.join(", ", messages);
+    }
 
+    private void addIfPresent(List<String> values, String value){
+        if(value != null){
+            values.add(value);
+        }
+    }
+
+    //!!! bos bir liste IN () olarak gonderilemedigi icin hicbir satirla eslesmeyen null gonderiliyor
+    private List<String> nullIfEmpty(List<String> values){
+        return values.isEmpty() ? Collections.singletonList(null) : values;
+    }
+
+    //!!! kaydedilen kullanicinin unique alanlari Bloom filter a ekleniyor
+    public void registerUniqueProperties(User user){
+        uniquePropertyBloomFilter.register(user);
+    }
+
+    //!!! Bloom filter baska node larda eklenen kullanicilari bir sonraki yeniden olusturmaya kadar bilmiyor.
+     // Bu arada ayni degerle yapilan kayit unique constraint e takilirsa 500 yerine cakisan alanlar 409 ile donuyor
+    public User saveUnique(User user){
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            //!!! guncellemede kullanicinin kendi satiri cakisma sayilmiyor
+            List<UserRepository.UniquePropertyView> conflicts = userRepository.findUniquePropertyConflicts(
+                    user.getUsername(), user.getSsn(), user.getPhoneNumber(), user.getEmail()).stream()
+                    .filter(conflict -> !conflict.getId().equals(user.getId()))
+                    .collect(Collectors.toList());
+            String message = conflictMessage(user.getUsername(), user.getSsn(), user.getPhoneNumber(),
+                    user.getEmail(), new ExistingProperties(conflicts));
+            if(message == null){
+                throw e;
+            }
+            throw new ConflictException(message);
+        }
+        registerUniqueProperties(savedUser);
+        return savedUser;
+    }
+
+    private String candidate(String value, Predicate<String> mightContain){
+        //!!! checkUniqueProperties degismeyen alanlar icin bos String gonderiyor, bunlar kontrol edilmiyor
+        if(!StringUtils.hasText(value)){
+            return null;
+        }
+        return mightContain.test(value) ? value : null;
+    }
+
+    private static final class ExistingProperties {
+
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<String> ssns = new HashSet<>();
+        private final Set<String> phones = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+
+        private ExistingProperties(List<UserRepository.UniquePropertyView> properties) {
+            for (UserRepository.UniquePropertyView property : properties) {
+                usernames.add(property.getUsername());
+                ssns.add(property.getSsn());
+                phones.add(property.getPhoneNumber());
+                emails.add(property.getEmail());
+            }
+        }
     }
 
 }
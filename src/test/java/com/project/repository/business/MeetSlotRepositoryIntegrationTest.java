@@ -0,0 +1,140 @@
+package com.project.repository.business;
+
+import com.project.entity.concretes.business.Meet;
+import com.project.entity.concretes.user.User;
+import com.project.repository.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Transactional
+class MeetSlotRepositoryIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.of(2990, 5, 6);
+
+    @Autowired
+    private MeetSlotRepository meetSlotRepository;
+
+    @Autowired
+    private MeetRepository meetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User teacher;
+    private User first;
+    private User second;
+
+    @BeforeEach
+    void setUp() {
+        teacher = saveUser();
+        first = saveUser();
+        second = saveUser();
+    }
+
+    //!!! sadece slotu kesisen katilimci donuluyor, digerlerinin slotu ayriliyor
+    @Test
+    void reserveReportsOnlyConflictingUsers() {
+        Long meetId = saveMeet(teacher, first, 10, 0, 11, 0);
+        Long otherMeetId = saveMeet(null, second, 10, 30, 11, 30);
+
+        assertEquals(List.of(), reserve(meetId, List.of(teacher.getId(), first.getId()), 10, 0, 11, 0));
+        assertEquals(List.of(first.getId()),
+                reserve(otherMeetId, List.of(first.getId(), second.getId()), 10, 30, 11, 30));
+        assertEquals(List.of(second.getId()), userIdsOf(otherMeetId));
+    }
+
+    //!!! '[)' araligi: 11:00 de biten meet ile 11:00 de baslayan meet cakismiyor
+    @Test
+    void backToBackMeetsDoNotConflict() {
+        Long meetId = saveMeet(teacher, first, 10, 0, 11, 0);
+        Long nextMeetId = saveMeet(teacher, first, 11, 0, 12, 0);
+
+        assertEquals(List.of(), reserve(meetId, List.of(teacher.getId(), first.getId()), 10, 0, 11, 0));
+        assertEquals(List.of(), reserve(nextMeetId, List.of(teacher.getId(), first.getId()), 11, 0, 12, 0));
+    }
+
+    //!!! meet guncellenirken eski slotlar birakiliyor, yeni saat eski saat ile cakissa da ayrilabiliyor
+    @Test
+    void updateReservesAgainAfterDeleteByMeetId() {
+        Long meetId = saveMeet(teacher, first, 10, 0, 11, 0);
+        Long otherMeetId = saveMeet(null, first, 10, 0, 10, 30);
+        assertEquals(List.of(), reserve(meetId, List.of(teacher.getId(), first.getId()), 10, 0, 11, 0));
+
+        meetSlotRepository.deleteByMeetId(meetId);
+        assertEquals(List.of(), reserve(meetId, List.of(teacher.getId(), first.getId()), 10, 30, 11, 30));
+
+        assertEquals(List.of(), reserve(otherMeetId, List.of(first.getId()), 10, 0, 10, 30));
+        assertEquals(List.of(first.getId()), reserve(otherMeetId, List.of(first.getId()), 11, 0, 11, 30));
+    }
+
+    //!!! tablo yokken mevcut meet ler aktariliyor, eskiden kalan cakisan slot atlaniyor. DDL PostgreSQL de
+     // transaction a dahil oldugu icin test sonunda tablo geri geliyor
+    @Test
+    void createTableBackfillsExistingMeetsAndSkipsOverlaps() {
+        Long meetId = saveMeet(teacher, first, 10, 0, 11, 0);
+        Long overlappingMeetId = saveMeet(second, first, 10, 30, 11, 30);
+        entityManager.flush();
+        jdbcTemplate.execute("DROP TABLE meet_slot");
+
+        meetSlotRepository.createTable();
+
+        assertEquals(List.of(teacher.getId(), first.getId()), userIdsOf(meetId));
+        assertEquals(List.of(second.getId()), userIdsOf(overlappingMeetId));
+    }
+
+    private List<Long> reserve(Long meetId, List<Long> userIds, int startHour, int startMinute, int stopHour,
+                               int stopMinute) {
+        return meetSlotRepository.reserve(meetId, userIds,
+                LocalDateTime.of(DATE, LocalTime.of(startHour, startMinute)),
+                LocalDateTime.of(DATE, LocalTime.of(stopHour, stopMinute)));
+    }
+
+    private List<Long> userIdsOf(Long meetId) {
+        return jdbcTemplate.queryForList("SELECT user_id FROM meet_slot WHERE meet_id = ? ORDER BY user_id",
+                Long.class, meetId);
+    }
+
+    private Long saveMeet(User advisoryTeacher, User student, int startHour, int startMinute, int stopHour,
+                          int stopMinute) {
+        Meet meet = meetRepository.save(Meet.builder()
+                .description("Slot test")
+                .date(DATE)
+                .startTime(LocalTime.of(startHour, startMinute))
+                .stopTime(LocalTime.of(stopHour, stopMinute))
+                .advisoryTeacher(advisoryTeacher)
+                .studentList(List.of(student))
+                .build());
+        //!!! meet_slot satirlari JDBC ile yaziliyor, FK icin meet ve kullanicilar DB de olmali
+        entityManager.flush();
+        return meet.getId();
+    }
+
+    private User saveUser() {
+        String key = UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setUsername("slot" + key);
+        user.setName("Slot");
+        user.setSurname(key);
+        return userRepository.save(user);
+    }
+}
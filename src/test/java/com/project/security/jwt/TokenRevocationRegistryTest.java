@@ -0,0 +1,79 @@
+package com.project.security.jwt;
+
+import com.project.repository.user.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationRegistryTest {
+
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+    private final TokenRevocationRegistry tokenRevocationRegistry = new TokenRevocationRegistry(revokedTokenRepository);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenRevocationRegistry, "expectedTokens", 1000L);
+        ReflectionTestUtils.setField(tokenRevocationRegistry, "syncWindowMs", 180_000L);
+        //!!! DB de olmayan token icin filter "olabilir" derse DB ye gidiliyor; testler filter in kendisine bakiyor
+        when(revokedTokenRepository.existsByTokenId(any())).thenReturn(true);
+    }
+
+    @Test
+    void syncRereadsWindowSoLateCommitsAreNotSkipped() {
+        when(revokedTokenRepository.findAllTokenIds()).thenReturn(List.of("a"));
+        tokenRevocationRegistry.rebuild();
+
+        //!!! daha kucuk id li ama gec commit edilen kayit bir sonraki pencerede geliyor
+        when(revokedTokenRepository.findTokenIdsCreatedWithin(180L)).thenReturn(List.of("late"));
+        tokenRevocationRegistry.syncFromDatabase();
+
+        assertTrue(tokenRevocationRegistry.isRevoked("late"));
+        verify(revokedTokenRepository).findTokenIdsCreatedWithin(180L);
+    }
+
+    @Test
+    void syncFallsBackToRebuildAfterLongGap() {
+        when(revokedTokenRepository.findAllTokenIds()).thenReturn(List.of());
+        tokenRevocationRegistry.rebuild();
+        ReflectionTestUtils.setField(tokenRevocationRegistry, "lastSyncMs", 0L);
+
+        when(revokedTokenRepository.findAllTokenIds()).thenReturn(List.of("missed"));
+        tokenRevocationRegistry.syncFromDatabase();
+
+        assertTrue(tokenRevocationRegistry.isRevoked("missed"));
+    }
+
+    @Test
+    void revokeDuringRebuildReachesNewFilter() {
+        when(revokedTokenRepository.findAllTokenIds()).thenReturn(List.of());
+        tokenRevocationRegistry.rebuild();
+
+        when(revokedTokenRepository.findAllTokenIds()).thenAnswer(invocation -> {
+            tokenRevocationRegistry.revoke("during", new Date(System.currentTimeMillis() + 60_000));
+            return List.of();
+        });
+        tokenRevocationRegistry.rebuild();
+
+        assertTrue(tokenRevocationRegistry.isRevoked("during"));
+        verify(revokedTokenRepository).insertIfAbsent(eq("during"), any());
+    }
+
+    @Test
+    void unknownTokenIsNotCheckedInDatabase() {
+        when(revokedTokenRepository.findAllTokenIds()).thenReturn(List.of("a"));
+        tokenRevocationRegistry.rebuild();
+
+        assertFalse(tokenRevocationRegistry.isRevoked("never-revoked"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.project.security.service;
+
+import com.project.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BoundedPasswordEncoderTest {
+
+    private final PasswordEncoder delegate = mock(PasswordEncoder.class);
+    private final CountDownLatch running = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final BoundedPasswordEncoder passwordEncoder = new BoundedPasswordEncoder(delegate, 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    void encodeAllKeepsOrder() {
+        when(delegate.encode(any())).thenAnswer(invocation -> "hash-" + invocation.getArgument(0));
+
+        assertEquals(List.of("hash-a", "hash-b", "hash-c"), passwordEncoder.encodeAll(List.of("a", "b", "c")));
+    }
+
+    //!!! tek thread ve tek kuyruk yeri dolu iken toplu islem sifreleri cagiran thread de hashlemiyor
+    @Test
+    void encodeAllFailsWithServiceUnavailableWhenQueueIsFull() throws Exception {
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await();
+            return "hash-" + invocation.getArgument(0);
+        });
+        Thread busy = new Thread(() -> passwordEncoder.encode("busy"));
+        Thread queued = new Thread(() -> passwordEncoder.encode("queued"));
+        busy.start();
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        queued.start();
+        while (passwordEncoder.getStats().getQueueDepth() == 0) {
+            Thread.sleep(1);
+        }
+
+        assertThrows(ServiceUnavailableException.class, () -> passwordEncoder.encodeAll(List.of("a", "b")));
+
+        verify(delegate, never()).encode("a");
+        verify(delegate, never()).encode("b");
+        assertEquals(1, passwordEncoder.getStats().getRejected());
+        release.countDown();
+        busy.join();
+        queued.join();
+    }
+}
@@ -0,0 +1,103 @@
+package com.project.security.throttle;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CachedBodyHttpServletRequestTest {
+
+    //!!! async okuyan controller lar icin: veri hemen veriliyor, sonra okuma bitiyor
+    @Test
+    void readListenerReceivesCachedBody() throws Exception {
+        ServletInputStream inputStream = cachedRequest("{\"username\":\"admin\"}").getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+
+        inputStream.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add("data");
+                byte[] buffer = new byte[4];
+                while (inputStream.isReady() && !inputStream.isFinished()) {
+                    read.write(buffer, 0, inputStream.read(buffer));
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertEquals(List.of("data", "done"), events);
+        assertEquals("{\"username\":\"admin\"}", read.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void emptyBodyOnlyCompletes() throws Exception {
+        List<String> events = new ArrayList<>();
+
+        cachedRequest("").getInputStream().setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() {
+                events.add("data");
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertEquals(List.of("done"), events);
+    }
+
+    @Test
+    void listenerFailureIsReportedToOnError() throws Exception {
+        List<String> events = new ArrayList<>();
+
+        cachedRequest("body").getInputStream().setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                throw new IOException("failed");
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error: " + t.getMessage());
+            }
+        });
+
+        assertEquals(List.of("error: failed"), events);
+    }
+
+    private static CachedBodyHttpServletRequest cachedRequest(String body) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return new CachedBodyHttpServletRequest(request, 1024);
+    }
+}
@@ -0,0 +1,75 @@
+package com.project.security.throttle;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RequestThrottleFilterTest {
+
+    private final RequestThrottleFilter filter = new RequestThrottleFilter(100, 2, 100, 60_000);
+
+    @Test
+    void chunkedLoginIsThrottledByUsername() throws Exception {
+        assertEquals(200, login(chunked("{\"username\":\"admin\",\"password\":\"x\"}"), new MockFilterChain()));
+        assertEquals(200, login(chunked("{\"username\":\"admin\",\"password\":\"y\"}"), new MockFilterChain()));
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(chunked("{\"username\":\"admin\",\"password\":\"z\"}"), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertNotNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void oversizedLoginBodyIsRejectedBeforeTheController() throws Exception {
+        String padding = "x".repeat(9000);
+        MockFilterChain chain = new MockFilterChain();
+
+        assertEquals(413, login(chunked("{\"pad\":\"" + padding + "\",\"username\":\"admin\"}"), chain));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void bodyIsStillReadableDownstream() throws Exception {
+        String json = "{\"username\":\"teacher\",\"password\":\"x\"}";
+        MockFilterChain chain = new MockFilterChain();
+
+        login(chunked(json), chain);
+
+        assertEquals(json, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    private int login(MockHttpServletRequest request, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response.getStatus();
+    }
+
+    //!!! Transfer-Encoding: chunked -> Content-Length bilinmiyor
+    private static MockHttpServletRequest chunked(String json) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+        };
+        request.setServletPath("/auth/login");
+        request.setContent(json.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,182 @@
+package com.project.service.business;
+
+import com.project.entity.concretes.business.AttendanceRecord;
+import com.project.entity.concretes.business.EducationTerm;
+import com.project.entity.concretes.business.Lesson;
+import com.project.entity.concretes.business.LessonProgram;
+import com.project.entity.concretes.user.User;
+import com.project.entity.enums.Day;
+import com.project.entity.enums.RoleType;
+import com.project.exception.BadRequestException;
+import com.project.payload.request.business.RollCallRequest;
+import com.project.payload.response.business.AttendanceSummaryResponse;
+import com.project.repository.business.AttendanceRecordRepository;
+import com.project.repository.business.LessonProgramRepository;
+import com.project.repository.user.UserRepository;
+import com.project.service.helper.MethodHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttendanceServiceTest {
+
+    private static final long PROGRAM_ID = 5L;
+    private static final long TEACHER_ID = 1L;
+
+    private final AttendanceRecordRepository attendanceRecordRepository = mock(AttendanceRecordRepository.class);
+    private final LessonProgramRepository lessonProgramRepository = mock(LessonProgramRepository.class);
+    private final LessonProgramService lessonProgramService = mock(LessonProgramService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final MethodHelper methodHelper = mock(MethodHelper.class);
+    private final AttendanceService attendanceService = new AttendanceService(attendanceRecordRepository,
+            lessonProgramRepository, lessonProgramService, userRepository, methodHelper);
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private LessonProgram lessonProgram;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(attendanceService, "absenceLimit", 3);
+        ReflectionTestUtils.setField(attendanceService, "streakLimit", 2);
+
+        //!!! donem pazartesi basliyor, program carsamba: ilk oturum 2024-09-04
+        lessonProgram = LessonProgram.builder()
+                .id(PROGRAM_ID)
+                .day(Day.WEDNESDAY)
+                .lessons(Set.of(Lesson.builder().lessonId(7L).build()))
+                .educationTerm(EducationTerm.builder()
+                        .id(3L)
+                        .startDate(LocalDate.of(2024, 9, 2))
+                        .endDate(LocalDate.of(2025, 1, 17))
+                        .build())
+                .build();
+        request.setAttribute("username", "teacher");
+        when(methodHelper.isUserExistByUsername("teacher")).thenReturn(User.builder().id(TEACHER_ID).build());
+        when(lessonProgramRepository.findByIdForUpdate(PROGRAM_ID)).thenReturn(Optional.of(lessonProgram));
+        when(lessonProgramService.isLessonProgramExistById(PROGRAM_ID)).thenReturn(lessonProgram);
+        when(lessonProgramRepository.findUserIdsByLessonProgramIdAndRole(PROGRAM_ID, RoleType.TEACHER))
+                .thenReturn(List.of(TEACHER_ID));
+        when(lessonProgramRepository.findUserIdsByLessonProgramIdAndRole(PROGRAM_ID, RoleType.STUDENT))
+                .thenReturn(List.of(10L, 11L));
+        when(userRepository.getReferenceById(anyLong()))
+                .thenAnswer(invocation -> User.builder().id(invocation.getArgument(0)).build());
+    }
+
+    @Test
+    void sessionIndexIsWeeksSinceFirstProgramDay() {
+        when(attendanceRecordRepository.findByLessonProgramId(PROGRAM_ID)).thenReturn(List.of());
+
+        List<AttendanceSummaryResponse> summaries = rollCall(LocalDate.of(2024, 9, 18), List.of(10L));
+
+        AttendanceSummaryResponse absent = summaries.get(0);
+        assertEquals(10L, absent.getStudentId());
+        assertEquals(1, absent.getRecordedSessions());
+        assertEquals(List.of(LocalDate.of(2024, 9, 18)), absent.getAbsentDates());
+        assertEquals(0, summaries.get(1).getAbsences());
+        verify(attendanceRecordRepository).deriveAbsentee(List.of(10L, 11L), List.of(7L));
+    }
+
+    @Test
+    void termStartingOnProgramDayHasSessionZeroOnThatDay() {
+        lessonProgram.getEducationTerm().setStartDate(LocalDate.of(2024, 9, 4));
+        AttendanceRecord record = record(10L, bits(), bits());
+        when(attendanceRecordRepository.findByLessonProgramId(PROGRAM_ID)).thenReturn(List.of(record));
+
+        rollCall(LocalDate.of(2024, 9, 4), List.of(10L));
+
+        assertEquals(bits(0), BitSet.valueOf(record.getAbsentSessions()));
+    }
+
+    @Test
+    void rollCallOutsideProgramDayOrTermIsRejected() {
+        assertThrows(BadRequestException.class, () -> rollCall(LocalDate.of(2024, 9, 19), List.of()));
+        assertThrows(BadRequestException.class, () -> rollCall(LocalDate.of(2024, 8, 28), List.of()));
+        assertThrows(BadRequestException.class, () -> rollCall(LocalDate.of(2025, 1, 22), List.of()));
+    }
+
+    @Test
+    void repeatedRollCallOverwritesTheSessionBit() {
+        AttendanceRecord record = record(10L, bits(0, 1), bits(1));
+        when(attendanceRecordRepository.findByLessonProgramId(PROGRAM_ID)).thenReturn(List.of(record));
+
+        rollCall(LocalDate.of(2024, 9, 11), List.of());
+
+        assertEquals(2, record.getRecordedCount());
+        assertEquals(0, record.getAbsenceCount());
+    }
+
+    @Test
+    void streaksFollowRecordedSessionsOnly() {
+        //!!! 3. ve 4. oturumlarda yoklama alinmamis, 2 ve 5 arka arkaya sayiliyor
+        when(attendanceRecordRepository.findByLessonProgramId(PROGRAM_ID))
+                .thenReturn(List.of(record(10L, bits(0, 1, 2, 5), bits(0, 2, 5))));
+
+        AttendanceSummaryResponse summary = attendanceService.getByLessonProgram(PROGRAM_ID, false).getObject().get(0);
+
+        assertEquals(4, summary.getRecordedSessions());
+        assertEquals(3, summary.getAbsences());
+        assertEquals(2, summary.getLongestAbsenceStreak());
+        assertEquals(2, summary.getCurrentAbsenceStreak());
+        assertTrue(summary.getAlert());
+        assertEquals(List.of(LocalDate.of(2024, 9, 4), LocalDate.of(2024, 9, 18), LocalDate.of(2024, 10, 9)),
+                summary.getAbsentDates());
+    }
+
+    @Test
+    void alertsOnlyFiltersStudentsBelowLimits() {
+        when(attendanceRecordRepository.findByLessonProgramId(PROGRAM_ID)).thenReturn(List.of(
+                record(10L, bits(0, 1, 2, 3), bits(0, 2)),
+                record(11L, bits(0, 1, 2, 3), bits(2, 3))));
+
+        List<AttendanceSummaryResponse> alerts = attendanceService.getByLessonProgram(PROGRAM_ID, true).getObject();
+
+        assertEquals(1, alerts.size());
+        assertEquals(11L, alerts.get(0).getStudentId());
+        assertEquals(2, alerts.get(0).getCurrentAbsenceStreak());
+        assertFalse(attendanceService.getByLessonProgram(PROGRAM_ID, false).getObject().get(0).getAlert());
+    }
+
+    private List<AttendanceSummaryResponse> rollCall(LocalDate sessionDate, List<Long> absentStudentIds) {
+        return attendanceService.saveRollCall(request, RollCallRequest.builder()
+                .lessonProgramId(PROGRAM_ID)
+                .sessionDate(sessionDate)
+                .absentStudentIds(absentStudentIds)
+                .build()).getObject();
+    }
+
+    private AttendanceRecord record(Long studentId, BitSet recorded, BitSet absent) {
+        return AttendanceRecord.builder()
+                .student(User.builder().id(studentId).build())
+                .lessonProgram(lessonProgram)
+                .educationTerm(lessonProgram.getEducationTerm())
+                .recordedSessions(recorded.toByteArray())
+                .absentSessions(absent.toByteArray())
+                .recordedCount(recorded.cardinality())
+                .absenceCount(absent.cardinality())
+                .build();
+    }
+
+    private static BitSet bits(int... sessions) {
+        BitSet bits = new BitSet();
+        for (int session : sessions) {
+            bits.set(session);
+        }
+        return bits;
+    }
+}
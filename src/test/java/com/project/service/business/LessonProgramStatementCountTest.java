@@ -0,0 +1,257 @@
+package com.project.service.business;
+
+import com.project.entity.concretes.business.EducationTerm;
+import com.project.entity.concretes.business.Lesson;
+import com.project.entity.concretes.business.LessonProgram;
+import com.project.entity.concretes.user.User;
+import com.project.entity.enums.Day;
+import com.project.entity.enums.RoleType;
+import com.project.entity.enums.Term;
+import com.project.payload.request.business.ChooseLessonTeacherRequest;
+import com.project.payload.response.business.LessonProgramResponse;
+import com.project.repository.business.EducationTermRepository;
+import com.project.repository.business.LessonProgramRepository;
+import com.project.repository.business.LessonRepository;
+import com.project.repository.user.UserRepository;
+import com.project.repository.user.UserRoleRepository;
+import com.project.service.user.TeacherService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//!!! ders programi listeleme, atama ve silme uclarinin calistirdigi SQL sayisi program ve kullanici sayisiyla artmamali
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class LessonProgramStatementCountTest {
+
+    @Autowired
+    private LessonProgramService lessonProgramService;
+
+    @Autowired
+    private TeacherService teacherService;
+
+    @Autowired
+    private EducationTermService educationTermService;
+
+    @Autowired
+    private LessonProgramRepository lessonProgramRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private EducationTermRepository educationTermRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private EducationTerm educationTerm;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        educationTerm = saveEducationTerm(LocalDate.of(2995, 1, 1));
+    }
+
+    @Test
+    void getAllLessonProgramByListDoesNotGrowWithPrograms() {
+        saveAssignedPrograms(2);
+        long few = statementCount(() -> touchLessons(lessonProgramService.getAllLessonProgramByList()));
+        saveAssignedPrograms(6);
+        long many = statementCount(() -> touchLessons(lessonProgramService.getAllLessonProgramByList()));
+
+        assertEquals(few, many);
+    }
+
+    @Test
+    void getAllAssignedDoesNotGrowWithProgramsOrUsers() {
+        saveAssignedPrograms(2);
+        long few = statementCount(() -> touchLessons(lessonProgramService.getAllAssigned()));
+        saveAssignedPrograms(6);
+        long many = statementCount(() -> touchLessons(lessonProgramService.getAllAssigned()));
+
+        assertEquals(few, many);
+    }
+
+    @Test
+    void getAllUnassignedDoesNotGrowWithPrograms() {
+        saveUnassignedPrograms(2);
+        long few = statementCount(() -> touchLessons(lessonProgramService.getAllUnassigned()));
+        saveUnassignedPrograms(6);
+        long many = statementCount(() -> touchLessons(lessonProgramService.getAllUnassigned()));
+
+        assertEquals(few, many);
+    }
+
+    @Test
+    void getAllLessonProgramByPageLoadsLessonsInOneBatch() {
+        saveAssignedPrograms(10);
+        //!!! count + sayfa + derslerin tek batch i + sayfadaki donemler
+        long count = statementCount(() -> touchLessons(
+                lessonProgramService.getAllLessonProgramByPage(0, 10, "id", "desc").getContent()));
+
+        assertTrue(count <= 4, "statements: " + count);
+    }
+
+    @Test
+    void getLessonProgramByIdDoesNotLoadUsers() {
+        List<LessonProgram> lessonPrograms = saveAssignedPrograms(1);
+        Long id = lessonPrograms.get(0).getId();
+        //!!! program (donem join ile) + dersleri
+        long count = statementCount(() -> touchLessons(List.of(lessonProgramService.getLessonProgramById(id))));
+
+        assertEquals(2, count);
+    }
+
+    @Test
+    void addLessonProgramDoesNotGrowWithTeachersPrograms() {
+        long few = flushedStatementCount(addLessonProgramToTeacherWith(2));
+        long many = flushedStatementCount(addLessonProgramToTeacherWith(6));
+
+        assertEquals(few, many);
+    }
+
+    @Test
+    void deleteLessonProgramByIdDoesNotGrowWithUsers() {
+        LessonProgram few = saveUnassignedPrograms(1).get(0);
+        assignUsers(List.of(few), 3);
+        LessonProgram many = saveUnassignedPrograms(1).get(0);
+        assignUsers(List.of(many), 9);
+
+        long fewCount = flushedStatementCount(() -> lessonProgramService.deleteLessonProgramById(few.getId()));
+        long manyCount = flushedStatementCount(() -> lessonProgramService.deleteLessonProgramById(many.getId()));
+
+        assertEquals(fewCount, manyCount);
+        assertTrue(lessonProgramRepository.findById(many.getId()).isEmpty());
+    }
+
+    //!!! join tablosu toplu siliniyor, cascade ile silinen programlarin @PreRemove u bos kullanici seti goruyor
+    @Test
+    void deleteEducationTermByIdDoesNotGrowWithUsers() {
+        EducationTerm few = educationTerm;
+        assignUsers(saveUnassignedPrograms(3), 3);
+        EducationTerm many = educationTerm = saveEducationTerm(LocalDate.of(2996, 1, 1));
+        List<LessonProgram> manyPrograms = saveUnassignedPrograms(3);
+        assignUsers(manyPrograms, 9);
+
+        long fewCount = flushedStatementCount(() -> educationTermService.deleteEducationTermById(few.getId()));
+        long manyCount = flushedStatementCount(() -> educationTermService.deleteEducationTermById(many.getId()));
+
+        assertEquals(fewCount, manyCount);
+        assertTrue(lessonProgramRepository.findById(manyPrograms.get(0).getId()).isEmpty());
+    }
+
+    private long statementCount(Supplier<Integer> endpoint) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        endpoint.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    //!!! silme ve atamalarda yazma SQL leri de sayilsin diye is bittikten sonra flush ediliyor
+    private long flushedStatementCount(Runnable endpoint) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        endpoint.run();
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+
+    //!!! response JSON a yazilirken dersler okunuyor
+    private static int touchLessons(List<LessonProgramResponse> responses) {
+        return responses.stream().mapToInt(response -> response.getLessonName().size()).sum();
+    }
+
+    private List<LessonProgram> saveAssignedPrograms(int count) {
+        List<LessonProgram> lessonPrograms = saveUnassignedPrograms(count);
+        assignUsers(lessonPrograms, 3);
+        return lessonPrograms;
+    }
+
+    private void assignUsers(List<LessonProgram> lessonPrograms, int userCount) {
+        for (int i = 0; i < userCount; i++) {
+            String key = UUID.randomUUID().toString().substring(0, 8);
+            User user = new User();
+            user.setUsername("count" + key);
+            user.setName("Count");
+            user.setSurname(key);
+            user.setLessonsProgramList(new HashSet<>(lessonPrograms));
+            userRepository.save(user);
+        }
+    }
+
+    //!!! ogretmenin mevcut programlari pazartesi, atanan program sali
+    private Runnable addLessonProgramToTeacherWith(int existingPrograms) {
+        String key = UUID.randomUUID().toString().substring(0, 8);
+        User teacher = new User();
+        teacher.setUsername("teacher" + key);
+        teacher.setName("Count");
+        teacher.setSurname(key);
+        teacher.setUserRole(userRoleRepository.findByEnumRoleEquals(RoleType.TEACHER).orElseThrow());
+        teacher.setLessonsProgramList(new HashSet<>(saveUnassignedPrograms(existingPrograms)));
+        Long teacherId = userRepository.save(teacher).getId();
+        LessonProgram requested = lessonProgramRepository.save(LessonProgram.builder()
+                .day(Day.TUESDAY)
+                .startTime(LocalTime.of(8, 0))
+                .stopTime(LocalTime.of(8, 45))
+                .educationTerm(educationTerm)
+                .build());
+        return () -> teacherService.addLessonProgram(new ChooseLessonTeacherRequest(Set.of(requested.getId()), teacherId));
+    }
+
+    private EducationTerm saveEducationTerm(LocalDate startDate) {
+        return educationTermRepository.save(EducationTerm.builder()
+                .term(Term.FALL_SEMESTER)
+                .startDate(startDate)
+                .endDate(startDate.plusMonths(3))
+                .lastRegistrationDate(startDate.minusDays(1))
+                .build());
+    }
+
+    private List<LessonProgram> saveUnassignedPrograms(int count) {
+        Set<Lesson> lessons = new HashSet<>();
+        for (int i = 0; i < 2; i++) {
+            lessons.add(lessonRepository.save(Lesson.builder()
+                    .lessonName("Count " + UUID.randomUUID())
+                    .creditScore(3)
+                    .isCompulsory(Boolean.FALSE)
+                    .build()));
+        }
+        LessonProgram[] lessonPrograms = new LessonProgram[count];
+        for (int i = 0; i < count; i++) {
+            lessonPrograms[i] = lessonProgramRepository.save(LessonProgram.builder()
+                    .day(Day.MONDAY)
+                    .startTime(LocalTime.of(8 + i % 8, 0))
+                    .stopTime(LocalTime.of(8 + i % 8, 45))
+                    .lessons(new HashSet<>(lessons))
+                    .educationTerm(educationTerm)
+                    .build());
+        }
+        return List.of(lessonPrograms);
+    }
+}
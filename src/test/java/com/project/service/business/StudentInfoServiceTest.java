@@ -0,0 +1,189 @@
+package com.project.service.business;
+
+import com.project.entity.concretes.business.EducationTerm;
+import com.project.entity.concretes.business.GradingPolicy;
+import com.project.entity.concretes.business.Lesson;
+import com.project.entity.concretes.business.StudentInfo;
+import com.project.entity.concretes.user.User;
+import com.project.entity.enums.Note;
+import com.project.exception.BadRequestException;
+import com.project.payload.mappers.StudentInfoMapper;
+import com.project.payload.request.business.StudentGradeRequest;
+import com.project.payload.request.business.StudentInfoBatchRequest;
+import com.project.repository.business.StudentInfoBatchRepository;
+import com.project.repository.business.StudentInfoRepository;
+import com.project.repository.business.StudentInfoRepository.StudentInfoGradeView;
+import com.project.service.helper.AfterCommitExecutor;
+import com.project.service.helper.EntityBatchLoader;
+import com.project.service.helper.GradeStatisticsIndex;
+import com.project.service.helper.GradingPolicyCache;
+import com.project.service.helper.GradingTable;
+import com.project.service.helper.KeysetPaginationHelper;
+import com.project.service.helper.MethodHelper;
+import com.project.service.helper.PageableHelper;
+import com.project.service.helper.StudentRankingIndex;
+import com.project.service.helper.StudentTranscriptCache;
+import com.project.service.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentInfoServiceTest {
+
+    private static final long LESSON_ID = 7L;
+    private static final long TERM_ID = 3L;
+    private static final long TEACHER_ID = 1L;
+    private static final long STORED_TEACHER_ID = 2L;
+
+    private final StudentInfoRepository studentInfoRepository = mock(StudentInfoRepository.class);
+    private final UserService userService = mock(UserService.class);
+    private final LessonService lessonService = mock(LessonService.class);
+    private final EducationTermService educationTermService = mock(EducationTermService.class);
+    private final StudentInfoBatchRepository studentInfoBatchRepository = mock(StudentInfoBatchRepository.class);
+    private final EntityBatchLoader entityBatchLoader = mock(EntityBatchLoader.class);
+    private final GradingPolicyCache gradingPolicyCache = mock(GradingPolicyCache.class);
+    private final AttendanceService attendanceService = mock(AttendanceService.class);
+    private final StudentInfoService studentInfoService = new StudentInfoService(studentInfoRepository,
+            mock(MethodHelper.class), userService, lessonService, educationTermService, mock(StudentInfoMapper.class),
+            mock(PageableHelper.class), mock(KeysetPaginationHelper.class), studentInfoBatchRepository,
+            entityBatchLoader, mock(GradeStatisticsIndex.class), mock(StudentTranscriptCache.class),
+            gradingPolicyCache, mock(StudentRankingIndex.class), attendanceService, new AfterCommitExecutor());
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final Map<Long, User> users = new LinkedHashMap<>();
+    private final User teacher = User.builder().id(TEACHER_ID).build();
+    private final User storedTeacher = User.builder().id(STORED_TEACHER_ID).build();
+
+    @BeforeEach
+    void setUp() {
+        request.setAttribute("username", "teacher");
+        when(userService.getTeacherByUsername("teacher")).thenReturn(teacher);
+        when(lessonService.isLessonExistById(LESSON_ID)).thenReturn(Lesson.builder().lessonId(LESSON_ID).build());
+        when(educationTermService.findEducationTermById(TERM_ID)).thenReturn(EducationTerm.builder().id(TERM_ID).build());
+        when(gradingPolicyCache.getTable(TERM_ID)).thenReturn(GradingTable.of(GradingPolicy.builder()
+                .midtermPercentage(0.4)
+                .finalPercentage(0.6)
+                .ddMin(50.0)
+                .ccMin(60.0)
+                .cbMin(65.0)
+                .bbMin(70.0)
+                .baMin(75.0)
+                .aaMin(80.0)
+                .build()));
+        when(attendanceService.getAbsences(anyList(), eq(LESSON_ID), eq(TERM_ID))).thenReturn(Map.of());
+        users.put(STORED_TEACHER_ID, storedTeacher);
+        users.put(10L, User.builder().id(10L).build());
+        users.put(11L, User.builder().id(11L).build());
+        //!!! istenen id lerin entity leri, id sirasiyla
+        when(entityBatchLoader.loadAll(eq(User.class), any())).thenAnswer(invocation -> {
+            Map<Long, User> loaded = new LinkedHashMap<>();
+            invocation.<Collection<Long>>getArgument(1).forEach(id -> loaded.put(id, users.get(id)));
+            return loaded;
+        });
+    }
+
+    //!!! kaydi olan ogrenci guncelleniyor ve eski ogretmeni korunuyor, kaydi olmayan icin yeni kayit aciliyor
+    @Test
+    void saveAllStudentInfoUpdatesExistingAndInsertsNew() {
+        List<StudentInfoGradeView> existing = List.of(gradeView(100L, 10L));
+        when(studentInfoRepository.findGradesByLessonTermAndStudents(LESSON_ID, TERM_ID, List.of(10L, 11L)))
+                .thenReturn(existing);
+
+        studentInfoService.saveAllStudentInfo(request, batch(grade(10L, 80.0), grade(11L, 40.0)));
+
+        List<StudentInfo> inserted = captureInsertAll();
+        List<StudentInfo> updated = captureUpdateAll();
+        assertEquals(1, inserted.size());
+        assertNull(inserted.get(0).getId());
+        assertEquals(11L, inserted.get(0).getStudent().getId());
+        assertSame(teacher, inserted.get(0).getTeacher());
+        assertEquals(Note.FF, inserted.get(0).getLetterGrade());
+        assertEquals(1, updated.size());
+        assertEquals(100L, updated.get(0).getId());
+        assertEquals(10L, updated.get(0).getStudent().getId());
+        assertSame(storedTeacher, updated.get(0).getTeacher());
+        assertEquals(Note.AA, updated.get(0).getLetterGrade());
+    }
+
+    //!!! ayni ders/donem icin birden fazla kayit varsa en yenisi guncelleniyor, yeni kayit acilmiyor
+    @Test
+    void saveAllStudentInfoUpdatesNewestRecordOfLessonAndTerm() {
+        List<StudentInfoGradeView> existing = List.of(gradeView(100L, 10L), gradeView(120L, 10L), gradeView(110L, 10L));
+        when(studentInfoRepository.findGradesByLessonTermAndStudents(LESSON_ID, TERM_ID, List.of(10L)))
+                .thenReturn(existing);
+
+        studentInfoService.saveAllStudentInfo(request, batch(grade(10L, 70.0)));
+
+        assertEquals(List.of(), captureInsertAll());
+        List<StudentInfo> updated = captureUpdateAll();
+        assertEquals(1, updated.size());
+        assertEquals(120L, updated.get(0).getId());
+        assertEquals(LESSON_ID, updated.get(0).getLesson().getLessonId());
+        assertEquals(TERM_ID, updated.get(0).getEducationTerm().getId());
+    }
+
+    @Test
+    void saveAllStudentInfoRejectsRepeatedStudent() {
+        assertThrows(BadRequestException.class,
+                () -> studentInfoService.saveAllStudentInfo(request, batch(grade(10L, 70.0), grade(10L, 60.0))));
+
+        verify(studentInfoBatchRepository, never()).insertAll(anyList());
+        verify(studentInfoBatchRepository, never()).updateAll(anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<StudentInfo> captureInsertAll() {
+        ArgumentCaptor<List<StudentInfo>> captor = ArgumentCaptor.forClass(List.class);
+        verify(studentInfoBatchRepository).insertAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<StudentInfo> captureUpdateAll() {
+        ArgumentCaptor<List<StudentInfo>> captor = ArgumentCaptor.forClass(List.class);
+        verify(studentInfoBatchRepository).updateAll(captor.capture());
+        return captor.getValue();
+    }
+
+    private static StudentInfoBatchRequest batch(StudentGradeRequest... grades) {
+        return new StudentInfoBatchRequest(LESSON_ID, TERM_ID, List.of(grades));
+    }
+
+    private static StudentGradeRequest grade(Long studentId, Double exam) {
+        return StudentGradeRequest.builder()
+                .studentId(studentId)
+                .midtermExam(exam)
+                .finalExam(exam)
+                .absentee(0)
+                .infoNote("note")
+                .build();
+    }
+
+    private static StudentInfoGradeView gradeView(Long id, Long studentId) {
+        StudentInfoGradeView view = mock(StudentInfoGradeView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getStudentId()).thenReturn(studentId);
+        when(view.getLessonId()).thenReturn(LESSON_ID);
+        when(view.getEducationTermId()).thenReturn(TERM_ID);
+        when(view.getTeacherId()).thenReturn(STORED_TEACHER_ID);
+        return view;
+    }
+}
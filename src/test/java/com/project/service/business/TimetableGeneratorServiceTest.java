@@ -0,0 +1,129 @@
+package com.project.service.business;
+
+import com.project.entity.concretes.business.EducationTerm;
+import com.project.entity.concretes.business.Lesson;
+import com.project.entity.concretes.user.User;
+import com.project.entity.enums.Day;
+import com.project.exception.ConflictException;
+import com.project.payload.request.business.TimetableGenerationRequest;
+import com.project.payload.request.business.TimetableLessonRequest;
+import com.project.payload.request.business.TimetableSlotRequest;
+import com.project.repository.business.LessonProgramBatchRepository;
+import com.project.repository.business.LessonProgramRepository;
+import com.project.repository.business.LessonProgramRepository.ProgramTimeView;
+import com.project.repository.user.UserRepository;
+import com.project.service.helper.LessonProgramTimetableCache;
+import com.project.service.helper.MethodHelper;
+import com.project.service.helper.TimetableSolver;
+import com.project.service.validator.DateTimeValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TimetableGeneratorServiceTest {
+
+    private static final long TERM_ID = 3L;
+    private static final long LESSON_ID = 7L;
+    private static final long TEACHER_ID = 1L;
+
+    private final EducationTermService educationTermService = mock(EducationTermService.class);
+    private final LessonService lessonService = mock(LessonService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final LessonProgramBatchRepository lessonProgramBatchRepository = mock(LessonProgramBatchRepository.class);
+    private final LessonProgramRepository lessonProgramRepository = mock(LessonProgramRepository.class);
+    private final LessonProgramTimetableCache lessonProgramTimetableCache = mock(LessonProgramTimetableCache.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final TimetableSolver timetableSolver = new TimetableSolver(1);
+    private final TimetableGeneratorService timetableGeneratorService = new TimetableGeneratorService(
+            educationTermService, lessonService, userRepository, mock(MethodHelper.class),
+            mock(DateTimeValidator.class), timetableSolver, lessonProgramBatchRepository, lessonProgramRepository,
+            lessonProgramTimetableCache, transactionTemplate);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(timetableGeneratorService, "defaultBudgetMs", 100L);
+        ReflectionTestUtils.setField(timetableGeneratorService, "maxBudgetMs", 100L);
+        when(educationTermService.findEducationTermById(TERM_ID)).thenReturn(EducationTerm.builder().id(TERM_ID).build());
+        when(lessonService.getLessonsByLessonId(Set.of(LESSON_ID)))
+                .thenReturn(Map.of(LESSON_ID, Lesson.builder().lessonId(LESSON_ID).build()));
+        //!!! cozum ararken ogretmenin programi bos
+        when(userRepository.findAllWithLessonProgramsByIdIn(any()))
+                .thenReturn(List.of(User.builder().id(TEACHER_ID).lessonsProgramList(new HashSet<>()).build()));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        timetableSolver.destroy();
+    }
+
+    @Test
+    void generateTimetableSavesWhenTeacherIsStillFree() {
+        //!!! 10:00 da biten program 10:00 da baslayan oturumla cakismiyor
+        List<ProgramTimeView> programTimes = List.of(programTime(20L, LocalTime.of(8, 0), LocalTime.of(10, 0)));
+        when(lessonProgramRepository.findProgramTimesByUserIds(Set.of(TEACHER_ID))).thenReturn(programTimes);
+
+        timetableGeneratorService.generateTimetable(request());
+
+        verify(userRepository).lockByIdIn(Set.of(TEACHER_ID));
+        verify(lessonProgramBatchRepository).insertAll(anyList());
+        verify(lessonProgramTimetableCache).evict(TEACHER_ID);
+    }
+
+    @Test
+    void generateTimetableRejectsProgramAssignedDuringSolve() {
+        //!!! cozum aranirken ogretmene ayni saatte baska bir program atanmis
+        List<ProgramTimeView> programTimes = List.of(programTime(21L, LocalTime.of(10, 30), LocalTime.of(11, 30)));
+        when(lessonProgramRepository.findProgramTimesByUserIds(Set.of(TEACHER_ID))).thenReturn(programTimes);
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> timetableGeneratorService.generateTimetable(request()));
+
+        assertEquals("Error: Teacher with id 1 was assigned conflicting lesson programs [21] while the timetable " +
+                "was being generated, please try again", exception.getMessage());
+        verify(lessonProgramBatchRepository, never()).insertAll(anyList());
+        verify(lessonProgramTimetableCache, never()).evict(TEACHER_ID);
+    }
+
+    private static TimetableGenerationRequest request() {
+        return TimetableGenerationRequest.builder()
+                .educationTermId(TERM_ID)
+                .days(Set.of(Day.MONDAY))
+                .slots(List.of(new TimetableSlotRequest(LocalTime.of(10, 0), LocalTime.of(11, 0))))
+                .lessons(List.of(new TimetableLessonRequest(LESSON_ID, Set.of(TEACHER_ID), 1)))
+                .build();
+    }
+
+    private static ProgramTimeView programTime(Long id, LocalTime startTime, LocalTime stopTime) {
+        ProgramTimeView view = mock(ProgramTimeView.class);
+        when(view.getUserId()).thenReturn(TEACHER_ID);
+        when(view.getId()).thenReturn(id);
+        when(view.getDay()).thenReturn(Day.MONDAY);
+        when(view.getStartTime()).thenReturn(startTime);
+        when(view.getStopTime()).thenReturn(stopTime);
+        return view;
+    }
+}
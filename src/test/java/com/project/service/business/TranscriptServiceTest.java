@@ -0,0 +1,118 @@
+package com.project.service.business;
+
+import com.project.entity.concretes.user.User;
+import com.project.entity.enums.Note;
+import com.project.entity.enums.Term;
+import com.project.payload.response.business.StudentGpaResponse;
+import com.project.payload.response.business.TranscriptResponse;
+import com.project.payload.response.business.TranscriptResponse.TermTranscript;
+import com.project.repository.business.StudentInfoRepository;
+import com.project.repository.business.StudentInfoRepository.TranscriptRowView;
+import com.project.service.helper.MethodHelper;
+import com.project.service.helper.StudentTranscriptCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TranscriptServiceTest {
+
+    private static final long STUDENT_ID = 10L;
+    private static final long FALL_ID = 1L;
+    private static final long SPRING_ID = 2L;
+    private static final long SUMMER_ID = 3L;
+
+    private final StudentInfoRepository studentInfoRepository = mock(StudentInfoRepository.class);
+    private final MethodHelper methodHelper = mock(MethodHelper.class);
+    private final StudentTranscriptCache studentTranscriptCache = new StudentTranscriptCache();
+    private final TranscriptService transcriptService = new TranscriptService(studentInfoRepository,
+            mock(EducationTermService.class), methodHelper, studentTranscriptCache);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(studentTranscriptCache, "maxSize", 100);
+        when(methodHelper.isUserExist(STUDENT_ID)).thenReturn(User.builder().id(STUDENT_ID).build());
+    }
+
+    //!!! Guz: (3 * 4.0 + 2 * 2.0) / 5 = 3.2, Bahar: 3.5, Genel: (12 + 4 + 14) / 9 = 3.33. Harf notu olmayan,
+     // kredisi 0 olan ve kredisi girilmemis dersler ortalamaya ve krediye katilmiyor
+    @Test
+    void transcriptUsesCreditWeightedTermAndCumulativeGpa() {
+        List<TranscriptRowView> rows = List.of(
+                row(STUDENT_ID, SPRING_ID, 21L, 4, Note.BA),
+                row(STUDENT_ID, FALL_ID, 11L, 3, Note.AA),
+                row(STUDENT_ID, FALL_ID, 12L, 2, Note.CC),
+                row(STUDENT_ID, FALL_ID, 13L, 4, null),
+                row(STUDENT_ID, FALL_ID, 14L, 0, Note.BB),
+                row(STUDENT_ID, FALL_ID, 15L, null, Note.AA),
+                row(STUDENT_ID, SUMMER_ID, 31L, 3, null));
+        when(studentInfoRepository.findTranscriptRowsByStudentId(STUDENT_ID)).thenReturn(rows);
+
+        TranscriptResponse transcript = transcriptService.getTranscriptByStudentId(STUDENT_ID).getObject();
+
+        assertEquals(9, transcript.getTotalCredits());
+        assertEquals(3.33, transcript.getCumulativeGpa());
+        List<TermTranscript> terms = transcript.getTerms();
+        assertEquals(List.of(FALL_ID, SPRING_ID, SUMMER_ID),
+                List.of(terms.get(0).getEducationTermId(), terms.get(1).getEducationTermId(),
+                        terms.get(2).getEducationTermId()));
+        assertEquals(5, terms.get(0).getCredits());
+        assertEquals(3.2, terms.get(0).getGpa());
+        assertEquals(5, terms.get(0).getLessons().size());
+        assertEquals(4, terms.get(1).getCredits());
+        assertEquals(3.5, terms.get(1).getGpa());
+        //!!! hic notu olmayan donemin GPA si yok
+        assertEquals(0, terms.get(2).getCredits());
+        assertNull(terms.get(2).getGpa());
+    }
+
+    @Test
+    void studentWithoutGradedLessonsHasNoGpa() {
+        List<TranscriptRowView> rows = List.of(row(STUDENT_ID, FALL_ID, 11L, 3, null));
+        when(studentInfoRepository.findTranscriptRowsByStudentId(STUDENT_ID)).thenReturn(rows);
+
+        TranscriptResponse transcript = transcriptService.getTranscriptByStudentId(STUDENT_ID).getObject();
+
+        assertEquals(0, transcript.getTotalCredits());
+        assertNull(transcript.getCumulativeGpa());
+    }
+
+    @Test
+    void termGpasAreReportedPerStudent() {
+        List<TranscriptRowView> rows = List.of(
+                row(11L, FALL_ID, 11L, 3, Note.AA),
+                row(11L, FALL_ID, 12L, 1, Note.FF),
+                row(STUDENT_ID, FALL_ID, 11L, 3, Note.CC));
+        when(studentInfoRepository.findTranscriptRowsByEducationTermId(FALL_ID)).thenReturn(rows);
+
+        List<StudentGpaResponse> gpas = transcriptService.getGpasByEducationTerm(FALL_ID).getObject();
+
+        assertEquals(2, gpas.size());
+        assertEquals(STUDENT_ID, gpas.get(0).getStudentId());
+        assertEquals(2.0, gpas.get(0).getTermGpa());
+        assertEquals(11L, gpas.get(1).getStudentId());
+        assertEquals(4, gpas.get(1).getTermCredits());
+        assertEquals(3.0, gpas.get(1).getTermGpa());
+    }
+
+    private static TranscriptRowView row(Long studentId, Long educationTermId, Long lessonId, Integer creditScore,
+                                         Note letterGrade) {
+        TranscriptRowView row = mock(TranscriptRowView.class);
+        when(row.getStudentId()).thenReturn(studentId);
+        when(row.getEducationTermId()).thenReturn(educationTermId);
+        when(row.getTerm()).thenReturn(Term.FALL_SEMESTER);
+        when(row.getStartDate()).thenReturn(LocalDate.of(2024, 1, 1).plusMonths(4 * educationTermId));
+        when(row.getLessonId()).thenReturn(lessonId);
+        when(row.getLessonName()).thenReturn("Lesson " + lessonId);
+        when(row.getCreditScore()).thenReturn(creditScore);
+        when(row.getLetterGrade()).thenReturn(letterGrade);
+        return row;
+    }
+}
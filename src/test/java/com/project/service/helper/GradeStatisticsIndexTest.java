@@ -0,0 +1,216 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.business.EducationTerm;
+import com.project.entity.concretes.business.Lesson;
+import com.project.entity.concretes.business.StudentInfo;
+import com.project.entity.concretes.user.User;
+import com.project.entity.enums.Note;
+import com.project.payload.response.business.GradeStatisticsResponse;
+import com.project.repository.business.StudentInfoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GradeStatisticsIndexTest {
+
+    private static final Long LESSON_ID = 1L;
+    private static final Long TERM_ID = 2L;
+    private static final Long TEACHER_ID = 3L;
+
+    private final StudentInfoRepository studentInfoRepository = mock(StudentInfoRepository.class);
+    private final GradeStatisticsIndex gradeStatisticsIndex = new GradeStatisticsIndex(studentInfoRepository);
+
+    @Test
+    void negativeAverageFallsIntoFirstBucket() {
+        gradeStatisticsIndex.add(grade(-5.0, Note.FF));
+        gradeStatisticsIndex.add(grade(10.0, Note.FF));
+
+        GradeStatisticsResponse statistics = gradeStatisticsIndex.getByLessonAndTerm(LESSON_ID, TERM_ID);
+
+        assertEquals(2L, statistics.getCount());
+        assertEquals(2.5, statistics.getMean(), 1e-9);
+        //!!! histogram 0 - 100 araliginda, negatif ortalama 0 kovasina sayiliyor
+        assertEquals(0.0, statistics.getMin());
+        assertEquals(10.0, statistics.getMax());
+    }
+
+    @Test
+    void removingNegativeAverageLeavesNoBucketBehind() {
+        StudentInfo negative = grade(-5.0, Note.FF);
+        gradeStatisticsIndex.add(negative);
+        gradeStatisticsIndex.add(grade(40.0, Note.FF));
+        gradeStatisticsIndex.remove(negative);
+
+        GradeStatisticsResponse statistics = gradeStatisticsIndex.getByLessonAndTerm(LESSON_ID, TERM_ID);
+
+        assertEquals(1L, statistics.getCount());
+        assertEquals(40.0, statistics.getMin());
+        assertEquals(40.0, statistics.getMedian());
+        assertEquals(0.0, statistics.getStandardDeviation(), 1e-6);
+    }
+
+    @Test
+    void averagesAboveRangeFallIntoLastBucket() {
+        gradeStatisticsIndex.add(grade(105.0, Note.AA));
+
+        GradeStatisticsResponse statistics = gradeStatisticsIndex.getByTeacher(TEACHER_ID);
+
+        assertEquals(100.0, statistics.getMax());
+        assertEquals(105.0, statistics.getMean(), 1e-9);
+    }
+
+    @Test
+    void bucketsAreRoundedToOneDecimal() {
+        gradeStatisticsIndex.add(grade(69.94, Note.CB));
+        gradeStatisticsIndex.add(grade(69.95, Note.BB));
+
+        GradeStatisticsResponse statistics = gradeStatisticsIndex.getByLessonAndTerm(LESSON_ID, TERM_ID);
+
+        assertEquals(69.9, statistics.getMin());
+        assertEquals(70.0, statistics.getMax());
+        assertEquals(Map.of(Note.CB, 1L, Note.BB, 1L), statistics.getLetterGrades());
+    }
+
+    @Test
+    void groupIsDroppedWhenLastGradeIsRemoved() {
+        StudentInfo grade = grade(55.0, Note.DD);
+        gradeStatisticsIndex.add(grade);
+        gradeStatisticsIndex.remove(grade);
+
+        GradeStatisticsResponse statistics = gradeStatisticsIndex.getByLessonAndTerm(LESSON_ID, TERM_ID);
+
+        assertEquals(0L, statistics.getCount());
+        assertNull(statistics.getMean());
+        assertEquals(Map.of(), statistics.getLetterGrades());
+    }
+
+    @Test
+    void percentilesUseNearestRank() {
+        for (int i = 1; i <= 10; i++) {
+            gradeStatisticsIndex.add(grade(i * 10.0, Note.FF));
+        }
+
+        GradeStatisticsResponse statistics = gradeStatisticsIndex.getByLessonAndTerm(LESSON_ID, TERM_ID);
+
+        assertEquals(30.0, statistics.getPercentile25());
+        assertEquals(50.0, statistics.getMedian());
+        assertEquals(80.0, statistics.getPercentile75());
+        assertEquals(90.0, statistics.getPercentile90());
+    }
+
+    //!!! ilk sayfa (5000 kayit) okunduktan sonra taranmis bir kayit yeniden notlandiriliyor, biri siliniyor ve
+     // yeni bir kayit ekleniyor. Degisiklikler yeniden olusturulan istatistiklerde kaybolmamali
+    @Test
+    void rebuildReplaysWritesMadeDuringScan() {
+        List<StudentInfoRepository.StudentInfoGradeView> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            firstPage.add(new Grade(id, 40.0, Note.FF));
+        }
+        when(studentInfoRepository.findGradesAfterId(eq(0L), any(Pageable.class))).thenReturn(firstPage);
+        when(studentInfoRepository.findGradesAfterId(eq(5000L), any(Pageable.class))).thenAnswer(invocation -> {
+            gradeStatisticsIndex.regrade(firstPage.get(0), 90.0, Note.AA);
+            gradeStatisticsIndex.remove(firstPage.get(1));
+            //!!! yeni kayit commit edilmis, bu sayfada okunuyor
+            gradeStatisticsIndex.add(grade(6000L, 70.0, Note.BB));
+            return List.of(new Grade(6000L, 70.0, Note.BB));
+        });
+
+        gradeStatisticsIndex.rebuild();
+
+        GradeStatisticsResponse statistics = gradeStatisticsIndex.getByLessonAndTerm(LESSON_ID, TERM_ID);
+        assertEquals(5000L, statistics.getCount());
+        assertEquals(90.0, statistics.getMax());
+        assertEquals(Map.of(Note.FF, 4998L, Note.AA, 1L, Note.BB, 1L), statistics.getLetterGrades());
+        assertEquals(5000L, gradeStatisticsIndex.getByTeacher(TEACHER_ID).getCount());
+    }
+
+    @Test
+    void writesAfterRebuildAreNotReplayedTwice() {
+        List<StudentInfoRepository.StudentInfoGradeView> page = List.of(new Grade(1L, 40.0, Note.FF));
+        when(studentInfoRepository.findGradesAfterId(eq(0L), any(Pageable.class))).thenReturn(page);
+        gradeStatisticsIndex.rebuild();
+
+        gradeStatisticsIndex.regrade(page.get(0), 60.0, Note.CC);
+        when(studentInfoRepository.findGradesAfterId(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(new Grade(1L, 60.0, Note.CC)));
+        gradeStatisticsIndex.rebuild();
+
+        GradeStatisticsResponse statistics = gradeStatisticsIndex.getByLessonAndTerm(LESSON_ID, TERM_ID);
+        assertEquals(1L, statistics.getCount());
+        assertEquals(Map.of(Note.CC, 1L), statistics.getLetterGrades());
+    }
+
+    private static StudentInfo grade(Long id, Double examAverage, Note letterGrade) {
+        return grade(examAverage, letterGrade).toBuilder().id(id).build();
+    }
+
+    private static StudentInfo grade(Double examAverage, Note letterGrade) {
+        User teacher = new User();
+        teacher.setId(TEACHER_ID);
+        return StudentInfo.builder()
+                .examAverage(examAverage)
+                .letterGrade(letterGrade)
+                .lesson(Lesson.builder().lessonId(LESSON_ID).build())
+                .educationTerm(EducationTerm.builder().id(TERM_ID).build())
+                .teacher(teacher)
+                .build();
+    }
+
+    private static final class Grade implements StudentInfoRepository.StudentInfoGradeView {
+
+        private final Long id;
+        private final Double examAverage;
+        private final Note letterGrade;
+
+        private Grade(Long id, Double examAverage, Note letterGrade) {
+            this.id = id;
+            this.examAverage = examAverage;
+            this.letterGrade = letterGrade;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getStudentId() {
+            return 100 + id;
+        }
+
+        @Override
+        public Long getLessonId() {
+            return LESSON_ID;
+        }
+
+        @Override
+        public Long getEducationTermId() {
+            return TERM_ID;
+        }
+
+        @Override
+        public Long getTeacherId() {
+            return TEACHER_ID;
+        }
+
+        @Override
+        public Double getExamAverage() {
+            return examAverage;
+        }
+
+        @Override
+        public Note getLetterGrade() {
+            return letterGrade;
+        }
+    }
+}
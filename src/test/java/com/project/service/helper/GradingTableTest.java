@@ -0,0 +1,69 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.business.GradingPolicy;
+import com.project.entity.enums.Note;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GradingTableTest {
+
+    private final GradingTable defaultTable = GradingTable.of(policy(null).build());
+
+    @Test
+    void floatingPointErrorBelowThresholdKeepsHigherGrade() {
+        //!!! 0.4 * 70 + 0.6 * 70 gibi hesaplar 69.99999999999999 uretebiliyor
+        assertEquals(Note.BB, defaultTable.letterGrade(69.99999999999999));
+        assertEquals(Note.BB, defaultTable.letterGrade(Math.nextDown(70.0)));
+        assertEquals(Note.AA, defaultTable.letterGrade(Math.nextDown(80.0)));
+    }
+
+    @Test
+    void valuesJustBelowThresholdStayLower() {
+        assertEquals(Note.CB, defaultTable.letterGrade(69.99));
+        assertEquals(Note.CB, defaultTable.letterGrade(69.999));
+        assertEquals(Note.FF, defaultTable.letterGrade(49.99));
+        assertEquals(Note.DD, defaultTable.letterGrade(50.0));
+    }
+
+    @Test
+    void averagesOutsideRangeAreClamped() {
+        assertEquals(Note.FF, defaultTable.letterGrade(-5.0));
+        assertEquals(Note.AA, defaultTable.letterGrade(100.0));
+        assertEquals(Note.AA, defaultTable.letterGrade(120.0));
+    }
+
+    @Test
+    void twoDecimalThresholdsAreExact() {
+        GradingTable table = GradingTable.of(policy(1L).bbMin(72.35).dcMin(55.55).build());
+
+        assertEquals(Note.BB, table.letterGrade(72.35));
+        assertEquals(Note.CB, table.letterGrade(72.34));
+        assertEquals(Note.DC, table.letterGrade(55.55));
+        assertEquals(Note.DD, table.letterGrade(55.54));
+        assertFalse(table.isDefaultPolicy());
+        assertTrue(defaultTable.isDefaultPolicy());
+    }
+
+    @Test
+    void averageUsesPolicyPercentages() {
+        assertEquals(70.0, defaultTable.average(70.0, 70.0), 1e-9);
+        assertEquals(Note.BB, defaultTable.letterGrade(defaultTable.average(70.0, 70.0)));
+        assertEquals(64.0, defaultTable.average(40.0, 80.0), 1e-9);
+    }
+
+    private static GradingPolicy.GradingPolicyBuilder policy(Long id) {
+        return GradingPolicy.builder()
+                .id(id)
+                .midtermPercentage(0.4)
+                .finalPercentage(0.6)
+                .ddMin(50.0)
+                .ccMin(60.0)
+                .cbMin(65.0)
+                .bbMin(70.0)
+                .baMin(75.0)
+                .aaMin(80.0);
+    }
+}
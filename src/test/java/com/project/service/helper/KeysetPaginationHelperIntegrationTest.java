@@ -0,0 +1,87 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.business.EducationTerm;
+import com.project.entity.enums.Term;
+import com.project.payload.response.business.CursorPage;
+import com.project.repository.business.EducationTermRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Transactional
+class KeysetPaginationHelperIntegrationTest {
+
+    @Autowired
+    private KeysetPaginationHelper keysetPaginationHelper;
+
+    @Autowired
+    private EducationTermRepository educationTermRepository;
+
+    @Test
+    void pagesPastFirstPageWhenSortedByDate() {
+        List<Long> expected = new ArrayList<>();
+        //!!! ayni startDate e sahip iki donem: esitlikte id ile devam edilmeli
+        for (LocalDate startDate : List.of(LocalDate.of(2990, 1, 1), LocalDate.of(2990, 1, 1),
+                LocalDate.of(2990, 2, 1), LocalDate.of(2990, 3, 1), LocalDate.of(2990, 4, 1))) {
+            expected.add(educationTermRepository.save(EducationTerm.builder()
+                    .term(Term.FALL_SEMESTER)
+                    .startDate(startDate)
+                    .endDate(startDate.plusMonths(3))
+                    .lastRegistrationDate(startDate.minusDays(1))
+                    .build()).getId());
+        }
+        Set<Long> ours = Set.copyOf(expected);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<EducationTerm> page = keysetPaginationHelper.findPage(EducationTerm.class, null, cursor, 2,
+                    "startDate", "asc");
+            seen.addAll(page.getContent().stream().map(EducationTerm::getId).collect(Collectors.toList()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertTrue(pages > 1);
+        assertEquals(expected, seen.stream().filter(ours::contains).collect(Collectors.toList()));
+        assertEquals(seen.size(), Set.copyOf(seen).size());
+    }
+
+    @Test
+    void pagesPastFirstPageWhenSortedByDescendingDate() {
+        List<Long> expected = new ArrayList<>();
+        for (LocalDate startDate : List.of(LocalDate.of(2991, 4, 1), LocalDate.of(2991, 3, 1),
+                LocalDate.of(2991, 2, 1))) {
+            expected.add(educationTermRepository.save(EducationTerm.builder()
+                    .term(Term.SPRING_SEMESTER)
+                    .startDate(startDate)
+                    .endDate(startDate.plusMonths(3))
+                    .lastRegistrationDate(startDate.minusDays(1))
+                    .build()).getId());
+        }
+        Set<Long> ours = Set.copyOf(expected);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<EducationTerm> page = keysetPaginationHelper.findPage(EducationTerm.class, null, cursor, 1,
+                    "startDate", "desc");
+            seen.addAll(page.getContent().stream().map(EducationTerm::getId).collect(Collectors.toList()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, seen.stream().filter(ours::contains).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.service.helper;
+
+import com.project.entity.enums.Day;
+import com.project.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetPaginationHelperTest {
+
+    private final KeysetPaginationHelper helper = new KeysetPaginationHelper(null);
+
+    @Test
+    void localDateCursorRoundTrips() {
+        String cursor = helper.encode("startDate", false, 7L, LocalDate.of(2024, 2, 29));
+
+        KeysetPaginationHelper.Cursor decoded = helper.decode(cursor, "startDate", false, LocalDate.class);
+
+        assertEquals(7L, decoded.getId());
+        assertEquals(LocalDate.of(2024, 2, 29), decoded.getValue());
+    }
+
+    @Test
+    void localTimeCursorKeepsSeconds() {
+        String cursor = helper.encode("startTime", true, 3L, LocalTime.of(9, 30, 15));
+
+        assertEquals(LocalTime.of(9, 30, 15), helper.decode(cursor, "startTime", true, LocalTime.class).getValue());
+    }
+
+    @Test
+    void primitiveBooleanAndEnumCursorsRoundTrip() {
+        String active = helper.encode("isActive", false, 1L, true);
+        String day = helper.encode("day", false, 2L, Day.FRIDAY);
+
+        assertEquals(true, helper.decode(active, "isActive", false, boolean.class).getValue());
+        assertEquals(Day.FRIDAY, helper.decode(day, "day", false, Day.class).getValue());
+    }
+
+    @Test
+    void valueMayContainSeparator() {
+        String cursor = helper.encode("name", false, 5L, "a|b|c");
+
+        assertEquals("a|b|c", helper.decode(cursor, "name", false, String.class).getValue());
+    }
+
+    @Test
+    void nullValueRoundTrips() {
+        String cursor = helper.encode("startDate", false, 9L, null);
+
+        KeysetPaginationHelper.Cursor decoded = helper.decode(cursor, "startDate", false, LocalDate.class);
+
+        assertEquals(9L, decoded.getId());
+        assertNull(decoded.getValue());
+    }
+
+    @Test
+    void cursorOfAnotherSortIsRejected() {
+        String cursor = helper.encode("startDate", false, 1L, LocalDate.of(2024, 1, 1));
+
+        assertThrows(BadRequestException.class, () -> helper.decode(cursor, "endDate", false, LocalDate.class));
+        assertThrows(BadRequestException.class, () -> helper.decode(cursor, "startDate", true, LocalDate.class));
+    }
+
+    @Test
+    void malformedValueIsRejected() {
+        String cursor = helper.encode("startDate", false, 1L, "not-a-date");
+
+        assertThrows(BadRequestException.class, () -> helper.decode(cursor, "startDate", false, LocalDate.class));
+        assertThrows(BadRequestException.class, () -> helper.decode("%%%", "startDate", false, LocalDate.class));
+    }
+}
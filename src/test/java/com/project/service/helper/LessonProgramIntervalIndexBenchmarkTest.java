@@ -0,0 +1,61 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.business.LessonProgram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//!!! 1000 programlik mevcut program ile 1000 programlik talep karsilastiriliyor, her talep icin cakisan butun
+ // programlar bulunuyor. Index in sonuclari ikili karsilastirma ile ayni olmali; sureler karsilastirma icin
+ // loglaniyor, makineye bagli oldugu icin assert edilmiyor. Varsayilan build de calismiyor: mvn test -Pbenchmark
+@Tag("benchmark")
+class LessonProgramIntervalIndexBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LessonProgramIntervalIndexBenchmarkTest.class);
+
+    private static final int PROGRAMS = 1_000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void thousandProgramTimetables() {
+        Random random = new Random(1_000);
+        List<LessonProgram> existing = LessonProgramIntervalIndexTest.randomPrograms(random, PROGRAMS);
+        List<LessonProgram> requested = LessonProgramIntervalIndexTest.randomPrograms(random, PROGRAMS);
+
+        long indexNanos = Long.MAX_VALUE;
+        long pairwiseNanos = Long.MAX_VALUE;
+        int indexConflicts = 0;
+        int pairwiseConflicts = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            LessonProgramIntervalIndex index = LessonProgramIntervalIndex.of(new ArrayList<>(existing));
+            indexConflicts = 0;
+            for (LessonProgram program : requested) {
+                indexConflicts += index.findOverlapping(program).size();
+            }
+            indexNanos = Math.min(indexNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            pairwiseConflicts = 0;
+            for (LessonProgram program : requested) {
+                for (LessonProgram existingProgram : existing) {
+                    if (LessonProgramIntervalIndexTest.overlaps(program, existingProgram)) {
+                        pairwiseConflicts++;
+                    }
+                }
+            }
+            pairwiseNanos = Math.min(pairwiseNanos, System.nanoTime() - start);
+        }
+
+        assertEquals(pairwiseConflicts, indexConflicts);
+        LOGGER.info("interval index: {} programs x {} queries, index {} ms, pairwise {} ms",
+                PROGRAMS, PROGRAMS, String.format("%.2f", indexNanos / 1e6), String.format("%.2f", pairwiseNanos / 1e6));
+    }
+}
@@ -0,0 +1,140 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.business.LessonProgram;
+import com.project.entity.enums.Day;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LessonProgramIntervalIndexTest {
+
+    @Test
+    void adjacentProgramsDoNotOverlap() {
+        LessonProgramIntervalIndex index = LessonProgramIntervalIndex.of(List.of(
+                program(1L, Day.MONDAY, "10:00", "11:00"),
+                program(2L, Day.MONDAY, "11:00", "12:00")));
+
+        assertFalse(index.hasInternalOverlap());
+        assertFalse(index.overlapsAny(program(3L, Day.MONDAY, "09:00", "10:00")));
+        assertFalse(index.overlapsAny(program(3L, Day.MONDAY, "12:00", "13:00")));
+    }
+
+    @Test
+    void sameTimeOnAnotherDayDoesNotOverlap() {
+        LessonProgramIntervalIndex index = LessonProgramIntervalIndex.of(List.of(
+                program(1L, Day.MONDAY, "10:00", "11:00"),
+                program(2L, Day.TUESDAY, "10:00", "11:00")));
+
+        assertFalse(index.hasInternalOverlap());
+        assertFalse(index.overlapsAny(program(3L, Day.WEDNESDAY, "10:00", "11:00")));
+        assertTrue(index.findOverlapping(program(3L, Day.WEDNESDAY, "10:00", "11:00")).isEmpty());
+    }
+
+    @Test
+    void detectsInternalOverlap() {
+        assertTrue(LessonProgramIntervalIndex.of(List.of(
+                program(1L, Day.MONDAY, "10:00", "11:00"),
+                program(2L, Day.MONDAY, "10:30", "11:30"))).hasInternalOverlap());
+        //!!! ayni saatte baslayan programlar
+        assertTrue(LessonProgramIntervalIndex.of(List.of(
+                program(1L, Day.MONDAY, "10:00", "11:00"),
+                program(2L, Day.MONDAY, "10:00", "10:30"))).hasInternalOverlap());
+        //!!! uzun program kendinden sonraki ikinci programi da kapsiyor
+        assertTrue(LessonProgramIntervalIndex.of(List.of(
+                program(1L, Day.MONDAY, "08:00", "12:00"),
+                program(2L, Day.MONDAY, "09:00", "09:30"),
+                program(3L, Day.MONDAY, "11:00", "11:30"))).hasInternalOverlap());
+    }
+
+    @Test
+    void findsOverlappingBehindShorterPrograms() {
+        LessonProgramIntervalIndex index = LessonProgramIntervalIndex.of(List.of(
+                program(1L, Day.MONDAY, "08:00", "12:00"),
+                program(2L, Day.MONDAY, "09:00", "09:30"),
+                program(3L, Day.MONDAY, "10:00", "10:30"),
+                program(4L, Day.MONDAY, "13:00", "14:00")));
+
+        assertEquals(Set.of(1L, 3L), ids(index.findOverlapping(program(5L, Day.MONDAY, "10:15", "11:00"))));
+        assertEquals(Set.of(1L, 2L, 3L, 4L), ids(index.findOverlapping(program(5L, Day.MONDAY, "07:00", "15:00"))));
+        assertTrue(index.overlapsAny(program(5L, Day.MONDAY, "11:59", "12:30")));
+        assertFalse(index.overlapsAny(program(5L, Day.MONDAY, "12:00", "13:00")));
+    }
+
+    @Test
+    void emptyIndexHasNoOverlap() {
+        LessonProgramIntervalIndex index = LessonProgramIntervalIndex.of(List.of());
+
+        assertFalse(index.hasInternalOverlap());
+        assertFalse(index.overlapsAny(program(1L, Day.MONDAY, "10:00", "11:00")));
+    }
+
+    @Test
+    void matchesPairwiseComparisonOnRandomTimetables() {
+        Random random = new Random(13);
+        for (int round = 0; round < 200; round++) {
+            List<LessonProgram> programs = randomPrograms(random, 1 + random.nextInt(20));
+            LessonProgramIntervalIndex index = LessonProgramIntervalIndex.of(new ArrayList<>(programs));
+
+            assertEquals(pairwiseInternalOverlap(programs), index.hasInternalOverlap());
+            for (LessonProgram query : randomPrograms(random, 20)) {
+                Set<Long> expected = programs.stream()
+                        .filter(program -> overlaps(program, query))
+                        .map(LessonProgram::getId)
+                        .collect(Collectors.toSet());
+                assertEquals(expected, ids(index.findOverlapping(query)));
+                assertEquals(!expected.isEmpty(), index.overlapsAny(query));
+            }
+        }
+    }
+
+    static List<LessonProgram> randomPrograms(Random random, int count) {
+        Day[] days = Day.values();
+        List<LessonProgram> programs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            //!!! 08:00 - 20:00 arasi, 15 dakikalik adimlarla 15 - 180 dakika suren programlar
+            LocalTime start = LocalTime.of(8, 0).plusMinutes(15L * random.nextInt(48));
+            programs.add(program((long) i, days[random.nextInt(days.length)], start,
+                    start.plusMinutes(15L * (1 + random.nextInt(12)))));
+        }
+        return programs;
+    }
+
+    static boolean overlaps(LessonProgram first, LessonProgram second) {
+        return first.getDay() == second.getDay()
+                && first.getStartTime().isBefore(second.getStopTime())
+                && second.getStartTime().isBefore(first.getStopTime());
+    }
+
+    static boolean pairwiseInternalOverlap(List<LessonProgram> programs) {
+        for (int i = 0; i < programs.size(); i++) {
+            for (int j = i + 1; j < programs.size(); j++) {
+                if (overlaps(programs.get(i), programs.get(j))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Set<Long> ids(List<LessonProgram> programs) {
+        return programs.stream().map(LessonProgram::getId).collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private static LessonProgram program(Long id, Day day, String start, String stop) {
+        return program(id, day, LocalTime.parse(start), LocalTime.parse(stop));
+    }
+
+    private static LessonProgram program(Long id, Day day, LocalTime start, LocalTime stop) {
+        return LessonProgram.builder().id(id).day(day).startTime(start).stopTime(stop).build();
+    }
+}
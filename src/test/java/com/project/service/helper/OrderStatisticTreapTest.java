@@ -0,0 +1,95 @@
+package com.project.service.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrderStatisticTreapTest {
+
+    @Test
+    void tiedScoresShareRank() {
+        OrderStatisticTreap treap = treap(new long[]{1, 2, 3, 4}, new double[]{90.0, 80.0, 80.0, 70.0});
+
+        assertEquals(1, treap.rank(90.0));
+        assertEquals(2, treap.rank(80.0));
+        assertEquals(4, treap.rank(70.0));
+        //!!! listede olmayan puan, kendinden yuksek olanlarin hemen arkasina gelir
+        assertEquals(4, treap.rank(75.0));
+        assertEquals(1, treap.rank(100.0));
+    }
+
+    @Test
+    void countsAroundTies() {
+        OrderStatisticTreap treap = treap(new long[]{1, 2, 3, 4}, new double[]{90.0, 80.0, 80.0, 70.0});
+
+        assertEquals(1, treap.countScoreGreaterThan(80.0));
+        assertEquals(3, treap.countScoreAtLeast(80.0));
+        assertEquals(4, treap.countScoreAtLeast(70.0));
+        assertEquals(0, treap.countScoreGreaterThan(90.0));
+    }
+
+    @Test
+    void topOrdersTiesByStudentId() {
+        OrderStatisticTreap treap = treap(new long[]{7, 3, 5, 1}, new double[]{80.0, 80.0, 95.0, 80.0});
+
+        assertEquals(List.of(5L, 1L, 3L), treap.top(3).stream()
+                .map(OrderStatisticTreap.Entry::getStudentId)
+                .collect(Collectors.toList()));
+        assertEquals(4, treap.top(10).size());
+    }
+
+    @Test
+    void removesOnlyTheGivenStudentAmongTies() {
+        OrderStatisticTreap treap = treap(new long[]{1, 2, 3}, new double[]{80.0, 80.0, 80.0});
+
+        treap.remove(2, 80.0);
+        //!!! puani farkli olan kayit silinmiyor
+        treap.remove(1, 81.0);
+
+        assertEquals(2, treap.size());
+        assertEquals(List.of(1L, 3L), treap.top(5).stream()
+                .map(OrderStatisticTreap.Entry::getStudentId)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void matchesSortedListOnRandomScores() {
+        Random random = new Random(23);
+        OrderStatisticTreap treap = new OrderStatisticTreap();
+        List<double[]> entries = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            //!!! cok sayida esit puan olsun diye 0.5 lik adimlar
+            double score = random.nextInt(201) / 2.0;
+            treap.insert(i, score);
+            entries.add(new double[]{i, score});
+            if (i % 3 == 0) {
+                double[] removed = entries.remove(random.nextInt(entries.size()));
+                treap.remove((long) removed[0], removed[1]);
+            }
+        }
+        entries.sort(Comparator.<double[]>comparingDouble(entry -> -entry[1]).thenComparingDouble(entry -> entry[0]));
+
+        assertEquals(entries.size(), treap.size());
+        assertEquals(entries.stream().limit(50).map(entry -> (long) entry[0]).collect(Collectors.toList()),
+                treap.top(50).stream().map(OrderStatisticTreap.Entry::getStudentId).collect(Collectors.toList()));
+        for (int i = 0; i <= 200; i++) {
+            double score = i / 2.0;
+            assertEquals(entries.stream().filter(entry -> entry[1] > score).count() + 1, treap.rank(score));
+            assertEquals(entries.stream().filter(entry -> entry[1] >= score).count(), treap.countScoreAtLeast(score));
+        }
+    }
+
+    private static OrderStatisticTreap treap(long[] studentIds, double[] scores) {
+        OrderStatisticTreap treap = new OrderStatisticTreap();
+        for (int i = 0; i < studentIds.length; i++) {
+            treap.insert(studentIds[i], scores[i]);
+        }
+        return treap;
+    }
+}
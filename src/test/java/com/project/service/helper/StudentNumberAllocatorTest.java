@@ -0,0 +1,91 @@
+package com.project.service.helper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentNumberAllocatorTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final StudentNumberAllocator studentNumberAllocator =
+            new StudentNumberAllocator(jdbcTemplate, transactionManager);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(studentNumberAllocator, "blockSize", 3);
+        studentNumberAllocator.initTransactionTemplate();
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbcTemplate.queryForObject(eq("SELECT increment_by FROM pg_sequences WHERE sequencename = ?"),
+                eq(Integer.class), eq("student_number_seq"))).thenReturn(3);
+        when(jdbcTemplate.queryForObject("SELECT nextval('student_number_seq')", Integer.class))
+                .thenReturn(1000, 1003);
+    }
+
+    @Test
+    void createsSequenceAtStartupInItsOwnTransaction() {
+        studentNumberAllocator.onApplicationReady();
+
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(2)).getTransaction(definitions.capture());
+        definitions.getAllValues().forEach(definition ->
+                assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getPropagationBehavior()));
+        verify(jdbcTemplate).execute("CREATE SEQUENCE IF NOT EXISTS student_number_seq START WITH 1000 INCREMENT BY 3");
+
+        assertEquals(1000, studentNumberAllocator.nextStudentNumber());
+        //!!! numara alirken tekrar DDL calismiyor
+        verify(jdbcTemplate, times(1)).execute(anyString());
+    }
+
+    @Test
+    void handsOutNumbersBlockByBlock() {
+        studentNumberAllocator.onApplicationReady();
+
+        assertEquals(1000, studentNumberAllocator.nextStudentNumber());
+        assertEquals(1001, studentNumberAllocator.nextStudentNumber());
+        assertEquals(1002, studentNumberAllocator.nextStudentNumber());
+        assertEquals(1003, studentNumberAllocator.nextStudentNumber());
+    }
+
+    @Test
+    void usesSequenceCreatedConcurrentlyByAnotherNode() {
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(jdbcTemplate).execute(anyString());
+        when(jdbcTemplate.queryForObject(
+                eq("SELECT EXISTS (SELECT 1 FROM pg_sequences WHERE sequencename = ?)"),
+                eq(Boolean.class), eq("student_number_seq"))).thenReturn(true);
+
+        assertEquals(1000, studentNumberAllocator.nextStudentNumber());
+        //!!! basarisiz CREATE in transaction i geri aliniyor, kontrol yeni transaction da
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void failsWhenSequenceCannotBeCreated() {
+        doThrow(new DataIntegrityViolationException("permission denied")).when(jdbcTemplate).execute(anyString());
+        when(jdbcTemplate.queryForObject(
+                eq("SELECT EXISTS (SELECT 1 FROM pg_sequences WHERE sequencename = ?)"),
+                eq(Boolean.class), eq("student_number_seq"))).thenReturn(false);
+
+        assertThrows(DataIntegrityViolationException.class, studentNumberAllocator::onApplicationReady);
+        verify(jdbcTemplate, never()).queryForObject("SELECT nextval('student_number_seq')", Integer.class);
+    }
+}
@@ -0,0 +1,137 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.business.EducationTerm;
+import com.project.entity.concretes.business.Lesson;
+import com.project.entity.concretes.business.StudentInfo;
+import com.project.entity.concretes.user.User;
+import com.project.entity.enums.Note;
+import com.project.repository.business.StudentInfoRepository;
+import com.project.repository.business.StudentInfoRepository.StudentInfoGradeView;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudentRankingIndexTest {
+
+    private static final Long LESSON_ID = 1L;
+    private static final Long TERM_ID = 2L;
+
+    private final StudentInfoRepository studentInfoRepository = mock(StudentInfoRepository.class);
+    private final StudentRankingIndex studentRankingIndex = new StudentRankingIndex(studentInfoRepository);
+
+    //!!! ilk sayfa (5000 kayit) okunduktan sonra taranmis bir kayit yeniden notlandiriliyor, biri siliniyor ve
+     // yeni bir kayit ekleniyor. Degisiklikler yeniden olusturulan siralamalarda kaybolmamali
+    @Test
+    void rebuildReplaysWritesMadeDuringScan() {
+        List<StudentInfoGradeView> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            firstPage.add(new Grade(id, 40.0));
+        }
+        when(studentInfoRepository.findGradesAfterId(eq(0L), any(Pageable.class))).thenReturn(firstPage);
+        when(studentInfoRepository.findGradesAfterId(eq(5000L), any(Pageable.class))).thenAnswer(invocation -> {
+            studentRankingIndex.regrade(firstPage.get(0), 90.0);
+            studentRankingIndex.remove(firstPage.get(1));
+            //!!! yeni kayit commit edilmis, bu sayfada okunuyor
+            studentRankingIndex.add(grade(6000L, 70.0));
+            return List.of(new Grade(6000L, 70.0));
+        });
+
+        studentRankingIndex.rebuild();
+
+        List<OrderStatisticTreap.Entry> top = studentRankingIndex.topByLessonAndTerm(LESSON_ID, TERM_ID, 2);
+        assertEquals(studentIdOf(1L), top.get(0).getStudentId());
+        assertEquals(90.0, top.get(0).getScore());
+        assertEquals(studentIdOf(6000L), top.get(1).getStudentId());
+        assertEquals(5000, studentRankingIndex.getStudentRanks(studentIdOf(1L)).getSchool().getTotal());
+        assertNull(studentRankingIndex.getStudentRanks(studentIdOf(2L)).getSchool());
+    }
+
+    @Test
+    void writesAfterRebuildAreNotReplayedTwice() {
+        List<StudentInfoGradeView> page = List.of(new Grade(1L, 40.0), new Grade(2L, 50.0));
+        when(studentInfoRepository.findGradesAfterId(eq(0L), any(Pageable.class))).thenReturn(page);
+        studentRankingIndex.rebuild();
+
+        studentRankingIndex.regrade(page.get(0), 60.0);
+        when(studentInfoRepository.findGradesAfterId(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(new Grade(1L, 60.0), new Grade(2L, 50.0)));
+        studentRankingIndex.rebuild();
+
+        List<OrderStatisticTreap.Entry> top = studentRankingIndex.topOfSchool(3);
+        assertEquals(2, top.size());
+        assertEquals(studentIdOf(1L), top.get(0).getStudentId());
+        assertEquals(60.0, top.get(0).getScore());
+    }
+
+    private static long studentIdOf(Long id) {
+        return 100 + id;
+    }
+
+    private static StudentInfo grade(Long id, Double examAverage) {
+        User student = new User();
+        student.setId(studentIdOf(id));
+        return StudentInfo.builder()
+                .id(id)
+                .examAverage(examAverage)
+                .letterGrade(Note.CC)
+                .lesson(Lesson.builder().lessonId(LESSON_ID).build())
+                .educationTerm(EducationTerm.builder().id(TERM_ID).build())
+                .student(student)
+                .build();
+    }
+
+    private static final class Grade implements StudentInfoGradeView {
+
+        private final Long id;
+        private final Double examAverage;
+
+        private Grade(Long id, Double examAverage) {
+            this.id = id;
+            this.examAverage = examAverage;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getStudentId() {
+            return studentIdOf(id);
+        }
+
+        @Override
+        public Long getLessonId() {
+            return LESSON_ID;
+        }
+
+        @Override
+        public Long getEducationTermId() {
+            return TERM_ID;
+        }
+
+        @Override
+        public Long getTeacherId() {
+            return null;
+        }
+
+        @Override
+        public Double getExamAverage() {
+            return examAverage;
+        }
+
+        @Override
+        public Note getLetterGrade() {
+            return Note.CC;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.project.service.helper;
+
+import com.project.payload.response.business.TranscriptResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class StudentTranscriptCacheTest {
+
+    private final StudentTranscriptCache studentTranscriptCache = new StudentTranscriptCache();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(studentTranscriptCache, "maxSize", 10);
+    }
+
+    //!!! cache dolu iken yeni transkriptler de cache e giriyor, en uzun suredir okunmayan kayit siliniyor
+    @Test
+    void fullCacheEvictsLeastRecentlyUsed() {
+        for (long studentId = 0; studentId < 10; studentId++) {
+            load(studentId);
+        }
+        for (long studentId = 0; studentId < 10; studentId++) {
+            if (studentId != 3) {
+                load(studentId);
+            }
+        }
+        assertEquals(10, loads.get());
+
+        load(10L);
+        load(10L);
+        assertEquals(11, loads.get());
+
+        load(0L);
+        assertEquals(11, loads.get());
+        load(3L);
+        assertEquals(12, loads.get());
+    }
+
+    @Test
+    void evictionDuringLoadDoesNotCacheStaleTranscript() {
+        TranscriptResponse stale = studentTranscriptCache.get(1L, () -> {
+            studentTranscriptCache.evict(1L);
+            return transcript(1L);
+        });
+
+        TranscriptResponse fresh = load(1L);
+
+        assertEquals(1L, stale.getStudentId());
+        assertEquals(1, loads.get());
+        assertSame(fresh, load(1L));
+    }
+
+    private TranscriptResponse load(Long studentId) {
+        return studentTranscriptCache.get(studentId, () -> {
+            loads.incrementAndGet();
+            return transcript(studentId);
+        });
+    }
+
+    private static TranscriptResponse transcript(Long studentId) {
+        return TranscriptResponse.builder().studentId(studentId).build();
+    }
+}
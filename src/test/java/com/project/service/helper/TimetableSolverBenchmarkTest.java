@@ -0,0 +1,126 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.business.LessonProgram;
+import com.project.entity.enums.Day;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//!!! 50 - 500 ogretmenli sentetik okullar. Ogretmen basina dort ders var, her dersin iki aday ogretmeni ve
+ // haftada 6 oturumu var (40 dilimin ~24 u dolu), ogretmenlerin bir kismi dolu saatlerle basliyor. Her cozum sert kurallara gore
+ // kontrol ediliyor. Yerlestirilemeyen oturum sayisi sure butcesine ve makineye bagli oldugu icin assert edilmiyor,
+ // sureler ile birlikte loglaniyor. Varsayilan build de calismiyor: mvn test -Pbenchmark
+@Tag("benchmark")
+class TimetableSolverBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimetableSolverBenchmarkTest.class);
+
+    private static final List<Day> DAYS = List.of(Day.MONDAY, Day.TUESDAY, Day.WEDNESDAY, Day.THURSDAY, Day.FRIDAY);
+    private static final int SLOTS = 8;
+    private static final int SESSIONS_PER_LESSON = 6;
+    private static final long BUDGET_MS = 2_000;
+
+    private final TimetableSolver timetableSolver = new TimetableSolver(0);
+
+    @AfterEach
+    void tearDown() {
+        timetableSolver.destroy();
+    }
+
+    @Test
+    void school50Teachers() {
+        solveSchool(50);
+    }
+
+    @Test
+    void school100Teachers() {
+        solveSchool(100);
+    }
+
+    @Test
+    void school200Teachers() {
+        solveSchool(200);
+    }
+
+    @Test
+    void school500Teachers() {
+        solveSchool(500);
+    }
+
+    private void solveSchool(int teacherCount) {
+        Random random = new Random(teacherCount);
+        List<LocalTime> starts = new ArrayList<>();
+        List<LocalTime> stops = new ArrayList<>();
+        for (int slot = 0; slot < SLOTS; slot++) {
+            starts.add(LocalTime.of(8 + slot, 0));
+            stops.add(LocalTime.of(8 + slot, 50));
+        }
+
+        int lessonCount = teacherCount * 4;
+        int[] sessionsPerLesson = new int[lessonCount];
+        int[][] teachersPerLesson = new int[lessonCount][];
+        for (int lesson = 0; lesson < lessonCount; lesson++) {
+            sessionsPerLesson[lesson] = SESSIONS_PER_LESSON;
+            int first = lesson % teacherCount;
+            teachersPerLesson[lesson] = new int[]{first, (first + 1 + random.nextInt(teacherCount - 1)) % teacherCount};
+        }
+        //!!! ogretmenlerin yarisinin haftada iki dolu saati var
+        List<Set<LessonProgram>> existing = new ArrayList<>();
+        for (int teacher = 0; teacher < teacherCount; teacher++) {
+            Set<LessonProgram> programs = new HashSet<>();
+            for (int i = 0; teacher % 2 == 0 && i < 2; i++) {
+                int slot = random.nextInt(SLOTS);
+                programs.add(LessonProgram.builder()
+                        .day(DAYS.get(random.nextInt(DAYS.size())))
+                        .startTime(starts.get(slot))
+                        .stopTime(stops.get(slot))
+                        .build());
+            }
+            existing.add(programs);
+        }
+
+        long start = System.nanoTime();
+        TimetableSolver.Problem problem = new TimetableSolver.Problem(DAYS, starts, stops, sessionsPerLesson,
+                teachersPerLesson, existing);
+        TimetableSolver.Solution solution = timetableSolver.solve(problem, BUDGET_MS);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertValid(problem, solution, teachersPerLesson, existing);
+        LOGGER.info("timetable solver: {} teachers, {} sessions, {} unscheduled, {} ms, {} attempts, {} same-day pairs",
+                teacherCount, problem.getSessionCount(), solution.getUnscheduled(), elapsedMs, solution.getAttempts(),
+                solution.getSameDayPairs());
+    }
+
+    private static void assertValid(TimetableSolver.Problem problem, TimetableSolver.Solution solution,
+                                    int[][] teachersPerLesson, List<Set<LessonProgram>> existing) {
+        Set<String> teacherSlots = new HashSet<>();
+        Set<String> lessonSlots = new HashSet<>();
+        for (int teacher = 0; teacher < existing.size(); teacher++) {
+            for (LessonProgram program : existing.get(teacher)) {
+                teacherSlots.add(teacher + "/" + program.getDay() + "/" + (program.getStartTime().getHour() - 8));
+            }
+        }
+        for (int session = 0; session < problem.getSessionCount(); session++) {
+            if (!solution.isScheduled(session)) {
+                continue;
+            }
+            int lesson = problem.lessonOf(session);
+            int teacher = solution.getTeacher(session);
+            String slot = solution.getDay(session) + "/" + solution.getSlot(session);
+            assertTrue(teacher == teachersPerLesson[lesson][0] || teacher == teachersPerLesson[lesson][1]);
+            assertTrue(teacherSlots.add(teacher + "/" + slot), "teacher double booked");
+            assertTrue(lessonSlots.add(lesson + "/" + slot), "lesson sessions overlap");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.business.LessonProgram;
+import com.project.entity.enums.Day;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimetableSolverTest {
+
+    private static final List<LocalTime> STARTS = List.of(LocalTime.of(9, 0), LocalTime.of(10, 0));
+    private static final List<LocalTime> STOPS = List.of(LocalTime.of(9, 50), LocalTime.of(10, 50));
+
+    private final TimetableSolver timetableSolver = new TimetableSolver(2);
+
+    @AfterEach
+    void tearDown() {
+        timetableSolver.destroy();
+    }
+
+    @Test
+    void spreadsSessionsOfALessonOverDays() {
+        TimetableSolver.Problem problem = new TimetableSolver.Problem(List.of(Day.MONDAY, Day.TUESDAY), STARTS,
+                STOPS, new int[]{2}, new int[][]{{0}}, List.of(Set.of()));
+
+        TimetableSolver.Solution solution = timetableSolver.solve(problem, 1_000);
+
+        assertEquals(0, solution.getUnscheduled());
+        assertEquals(0, solution.getSameDayPairs());
+        assertNotEquals(solution.getDay(0), solution.getDay(1));
+    }
+
+    @Test
+    void keepsTeachersExistingProgramsFree() {
+        LessonProgram existing = LessonProgram.builder()
+                .day(Day.MONDAY).startTime(LocalTime.of(9, 30)).stopTime(LocalTime.of(10, 30)).build();
+        TimetableSolver.Problem problem = new TimetableSolver.Problem(List.of(Day.MONDAY), STARTS, STOPS,
+                new int[]{1}, new int[][]{{0}}, List.of(Set.of(existing)));
+
+        TimetableSolver.Solution solution = timetableSolver.solve(problem, 200);
+
+        //!!! mevcut program iki dilimle de cakisiyor
+        assertEquals(1, solution.getUnscheduled());
+        assertFalse(solution.isScheduled(0));
+    }
+
+    @Test
+    void teacherIsNotPlacedTwiceInTheSameSlot() {
+        //!!! iki ders, ayni tek ogretmen, toplam iki dilim
+        TimetableSolver.Problem problem = new TimetableSolver.Problem(List.of(Day.MONDAY), STARTS, STOPS,
+                new int[]{1, 1}, new int[][]{{0}, {0}}, List.of(Set.of()));
+
+        TimetableSolver.Solution solution = timetableSolver.solve(problem, 1_000);
+
+        assertEquals(0, solution.getUnscheduled());
+        assertNotEquals(solution.getSlot(0), solution.getSlot(1));
+    }
+
+    @Test
+    void reportsSessionsThatDoNotFit() {
+        TimetableSolver.Problem problem = new TimetableSolver.Problem(List.of(Day.MONDAY), STARTS, STOPS,
+                new int[]{3}, new int[][]{{0, 1}}, List.of(Set.of(), Set.of()));
+
+        TimetableSolver.Solution solution = timetableSolver.solve(problem, 200);
+
+        //!!! ayni dersin oturumlari cakisamaz, iki dilime ancak iki oturum sigiyor
+        assertEquals(1, solution.getUnscheduled());
+        Set<Integer> slots = new HashSet<>();
+        for (int session = 0; session < problem.getSessionCount(); session++) {
+            if (solution.isScheduled(session)) {
+                assertTrue(slots.add(solution.getSlot(session)));
+            }
+        }
+    }
+}
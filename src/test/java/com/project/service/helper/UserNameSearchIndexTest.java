@@ -0,0 +1,99 @@
+package com.project.service.helper;
+
+import com.project.entity.concretes.user.User;
+import com.project.entity.enums.RoleType;
+import com.project.repository.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserNameSearchIndexTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserNameSearchIndex userNameSearchIndex = new UserNameSearchIndex(userRepository);
+
+    @Test
+    void syncPicksUpImportedUsersWithLowerIdsThanIndexedOnes() {
+        when(userRepository.findAllUserNames()).thenReturn(List.of());
+        userNameSearchIndex.rebuild();
+
+        userNameSearchIndex.index(user(10L, "Zeynep", "Kaya", "zkaya"));
+        when(userRepository.findUserNamesAfterId(0L)).thenReturn(List.of(view(5L, "Mehmet", "Demir", "mdemir")));
+        userNameSearchIndex.syncNewUsers();
+
+        assertEquals(List.of(5L), search("mehmet"));
+        assertEquals(List.of(10L), search("zeynep"));
+    }
+
+    @Test
+    void rebuildKeepsChangesMadeWhileReadingTheTable() {
+        when(userRepository.findAllUserNames()).thenAnswer(invocation -> {
+            userNameSearchIndex.index(user(2L, "Ayse", "Yildiz", "ayildiz"));
+            userNameSearchIndex.remove(1L);
+            return List.of(view(1L, "Ali", "Veli", "aveli"));
+        });
+
+        userNameSearchIndex.rebuild();
+
+        assertEquals(List.of(2L), search("ayse"));
+        assertEquals(List.of(), search("aveli"));
+    }
+
+    @Test
+    void indexReplacesPreviousNameOfUser() {
+        when(userRepository.findAllUserNames()).thenReturn(List.of(view(1L, "Ali", "Veli", "aveli")));
+        userNameSearchIndex.rebuild();
+
+        userNameSearchIndex.index(user(1L, "Can", "Tekin", "ctekin"));
+
+        assertEquals(List.of(), search("aveli"));
+        assertEquals(List.of(1L), search("ctekin"));
+    }
+
+    private List<Long> search(String query) {
+        return userNameSearchIndex.search(query, null, PageRequest.of(0, 10)).getContent();
+    }
+
+    private static User user(Long id, String name, String surname, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setSurname(surname);
+        user.setUsername(username);
+        return user;
+    }
+
+    private static UserRepository.UserNameView view(Long id, String name, String surname, String username) {
+        return new UserRepository.UserNameView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getSurname() {
+                return surname;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public RoleType getRoleType() {
+                return RoleType.STUDENT;
+            }
+        };
+    }
+}
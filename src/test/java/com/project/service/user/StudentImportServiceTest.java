@@ -0,0 +1,52 @@
+package com.project.service.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.payload.mappers.UserMapper;
+import com.project.payload.response.user.StudentImportResponse;
+import com.project.payload.response.user.StudentImportResponse.StudentImportError;
+import com.project.repository.user.UserBatchRepository;
+import com.project.repository.user.UserRepository;
+import com.project.security.service.BoundedPasswordEncoder;
+import com.project.service.helper.StudentNumberAllocator;
+import com.project.service.helper.UserNameSearchIndex;
+import com.project.service.validator.UniquePropertyValidator;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.Validator;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class StudentImportServiceTest {
+
+    private final StudentImportService studentImportService = new StudentImportService(
+            mock(UserRepository.class), mock(UserBatchRepository.class), mock(UniquePropertyValidator.class),
+            mock(BoundedPasswordEncoder.class), mock(UserRoleService.class), mock(StudentNumberAllocator.class),
+            mock(UserMapper.class), mock(Validator.class), new ObjectMapper(), mock(TransactionTemplate.class),
+            mock(UserNameSearchIndex.class));
+
+    @Test
+    void invalidDatesAreReportedAsRowErrors() {
+        String csv = "username,name,surname,birthDay,ssn,birthPlace,phoneNumber,gender,email,password," +
+                "motherName,fatherName,advisorTeacherId\n" +
+                "ali,Ali,Veli,2001-02-30,,,,MALE,,,,,\n" +
+                "ayse,Ayse,Kaya,yesterday,,,,FEMALE,,,,,\n" +
+                "can,Can,Demir,2001-01-01,,,,UNKNOWN,,,,,\n";
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/students/import");
+        request.setContentType(StudentImportService.TEXT_CSV_VALUE);
+        request.setContent(csv.getBytes(StandardCharsets.UTF_8));
+
+        StudentImportResponse response = studentImportService.importStudents(request);
+
+        assertEquals(3, response.getTotalRows());
+        assertEquals(0, response.getImportedRows());
+        assertEquals(List.of(2, 3, 4), response.getErrors().stream()
+                .map(StudentImportError::getRow)
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,119 @@
+package com.project.service.user;
+
+import com.project.entity.concretes.user.User;
+import com.project.entity.concretes.user.UserRole;
+import com.project.entity.enums.RoleType;
+import com.project.payload.mappers.UserMapper;
+import com.project.repository.business.AttendanceRecordRepository;
+import com.project.repository.business.StudentInfoRepository;
+import com.project.repository.user.UserRepository;
+import com.project.security.service.UserDetailsCache;
+import com.project.service.helper.AfterCommitExecutor;
+import com.project.service.helper.GradeStatisticsIndex;
+import com.project.service.helper.KeysetPaginationHelper;
+import com.project.service.helper.LessonProgramTimetableCache;
+import com.project.service.helper.MethodHelper;
+import com.project.service.helper.PageableHelper;
+import com.project.service.helper.StudentRankingIndex;
+import com.project.service.helper.StudentTranscriptCache;
+import com.project.service.helper.UserNameSearchIndex;
+import com.project.service.validator.UniquePropertyValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserNameSearchIndex userNameSearchIndex = mock(UserNameSearchIndex.class);
+    private final MethodHelper methodHelper = mock(MethodHelper.class);
+    private final UserDetailsCache userDetailsCache = mock(UserDetailsCache.class);
+    private final StudentTranscriptCache studentTranscriptCache = mock(StudentTranscriptCache.class);
+    private final AttendanceRecordRepository attendanceRecordRepository = mock(AttendanceRecordRepository.class);
+    private final StudentInfoRepository studentInfoRepository = mock(StudentInfoRepository.class);
+    private final GradeStatisticsIndex gradeStatisticsIndex = mock(GradeStatisticsIndex.class);
+
+    private final UserService userService = new UserService(userRepository, mock(UniquePropertyValidator.class),
+            userNameSearchIndex, mock(UserMapper.class), mock(UserRoleService.class), mock(PasswordEncoder.class),
+            mock(PageableHelper.class), mock(KeysetPaginationHelper.class), methodHelper, userDetailsCache,
+            mock(LessonProgramTimetableCache.class), studentTranscriptCache, attendanceRecordRepository,
+            studentInfoRepository, gradeStatisticsIndex, mock(StudentRankingIndex.class), new AfterCommitExecutor());
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    @BeforeEach
+    void setUp() {
+        when(methodHelper.isUserExist(5L)).thenReturn(user(5L, "student", RoleType.STUDENT));
+        when(userRepository.findByUsernameEquals("manager")).thenReturn(user(1L, "manager", RoleType.MANAGER));
+        when(studentInfoRepository.findGradesByUserId(5L)).thenReturn(List.of(
+                mock(StudentInfoRepository.StudentInfoGradeView.class)));
+        request.setAttribute("username", "manager");
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void deletesGradesAndAttendanceBeforeStudent() {
+        userService.deleteUserById(5L, request);
+
+        InOrder order = inOrder(attendanceRecordRepository, studentInfoRepository, userRepository);
+        order.verify(attendanceRecordRepository).deleteByStudentId(5L);
+        order.verify(studentInfoRepository).deleteByStudentId(5L);
+        order.verify(userRepository).deleteById(5L);
+    }
+
+    @Test
+    void indexesAndCachesAreUpdatedOnlyAfterCommit() {
+        userService.deleteUserById(5L, request);
+
+        verify(gradeStatisticsIndex, never()).remove(any(StudentInfoRepository.StudentInfoGradeView.class));
+        verify(userNameSearchIndex, never()).remove(anyLong());
+        verify(userDetailsCache, never()).invalidate(any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(gradeStatisticsIndex).remove(any(StudentInfoRepository.StudentInfoGradeView.class));
+        verify(userNameSearchIndex).remove(5L);
+        verify(userDetailsCache).invalidate("student");
+        verify(studentTranscriptCache).evict(5L);
+    }
+
+    @Test
+    void rollbackLeavesIndexesAndCachesUntouched() {
+        userService.deleteUserById(5L, request);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(userNameSearchIndex, never()).remove(anyLong());
+        verify(studentTranscriptCache, never()).evict(anyLong());
+    }
+
+    private static User user(Long id, String username, RoleType roleType) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setBuilt_in(Boolean.FALSE);
+        user.setUserRole(UserRole.builder().roleType(roleType).roleName(roleType.name()).build());
+        return user;
+    }
+}
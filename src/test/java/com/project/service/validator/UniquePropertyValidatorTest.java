@@ -0,0 +1,119 @@
+package com.project.service.validator;
+
+import com.project.entity.concretes.user.User;
+import com.project.exception.ConflictException;
+import com.project.payload.messages.ErrorMessages;
+import com.project.repository.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UniquePropertyValidatorTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UniquePropertyBloomFilter uniquePropertyBloomFilter = new UniquePropertyBloomFilter(userRepository);
+    private final UniquePropertyValidator uniquePropertyValidator =
+            new UniquePropertyValidator(userRepository, uniquePropertyBloomFilter);
+
+    @Test
+    void constraintViolationFromAnotherNodeBecomesConflict() {
+        User user = user(null, "ali");
+        when(userRepository.save(user)).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(userRepository.findUniquePropertyConflicts("ali", "111-11-1111", "555-555-5555", "ali@mail.com"))
+                .thenReturn(List.of(view(7L, "ali", "222-22-2222", "555-555-0000", "other@mail.com")));
+
+        ConflictException exception =
+                assertThrows(ConflictException.class, () -> uniquePropertyValidator.saveUnique(user));
+
+        assertEquals(String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_USERNAME, "ali"), exception.getMessage());
+    }
+
+    @Test
+    void ownRowIsNotReportedAsConflictOnUpdate() {
+        User user = user(7L, "ali");
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("other constraint");
+        when(userRepository.save(user)).thenThrow(violation);
+        when(userRepository.findUniquePropertyConflicts("ali", "111-11-1111", "555-555-5555", "ali@mail.com"))
+                .thenReturn(List.of(view(7L, "ali", "111-11-1111", "555-555-5555", "ali@mail.com")));
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> uniquePropertyValidator.saveUnique(user)));
+    }
+
+    @Test
+    void savedUserIsRegisteredInFilter() {
+        ReflectionTestUtils.setField(uniquePropertyBloomFilter, "expectedUsers", 1000L);
+        when(userRepository.findAllUniqueProperties()).thenReturn(List.of());
+        uniquePropertyBloomFilter.rebuild();
+        User user = user(null, "ali");
+        when(userRepository.save(user)).thenReturn(user);
+
+        assertFalse(uniquePropertyBloomFilter.mightContainUsername("ali"));
+        uniquePropertyValidator.saveUnique(user);
+
+        assertTrue(uniquePropertyBloomFilter.mightContainUsername("ali"));
+    }
+
+    @Test
+    void registerDuringRebuildReachesNewFilter() {
+        ReflectionTestUtils.setField(uniquePropertyBloomFilter, "expectedUsers", 1000L);
+        when(userRepository.findAllUniqueProperties()).thenAnswer(invocation -> {
+            uniquePropertyBloomFilter.register("veli", null, null, null);
+            return List.of();
+        });
+
+        uniquePropertyBloomFilter.rebuild();
+
+        assertTrue(uniquePropertyBloomFilter.mightContainUsername("veli"));
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setSsn("111-11-1111");
+        user.setPhoneNumber("555-555-5555");
+        user.setEmail(username + "@mail.com");
+        return user;
+    }
+
+    private static UserRepository.UniquePropertyView view(Long id, String username, String ssn, String phone,
+                                                          String email) {
+        return new UserRepository.UniquePropertyView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getSsn() {
+                return ssn;
+            }
+
+            @Override
+            public String getPhoneNumber() {
+                return phone;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}